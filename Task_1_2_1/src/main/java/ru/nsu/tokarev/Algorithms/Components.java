@@ -0,0 +1,88 @@
+package ru.nsu.tokarev.Algorithms;
+
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Компоненты связности ориентированного графа без учёта направления рёбер (слабая связность).
+// Система непересекающихся множеств на массиве int: объединение по размеру и сжатие путей делением пополам.
+// Сильно связные компоненты - TopoSort.stronglyConnectedComponents.
+public final class Components {
+    private Components() {
+    }
+
+    // Компоненты упорядочены по первой вершине снимка, вершины внутри компоненты - в порядке снимка.
+    public static <T> List<List<T>> weaklyConnected(Graph<T> graph) {
+        CsrGraph<T> csr = GraphIndex.snapshot(graph);
+        int n = csr.vertexCount();
+        int[] labels = new int[n];
+        int count = label(csr, labels);
+
+        List<List<T>> components = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            components.add(new ArrayList<>());
+        }
+        for (int vertex = 0; vertex < n; vertex++) {
+            components.get(labels[vertex]).add(csr.vertexAt(vertex));
+        }
+        return components;
+    }
+
+    public static <T> int count(Graph<T> graph) {
+        CsrGraph<T> csr = GraphIndex.snapshot(graph);
+        return label(csr, new int[csr.vertexCount()]);
+    }
+
+    // Записывает в labels номер компоненты каждой вершины и возвращает число компонент.
+    private static int label(CsrGraph<?> graph, int[] labels) {
+        int n = graph.vertexCount();
+        int[] parents = new int[n];
+        int[] sizes = new int[n];
+        for (int vertex = 0; vertex < n; vertex++) {
+            parents[vertex] = vertex;
+            sizes[vertex] = 1;
+        }
+
+        for (int vertex = 0; vertex < n; vertex++) {
+            for (int i = 0; i < graph.degree(vertex); i++) {
+                int first = find(parents, vertex);
+                int second = find(parents, graph.neighborAt(vertex, i));
+                if (first == second) {
+                    continue;
+                }
+                if (sizes[first] < sizes[second]) {
+                    int swap = first;
+                    first = second;
+                    second = swap;
+                }
+                parents[second] = first;
+                sizes[first] += sizes[second];
+            }
+        }
+
+        // Номер корня переиспользуется как метка: sizes больше не нужен.
+        int count = 0;
+        int[] rootLabels = sizes;
+        for (int vertex = 0; vertex < n; vertex++) {
+            rootLabels[vertex] = -1;
+        }
+        for (int vertex = 0; vertex < n; vertex++) {
+            int root = find(parents, vertex);
+            if (rootLabels[root] < 0) {
+                rootLabels[root] = count++;
+            }
+            labels[vertex] = rootLabels[root];
+        }
+        return count;
+    }
+
+    private static int find(int[] parents, int vertex) {
+        while (parents[vertex] != vertex) {
+            parents[vertex] = parents[parents[vertex]];
+            vertex = parents[vertex];
+        }
+        return vertex;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.nsu.tokarev.Algorithms;
+
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+// Общие шаги алгоритмов пакета: снимок графа с плотными номерами вершин и обратные рёбра.
+final class GraphIndex {
+    private GraphIndex() {
+    }
+
+    static <T> CsrGraph<T> snapshot(Graph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must not be null.");
+        }
+        return CsrGraph.copyOf(graph);
+    }
+
+    static <T> int indexOf(CsrGraph<T> graph, T vertex) {
+        int index = graph.indexOf(vertex);
+        if (index < 0) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is not in the graph.");
+        }
+        return index;
+    }
+
+    // Входящие рёбра в формате CSR: result[0] - смещения, result[1] - начала рёбер.
+    static int[][] transpose(CsrGraph<?> graph) {
+        int n = graph.vertexCount();
+        int[] offsets = new int[n + 1];
+        for (int from = 0; from < n; from++) {
+            for (int i = 0; i < graph.degree(from); i++) {
+                offsets[graph.neighborAt(from, i) + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] sources = new int[graph.edgeCount()];
+        int[] position = new int[n];
+        System.arraycopy(offsets, 0, position, 0, n);
+        for (int from = 0; from < n; from++) {
+            for (int i = 0; i < graph.degree(from); i++) {
+                sources[position[graph.neighborAt(from, i)]++] = from;
+            }
+        }
+        return new int[][] {offsets, sources};
+    }
+}
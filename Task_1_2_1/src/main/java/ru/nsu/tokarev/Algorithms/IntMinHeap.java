@@ -0,0 +1,86 @@
+package ru.nsu.tokarev.Algorithms;
+
+import java.util.Arrays;
+
+// Двоичная куча номеров вершин с ключами double. position[v] - место v в куче или -1,
+// поэтому уменьшение ключа работает за O(log n) без поиска и без объекта на элемент.
+final class IntMinHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final double[] keys;
+    private int size;
+
+    IntMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Добавляет вершину или уменьшает её ключ; больший ключ игнорируется.
+    void insertOrDecrease(int vertex, double key) {
+        if (position[vertex] < 0) {
+            keys[vertex] = key;
+            heap[size] = vertex;
+            position[vertex] = size;
+            siftUp(size++);
+        } else if (key < keys[vertex]) {
+            keys[vertex] = key;
+            siftUp(position[vertex]);
+        }
+    }
+
+    int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int index) {
+        int vertex = heap[index];
+        double key = keys[vertex];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            position[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = vertex;
+        position[vertex] = index;
+    }
+
+    private void siftDown(int index) {
+        int vertex = heap[index];
+        double key = keys[vertex];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (keys[heap[child]] >= key) {
+                break;
+            }
+            heap[index] = heap[child];
+            position[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = vertex;
+        position[vertex] = index;
+    }
+}
@@ -0,0 +1,151 @@
+package ru.nsu.tokarev.Algorithms;
+
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+// PageRank степенным методом. Каждая вершина собирает вклады предшественников по входящим рёбрам,
+// поэтому потоки пишут только в свои вершины и синхронизация не нужна. Ранг висячих вершин
+// делится поровну между всеми. Вершины обрабатываются блоками по BLOCK, а суммы блоков
+// складываются последовательно, так что параллельный результат совпадает с последовательным до бита.
+public final class PageRank {
+    private static final double DEFAULT_DAMPING = 0.85;
+    private static final double DEFAULT_TOLERANCE = 1e-9;
+    private static final int DEFAULT_MAX_ITERATIONS = 100;
+    private static final int BLOCK = 4096;
+
+    private PageRank() {
+    }
+
+    public static <T> Map<T, Double> rank(Graph<T> graph) {
+        return rank(graph, DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    // Итерации прекращаются, когда сумма изменений рангов не больше tolerance, или после maxIterations.
+    public static <T> Map<T, Double> rank(Graph<T> graph, double damping, double tolerance, int maxIterations) {
+        return compute(graph, damping, tolerance, maxIterations, null);
+    }
+
+    public static <T> Map<T, Double> parallelRank(Graph<T> graph) {
+        return parallelRank(graph, ForkJoinPool.commonPool());
+    }
+
+    public static <T> Map<T, Double> parallelRank(Graph<T> graph, ForkJoinPool pool) {
+        return parallelRank(graph, DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS, pool);
+    }
+
+    public static <T> Map<T, Double> parallelRank(Graph<T> graph, double damping, double tolerance,
+                                                  int maxIterations, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null.");
+        }
+        return compute(graph, damping, tolerance, maxIterations, pool);
+    }
+
+    // pool == null - все блоки считаются в текущем потоке.
+    private static <T> Map<T, Double> compute(Graph<T> graph, double damping, double tolerance,
+                                              int maxIterations, ForkJoinPool pool) {
+        if (!(damping >= 0 && damping < 1)) {
+            throw new IllegalArgumentException("Damping must be in [0, 1).");
+        }
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Tolerance must not be negative.");
+        }
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("Max iterations must be greater than zero.");
+        }
+        CsrGraph<T> csr = GraphIndex.snapshot(graph);
+        int n = csr.vertexCount();
+        Map<T, Double> result = new HashMap<>();
+        if (n == 0) {
+            return result;
+        }
+
+        int[][] reverse = GraphIndex.transpose(csr);
+        int[] offsets = reverse[0];
+        int[] sources = reverse[1];
+        int[] degrees = new int[n];
+        for (int vertex = 0; vertex < n; vertex++) {
+            degrees[vertex] = csr.degree(vertex);
+        }
+
+        // contributions[v] - доля ранга v на каждое исходящее ребро.
+        double[] ranks = new double[n];
+        double[] nextRanks = new double[n];
+        double[] contributions = new double[n];
+        double[] nextContributions = new double[n];
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        double[] blockDeltas = new double[blocks];
+        double[] blockDangling = new double[blocks];
+
+        Arrays.fill(ranks, 1.0 / n);
+        double dangling = 0;
+        for (int vertex = 0; vertex < n; vertex++) {
+            if (degrees[vertex] > 0) {
+                contributions[vertex] = ranks[vertex] / degrees[vertex];
+            } else {
+                dangling += ranks[vertex];
+            }
+        }
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            double base = (1 - damping + damping * dangling) / n;
+            double[] current = ranks;
+            double[] next = nextRanks;
+            double[] shares = contributions;
+            double[] nextShares = nextContributions;
+            ParallelRanges.RangeAction step = (from, to) -> {
+                for (int block = from; block < to; block++) {
+                    int end = Math.min(n, (block + 1) * BLOCK);
+                    double delta = 0;
+                    double danglingRank = 0;
+                    for (int vertex = block * BLOCK; vertex < end; vertex++) {
+                        double sum = 0;
+                        for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+                            sum += shares[sources[e]];
+                        }
+                        double rank = base + damping * sum;
+                        next[vertex] = rank;
+                        delta += Math.abs(rank - current[vertex]);
+                        if (degrees[vertex] > 0) {
+                            nextShares[vertex] = rank / degrees[vertex];
+                        } else {
+                            nextShares[vertex] = 0;
+                            danglingRank += rank;
+                        }
+                    }
+                    blockDeltas[block] = delta;
+                    blockDangling[block] = danglingRank;
+                }
+            };
+            if (pool == null) {
+                step.run(0, blocks);
+            } else {
+                ParallelRanges.run(pool, 0, blocks, 1, step);
+            }
+
+            double delta = 0;
+            dangling = 0;
+            for (int block = 0; block < blocks; block++) {
+                delta += blockDeltas[block];
+                dangling += blockDangling[block];
+            }
+            ranks = next;
+            nextRanks = current;
+            contributions = nextShares;
+            nextContributions = shares;
+            if (delta <= tolerance) {
+                break;
+            }
+        }
+
+        for (int vertex = 0; vertex < n; vertex++) {
+            result.put(csr.vertexAt(vertex), ranks[vertex]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.nsu.tokarev.Algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Делит отрезок номеров пополам, пока части не станут меньше grain, и выполняет их на ForkJoinPool.
+// Маленькие отрезки выполняются в текущем потоке без задач.
+final class ParallelRanges {
+    interface RangeAction {
+        void run(int from, int to);
+    }
+
+    private ParallelRanges() {
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final RangeAction action;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RangeTask(RangeAction action, int from, int to, int grain) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                action.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(action, from, middle, grain), new RangeTask(action, middle, to, grain));
+        }
+    }
+
+    static void run(ForkJoinPool pool, int from, int to, int grain, RangeAction action) {
+        if (to - from <= grain) {
+            if (from < to) {
+                action.run(from, to);
+            }
+            return;
+        }
+        pool.invoke(new RangeTask(action, from, to, grain));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.nsu.tokarev.Algorithms;
+
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// Дерево кратчайших путей из одной вершины: расстояния, родители и порядок, в котором вершины были достигнуты.
+// Хранит массивы по номерам вершин снимка графа; объекты создаются только при запросе пути.
+// Для недостижимых и отсутствующих в графе вершин расстояние - бесконечность, путь пустой.
+public class PathTree<T> {
+    private final CsrGraph<T> graph;
+    private final int source;
+    private final double[] distances;
+    private final int[] parents;
+    private final int[] order;
+    private final int reached;
+
+    PathTree(CsrGraph<T> graph, int source, double[] distances, int[] parents, int[] order, int reached) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.parents = parents;
+        this.order = order;
+        this.reached = reached;
+    }
+
+    public T getSource() {
+        return graph.vertexAt(source);
+    }
+
+    public boolean isReachable(T vertex) {
+        int index = graph.indexOf(vertex);
+        return index >= 0 && distances[index] != Double.POSITIVE_INFINITY;
+    }
+
+    public double distanceTo(T vertex) {
+        int index = graph.indexOf(vertex);
+        return (index < 0) ? Double.POSITIVE_INFINITY : distances[index];
+    }
+
+    public List<T> pathTo(T vertex) {
+        if (!isReachable(vertex)) {
+            return Collections.emptyList();
+        }
+        List<T> path = new ArrayList<>();
+        for (int current = graph.indexOf(vertex); current >= 0; current = parents[current]) {
+            path.add(graph.vertexAt(current));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // Достигнутые вершины в порядке обхода, начиная с источника.
+    public List<T> getReachedVertices() {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                Objects.checkIndex(index, reached);
+                return graph.vertexAt(order[index]);
+            }
+
+            @Override
+            public int size() {
+                return reached;
+            }
+        };
+    }
+}
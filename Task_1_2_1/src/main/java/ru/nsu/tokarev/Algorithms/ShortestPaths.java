@@ -0,0 +1,135 @@
+package ru.nsu.tokarev.Algorithms;
+
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+
+// Кратчайшие пути во взвешенном графе. Веса запрашиваются один раз на ребро и хранятся в double[]
+// рядом с рёбрами снимка, очередь - IntMinHeap по номерам вершин.
+public final class ShortestPaths {
+    private ShortestPaths() {
+    }
+
+    public static <T> PathTree<T> dijkstra(Graph<T> graph, T source, ToDoubleBiFunction<? super T, ? super T> weight) {
+        CsrGraph<T> csr = GraphIndex.snapshot(graph);
+        int start = GraphIndex.indexOf(csr, source);
+        int n = csr.vertexCount();
+        int[] offsets = edgeOffsets(csr);
+        double[] weights = weights(csr, offsets, weight);
+
+        double[] distances = new double[n];
+        int[] parents = new int[n];
+        int[] order = new int[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+
+        int settled = 0;
+        IntMinHeap heap = new IntMinHeap(n);
+        distances[start] = 0;
+        heap.insertOrDecrease(start, 0);
+        while (!heap.isEmpty()) {
+            int vertex = heap.poll();
+            order[settled++] = vertex;
+            for (int i = 0; i < csr.degree(vertex); i++) {
+                int next = csr.neighborAt(vertex, i);
+                double distance = distances[vertex] + weights[offsets[vertex] + i];
+                if (distance < distances[next]) {
+                    distances[next] = distance;
+                    parents[next] = vertex;
+                    heap.insertOrDecrease(next, distance);
+                }
+            }
+        }
+        return new PathTree<>(csr, start, distances, parents, order, settled);
+    }
+
+    // Путь из source в target или пустой список. Путь кратчайший, если эвристика не завышает расстояние до target;
+    // при несогласованной эвристике вершины могут открываться повторно.
+    public static <T> List<T> aStar(Graph<T> graph, T source, T target,
+                                    ToDoubleBiFunction<? super T, ? super T> weight,
+                                    ToDoubleFunction<? super T> heuristic) {
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Heuristic must not be null.");
+        }
+        CsrGraph<T> csr = GraphIndex.snapshot(graph);
+        int start = GraphIndex.indexOf(csr, source);
+        int goal = GraphIndex.indexOf(csr, target);
+        int n = csr.vertexCount();
+        int[] offsets = edgeOffsets(csr);
+        double[] weights = weights(csr, offsets, weight);
+
+        double[] distances = new double[n];
+        double[] estimates = new double[n];  // значения эвристики, NaN - ещё не запрошено
+        int[] parents = new int[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(estimates, Double.NaN);
+        Arrays.fill(parents, -1);
+
+        IntMinHeap heap = new IntMinHeap(n);
+        distances[start] = 0;
+        heap.insertOrDecrease(start, estimate(csr, estimates, heuristic, start));
+        while (!heap.isEmpty()) {
+            int vertex = heap.poll();
+            if (vertex == goal) {
+                List<T> path = new ArrayList<>();
+                for (int current = goal; current >= 0; current = parents[current]) {
+                    path.add(csr.vertexAt(current));
+                }
+                Collections.reverse(path);
+                return path;
+            }
+            for (int i = 0; i < csr.degree(vertex); i++) {
+                int next = csr.neighborAt(vertex, i);
+                double distance = distances[vertex] + weights[offsets[vertex] + i];
+                if (distance < distances[next]) {
+                    distances[next] = distance;
+                    parents[next] = vertex;
+                    heap.insertOrDecrease(next, distance + estimate(csr, estimates, heuristic, next));
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private static <T> double estimate(CsrGraph<T> graph, double[] estimates,
+                                       ToDoubleFunction<? super T> heuristic, int vertex) {
+        if (Double.isNaN(estimates[vertex])) {
+            estimates[vertex] = heuristic.applyAsDouble(graph.vertexAt(vertex));
+        }
+        return estimates[vertex];
+    }
+
+    // offsets[v] - номер первого ребра вершины v в порядке снимка.
+    private static int[] edgeOffsets(CsrGraph<?> graph) {
+        int[] offsets = new int[graph.vertexCount() + 1];
+        for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+            offsets[vertex + 1] = offsets[vertex] + graph.degree(vertex);
+        }
+        return offsets;
+    }
+
+    private static <T> double[] weights(CsrGraph<T> graph, int[] offsets,
+                                        ToDoubleBiFunction<? super T, ? super T> weight) {
+        if (weight == null) {
+            throw new IllegalArgumentException("Weight function must not be null.");
+        }
+        double[] weights = new double[graph.edgeCount()];
+        for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+            T from = graph.vertexAt(vertex);
+            for (int i = 0; i < graph.degree(vertex); i++) {
+                double value = weight.applyAsDouble(from, graph.vertexAt(graph.neighborAt(vertex, i)));
+                if (!(value >= 0)) {
+                    throw new IllegalArgumentException("Edge weights must be non-negative.");
+                }
+                weights[offsets[vertex] + i] = value;
+            }
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,194 @@
+package ru.nsu.tokarev.Algorithms;
+
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Обходы в ширину и в глубину по снимку графа с плотными номерами. Очередь, стек и отметки - массивы int,
+// поэтому на посещённую вершину ничего не выделяется. Расстояние в дереве обхода в ширину - число рёбер.
+public final class Traversal {
+    // Параметры переключения направления из работы Бимера: снизу вверх, когда рёбер фронта больше
+    // чем 1/ALPHA непросмотренных рёбер, и обратно, когда фронт меньше 1/BETA вершин.
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int GRAIN = 1024;
+
+    private Traversal() {
+    }
+
+    public static <T> PathTree<T> breadthFirst(Graph<T> graph, T source) {
+        CsrGraph<T> csr = GraphIndex.snapshot(graph);
+        int start = GraphIndex.indexOf(csr, source);
+        int n = csr.vertexCount();
+
+        double[] distances = new double[n];
+        int[] parents = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+
+        int head = 0;
+        int tail = 0;
+        distances[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int vertex = queue[head++];
+            for (int i = 0; i < csr.degree(vertex); i++) {
+                int next = csr.neighborAt(vertex, i);
+                if (distances[next] == Double.POSITIVE_INFINITY) {
+                    distances[next] = distances[vertex] + 1;
+                    parents[next] = vertex;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return new PathTree<>(csr, start, distances, parents, queue, tail);
+    }
+
+    public static <T> PathTree<T> parallelBreadthFirst(Graph<T> graph, T source) {
+        return parallelBreadthFirst(graph, source, ForkJoinPool.commonPool());
+    }
+
+    // Обход по уровням с выбором направления на каждом уровне. Сверху вниз фронт делится между задачами,
+    // а родителя вершины выбирает compareAndSet. Снизу вверх задачи делят непосещённые вершины,
+    // и каждая ищет среди входящих рёбер своей вершины предшественника на текущем уровне.
+    // Расстояния совпадают с breadthFirst, родители и порядок внутри уровня могут отличаться.
+    public static <T> PathTree<T> parallelBreadthFirst(Graph<T> graph, T source, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null.");
+        }
+        CsrGraph<T> csr = GraphIndex.snapshot(graph);
+        int start = GraphIndex.indexOf(csr, source);
+        int n = csr.vertexCount();
+        int[][] reverse = GraphIndex.transpose(csr);
+        int[] reverseOffsets = reverse[0];
+        int[] reverseSources = reverse[1];
+
+        int[] levels = new int[n];
+        Arrays.fill(levels, -1);
+        AtomicIntegerArray claimed = new AtomicIntegerArray(n);  // родитель плюс один, 0 - вершина свободна
+        int[] order = new int[n];
+        AtomicInteger cursor = new AtomicInteger(1);
+        order[0] = start;
+        levels[start] = 0;
+        claimed.set(start, start + 1);
+
+        long frontierEdges = csr.degree(start);
+        long unexploredEdges = csr.edgeCount() - frontierEdges;
+        boolean bottomUp = false;
+        int levelStart = 0;
+        int levelEnd = 1;
+        for (int level = 0; levelStart < levelEnd; level++) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && levelEnd - levelStart < n / BETA) {
+                bottomUp = false;
+            }
+
+            int current = level;
+            if (bottomUp) {
+                ParallelRanges.run(pool, 0, n, GRAIN, (from, to) -> {
+                    int[] found = new int[64];
+                    int count = 0;
+                    for (int vertex = from; vertex < to; vertex++) {
+                        if (levels[vertex] != -1) {
+                            continue;
+                        }
+                        for (int e = reverseOffsets[vertex]; e < reverseOffsets[vertex + 1]; e++) {
+                            int parent = reverseSources[e];
+                            if (levels[parent] == current) {
+                                levels[vertex] = current + 1;
+                                claimed.set(vertex, parent + 1);
+                                if (count == found.length) {
+                                    found = Arrays.copyOf(found, count * 2);
+                                }
+                                found[count++] = vertex;
+                                break;
+                            }
+                        }
+                    }
+                    append(order, cursor, found, count);
+                });
+            } else {
+                ParallelRanges.run(pool, levelStart, levelEnd, GRAIN, (from, to) -> {
+                    int[] found = new int[64];
+                    int count = 0;
+                    for (int i = from; i < to; i++) {
+                        int vertex = order[i];
+                        for (int j = 0; j < csr.degree(vertex); j++) {
+                            int next = csr.neighborAt(vertex, j);
+                            if (claimed.get(next) == 0 && claimed.compareAndSet(next, 0, vertex + 1)) {
+                                levels[next] = current + 1;
+                                if (count == found.length) {
+                                    found = Arrays.copyOf(found, count * 2);
+                                }
+                                found[count++] = next;
+                            }
+                        }
+                    }
+                    append(order, cursor, found, count);
+                });
+            }
+
+            levelStart = levelEnd;
+            levelEnd = cursor.get();
+            frontierEdges = 0;
+            for (int i = levelStart; i < levelEnd; i++) {
+                frontierEdges += csr.degree(order[i]);
+            }
+            unexploredEdges -= frontierEdges;
+        }
+
+        double[] distances = new double[n];
+        int[] parents = new int[n];
+        for (int vertex = 0; vertex < n; vertex++) {
+            distances[vertex] = (levels[vertex] < 0) ? Double.POSITIVE_INFINITY : levels[vertex];
+            parents[vertex] = claimed.get(vertex) - 1;
+        }
+        parents[start] = -1;
+        return new PathTree<>(csr, start, distances, parents, order, levelEnd);
+    }
+
+    private static void append(int[] order, AtomicInteger cursor, int[] found, int count) {
+        if (count > 0) {
+            System.arraycopy(found, 0, order, cursor.getAndAdd(count), count);
+        }
+    }
+
+    // Прямой порядок обхода в глубину; соседи просматриваются в порядке возрастания номеров снимка.
+    public static <T> List<T> depthFirstOrder(Graph<T> graph, T source) {
+        CsrGraph<T> csr = GraphIndex.snapshot(graph);
+        int start = GraphIndex.indexOf(csr, source);
+        int n = csr.vertexCount();
+
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        int[] position = new int[n];
+        List<T> order = new ArrayList<>();
+
+        int depth = 0;
+        visited[start] = true;
+        order.add(csr.vertexAt(start));
+        stack[depth++] = start;
+        while (depth > 0) {
+            int vertex = stack[depth - 1];
+            if (position[vertex] == csr.degree(vertex)) {
+                depth--;
+                continue;
+            }
+            int next = csr.neighborAt(vertex, position[vertex]++);
+            if (!visited[next]) {
+                visited[next] = true;
+                order.add(csr.vertexAt(next));
+                stack[depth++] = next;
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,85 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyMatrixGraph;
+
+import java.util.Random;
+
+public class AdjacencyMatrixBenchmark {
+    private static final int SMALL_VERTICES = 2000;
+    private static final int LARGE_VERTICES = 100_000;
+    private static final int EDGES_PER_VERTEX = 8;
+    private static final int CLOSURE_VERTICES = 2000;
+
+    public static void main(String[] args) {
+        for (int vertexCount : new int[] {SMALL_VERTICES, LARGE_VERTICES}) {
+            Integer[] vertices = vertices(vertexCount);
+            long before = usedMemory();
+            long start = System.nanoTime();
+            AdjacencyMatrixGraph<Integer> graph = randomGraph(vertices, 1);
+            long elapsed = System.nanoTime() - start;
+            long after = usedMemory();
+            System.out.printf("%d vertices: built in %.1f ms, %.1f MB%n",
+                    vertexCount, elapsed / 1e6, (after - before) / 1e6);
+
+            BenchmarkRunner.measure("hasEdge", vertexCount, () -> {
+                long found = 0;
+                for (int i = 0; i < vertexCount; i++) {
+                    if (graph.hasEdge(vertices[i], vertices[(i * 31 + 7) % vertexCount])) {
+                        found++;
+                    }
+                }
+                return found;
+            });
+            BenchmarkRunner.measure("getNeighbors", vertexCount, () -> {
+                long total = 0;
+                for (Integer vertex : vertices) {
+                    total += graph.getNeighbors(vertex).size();
+                }
+                return total;
+            });
+        }
+
+        Integer[] vertices = vertices(CLOSURE_VERTICES);
+        AdjacencyMatrixGraph<Integer> first = randomGraph(vertices, 2);
+        AdjacencyMatrixGraph<Integer> second = randomGraph(vertices, 3);
+        System.out.println("Bulk operations on " + CLOSURE_VERTICES + " vertices");
+        BenchmarkRunner.measure("union", CLOSURE_VERTICES, () -> first.union(second).hashCode());
+        BenchmarkRunner.measure("intersection", CLOSURE_VERTICES, () -> first.intersection(second).hashCode());
+        BenchmarkRunner.measure("transitiveClosure", CLOSURE_VERTICES, () -> first.transitiveClosure().hashCode());
+        BenchmarkRunner.measure("removeVertex", 100, () -> {
+            AdjacencyMatrixGraph<Integer> copy = first.union(new AdjacencyMatrixGraph<>());
+            for (int i = 0; i < 100; i++) {
+                copy.removeVertex(vertices[i]);
+            }
+            return copy.getAllVertices().size();
+        });
+    }
+
+    private static AdjacencyMatrixGraph<Integer> randomGraph(Integer[] vertices, long seed) {
+        Random random = new Random(seed);
+        AdjacencyMatrixGraph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for (Integer vertex : vertices) {
+            graph.addVertex(vertex);
+        }
+        for (int i = 0; i < vertices.length * EDGES_PER_VERTEX; i++) {
+            graph.addEdge(vertices[random.nextInt(vertices.length)], vertices[random.nextInt(vertices.length)]);
+        }
+        return graph;
+    }
+
+    private static Integer[] vertices(int count) {
+        Integer[] vertices = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            vertices[i] = i;
+        }
+        return vertices;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,52 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+final class BenchmarkRunner {
+    static final int WARMUP_ROUNDS = 3;
+    static final int MEASURED_ROUNDS = 5;
+
+    // Результат возвращается наружу, чтобы JIT не выбросил измеряемый код.
+    static volatile long sink;
+
+    private BenchmarkRunner() {
+    }
+
+    static double measure(String name, int operations, LongSupplier body) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += body.getAsLong();
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += body.getAsLong();
+            long end = System.nanoTime();
+            best = Math.min(best, end - start);
+        }
+
+        double nsPerOp = (double) best / operations;
+        System.out.printf("%-48s %10.2f ms %10.2f ns/op%n", name, best / 1_000_000.0, nsPerOp);
+        return nsPerOp;
+    }
+
+    // Байты, выделенные текущим потоком за один прогон после прогрева. Учитывается только этот поток,
+    // поэтому подходит для последовательного кода.
+    static double measureAllocation(String name, int operations, LongSupplier body) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += body.getAsLong();
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        sink += body.getAsLong();
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        double bytesPerOp = (double) allocated / operations;
+        System.out.printf("%-48s %10.2f MB %10.2f B/op%n", name, allocated / 1_048_576.0, bytesPerOp);
+        return bytesPerOp;
+    }
+}
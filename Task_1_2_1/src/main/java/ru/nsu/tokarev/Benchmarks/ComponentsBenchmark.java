@@ -0,0 +1,22 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Algorithms.Components;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.TopoSort.TopoSort;
+
+public class ComponentsBenchmark {
+    private static final int VERTICES = 1 << 20;
+    private static final int EDGES = 1 << 19;
+
+    public static void main(String[] args) {
+        // Рёбер вдвое меньше вершин: много небольших компонент и одна крупная.
+        System.out.println("Random graph: " + VERTICES + " vertices, " + EDGES + " edges");
+        CsrGraph<Integer> graph = TraversalBenchmark.randomGraph(VERTICES, EDGES, 2);
+
+        BenchmarkRunner.measure("Components.count", VERTICES, () -> Components.count(graph));
+        BenchmarkRunner.measure("Components.weaklyConnected", VERTICES,
+                () -> Components.weaklyConnected(graph).size());
+        BenchmarkRunner.measure("TopoSort.stronglyConnectedComponents", VERTICES,
+                () -> TopoSort.stronglyConnectedComponents(graph).size());
+    }
+}
@@ -0,0 +1,123 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyListGraph;
+import ru.nsu.tokarev.Matrixs.ConcurrentGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ConcurrentGraphBenchmark {
+    private static final int VERTICES = 10_000;
+    private static final int EDGES = 50_000;
+    private static final int OPERATIONS = 2_000_000;
+    private static final int WRITE_PERCENT = 10;
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    // Операция над графом; у глобальной блокировки вокруг неё берётся synchronized.
+    // Чтения - hasEdge и обход соседей поровну, записи - добавление и удаление рёбер.
+    private interface Operation {
+        long run(Graph<Integer> graph, int from, int to, int kind);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println(VERTICES + " vertices, " + EDGES + " edges, " + WRITE_PERCENT + "% writes");
+
+        for (int threads : THREADS) {
+            AdjacencyListGraph<Integer> locked = fill(new AdjacencyListGraph<>());
+            ConcurrentGraph<Integer> concurrent = fill(new ConcurrentGraph<>());
+            BenchmarkRunner.measure("global lock, " + threads + " threads", OPERATIONS,
+                    () -> run(locked, threads, (graph, from, to, kind) -> {
+                        synchronized (graph) {
+                            return apply(graph, from, to, kind);
+                        }
+                    }));
+            BenchmarkRunner.measure("ConcurrentGraph, " + threads + " threads", OPERATIONS,
+                    () -> run(concurrent, threads, ConcurrentGraphBenchmark::apply));
+        }
+
+        // Снимок под полной блокировкой полос копирует только ссылки на массивы соседей.
+        ConcurrentGraph<Integer> graph = fill(new ConcurrentGraph<>());
+        BenchmarkRunner.measure("snapshot", VERTICES, () -> graph.snapshot().edgeCount());
+    }
+
+    private static final int ADD = 0;
+    private static final int REMOVE = 1;
+    private static final int HAS_EDGE = 2;
+    private static final int SCAN = 3;
+
+    private static long apply(Graph<Integer> graph, int from, int to, int kind) {
+        switch (kind) {
+            case ADD:
+                graph.addEdge(from, to);
+                return 1;
+            case REMOVE:
+                graph.removeEdge(from, to);
+                return 1;
+            case HAS_EDGE:
+                return graph.hasEdge(from, to) ? 1 : 0;
+            default:
+                long total = 0;
+                for (Integer neighbor : graph.getNeighborsView(from)) {
+                    total += neighbor;
+                }
+                return total;
+        }
+    }
+
+    private static long run(Graph<Integer> graph, int threads, Operation operation) {
+        long[] results = new long[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                // Записи чередуются: поток добавляет ребро и следующей записью удаляет его,
+                // так что размер графа не растёт от прогона к прогону.
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long result = 0;
+                int addedFrom = -1;
+                int addedTo = -1;
+                for (int i = 0; i < OPERATIONS / threads; i++) {
+                    int from = random.nextInt(VERTICES);
+                    int to = random.nextInt(VERTICES);
+                    int percent = random.nextInt(100);
+                    if (percent >= WRITE_PERCENT) {
+                        result += operation.run(graph, from, to, (percent & 1) == 0 ? HAS_EDGE : SCAN);
+                    } else if (addedFrom < 0) {
+                        result += operation.run(graph, from, to, ADD);
+                        addedFrom = from;
+                        addedTo = to;
+                    } else {
+                        result += operation.run(graph, addedFrom, addedTo, REMOVE);
+                        addedFrom = -1;
+                    }
+                }
+                results[index] = result;
+            });
+            workers[t].start();
+        }
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            try {
+                workers[t].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            total += results[t];
+        }
+        return total;
+    }
+
+    private static <G extends Graph<Integer>> G fill(G graph) {
+        Random random = new Random(8);
+        for (int i = 0; i < VERTICES; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < EDGES; i++) {
+            graph.addEdge(random.nextInt(VERTICES), random.nextInt(VERTICES));
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,142 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyListGraph;
+import ru.nsu.tokarev.Matrixs.AdjacencyMatrixGraph;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+import ru.nsu.tokarev.Matrixs.IncidenceMatrixGraph;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+public class CsrGraphBenchmark {
+    private static final int SMALL_VERTICES = 1000;
+    private static final int SMALL_EDGES = 5000;
+    private static final int LARGE_VERTICES = 1 << 20;
+    private static final int LARGE_EDGES = 8 << 20;
+
+    public static void main(String[] args) {
+        System.out.println("Small graph: " + SMALL_VERTICES + " vertices, " + SMALL_EDGES + " edges");
+        Integer[] small = vertices(SMALL_VERTICES);
+        int[][] smallEdges = randomEdges(SMALL_VERTICES, SMALL_EDGES, 1);
+        compare("AdjacencyListGraph", () -> fill(new AdjacencyListGraph<>(), small, smallEdges), small);
+        compare("AdjacencyMatrixGraph", () -> fill(new AdjacencyMatrixGraph<>(), small, smallEdges), small);
+        compare("IncidenceMatrixGraph", () -> fill(new IncidenceMatrixGraph<>(), small, smallEdges), small);
+        compare("CsrGraph", () -> CsrGraph.copyOf(fill(new AdjacencyListGraph<>(), small, smallEdges)), small);
+
+        // Матричные реализации на таком размере не помещаются в память.
+        System.out.println("Large graph: " + LARGE_VERTICES + " vertices, " + LARGE_EDGES + " edges");
+        Integer[] large = vertices(LARGE_VERTICES);
+        int[][] largeEdges = randomEdges(LARGE_VERTICES, LARGE_EDGES, 2);
+        compare("AdjacencyListGraph", () -> fill(new AdjacencyListGraph<>(), large, largeEdges), large);
+        compare("CsrGraph", () -> {
+            CsrGraph.Builder<Integer> builder = CsrGraph.builder();
+            for (int i = 0; i < largeEdges[0].length; i++) {
+                builder.addEdge(large[largeEdges[0][i]], large[largeEdges[1][i]]);
+            }
+            return builder.build();
+        }, large);
+    }
+
+    private static void compare(String name, Supplier<Graph<Integer>> factory, Integer[] vertices) {
+        long before = usedMemory();
+        Graph<Integer> graph = factory.get();
+        long after = usedMemory();
+        System.out.printf("%-48s %10.1f MB%n", name + " memory", (after - before) / 1e6);
+
+        BenchmarkRunner.measure(name + " BFS via getNeighbors", vertices.length, () -> bfs(graph, vertices[0]));
+        BenchmarkRunner.measure(name + " hasEdge", vertices.length, () -> {
+            long found = 0;
+            for (int i = 0; i < vertices.length; i++) {
+                if (graph.hasEdge(vertices[i], vertices[(i * 31 + 7) % vertices.length])) {
+                    found++;
+                }
+            }
+            return found;
+        });
+        if (graph instanceof CsrGraph) {
+            CsrGraph<Integer> csr = (CsrGraph<Integer>) graph;
+            BenchmarkRunner.measure(name + " BFS over vertex indices", vertices.length, () -> bfs(csr, 0));
+        }
+    }
+
+    private static long bfs(Graph<Integer> graph, Integer start) {
+        Set<Integer> visited = new HashSet<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        visited.add(start);
+        queue.add(start);
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            Integer vertex = queue.poll();
+            sum += vertex;
+            for (Integer neighbor : graph.getNeighbors(vertex)) {
+                if (visited.add(neighbor)) {
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static long bfs(CsrGraph<Integer> graph, int start) {
+        boolean[] visited = new boolean[graph.vertexCount()];
+        int[] queue = new int[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+        visited[start] = true;
+        queue[tail++] = start;
+        long sum = 0;
+        while (head < tail) {
+            int vertex = queue[head++];
+            sum += vertex;
+            for (int i = 0; i < graph.degree(vertex); i++) {
+                int neighbor = graph.neighborAt(vertex, i);
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static Graph<Integer> fill(Graph<Integer> graph, Integer[] vertices, int[][] edges) {
+        for (Integer vertex : vertices) {
+            graph.addVertex(vertex);
+        }
+        for (int i = 0; i < edges[0].length; i++) {
+            graph.addEdge(vertices[edges[0][i]], vertices[edges[1][i]]);
+        }
+        return graph;
+    }
+
+    private static Integer[] vertices(int count) {
+        Integer[] vertices = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            vertices[i] = i;
+        }
+        return vertices;
+    }
+
+    // edges[0] - начала рёбер, edges[1] - концы.
+    private static int[][] randomEdges(int vertexCount, int edgeCount, long seed) {
+        Random random = new Random(seed);
+        int[][] edges = new int[2][edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            edges[0][i] = random.nextInt(vertexCount);
+            edges[1][i] = random.nextInt(vertexCount);
+        }
+        return edges;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
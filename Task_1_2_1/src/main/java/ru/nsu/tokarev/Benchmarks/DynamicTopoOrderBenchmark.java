@@ -0,0 +1,72 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyListGraph;
+import ru.nsu.tokarev.TopoSort.DynamicTopoOrder;
+import ru.nsu.tokarev.TopoSort.TopoSort;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+public class DynamicTopoOrderBenchmark {
+    private static final int SMALL_VERTICES = 2000;
+    private static final int SMALL_EDGES = 4000;
+    private static final int LARGE_VERTICES = 100_000;
+    private static final int LARGE_EDGES = 200_000;
+
+    public static void main(String[] args) {
+        System.out.println("Stream of " + SMALL_EDGES + " insertions into " + SMALL_VERTICES + " vertices");
+        int[][] small = edgeStream(SMALL_VERTICES, SMALL_EDGES, 1);
+        BenchmarkRunner.measure("full TopoSort.sort after each edge", SMALL_EDGES, () -> {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+            for (int i = 0; i < SMALL_VERTICES; i++) {
+                graph.addVertex(i);
+            }
+            long sum = 0;
+            for (int i = 0; i < SMALL_EDGES; i++) {
+                graph.addEdge(small[0][i], small[1][i]);
+                sum += TopoSort.sort(graph).get(0);
+            }
+            return sum;
+        });
+        BenchmarkRunner.measure("DynamicTopoOrder.addEdge", SMALL_EDGES, () -> insertAll(SMALL_VERTICES, small));
+
+        System.out.println("Stream of " + LARGE_EDGES + " insertions into " + LARGE_VERTICES + " vertices");
+        int[][] large = edgeStream(LARGE_VERTICES, LARGE_EDGES, 2);
+        BenchmarkRunner.measure("DynamicTopoOrder.addEdge", LARGE_EDGES, () -> insertAll(LARGE_VERTICES, large));
+    }
+
+    private static long insertAll(int vertices, int[][] edges) {
+        DynamicTopoOrder<Integer> order = new DynamicTopoOrder<>();
+        for (int i = 0; i < vertices; i++) {
+            order.addVertex(i);
+        }
+        for (int i = 0; i < edges[0].length; i++) {
+            order.addEdge(edges[0][i], edges[1][i]);
+        }
+        return order.getOrder().get(0);
+    }
+
+    // Рёбра согласованы со случайной скрытой перестановкой: циклов нет,
+    // но порядок добавления вершин приходится постоянно исправлять.
+    private static int[][] edgeStream(int vertices, int edgeCount, long seed) {
+        Random random = new Random(seed);
+        Integer[] hidden = new Integer[vertices];
+        for (int i = 0; i < vertices; i++) {
+            hidden[i] = i;
+        }
+        Collections.shuffle(Arrays.asList(hidden), random);
+
+        int[][] edges = new int[2][edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            int a = random.nextInt(vertices);
+            int b = random.nextInt(vertices);
+            while (a == b) {
+                b = random.nextInt(vertices);
+            }
+            edges[0][i] = hidden[Math.min(a, b)];
+            edges[1][i] = hidden[Math.max(a, b)];
+        }
+        return edges;
+    }
+}
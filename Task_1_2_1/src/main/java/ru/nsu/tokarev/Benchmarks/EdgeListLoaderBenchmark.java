@@ -0,0 +1,75 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyListGraph;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.EdgeListLoader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class EdgeListLoaderBenchmark {
+    private static final int VERTICES = 1 << 20;
+    private static final int EDGES = 5_000_000;
+
+    public static void main(String[] args) throws IOException {
+        Path text = Files.createTempFile("edges", ".txt");
+        Path binary = Files.createTempFile("edges", ".bin");
+        try {
+            writeText(text);
+            System.out.printf("Edge list: %d lines, %.1f MB%n", EDGES, Files.size(text) / 1e6);
+
+            BenchmarkRunner.measure("Graph.readFromFile (AdjacencyListGraph)", EDGES, () -> {
+                AdjacencyListGraph<String> graph = new AdjacencyListGraph<>();
+                try {
+                    graph.readFromFile(text.toString());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                return graph.getAllVertices().size();
+            });
+            BenchmarkRunner.measure("EdgeListLoader.loadText", EDGES, () -> {
+                try {
+                    return EdgeListLoader.loadText(text).edgeCount();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            CsrGraph<Integer> numeric = numericGraph();
+            EdgeListLoader.writeBinary(numeric, binary);
+            System.out.printf("Binary edge list: %.1f MB%n", Files.size(binary) / 1e6);
+            BenchmarkRunner.measure("EdgeListLoader.loadBinary", EDGES, () -> {
+                try {
+                    return EdgeListLoader.loadBinary(binary).edgeCount();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            Files.deleteIfExists(text);
+            Files.deleteIfExists(binary);
+        }
+    }
+
+    private static void writeText(Path path) throws IOException {
+        Random random = new Random(1);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < EDGES; i++) {
+                writer.write("v" + random.nextInt(VERTICES) + " v" + random.nextInt(VERTICES) + "\n");
+            }
+        }
+    }
+
+    private static CsrGraph<Integer> numericGraph() {
+        Random random = new Random(1);
+        CsrGraph.Builder<Integer> builder = CsrGraph.builder();
+        for (int i = 0; i < EDGES; i++) {
+            builder.addEdge(random.nextInt(VERTICES), random.nextInt(VERTICES));
+        }
+        return builder.build();
+    }
+}
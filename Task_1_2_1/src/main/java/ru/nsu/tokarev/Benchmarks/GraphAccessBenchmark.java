@@ -0,0 +1,101 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyListGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+import ru.nsu.tokarev.TopoSort.TopoSort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+public class GraphAccessBenchmark {
+    private static final int VERTICES = 1 << 19;
+    private static final int EDGES = 4 << 19;
+
+    public static void main(String[] args) {
+        // Случайный ациклический граф: рёбра только от меньших номеров к большим.
+        System.out.println("Random DAG: " + VERTICES + " vertices, " + EDGES + " edges");
+        Random random = new Random(4);
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < VERTICES; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < EDGES; i++) {
+            int from = random.nextInt(VERTICES - 1);
+            graph.addEdge(from, from + 1 + random.nextInt(VERTICES - from - 1));
+        }
+
+        compare("scan via getNeighbors (previous)", () -> {
+            long total = 0;
+            for (Integer vertex : graph.getAllVertices()) {
+                total += graph.getNeighbors(vertex).size();
+            }
+            return total;
+        });
+        compare("scan via getNeighborsView", () -> {
+            long total = 0;
+            for (Integer vertex : graph.getVerticesView()) {
+                total += graph.getNeighborsView(vertex).size();
+            }
+            return total;
+        });
+        compare("scan via outDegree", () -> {
+            long total = 0;
+            for (Integer vertex : graph.getVerticesView()) {
+                total += graph.outDegree(vertex);
+            }
+            return total;
+        });
+        compare("sort via copies (previous)", () -> copyingSort(graph).size());
+        compare("sort", () -> TopoSort.sort(graph).size());
+    }
+
+    // JMH с -prof gc недоступен, поэтому скорость и выделенная память меряются отдельными прогонами.
+    private static void compare(String name, LongSupplier body) {
+        BenchmarkRunner.measure(name, VERTICES, body);
+        BenchmarkRunner.measureAllocation(name, VERTICES, body);
+    }
+
+    // TopoSort.sort до перехода на представления: копии вершин и соседей в HashSet на каждую вершину.
+    private static <T> List<T> copyingSort(Graph<T> graph) {
+        Set<T> vertices = new HashSet<>(graph.getAllVertices());
+        Map<T, Integer> inDegree = new HashMap<>();
+        Map<T, Set<T>> adjacencyMap = new HashMap<>();
+        for (T vertex : vertices) {
+            inDegree.put(vertex, 0);
+            adjacencyMap.put(vertex, new HashSet<>());
+        }
+        for (T from : vertices) {
+            for (T to : graph.getNeighbors(from)) {
+                adjacencyMap.get(from).add(to);
+                inDegree.put(to, inDegree.get(to) + 1);
+            }
+        }
+
+        Queue<T> queue = new LinkedList<>();
+        for (T vertex : vertices) {
+            if (inDegree.get(vertex) == 0) {
+                queue.offer(vertex);
+            }
+        }
+        List<T> result = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            T current = queue.poll();
+            result.add(current);
+            for (T neighbor : adjacencyMap.get(current)) {
+                inDegree.put(neighbor, inDegree.get(neighbor) - 1);
+                if (inDegree.get(neighbor) == 0) {
+                    queue.offer(neighbor);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyListGraph;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+import ru.nsu.tokarev.Matrixs.IncidenceMatrixGraph;
+
+import java.util.Random;
+
+public class GraphEqualsBenchmark {
+    private static final int VERTICES = 100_000;
+    private static final int EDGES = 1_000_000;
+    private static final int SMALL_VERTICES = 3_000;
+
+    public static void main(String[] args) {
+        // Прежний graphEquals - V^2 вызовов hasEdge, поэтому измеряется только на маленьком графе.
+        System.out.println("Small graph: " + SMALL_VERTICES + " vertices, " + SMALL_VERTICES * 10 + " edges");
+        Graph<Integer> smallList = fill(new AdjacencyListGraph<>(), SMALL_VERTICES, SMALL_VERTICES * 10);
+        Graph<Integer> smallIncidence = fill(new IncidenceMatrixGraph<>(), SMALL_VERTICES, SMALL_VERTICES * 10);
+        BenchmarkRunner.measure("pairwise hasEdge equals (previous)", SMALL_VERTICES,
+                () -> pairwiseEquals(smallList, smallIncidence) ? 1 : 0);
+        BenchmarkRunner.measure("equals", SMALL_VERTICES, () -> smallList.equals(smallIncidence) ? 1 : 0);
+
+        System.out.println("Large graph: " + VERTICES + " vertices, " + EDGES + " edges");
+        AdjacencyListGraph<Integer> list = fill(new AdjacencyListGraph<>(), VERTICES, EDGES);
+        IncidenceMatrixGraph<Integer> incidence = fill(new IncidenceMatrixGraph<>(), VERTICES, EDGES);
+        CsrGraph<Integer> csr = CsrGraph.copyOf(list);
+        BenchmarkRunner.measure("equals list vs incidence", VERTICES, () -> list.equals(incidence) ? 1 : 0);
+        BenchmarkRunner.measure("equals csr vs list", VERTICES, () -> csr.equals(list) ? 1 : 0);
+        BenchmarkRunner.measure("hashCode incidence", VERTICES, incidence::hashCode);
+
+        // Одно лишнее ребро: отпечатки различаются, сравнение заканчивается сразу.
+        incidence.addEdge(0, VERTICES - 1);
+        incidence.addEdge(VERTICES - 1, 0);
+        BenchmarkRunner.measure("equals, one edge differs", VERTICES, () -> list.equals(incidence) ? 1 : 0);
+    }
+
+    private static <G extends Graph<Integer>> G fill(G graph, int vertices, int edges) {
+        Random random = new Random(7);
+        for (int i = 0; i < vertices; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < edges; i++) {
+            graph.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        return graph;
+    }
+
+    private static boolean pairwiseEquals(Graph<Integer> first, Graph<Integer> second) {
+        if (!first.getAllVertices().equals(second.getAllVertices())) {
+            return false;
+        }
+        for (Integer from : first.getAllVertices()) {
+            for (Integer to : first.getAllVertices()) {
+                if (first.hasEdge(from, to) != second.hasEdge(from, to)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.IncidenceMatrixGraph;
+
+import java.util.Random;
+
+public class IncidenceGraphBenchmark {
+    private static final int EDGES_PER_VERTEX = 8;
+    private static final int REMOVED_VERTICES = 1000;
+
+    // Время на операцию должно оставаться почти постоянным при росте числа рёбер.
+    public static void main(String[] args) {
+        for (int edgeCount : new int[] {1000, 10_000, 100_000, 1_000_000}) {
+            int vertexCount = edgeCount / EDGES_PER_VERTEX;
+            Integer[] vertices = new Integer[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                vertices[i] = i;
+            }
+            int[] from = new int[edgeCount];
+            int[] to = new int[edgeCount];
+            Random random = new Random(edgeCount);
+            for (int i = 0; i < edgeCount; i++) {
+                from[i] = random.nextInt(vertexCount);
+                to[i] = random.nextInt(vertexCount);
+            }
+
+            System.out.println(edgeCount + " edges, " + vertexCount + " vertices");
+            BenchmarkRunner.measure("addEdge", edgeCount, () -> build(vertices, from, to).edgeCount());
+
+            IncidenceMatrixGraph<Integer> graph = build(vertices, from, to);
+            BenchmarkRunner.measure("hasEdge", edgeCount, () -> {
+                long found = 0;
+                for (int i = 0; i < edgeCount; i++) {
+                    if (graph.hasEdge(vertices[from[i]], vertices[to[(i + 1) % edgeCount]])) {
+                        found++;
+                    }
+                }
+                return found;
+            });
+            BenchmarkRunner.measure("getNeighbors", vertexCount, () -> {
+                long total = 0;
+                for (Integer vertex : vertices) {
+                    total += graph.getNeighbors(vertex).size();
+                }
+                return total;
+            });
+
+            // Граф перестраивается вне замера, время считается только для удалений.
+            int removed = Math.min(REMOVED_VERTICES, vertexCount);
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < BenchmarkRunner.WARMUP_ROUNDS + BenchmarkRunner.MEASURED_ROUNDS; round++) {
+                IncidenceMatrixGraph<Integer> copy = build(vertices, from, to);
+                long start = System.nanoTime();
+                for (int i = 0; i < removed; i++) {
+                    copy.removeVertex(vertices[i]);
+                }
+                long elapsed = System.nanoTime() - start;
+                BenchmarkRunner.sink += copy.edgeCount();
+                if (round >= BenchmarkRunner.WARMUP_ROUNDS) {
+                    best = Math.min(best, elapsed);
+                }
+            }
+            System.out.printf("%-48s %10.2f ms %10.2f ns/op%n", "removeVertex", best / 1e6, (double) best / removed);
+        }
+    }
+
+    private static IncidenceMatrixGraph<Integer> build(Integer[] vertices, int[] from, int[] to) {
+        IncidenceMatrixGraph<Integer> graph = new IncidenceMatrixGraph<>();
+        for (int i = 0; i < from.length; i++) {
+            graph.addEdge(vertices[from[i]], vertices[to[i]]);
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Algorithms.PageRank;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class PageRankBenchmark {
+    private static final int VERTICES = 1 << 20;
+    private static final int EDGES = 8 << 20;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println("Random graph: " + VERTICES + " vertices, " + EDGES + " edges, "
+                + ITERATIONS + " iterations");
+        CsrGraph<Integer> graph = TraversalBenchmark.randomGraph(VERTICES, EDGES, 3);
+
+        // Нулевая точность: всегда ровно ITERATIONS итераций.
+        BenchmarkRunner.measure("rank", VERTICES, () -> PageRank.rank(graph, 0.85, 0, ITERATIONS).size());
+        BenchmarkRunner.measure("parallelRank", VERTICES,
+                () -> PageRank.parallelRank(graph, 0.85, 0, ITERATIONS,
+                        ForkJoinPool.commonPool()).size());
+    }
+}
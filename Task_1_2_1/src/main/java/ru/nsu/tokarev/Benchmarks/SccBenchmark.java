@@ -0,0 +1,63 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyListGraph;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+import ru.nsu.tokarev.TopoSort.TopoSort;
+
+import java.util.Random;
+
+public class SccBenchmark {
+    private static final int DEEP_VERTICES = 10_000_000;
+    private static final int RANDOM_VERTICES = 1 << 20;
+    private static final int RANDOM_EDGES = 4 << 20;
+
+    public static void main(String[] args) {
+        // Путь через все вершины: рекурсивный обход упал бы здесь с StackOverflowError.
+        System.out.println("Deep graph: path through " + DEEP_VERTICES + " vertices");
+        CsrGraph.Builder<Integer> builder = CsrGraph.builder();
+        for (int i = 0; i + 1 < DEEP_VERTICES; i++) {
+            builder.addEdge(i, i + 1);
+        }
+        CsrGraph<Integer> path = builder.build();
+        BenchmarkRunner.measure("isDAG path", DEEP_VERTICES, () -> TopoSort.isDAG(path) ? 1 : 0);
+        BenchmarkRunner.measure("condensation path", DEEP_VERTICES,
+                () -> TopoSort.condensation(path).getComponentCount());
+
+        CsrGraph<Integer> ring = builder.addEdge(DEEP_VERTICES - 1, 0).build();
+        BenchmarkRunner.measure("condensation ring", DEEP_VERTICES,
+                () -> TopoSort.condensation(ring).getComponentCount());
+        BenchmarkRunner.measure("findCycles ring, limit 1", DEEP_VERTICES,
+                () -> TopoSort.findCycles(ring, 1).size());
+
+        // Случайный граф с циклами: isDAG останавливается на первом обратном ребре.
+        // Циклы в гигантской компоненте длиной в сотни тысяч вершин, поэтому лимит маленький.
+        System.out.println("Random graph: " + RANDOM_VERTICES + " vertices, " + RANDOM_EDGES + " edges");
+        Graph<Integer> random = randomGraph(3);
+        BenchmarkRunner.measure("isDAG via sort (previous)", RANDOM_VERTICES, () -> {
+            try {
+                TopoSort.sort(random);
+                return 1;
+            } catch (IllegalArgumentException e) {
+                return 0;
+            }
+        });
+        BenchmarkRunner.measure("isDAG", RANDOM_VERTICES, () -> TopoSort.isDAG(random) ? 1 : 0);
+        BenchmarkRunner.measure("stronglyConnectedComponents", RANDOM_VERTICES,
+                () -> TopoSort.stronglyConnectedComponents(random).size());
+        BenchmarkRunner.measure("findCycles, limit 10", RANDOM_VERTICES,
+                () -> TopoSort.findCycles(random, 10).size());
+    }
+
+    private static Graph<Integer> randomGraph(long seed) {
+        Random random = new Random(seed);
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < RANDOM_VERTICES; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < RANDOM_EDGES; i++) {
+            graph.addEdge(random.nextInt(RANDOM_VERTICES), random.nextInt(RANDOM_VERTICES));
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Algorithms.ShortestPaths;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public class ShortestPathsBenchmark {
+    private static final int SIDE = 1024;
+    private static final int VERTICES = SIDE * SIDE;
+
+    public static void main(String[] args) {
+        // Решётка с рёбрами в четыре стороны и весами, зависящими от концов ребра.
+        System.out.println("Grid: " + SIDE + " x " + SIDE);
+        CsrGraph.Builder<Integer> builder = CsrGraph.builder();
+        for (int vertex = 0; vertex < VERTICES; vertex++) {
+            builder.addVertex(vertex);
+        }
+        for (int row = 0; row < SIDE; row++) {
+            for (int column = 0; column < SIDE; column++) {
+                int vertex = row * SIDE + column;
+                if (column + 1 < SIDE) {
+                    builder.addEdge(vertex, vertex + 1).addEdge(vertex + 1, vertex);
+                }
+                if (row + 1 < SIDE) {
+                    builder.addEdge(vertex, vertex + SIDE).addEdge(vertex + SIDE, vertex);
+                }
+            }
+        }
+        CsrGraph<Integer> grid = builder.build();
+        // dijkstra строит дерево до всех вершин, aStar останавливается на цели в центре решётки.
+        int target = (SIDE / 2) * SIDE + SIDE / 2;
+
+        BenchmarkRunner.measure("Dijkstra with PriorityQueue (previous)", VERTICES,
+                () -> (long) queueDijkstra(grid, 0, target));
+        BenchmarkRunner.measure("dijkstra", VERTICES,
+                () -> (long) ShortestPaths.dijkstra(grid, 0, ShortestPathsBenchmark::weight).distanceTo(target));
+        BenchmarkRunner.measure("aStar, Manhattan heuristic", VERTICES,
+                () -> ShortestPaths.aStar(grid, 0, target, ShortestPathsBenchmark::weight,
+                        vertex -> Math.abs(vertex / SIDE - SIDE / 2) + Math.abs(vertex % SIDE - SIDE / 2)).size());
+    }
+
+    private static double weight(Integer from, Integer to) {
+        return 1 + ((from * 31 + to) & 7);
+    }
+
+    // Очередь с повторными вставками вместо уменьшения ключа и расстояния в HashMap.
+    private static double queueDijkstra(Graph<Integer> graph, Integer source, Integer target) {
+        Map<Integer, Double> distances = new HashMap<>();
+        PriorityQueue<Map.Entry<Integer, Double>> queue = new PriorityQueue<>(Map.Entry.comparingByValue());
+        distances.put(source, 0.0);
+        queue.add(Map.entry(source, 0.0));
+        while (!queue.isEmpty()) {
+            Map.Entry<Integer, Double> entry = queue.poll();
+            Integer vertex = entry.getKey();
+            if (entry.getValue() > distances.get(vertex)) {
+                continue;
+            }
+            for (Integer next : graph.getNeighbors(vertex)) {
+                double distance = entry.getValue() + weight(vertex, next);
+                if (distance < distances.getOrDefault(next, Double.POSITIVE_INFINITY)) {
+                    distances.put(next, distance);
+                    queue.add(Map.entry(next, distance));
+                }
+            }
+        }
+        return distances.get(target);
+    }
+}
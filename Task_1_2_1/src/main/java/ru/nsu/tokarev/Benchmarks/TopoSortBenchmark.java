@@ -0,0 +1,48 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyListGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+import ru.nsu.tokarev.TopoSort.TopoSort;
+
+import java.util.Random;
+
+public class TopoSortBenchmark {
+    private static final int VERTICES = 1 << 20;
+    private static final int EDGES_PER_VERTEX = 4;
+    private static final int WIDE_LEVELS = 16;
+    private static final int DEEP_WIDTH = 4;
+
+    public static void main(String[] args) {
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+
+        // Широкий граф: немного уровней по десяткам тысяч независимых вершин.
+        Graph<Integer> wide = layeredDag(VERTICES, VERTICES / WIDE_LEVELS, 1);
+        compare("wide DAG (" + WIDE_LEVELS + " levels)", wide);
+
+        // Глубокий граф: сотни тысяч уровней по несколько вершин, параллелить почти нечего.
+        Graph<Integer> deep = layeredDag(VERTICES, DEEP_WIDTH, 2);
+        compare("deep DAG (" + (VERTICES / DEEP_WIDTH) + " levels)", deep);
+    }
+
+    private static void compare(String name, Graph<Integer> graph) {
+        BenchmarkRunner.measure("sort " + name, VERTICES, () -> TopoSort.sort(graph).size());
+        BenchmarkRunner.measure("parallelSort " + name, VERTICES, () -> TopoSort.parallelSort(graph).size());
+        BenchmarkRunner.measure("parallelLevels " + name, VERTICES, () -> TopoSort.parallelLevels(graph).size());
+    }
+
+    // Вершины разбиты на уровни ширины width, каждая получает рёбра из случайных вершин предыдущего уровня.
+    private static Graph<Integer> layeredDag(int vertices, int width, long seed) {
+        Random random = new Random(seed);
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < vertices; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = width; i < vertices; i++) {
+            int levelStart = (i / width - 1) * width;
+            for (int j = 0; j < EDGES_PER_VERTEX; j++) {
+                graph.addEdge(levelStart + random.nextInt(width), i);
+            }
+        }
+        return graph;
+    }
+}
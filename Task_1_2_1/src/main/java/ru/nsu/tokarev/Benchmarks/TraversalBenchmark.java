@@ -0,0 +1,58 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.Algorithms.Traversal;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TraversalBenchmark {
+    private static final int VERTICES = 1 << 20;
+    private static final int EDGES = 8 << 20;
+
+    public static void main(String[] args) {
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println("Random graph: " + VERTICES + " vertices, " + EDGES + " edges");
+        CsrGraph<Integer> graph = randomGraph(VERTICES, EDGES, 1);
+
+        BenchmarkRunner.measure("BFS over Graph with HashMap (previous)", VERTICES, () -> mapBreadthFirst(graph, 0));
+        BenchmarkRunner.measure("breadthFirst", VERTICES,
+                () -> Traversal.breadthFirst(graph, 0).getReachedVertices().size());
+        BenchmarkRunner.measure("parallelBreadthFirst", VERTICES,
+                () -> Traversal.parallelBreadthFirst(graph, 0).getReachedVertices().size());
+        BenchmarkRunner.measure("depthFirstOrder", VERTICES, () -> Traversal.depthFirstOrder(graph, 0).size());
+    }
+
+    // Обход через интерфейс Graph: объект Integer и запись HashMap на каждую вершину.
+    private static long mapBreadthFirst(Graph<Integer> graph, Integer source) {
+        Map<Integer, Integer> distances = new HashMap<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        distances.put(source, 0);
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            Integer vertex = queue.poll();
+            for (Integer next : graph.getNeighbors(vertex)) {
+                if (!distances.containsKey(next)) {
+                    distances.put(next, distances.get(vertex) + 1);
+                    queue.add(next);
+                }
+            }
+        }
+        return distances.size();
+    }
+
+    static CsrGraph<Integer> randomGraph(int vertices, int edges, long seed) {
+        Random random = new Random(seed);
+        CsrGraph.Builder<Integer> builder = CsrGraph.builder();
+        for (int i = 0; i < vertices; i++) {
+            builder.addVertex(i);
+        }
+        for (int i = 0; i < edges; i++) {
+            builder.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        return builder.build();
+    }
+}
@@ -35,8 +35,8 @@ public class Main {
 
         System.out.println(graph);
 
-        System.out.println("All vertex: " + graph.getAllVertices());
-        System.out.println("Neighbors A: " + graph.getNeighbors("A"));
+        System.out.println("All vertex: " + graph.getVerticesView());
+        System.out.println("Neighbors A: " + graph.getNeighborsView("A"));
         System.out.println("Edge A->B? " + graph.hasEdge("A", "B"));
         System.out.println("Edge C->A? " + graph.hasEdge("C", "A"));
 
@@ -62,8 +62,9 @@ public class Main {
 
         System.out.println(graph);
 
-        System.out.println("Vertex count: " + graph.getAllVertices().size());
-        System.out.println("Neighbors 1: " + graph.getNeighbors(1));
+        System.out.println("Vertex count: " + graph.vertexCount());
+        System.out.println("Edge count: " + graph.edgeCount());
+        System.out.println("Neighbors 1: " + graph.getNeighborsView(1));
         System.out.println("Edge 5? " + graph.hasVertex(5));
 
         AdjacencyMatrixGraph<Integer> graph2 = new AdjacencyMatrixGraph<>();
@@ -87,7 +88,8 @@ public class Main {
 
         System.out.println(graph);
 
-        System.out.println("Neighbors X: " + graph.getNeighbors('X'));
+        System.out.println("Neighbors X: " + graph.getNeighborsView('X'));
+        System.out.println("Out degree X: " + graph.outDegree('X'));
         System.out.println("Edge Y->Z? " + graph.hasEdge('Y', 'Z'));
 
         System.out.println("\nAdd isolated vertex W...");
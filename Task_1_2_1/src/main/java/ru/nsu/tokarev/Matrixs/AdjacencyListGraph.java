@@ -4,42 +4,64 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
-import java.util.Objects;
 import java.util.HashSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class AdjacencyListGraph<T> implements Graph<T> {
     private final Map<T, List<T>> adjacencyList = new HashMap<>();
+    private int edgeCount;
+    private long fingerprint;
 
     @Override
     public void addVertex(T vertex) {
-        adjacencyList.putIfAbsent(vertex, new ArrayList<>());
+        if (adjacencyList.putIfAbsent(vertex, new ArrayList<>()) == null) {
+            fingerprint += GraphFingerprint.vertex(vertex);
+        }
     }
 
     @Override
     public void addEdge(T from, T to) {
-        adjacencyList.putIfAbsent(from, new ArrayList<>());
-        adjacencyList.putIfAbsent(to, new ArrayList<>());
+        addVertex(from);
+        addVertex(to);
 
         List<T> neighbors = adjacencyList.get(from);
         if (!neighbors.contains(to)) {
             neighbors.add(to);
+            edgeCount++;
+            fingerprint += GraphFingerprint.edge(from, to);
         }
     }
 
     @Override
     public void removeVertex(T vertex) {
-        adjacencyList.remove(vertex);
-        for (List<T> neighbors : adjacencyList.values()) {
-            neighbors.remove(vertex);
+        List<T> removed = adjacencyList.remove(vertex);
+        if (removed == null) {
+            return;
+        }
+
+        fingerprint -= GraphFingerprint.vertex(vertex);
+        edgeCount -= removed.size();
+        for (T to : removed) {
+            fingerprint -= GraphFingerprint.edge(vertex, to);
+        }
+        for (Map.Entry<T, List<T>> entry : adjacencyList.entrySet()) {
+            if (entry.getValue().remove(vertex)) {
+                edgeCount--;
+                fingerprint -= GraphFingerprint.edge(entry.getKey(), vertex);
+            }
         }
     }
 
     @Override
     public void removeEdge(T from, T to) {
         List<T> neighbors = adjacencyList.get(from);
-        if (neighbors != null) {
-            neighbors.remove(to);
+        if (neighbors != null && neighbors.remove(to)) {
+            edgeCount--;
+            fingerprint -= GraphFingerprint.edge(from, to);
         }
     }
 
@@ -57,6 +79,43 @@ public class AdjacencyListGraph<T> implements Graph<T> {
         return new HashSet<>(adjacencyList.keySet());
     }
 
+    @Override
+    public Collection<T> getNeighborsView(T vertex) {
+        List<T> neighbors = adjacencyList.get(vertex);
+        return (neighbors == null) ? Collections.emptyList() : Collections.unmodifiableList(neighbors);
+    }
+
+    @Override
+    public Set<T> getVerticesView() {
+        return Collections.unmodifiableSet(adjacencyList.keySet());
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, Consumer<? super T> action) {
+        List<T> neighbors = adjacencyList.get(vertex);
+        if (neighbors != null) {
+            for (int i = 0; i < neighbors.size(); i++) {
+                action.accept(neighbors.get(i));
+            }
+        }
+    }
+
+    @Override
+    public int outDegree(T vertex) {
+        List<T> neighbors = adjacencyList.get(vertex);
+        return (neighbors == null) ? 0 : neighbors.size();
+    }
+
+    @Override
+    public int vertexCount() {
+        return adjacencyList.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
     @Override
     public boolean hasVertex(T vertex) {
         return adjacencyList.containsKey(vertex);
@@ -68,9 +127,23 @@ public class AdjacencyListGraph<T> implements Graph<T> {
         return neighbors != null && neighbors.contains(to);
     }
 
+    @Override
+    public void forEachEdge(BiConsumer<? super T, ? super T> action) {
+        for (Map.Entry<T, List<T>> entry : adjacencyList.entrySet()) {
+            for (T to : entry.getValue()) {
+                action.accept(entry.getKey(), to);
+            }
+        }
+    }
+
+    @Override
+    public long fingerprint() {
+        return fingerprint;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(adjacencyList);
+        return Long.hashCode(fingerprint);
     }
 
     @Override
@@ -1,18 +1,32 @@
 package ru.nsu.tokarev.Matrixs;
 
+import java.util.AbstractCollection;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Map;
 import java.util.ArrayList;
 import java.util.Set;
-import java.util.Objects;
 import java.util.HashSet;
 import java.util.Collections;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+// Строки матрицы - упакованные битовые множества: бит j в rows[i] означает ребро i -> j.
+// Ёмкость (число строк и бит в строке) растёт удвоением, поэтому addVertex не трогает каждую строку.
 public class AdjacencyMatrixGraph<T> implements Graph<T> {
+    private static final int INITIAL_CAPACITY = 64;
+
     private final List<T> vertices = new ArrayList<>();
-    private List<List<Integer>> matrix = new ArrayList<>();
     private final Map<T, Integer> vertexIndices = new HashMap<>();
+    private long[][] rows = new long[INITIAL_CAPACITY][];
+    private int capacity = INITIAL_CAPACITY;
+    private int edgeCount;
+    // Меняется на вклад вершины или ребра при одиночных правках; после union, intersection и closure
+    // строки меняются целиком, и отпечаток пересчитывает recount().
+    private long fingerprint;
 
     @Override
     public void addVertex(T vertex) {
@@ -20,18 +34,26 @@ public class AdjacencyMatrixGraph<T> implements Graph<T> {
             return;
         }
 
+        fingerprint += GraphFingerprint.vertex(vertex);
         int newIndex = vertices.size();
+        if (newIndex == capacity) {
+            grow();
+        }
         vertices.add(vertex);
         vertexIndices.put(vertex, newIndex);
+        rows[newIndex] = new long[words(capacity)];
+    }
 
-        matrix.add(new ArrayList<>());
-
-        int newSize = vertices.size();
-        for (int i = 0; i < matrix.size(); i++) {
-            while (matrix.get(i).size() < newSize) {
-                matrix.get(i).add(0);
-            }
+    private void grow() {
+        capacity *= 2;
+        long[][] newRows = new long[capacity][];
+        int newWords = words(capacity);
+        for (int i = 0; i < vertices.size(); i++) {
+            long[] row = new long[newWords];
+            System.arraycopy(rows[i], 0, row, 0, rows[i].length);
+            newRows[i] = row;
         }
+        rows = newRows;
     }
 
     @Override
@@ -41,7 +63,11 @@ public class AdjacencyMatrixGraph<T> implements Graph<T> {
 
         int fromIndex = vertexIndices.get(from);
         int toIndex = vertexIndices.get(to);
-        matrix.get(fromIndex).set(toIndex, 1);
+        if ((rows[fromIndex][toIndex >>> 6] & (1L << toIndex)) == 0) {
+            rows[fromIndex][toIndex >>> 6] |= 1L << toIndex;
+            edgeCount++;
+            fingerprint += GraphFingerprint.edge(from, to);
+        }
     }
 
     @Override
@@ -49,11 +75,13 @@ public class AdjacencyMatrixGraph<T> implements Graph<T> {
         if (!vertexIndices.containsKey(vertex)) {
             return Collections.emptyList();
         }
-        int vertexIndex = vertexIndices.get(vertex);
+        long[] row = rows[vertexIndices.get(vertex)];
         List<T> neighbors = new ArrayList<>();
-        for (int i = 0; i < vertices.size(); i++) {
-            if (matrix.get(vertexIndex).get(i) == 1) {
-                neighbors.add(vertices.get(i));
+        for (int word = 0; word < words(vertices.size()); word++) {
+            long bits = row[word];
+            while (bits != 0) {
+                neighbors.add(vertices.get((word << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
             }
         }
         return neighbors;
@@ -66,20 +94,47 @@ public class AdjacencyMatrixGraph<T> implements Graph<T> {
         }
 
         int removeIndex = vertexIndices.get(vertex);
+        int size = vertices.size();
+
+        // Петля лежит и в строке, и в столбце, но вычитается один раз - со строкой.
+        fingerprint -= GraphFingerprint.vertex(vertex);
+        forEachBit(rows[removeIndex], size, j -> {
+            edgeCount--;
+            fingerprint -= GraphFingerprint.edge(vertex, vertices.get(j));
+        });
+        for (int i = 0; i < size; i++) {
+            if (i != removeIndex && (rows[i][removeIndex >>> 6] & (1L << removeIndex)) != 0) {
+                edgeCount--;
+                fingerprint -= GraphFingerprint.edge(vertices.get(i), vertex);
+            }
+        }
 
         vertices.remove(removeIndex);
         vertexIndices.remove(vertex);
-
-        vertexIndices.clear();
-        for (int i = 0; i < vertices.size(); i++) {
+        for (int i = removeIndex; i < vertices.size(); i++) {
             vertexIndices.put(vertices.get(i), i);
         }
 
-        matrix.remove(removeIndex);
+        // Один проход: строки сдвигаются на место удалённой, в каждой строке выбрасывается столбец.
+        System.arraycopy(rows, removeIndex + 1, rows, removeIndex, size - removeIndex - 1);
+        rows[size - 1] = null;
+        for (int i = 0; i < size - 1; i++) {
+            removeBit(rows[i], removeIndex, words(size));
+        }
+    }
 
-        for (List<Integer> row : matrix) {
-            row.remove(removeIndex);
+    // Биты выше position сдвигаются на одну позицию вниз, перенос идёт через границы слов.
+    private static void removeBit(long[] row, int position, int words) {
+        int word = position >>> 6;
+        long lowMask = (1L << position) - 1;
+        long current = row[word];
+        long shifted = (current & lowMask) | ((current >>> 1) & ~lowMask);
+        for (; word < words - 1; word++) {
+            long next = row[word + 1];
+            row[word] = shifted | (next << 63);
+            shifted = next >>> 1;
         }
+        row[word] = shifted;
     }
 
     @Override
@@ -90,7 +145,11 @@ public class AdjacencyMatrixGraph<T> implements Graph<T> {
 
         int fromIndex = vertexIndices.get(from);
         int toIndex = vertexIndices.get(to);
-        matrix.get(fromIndex).set(toIndex, 0);
+        if ((rows[fromIndex][toIndex >>> 6] & (1L << toIndex)) != 0) {
+            rows[fromIndex][toIndex >>> 6] &= ~(1L << toIndex);
+            edgeCount--;
+            fingerprint -= GraphFingerprint.edge(from, to);
+        }
     }
 
     @Override
@@ -106,7 +165,7 @@ public class AdjacencyMatrixGraph<T> implements Graph<T> {
 
         int fromIndex = vertexIndices.get(from);
         int toIndex = vertexIndices.get(to);
-        return matrix.get(fromIndex).get(toIndex) == 1;
+        return (rows[fromIndex][toIndex >>> 6] & (1L << toIndex)) != 0;
     }
 
     @Override
@@ -114,24 +173,272 @@ public class AdjacencyMatrixGraph<T> implements Graph<T> {
         return new HashSet<>(vertices);
     }
 
+    @Override
+    public Collection<T> getNeighborsView(T vertex) {
+        Integer index = vertexIndices.get(vertex);
+        return (index == null) ? Collections.emptyList() : new RowView(rows[index]);
+    }
+
+    @Override
+    public Set<T> getVerticesView() {
+        return Collections.unmodifiableSet(vertexIndices.keySet());
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, Consumer<? super T> action) {
+        Integer index = vertexIndices.get(vertex);
+        if (index != null) {
+            forEachBit(rows[index], vertices.size(), j -> action.accept(vertices.get(j)));
+        }
+    }
+
+    @Override
+    public int outDegree(T vertex) {
+        Integer index = vertexIndices.get(vertex);
+        return (index == null) ? 0 : bitCount(rows[index], vertices.size());
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    // Строка матрицы как коллекция соседей: обход идёт по установленным битам, без списка.
+    private class RowView extends AbstractCollection<T> {
+        private final long[] row;
+
+        RowView(long[] row) {
+            this.row = row;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int word = -1;
+                private long bits;
+
+                @Override
+                public boolean hasNext() {
+                    while (bits == 0 && word + 1 < words(vertices.size())) {
+                        bits = row[++word];
+                    }
+                    return bits != 0;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int bit = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    return vertices.get(bit);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return bitCount(row, vertices.size());
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer index = vertexIndices.get(o);
+            return index != null && (row[index >>> 6] & (1L << index)) != 0;
+        }
+    }
+
+    // Вершины обоих графов и рёбра, которые есть хотя бы в одном из них.
+    public AdjacencyMatrixGraph<T> union(AdjacencyMatrixGraph<T> other) {
+        AdjacencyMatrixGraph<T> result = copy();
+        for (T vertex : other.vertices) {
+            result.addVertex(vertex);
+        }
+
+        int[] mapping = other.indicesIn(result);
+        boolean aligned = isIdentity(mapping);
+        for (int i = 0; i < other.vertices.size(); i++) {
+            long[] target = result.rows[mapping[i]];
+            long[] source = other.rows[i];
+            if (aligned) {
+                for (int word = 0; word < words(other.vertices.size()); word++) {
+                    target[word] |= source[word];
+                }
+            } else {
+                forEachBit(source, other.vertices.size(), j -> target[mapping[j] >>> 6] |= 1L << mapping[j]);
+            }
+        }
+        result.recount();
+        return result;
+    }
+
+    // Общие вершины и рёбра, которые есть в обоих графах.
+    public AdjacencyMatrixGraph<T> intersection(AdjacencyMatrixGraph<T> other) {
+        AdjacencyMatrixGraph<T> result = new AdjacencyMatrixGraph<>();
+        for (T vertex : vertices) {
+            if (other.hasVertex(vertex)) {
+                result.addVertex(vertex);
+            }
+        }
+
+        int[] toResult = indicesIn(result);
+        int[] toOther = indicesIn(other);
+        boolean aligned = result.vertices.size() == vertices.size() && isIdentity(toOther);
+        for (int i = 0; i < vertices.size(); i++) {
+            if (toResult[i] < 0) {
+                continue;
+            }
+            long[] target = result.rows[toResult[i]];
+            long[] source = rows[i];
+            long[] otherRow = other.rows[toOther[i]];
+            if (aligned) {
+                for (int word = 0; word < words(vertices.size()); word++) {
+                    target[word] = source[word] & otherRow[word];
+                }
+            } else {
+                forEachBit(source, vertices.size(), j -> {
+                    if (toResult[j] >= 0 && (otherRow[toOther[j] >>> 6] & (1L << toOther[j])) != 0) {
+                        target[toResult[j] >>> 6] |= 1L << toResult[j];
+                    }
+                });
+            }
+        }
+        result.recount();
+        return result;
+    }
+
+    // Алгоритм Уоршелла: строка k добавляется ко всем строкам, из которых достижима k. O(n^3 / 64).
+    public AdjacencyMatrixGraph<T> transitiveClosure() {
+        AdjacencyMatrixGraph<T> result = copy();
+        int size = vertices.size();
+        int words = words(size);
+        for (int k = 0; k < size; k++) {
+            long[] rowK = result.rows[k];
+            int wordK = k >>> 6;
+            long bitK = 1L << k;
+            for (int i = 0; i < size; i++) {
+                long[] rowI = result.rows[i];
+                if ((rowI[wordK] & bitK) != 0) {
+                    for (int word = 0; word < words; word++) {
+                        rowI[word] |= rowK[word];
+                    }
+                }
+            }
+        }
+        result.recount();
+        return result;
+    }
+
+    private AdjacencyMatrixGraph<T> copy() {
+        AdjacencyMatrixGraph<T> result = new AdjacencyMatrixGraph<>();
+        result.vertices.addAll(vertices);
+        result.vertexIndices.putAll(vertexIndices);
+        result.capacity = capacity;
+        result.edgeCount = edgeCount;
+        result.fingerprint = fingerprint;
+        result.rows = new long[capacity][];
+        for (int i = 0; i < vertices.size(); i++) {
+            result.rows[i] = rows[i].clone();
+        }
+        return result;
+    }
+
+    // Пересчёт счётчиков после операций, меняющих строки целиком.
+    private void recount() {
+        edgeCount = 0;
+        for (int i = 0; i < vertices.size(); i++) {
+            edgeCount += bitCount(rows[i], vertices.size());
+        }
+        fingerprint = GraphFingerprint.of(this);
+    }
+
+    // Номера вершин этого графа в другом графе, -1 для отсутствующих.
+    private int[] indicesIn(AdjacencyMatrixGraph<T> other) {
+        int[] mapping = new int[vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            Integer index = other.vertexIndices.get(vertices.get(i));
+            mapping[i] = (index == null) ? -1 : index;
+        }
+        return mapping;
+    }
+
+    private static boolean isIdentity(int[] mapping) {
+        for (int i = 0; i < mapping.length; i++) {
+            if (mapping[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private interface BitConsumer {
+        void accept(int bit);
+    }
+
+    private static void forEachBit(long[] row, int size, BitConsumer action) {
+        for (int word = 0; word < words(size); word++) {
+            long bits = row[word];
+            while (bits != 0) {
+                action.accept((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private static int bitCount(long[] row, int size) {
+        int count = 0;
+        for (int word = 0; word < words(size); word++) {
+            count += Long.bitCount(row[word]);
+        }
+        return count;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("Adjacency Matrix:\n");
         for (int i = 0; i < vertices.size(); i++) {
-            sb.append(vertices.get(i)).append(": ");
-            sb.append(matrix.get(i)).append("\n");
+            sb.append(vertices.get(i)).append(": [");
+            for (int j = 0; j < vertices.size(); j++) {
+                if (j > 0) {
+                    sb.append(", ");
+                }
+                sb.append((rows[i][j >>> 6] >>> j) & 1);
+            }
+            sb.append("]\n");
         }
         return sb.toString();
     }
 
+    @Override
+    public void forEachEdge(BiConsumer<? super T, ? super T> action) {
+        for (int i = 0; i < vertices.size(); i++) {
+            T from = vertices.get(i);
+            forEachBit(rows[i], vertices.size(), j -> action.accept(from, vertices.get(j)));
+        }
+    }
+
+    @Override
+    public long fingerprint() {
+        return fingerprint;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(vertices, matrix);
+        return Long.hashCode(fingerprint);
     }
 
     @Override
     public boolean equals(Object obj) {
         return graphEquals(obj);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,388 @@
+package ru.nsu.tokarev.Matrixs;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Потокобезопасный граф. Соседи вершины - массив, который никогда не меняется после публикации:
+// писатель строит новый массив и записывает его в volatile поле (copy-on-write), поэтому чтение
+// идёт без блокировок и всегда видит целый массив. Писатели берут блокировки полос (stripes)
+// обеих концевых вершин в порядке возрастания номеров полос. removeVertex и snapshot берут все полосы.
+public class ConcurrentGraph<T> implements Graph<T> {
+    private static final int DEFAULT_STRIPES = 64;
+    private static final Object[] EMPTY = new Object[0];
+
+    private static final class Node {
+        volatile Object[] outgoing = EMPTY;
+        volatile Object[] incoming = EMPTY;  // нужен, чтобы removeVertex не обходил весь граф
+    }
+
+    // Неизменяемый массив соседей как список: одна обёртка вместо Arrays.asList и unmodifiableList.
+    private static final class ArrayView<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] array;
+
+        ArrayView(Object[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public T get(int index) {
+            return (T) array[index];
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        // Массив не меняется, поэтому проверки modCount из AbstractList не нужны.
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < array.length;
+                }
+
+                @Override
+                public T next() {
+                    if (index >= array.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return (T) array[index++];
+                }
+            };
+        }
+    }
+
+    private final Map<T, Node> nodes = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    // Счётчики складываются из ячеек разных потоков, чтобы писатели не спорили за одно поле.
+    private final LongAdder edgeCount = new LongAdder();
+    private final LongAdder fingerprint = new LongAdder();
+
+    public ConcurrentGraph() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public ConcurrentGraph(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be greater than zero.");
+        }
+        this.stripes = new ReentrantLock[Integer.highestOneBit(stripes * 2 - 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    private int stripeOf(Object vertex) {
+        int h = Objects.hashCode(vertex) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    // Пары блокировок всегда берутся по возрастанию номера полосы, поэтому взаимных блокировок нет.
+    private void lock(int first, int second) {
+        stripes[Math.min(first, second)].lock();
+        if (first != second) {
+            stripes[Math.max(first, second)].lock();
+        }
+    }
+
+    private void unlock(int first, int second) {
+        if (first != second) {
+            stripes[Math.max(first, second)].unlock();
+        }
+        stripes[Math.min(first, second)].unlock();
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    // Вызывается под блокировкой полосы вершины: только её владелец добавляет и удаляет эту вершину.
+    private Node nodeFor(T vertex) {
+        Node node = nodes.get(vertex);
+        if (node == null) {
+            node = new Node();
+            nodes.put(vertex, node);
+            fingerprint.add(GraphFingerprint.vertex(vertex));
+        }
+        return node;
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        int stripe = stripeOf(vertex);
+        lock(stripe, stripe);
+        try {
+            nodeFor(vertex);
+        } finally {
+            unlock(stripe, stripe);
+        }
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        if (!nodes.containsKey(vertex)) {
+            return;
+        }
+        lockAll();
+        try {
+            Node removed = nodes.remove(vertex);
+            if (removed == null) {
+                return;
+            }
+
+            fingerprint.add(-GraphFingerprint.vertex(vertex));
+            for (Object to : removed.outgoing) {
+                edgeCount.decrement();
+                fingerprint.add(-GraphFingerprint.edge(vertex, to));
+                if (!Objects.equals(to, vertex)) {
+                    Node target = nodes.get(to);
+                    target.incoming = without(target.incoming, vertex);
+                }
+            }
+            // Петля лежит в обоих массивах, но это одно ребро - оно уже учтено с исходящими.
+            for (Object from : removed.incoming) {
+                if (!Objects.equals(from, vertex)) {
+                    edgeCount.decrement();
+                    fingerprint.add(-GraphFingerprint.edge(from, vertex));
+                    Node source = nodes.get(from);
+                    source.outgoing = without(source.outgoing, vertex);
+                }
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public void addEdge(T from, T to) {
+        int fromStripe = stripeOf(from);
+        int toStripe = stripeOf(to);
+        lock(fromStripe, toStripe);
+        try {
+            Node source = nodeFor(from);
+            Node target = nodeFor(to);
+            if (indexOf(source.outgoing, to) < 0) {
+                source.outgoing = with(source.outgoing, to);
+                target.incoming = with(target.incoming, from);
+                edgeCount.increment();
+                fingerprint.add(GraphFingerprint.edge(from, to));
+            }
+        } finally {
+            unlock(fromStripe, toStripe);
+        }
+    }
+
+    @Override
+    public void removeEdge(T from, T to) {
+        int fromStripe = stripeOf(from);
+        int toStripe = stripeOf(to);
+        lock(fromStripe, toStripe);
+        try {
+            Node source = nodes.get(from);
+            if (source == null || indexOf(source.outgoing, to) < 0) {
+                return;
+            }
+            Node target = nodes.get(to);
+            source.outgoing = without(source.outgoing, to);
+            target.incoming = without(target.incoming, from);
+            edgeCount.decrement();
+            fingerprint.add(-GraphFingerprint.edge(from, to));
+        } finally {
+            unlock(fromStripe, toStripe);
+        }
+    }
+
+    private static Object[] with(Object[] array, Object element) {
+        Object[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = element;
+        return result;
+    }
+
+    private static Object[] without(Object[] array, Object element) {
+        int index = indexOf(array, element);
+        if (index < 0) {
+            return array;
+        }
+        if (array.length == 1) {
+            return EMPTY;
+        }
+        Object[] result = new Object[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private static int indexOf(Object[] array, Object element) {
+        if (element == null) {
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == null) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < array.length; i++) {
+            if (element.equals(array[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Согласованный снимок: пока держатся все полосы, писателей нет, и копируются только ссылки
+    // на неизменяемые массивы соседей. Сам CsrGraph строится уже без блокировок.
+    public CsrGraph<T> snapshot() {
+        List<T> vertices = new ArrayList<>(nodes.size());
+        List<Object[]> neighbors = new ArrayList<>(nodes.size());
+        lockAll();
+        try {
+            for (Map.Entry<T, Node> entry : nodes.entrySet()) {
+                vertices.add(entry.getKey());
+                neighbors.add(entry.getValue().outgoing);
+            }
+        } finally {
+            unlockAll();
+        }
+
+        CsrGraph.Builder<T> builder = CsrGraph.builder();
+        for (T vertex : vertices) {
+            builder.addVertex(vertex);
+        }
+        for (int i = 0; i < vertices.size(); i++) {
+            for (Object to : neighbors.get(i)) {
+                builder.addEdge(vertices.get(i), (T) to);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public List<T> getNeighbors(T vertex) {
+        return new ArrayList<>(getNeighborsView(vertex));
+    }
+
+    // Массив соседей не меняется, поэтому представление - снимок соседей вершины на момент вызова.
+    @Override
+    public Collection<T> getNeighborsView(T vertex) {
+        Node node = nodes.get(vertex);
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayView<>(node.outgoing);
+    }
+
+    @Override
+    public Set<T> getAllVertices() {
+        return new HashSet<>(nodes.keySet());
+    }
+
+    @Override
+    public Set<T> getVerticesView() {
+        return Collections.unmodifiableSet(nodes.keySet());
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, Consumer<? super T> action) {
+        Node node = nodes.get(vertex);
+        if (node != null) {
+            for (Object to : node.outgoing) {
+                action.accept((T) to);
+            }
+        }
+    }
+
+    // Без блокировок: каждая вершина даёт целый массив, но рёбра разных вершин могут относиться
+    // к разным моментам. Для согласованного обхода - snapshot().forEachEdge.
+    @Override
+    public void forEachEdge(BiConsumer<? super T, ? super T> action) {
+        for (Map.Entry<T, Node> entry : nodes.entrySet()) {
+            for (Object to : entry.getValue().outgoing) {
+                action.accept(entry.getKey(), (T) to);
+            }
+        }
+    }
+
+    @Override
+    public int outDegree(T vertex) {
+        Node node = nodes.get(vertex);
+        return (node == null) ? 0 : node.outgoing.length;
+    }
+
+    @Override
+    public int vertexCount() {
+        return nodes.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return (int) edgeCount.sum();
+    }
+
+    @Override
+    public boolean hasVertex(T vertex) {
+        return nodes.containsKey(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(T from, T to) {
+        Node node = nodes.get(from);
+        return node != null && indexOf(node.outgoing, to) >= 0;
+    }
+
+    @Override
+    public long fingerprint() {
+        return fingerprint.sum();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return graphEquals(obj);
+    }
+
+    @Override
+    public String toString() {
+        if (nodes.isEmpty()) {
+            return "Concurrent Graph: (empty graph)";
+        }
+
+        StringBuilder sb = new StringBuilder("Concurrent Graph:\n");
+        for (Map.Entry<T, Node> entry : nodes.entrySet()) {
+            sb.append(entry.getKey()).append(" -> ")
+                    .append(Arrays.toString(entry.getValue().outgoing)).append("\n");
+        }
+        return sb.toString();
+    }
+}
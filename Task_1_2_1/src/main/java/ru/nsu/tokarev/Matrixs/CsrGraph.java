@@ -0,0 +1,367 @@
+package ru.nsu.tokarev.Matrixs;
+
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Неизменяемый граф в формате CSR: вершины пронумерованы подряд, исходящие рёбра вершины i
+// лежат в targets[offsets[i]..offsets[i + 1]) по возрастанию номеров. На ребро уходит одно int.
+public class CsrGraph<T> implements Graph<T> {
+    private final T[] vertices;
+    // Открытая адресация: номер вершины плюс один, 0 - пустая ячейка. Не хранит ни одного Integer.
+    private final int[] indexSlots;
+    private final int[] offsets;
+    private final int[] targets;
+    // Граф неизменяем, поэтому отпечаток считается один раз при первом запросе.
+    private long fingerprint;
+    private volatile boolean fingerprinted;
+
+    public static class Builder<T> {
+        private final List<T> vertices = new ArrayList<>();
+        private final Map<T, Integer> vertexIndices = new HashMap<>();
+        private int[] edgesFrom = new int[16];
+        private int[] edgesTo = new int[16];
+        private int edgeCount;
+
+        public Builder<T> addVertex(T vertex) {
+            indexOf(vertex);
+            return this;
+        }
+
+        // Повторные рёбра допускаются и схлопываются в build().
+        public Builder<T> addEdge(T from, T to) {
+            int fromIndex = indexOf(from);
+            int toIndex = indexOf(to);
+            if (edgeCount == edgesFrom.length) {
+                edgesFrom = Arrays.copyOf(edgesFrom, edgeCount * 2);
+                edgesTo = Arrays.copyOf(edgesTo, edgeCount * 2);
+            }
+            edgesFrom[edgeCount] = fromIndex;
+            edgesTo[edgeCount] = toIndex;
+            edgeCount++;
+            return this;
+        }
+
+        public Builder<T> addGraph(Graph<T> graph) {
+            for (T vertex : graph.getVerticesView()) {
+                addVertex(vertex);
+                for (T neighbor : graph.getNeighborsView(vertex)) {
+                    addEdge(vertex, neighbor);
+                }
+            }
+            return this;
+        }
+
+        public CsrGraph<T> build() {
+            return fromEdges(vertices, edgesFrom, edgesTo, edgeCount);
+        }
+
+        private int indexOf(T vertex) {
+            Integer index = vertexIndices.get(vertex);
+            if (index == null) {
+                index = vertices.size();
+                vertices.add(vertex);
+                vertexIndices.put(vertex, index);
+            }
+            return index;
+        }
+    }
+
+    // Общая часть Builder и загрузчика рёбер: вершины уже пронумерованы, рёбра заданы парами номеров.
+    // Массивы рёбер только читаются, поэтому Builder можно продолжать использовать после build().
+    static <T> CsrGraph<T> fromEdges(List<T> vertices, int[] edgesFrom, int[] edgesTo, int edgeCount) {
+        int vertexCount = vertices.size();
+
+        // Сортировка подсчётом по исходной вершине.
+        int[] offsets = new int[vertexCount + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[edgesFrom[i] + 1]++;
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[edgeCount];
+        int[] position = Arrays.copyOf(offsets, vertexCount);
+        for (int i = 0; i < edgeCount; i++) {
+            targets[position[edgesFrom[i]]++] = edgesTo[i];
+        }
+
+        // Сортируем каждую строку и убираем повторы, сдвигая строки к началу.
+        int written = 0;
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int start = offsets[vertex];
+            int end = offsets[vertex + 1];
+            Arrays.sort(targets, start, end);
+            offsets[vertex] = written;
+            for (int i = start; i < end; i++) {
+                if (i == start || targets[i] != targets[i - 1]) {
+                    targets[written++] = targets[i];
+                }
+            }
+        }
+        offsets[vertexCount] = written;
+
+        T[] vertexArray = (T[]) vertices.toArray();
+        return new CsrGraph<>(vertexArray, offsets,
+                (written == targets.length) ? targets : Arrays.copyOf(targets, written));
+    }
+
+    // Соседи как представление над срезом targets, без копирования.
+    private class NeighborList extends AbstractList<T> {
+        private final int start;
+        private final int end;
+
+        NeighborList(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public T get(int index) {
+            Objects.checkIndex(index, end - start);
+            return vertices[targets[start + index]];
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            int index = find(o);
+            return index >= 0 && Arrays.binarySearch(targets, start, end, index) >= 0;
+        }
+    }
+
+    private CsrGraph(T[] vertices, int[] offsets, int[] targets) {
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+
+        int slots = Integer.highestOneBit(Math.max(1, vertices.length) * 2 - 1) * 2;
+        this.indexSlots = new int[slots];
+        for (int i = 0; i < vertices.length; i++) {
+            int slot = slotFor(vertices[i]);
+            while (indexSlots[slot] != 0) {
+                slot = (slot + 1) & (slots - 1);
+            }
+            indexSlots[slot] = i + 1;
+        }
+    }
+
+    private int slotFor(Object vertex) {
+        int h = Objects.hashCode(vertex) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (indexSlots.length - 1);
+    }
+
+    private int find(Object vertex) {
+        int mask = indexSlots.length - 1;
+        for (int slot = slotFor(vertex); indexSlots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = indexSlots[slot] - 1;
+            if (Objects.equals(vertices[index], vertex)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public static <T> CsrGraph<T> copyOf(Graph<T> graph) {
+        if (graph instanceof CsrGraph) {
+            return (CsrGraph<T>) graph;
+        }
+        // Обход ConcurrentGraph без блокировок не согласован, поэтому берём его снимок.
+        if (graph instanceof ConcurrentGraph) {
+            return ((ConcurrentGraph<T>) graph).snapshot();
+        }
+        return new Builder<T>().addGraph(graph).build();
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    @Override
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    // Доступ по номерам вершин для алгоритмов, которым не нужны объекты.
+    public int indexOf(T vertex) {
+        return find(vertex);
+    }
+
+    public T vertexAt(int index) {
+        return vertices[index];
+    }
+
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    public int neighborAt(int index, int position) {
+        return targets[offsets[index] + position];
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    @Override
+    public void addEdge(T from, T to) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    @Override
+    public void removeEdge(T from, T to) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    @Override
+    public List<T> getNeighbors(T vertex) {
+        int index = find(vertex);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        return new NeighborList(offsets[index], offsets[index + 1]);
+    }
+
+    @Override
+    public Set<T> getAllVertices() {
+        return new HashSet<>(Arrays.asList(vertices));
+    }
+
+    @Override
+    public Collection<T> getNeighborsView(T vertex) {
+        return getNeighbors(vertex);
+    }
+
+    // Вершины как множество над массивом; contains идёт через таблицу номеров.
+    @Override
+    public Set<T> getVerticesView() {
+        return new AbstractSet<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                return Collections.unmodifiableList(Arrays.asList(vertices)).iterator();
+            }
+
+            @Override
+            public int size() {
+                return vertices.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return find(o) >= 0;
+            }
+        };
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, Consumer<? super T> action) {
+        int index = find(vertex);
+        if (index >= 0) {
+            for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+                action.accept(vertices[targets[i]]);
+            }
+        }
+    }
+
+    @Override
+    public int outDegree(T vertex) {
+        int index = find(vertex);
+        return (index < 0) ? 0 : degree(index);
+    }
+
+    @Override
+    public boolean hasVertex(T vertex) {
+        return find(vertex) >= 0;
+    }
+
+    @Override
+    public boolean hasEdge(T from, T to) {
+        int fromIndex = find(from);
+        int toIndex = find(to);
+        if (fromIndex < 0 || toIndex < 0) {
+            return false;
+        }
+        return Arrays.binarySearch(targets, offsets[fromIndex], offsets[fromIndex + 1], toIndex) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        if (vertices.length == 0) {
+            return "CSR Graph: (empty graph)";
+        }
+
+        StringBuilder sb = new StringBuilder("CSR Graph:\n");
+        for (int i = 0; i < vertices.length; i++) {
+            sb.append(vertices[i]).append(" -> ");
+            sb.append(new NeighborList(offsets[i], offsets[i + 1])).append("\n");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void forEachEdge(BiConsumer<? super T, ? super T> action) {
+        for (int from = 0; from < vertices.length; from++) {
+            for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+                action.accept(vertices[from], vertices[targets[i]]);
+            }
+        }
+    }
+
+    // Хеши вершин считаются один раз и переиспользуются для всех рёбер.
+    @Override
+    public long fingerprint() {
+        if (!fingerprinted) {
+            int[] hashes = new int[vertices.length];
+            long result = 0;
+            for (int vertex = 0; vertex < vertices.length; vertex++) {
+                hashes[vertex] = Objects.hashCode(vertices[vertex]);
+                result += GraphFingerprint.vertex(vertices[vertex]);
+            }
+            for (int from = 0; from < vertices.length; from++) {
+                for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+                    result += GraphFingerprint.edge(hashes[from], hashes[targets[i]]);
+                }
+            }
+            fingerprint = result;
+            fingerprinted = true;
+        }
+        return fingerprint;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return graphEquals(obj);
+    }
+}
@@ -0,0 +1,459 @@
+package ru.nsu.tokarev.Matrixs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+// Загрузка больших списков рёбер сразу в CsrGraph. Файл отображается в память и режется на диапазоны
+// по границам строк, диапазоны разбираются параллельно: без регулярных выражений и без String на строку.
+//
+// Текстовый формат тот же, что у Graph.readFromFile: строка из двух слов - ребро, остальные строки пропускаются;
+// имена читаются в UTF-8.
+// Двоичный формат - подряд идущие пары (from, to) из int32 little-endian; вершины без рёбер в нём не хранятся.
+public final class EdgeListLoader {
+    private static final int CHUNK_SIZE = 32 << 20;
+    private static final int BINARY_EDGE_BYTES = 8;
+
+    private EdgeListLoader() {
+    }
+
+    // Рёбра одного диапазона в глобальных номерах вершин.
+    private static final class EdgeChunk {
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        int count;
+
+        void add(int fromId, int toId) {
+            if (count == from.length) {
+                from = Arrays.copyOf(from, count * 2);
+                to = Arrays.copyOf(to, count * 2);
+            }
+            from[count] = fromId;
+            to[count] = toId;
+            count++;
+        }
+    }
+
+    // Общий словарь имён: номера выдаются подряд в порядке первой встречи в любом из потоков.
+    private static final class VertexDictionary {
+        private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+        private final AtomicInteger nextId = new AtomicInteger();
+
+        int idOf(String name) {
+            return ids.computeIfAbsent(name, key -> nextId.getAndIncrement());
+        }
+
+        List<String> vertices() {
+            String[] names = new String[ids.size()];
+            ids.forEach((name, id) -> names[id] = name);
+            return Arrays.asList(names);
+        }
+    }
+
+    // Словарь потока: байты имени -> глобальный номер. String создаётся один раз на имя и поток,
+    // повторные вхождения сравниваются прямо по байтам отображённого файла.
+    private static final class LocalDictionary {
+        // Ячейка - четыре int подряд, чтобы поиск задевал одну линию кэша:
+        // хеш, номер плюс один (0 - пустая ячейка), смещение и длина имени в arena.
+        private static final int SLOT_INTS = 4;
+
+        private final VertexDictionary shared;
+        private int[] table = new int[1024 * SLOT_INTS];
+        private byte[] arena = new byte[8192];
+        private int size;
+        private int arenaSize;
+
+        LocalDictionary(VertexDictionary shared) {
+            this.shared = shared;
+        }
+
+        int idOf(ByteBuffer buffer, int start, int length, int hash) {
+            int mask = table.length / SLOT_INTS - 1;
+            int slot = mix(hash) & mask;
+            while (table[slot * SLOT_INTS + 1] != 0) {
+                int base = slot * SLOT_INTS;
+                if (table[base] == hash && table[base + 3] == length && sameBytes(buffer, start, table[base + 2], length)) {
+                    return table[base + 1] - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if (arenaSize + length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+            }
+            for (int i = 0; i < length; i++) {
+                arena[arenaSize + i] = buffer.get(start + i);
+            }
+            int id = shared.idOf(new String(arena, arenaSize, length, StandardCharsets.UTF_8));
+
+            int base = slot * SLOT_INTS;
+            table[base] = hash;
+            table[base + 1] = id + 1;
+            table[base + 2] = arenaSize;
+            table[base + 3] = length;
+            arenaSize += length;
+            if (++size * 2 > mask + 1) {
+                rehash();
+            }
+            return id;
+        }
+
+        private boolean sameBytes(ByteBuffer buffer, int start, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                if (arena[offset + i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void rehash() {
+            int[] old = table;
+            table = new int[old.length * 2];
+            int mask = table.length / SLOT_INTS - 1;
+            for (int base = 0; base < old.length; base += SLOT_INTS) {
+                if (old[base + 1] == 0) {
+                    continue;
+                }
+                int slot = mix(old[base]) & mask;
+                while (table[slot * SLOT_INTS + 1] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                System.arraycopy(old, base, table, slot * SLOT_INTS, SLOT_INTS);
+            }
+        }
+
+        private static int mix(int hash) {
+            int h = hash * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    public static CsrGraph<String> loadText(Path path) throws IOException {
+        return loadText(path, ForkJoinPool.commonPool());
+    }
+
+    public static CsrGraph<String> loadText(Path path, ForkJoinPool pool) throws IOException {
+        return loadText(path, pool, CHUNK_SIZE);
+    }
+
+    // Размер диапазона задаётся явно только в тестах.
+    static CsrGraph<String> loadText(Path path, ForkJoinPool pool, int chunkSize) throws IOException {
+        checkArguments(path, pool, chunkSize);
+
+        List<MappedByteBuffer> buffers = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = lineBounds(channel, chunkSize);
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                buffers.add(channel.map(FileChannel.MapMode.READ_ONLY, bounds[i], bounds[i + 1] - bounds[i]));
+            }
+        }
+
+        // Диапазоны делятся на группы по числу потоков: у группы один локальный словарь,
+        // и каждое имя проходит через общий словарь не больше одного раза на поток.
+        VertexDictionary dictionary = new VertexDictionary();
+        int groups = Math.max(1, Math.min(pool.getParallelism(), buffers.size()));
+        List<ForkJoinTask<EdgeChunk>> tasks = new ArrayList<>(groups);
+        for (int group = 0; group < groups; group++) {
+            List<MappedByteBuffer> ranges = buffers.subList(group * buffers.size() / groups,
+                    (group + 1) * buffers.size() / groups);
+            tasks.add(pool.submit(() -> {
+                LocalDictionary local = new LocalDictionary(dictionary);
+                EdgeChunk chunk = new EdgeChunk();
+                for (MappedByteBuffer buffer : ranges) {
+                    parseText(buffer, local, chunk);
+                }
+                return chunk;
+            }));
+        }
+        List<EdgeChunk> chunks = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<EdgeChunk> task : tasks) {
+            chunks.add(task.join());
+        }
+        return merge(dictionary.vertices(), chunks);
+    }
+
+    public static CsrGraph<Integer> loadBinary(Path path) throws IOException {
+        return loadBinary(path, ForkJoinPool.commonPool());
+    }
+
+    public static CsrGraph<Integer> loadBinary(Path path, ForkJoinPool pool) throws IOException {
+        return loadBinary(path, pool, CHUNK_SIZE);
+    }
+
+    static CsrGraph<Integer> loadBinary(Path path, ForkJoinPool pool, int chunkSize) throws IOException {
+        checkArguments(path, pool, chunkSize);
+        if (chunkSize % BINARY_EDGE_BYTES != 0) {
+            throw new IllegalArgumentException("Chunk size must be a multiple of 8.");
+        }
+
+        int[] from;
+        int[] to;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % BINARY_EDGE_BYTES != 0) {
+                throw new IllegalArgumentException("Binary edge list size must be a multiple of 8 bytes.");
+            }
+            // Оба конца всех рёбер сортируются одним массивом.
+            if (size / BINARY_EDGE_BYTES > (Integer.MAX_VALUE - 8) / 2) {
+                throw new IllegalArgumentException("Binary edge list is too large.");
+            }
+
+            int edgeCount = (int) (size / BINARY_EDGE_BYTES);
+            from = new int[edgeCount];
+            to = new int[edgeCount];
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (long start = 0; start < size; start += chunkSize) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                        start, Math.min(chunkSize, size - start));
+                int firstEdge = (int) (start / BINARY_EDGE_BYTES);
+                int[] fromIds = from;
+                int[] toIds = to;
+                tasks.add(pool.submit(() -> {
+                    IntBuffer ints = buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                    for (int i = 0; i < ints.limit() / 2; i++) {
+                        fromIds[firstEdge + i] = ints.get(2 * i);
+                        toIds[firstEdge + i] = ints.get(2 * i + 1);
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+
+        // Номера вершин выдаются по возрастанию значений, словарь не нужен. Если значения лежат плотно
+        // (обычный случай для двоичных списков), номер берётся из таблицы по значению,
+        // иначе - двоичным поиском по отсортированному списку различных концов рёбер.
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < from.length; i++) {
+            min = Math.min(min, Math.min(from[i], to[i]));
+            max = Math.max(max, Math.max(from[i], to[i]));
+        }
+
+        int[] values;
+        int vertexCount = 0;
+        IntUnaryOperator idOf;
+        if (from.length > 0 && (long) max - min + 1 <= 2L * from.length) {
+            int[] table = new int[max - min + 1];
+            for (int i = 0; i < from.length; i++) {
+                table[from[i] - min] = 1;
+                table[to[i] - min] = 1;
+            }
+            values = new int[table.length];
+            for (int i = 0; i < table.length; i++) {
+                if (table[i] != 0) {
+                    values[vertexCount] = min + i;
+                    table[i] = vertexCount++;
+                }
+            }
+            int base = min;
+            idOf = value -> table[value - base];
+        } else {
+            values = new int[from.length * 2];
+            System.arraycopy(from, 0, values, 0, from.length);
+            System.arraycopy(to, 0, values, from.length, to.length);
+            Arrays.parallelSort(values);
+            for (int i = 0; i < values.length; i++) {
+                if (i == 0 || values[i] != values[i - 1]) {
+                    values[vertexCount++] = values[i];
+                }
+            }
+            int[] sorted = values;
+            int count = vertexCount;
+            idOf = value -> Arrays.binarySearch(sorted, 0, count, value);
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        int edgesPerChunk = chunkSize / BINARY_EDGE_BYTES;
+        for (int start = 0; start < from.length; start += edgesPerChunk) {
+            int first = start;
+            int last = Math.min(from.length, start + edgesPerChunk);
+            int[] fromIds = from;
+            int[] toIds = to;
+            tasks.add(pool.submit(() -> {
+                for (int i = first; i < last; i++) {
+                    fromIds[i] = idOf.applyAsInt(fromIds[i]);
+                    toIds[i] = idOf.applyAsInt(toIds[i]);
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        Integer[] vertices = new Integer[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i] = values[i];
+        }
+        return CsrGraph.fromEdges(Arrays.asList(vertices), from, to, from.length);
+    }
+
+    public static void writeBinary(Graph<Integer> graph, Path path) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must not be null.");
+        }
+        if (path == null) {
+            throw new IllegalArgumentException("Path must not be null.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Integer from : graph.getVerticesView()) {
+                for (Integer to : graph.getNeighborsView(from)) {
+                    if (buffer.remaining() < BINARY_EDGE_BYTES) {
+                        flush(channel, buffer);
+                    }
+                    buffer.putInt(from).putInt(to);
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void checkArguments(Path path, ForkJoinPool pool, int chunkSize) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path must not be null.");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null.");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero.");
+        }
+    }
+
+    // Границы диапазонов: каждая, кроме последней, стоит сразу после перевода строки.
+    private static long[] lineBounds(FileChannel channel, int chunkSize) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = chunkSize;
+        while (position < size) {
+            long boundary = nextLineStart(channel, position, probe);
+            if (boundary >= size) {
+                break;
+            }
+            bounds.add(boundary);
+            position = boundary + chunkSize;
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static void parseText(ByteBuffer buffer, LocalDictionary local, EdgeChunk chunk) {
+        int limit = buffer.limit();
+        int position = 0;
+
+        while (position < limit) {
+            int tokens = 0;
+            int firstStart = 0;
+            int firstLength = 0;
+            int firstHash = 0;
+            int secondStart = 0;
+            int secondLength = 0;
+            int secondHash = 0;
+
+            // Одна строка: запоминаем первые два слова, третье делает строку неподходящей.
+            byte current;
+            while (position < limit && (current = buffer.get(position)) != '\n') {
+                if (isSpace(current)) {
+                    position++;
+                    continue;
+                }
+                int start = position;
+                int hash = 0;
+                while (position < limit && (current = buffer.get(position)) != '\n' && !isSpace(current)) {
+                    hash = 31 * hash + current;
+                    position++;
+                }
+                tokens++;
+                if (tokens == 1) {
+                    firstStart = start;
+                    firstLength = position - start;
+                    firstHash = hash;
+                } else if (tokens == 2) {
+                    secondStart = start;
+                    secondLength = position - start;
+                    secondHash = hash;
+                }
+            }
+            position++;
+
+            if (tokens == 2) {
+                chunk.add(local.idOf(buffer, firstStart, firstLength, firstHash),
+                        local.idOf(buffer, secondStart, secondLength, secondHash));
+            }
+        }
+    }
+
+    // Те же пробельные символы, что и \s в регулярных выражениях, кроме перевода строки.
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+
+    private static <T> CsrGraph<T> merge(List<T> vertices, List<EdgeChunk> chunks) {
+        int edgeCount = 0;
+        for (EdgeChunk chunk : chunks) {
+            edgeCount += chunk.count;
+        }
+
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int written = 0;
+        for (EdgeChunk chunk : chunks) {
+            System.arraycopy(chunk.from, 0, from, written, chunk.count);
+            System.arraycopy(chunk.to, 0, to, written, chunk.count);
+            written += chunk.count;
+        }
+        return CsrGraph.fromEdges(vertices, from, to, edgeCount);
+    }
+}
@@ -3,8 +3,12 @@ package ru.nsu.tokarev.Matrixs;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 
 public interface Graph<T> {
@@ -54,6 +58,69 @@ public interface Graph<T> {
      */
     Set<T> getAllVertices();
 
+    /**
+     * Возвращает соседей вершины как представление без копирования.
+     * Представление нельзя изменять; после изменения графа его нужно получить заново.
+     *
+     * @param vertex Вершина для поиска соседей.
+     * @return Смежные вершины или пустая коллекция, если вершины нет.
+     */
+    default Collection<T> getNeighborsView(T vertex) {
+        return Collections.unmodifiableList(getNeighbors(vertex));
+    }
+
+    /**
+     * Возвращает вершины графа как представление без копирования.
+     * Представление нельзя изменять; после изменения графа его нужно получить заново.
+     *
+     * @return Множество вершин.
+     */
+    default Set<T> getVerticesView() {
+        return Collections.unmodifiableSet(getAllVertices());
+    }
+
+    /**
+     * Передаёт действию каждого соседа вершины, не создавая списков.
+     *
+     * @param vertex Вершина для поиска соседей.
+     * @param action Действие, получающее смежную вершину.
+     */
+    default void forEachNeighbor(T vertex, Consumer<? super T> action) {
+        for (T neighbor : getNeighborsView(vertex)) {
+            action.accept(neighbor);
+        }
+    }
+
+    /**
+     * Возвращает число исходящих рёбер вершины.
+     *
+     * @param vertex Вершина.
+     * @return Число соседей или 0, если вершины нет.
+     */
+    default int outDegree(T vertex) {
+        return getNeighborsView(vertex).size();
+    }
+
+    /**
+     * Возвращает число вершин графа.
+     *
+     * @return Число вершин.
+     */
+    default int vertexCount() {
+        return getVerticesView().size();
+    }
+
+    /**
+     * Возвращает число рёбер графа. Реализации хранят счётчик, реализация по умолчанию обходит все рёбра.
+     *
+     * @return Число рёбер.
+     */
+    default int edgeCount() {
+        int[] count = new int[1];
+        forEachEdge((from, to) -> count[0]++);
+        return count[0];
+    }
+
     /**
      * Загружает граф из файла.
      * Формат файла: каждая строка "vertex1 vertex2" представляет ребро.
@@ -100,9 +167,36 @@ public interface Graph<T> {
      */
     boolean hasEdge(T from, T to);
 
+    /**
+     * Передаёт действию каждое ребро графа ровно один раз, в порядке, определяемом реализацией.
+     * Реализация по умолчанию обходит getNeighborsView() всех вершин; реализации обходят
+     * свои структуры напрямую.
+     *
+     * @param action Действие, получающее начальную и конечную вершины ребра.
+     */
+    default void forEachEdge(BiConsumer<? super T, ? super T> action) {
+        for (T from : getVerticesView()) {
+            for (T to : getNeighborsView(from)) {
+                action.accept(from, to);
+            }
+        }
+    }
+
+    /**
+     * Возвращает отпечаток множеств вершин и рёбер: сумму перемешанных хешей всех вершин и рёбер.
+     * У равных графов отпечатки совпадают независимо от реализации. Реализации хранят отпечаток
+     * и обновляют его при каждом изменении графа; реализация по умолчанию считает его за O(V + E).
+     *
+     * @return Отпечаток графа.
+     */
+    default long fingerprint() {
+        return GraphFingerprint.of(this);
+    }
+
     /**
      * Сравнивает два графа независимо от их реализации.
      * Два графа считаются равными, если у них одинаковые множества вершин и ребер.
+     * Графы с разными отпечатками отвергаются сразу, иначе сравнение занимает O(V + E).
      *
      * @param obj Объект для сравнения.
      *
@@ -112,24 +206,30 @@ public interface Graph<T> {
         if (this == obj) return true;
         if (!(obj instanceof Graph)) return false;
 
-        Graph other = (Graph) obj;
+        Graph<Object> other = (Graph<Object>) obj;
 
-        if (!this.getAllVertices().equals(other.getAllVertices())) {
+        if (this.fingerprint() != other.fingerprint() || this.edgeCount() != other.edgeCount()) {
             return false;
         }
-
-        for (Object vertex1 : this.getAllVertices()) {
-            for (Object vertex2 : this.getAllVertices()) {
-                boolean thisHasEdge = this.hasEdge((T) vertex1, (T) vertex2);
-                boolean otherHasEdge = other.hasEdge(vertex1, vertex2);
-                if (thisHasEdge != otherHasEdge) {
-                    return false;
-                }
-            }
+        if (!this.getVerticesView().equals(other.getVerticesView())) {
+            return false;
         }
 
-        return true;
+        // Рёбер поровну и все рёбра этого графа есть в другом - значит, множества рёбер совпадают.
+        int[] missing = new int[1];
+        this.forEachEdge((from, to) -> {
+            if (!other.hasEdge(from, to)) {
+                missing[0]++;
+            }
+        });
+        return missing[0] == 0;
     }
 
+    /**
+     * Возвращает хеш графа. Реализации возвращают Long.hashCode(fingerprint()),
+     * поэтому у равных графов разных реализаций хеши совпадают.
+     *
+     * @return Хеш графа.
+     */
     int hashCode();
 }
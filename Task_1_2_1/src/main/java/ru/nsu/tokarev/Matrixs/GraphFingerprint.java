@@ -0,0 +1,41 @@
+package ru.nsu.tokarev.Matrixs;
+
+import java.util.Objects;
+
+// Отпечаток графа - сумма перемешанных хешей вершин и рёбер. Сумма не зависит от порядка обхода,
+// поэтому реализации обновляют её за O(1): добавление прибавляет слагаемое, удаление вычитает.
+final class GraphFingerprint {
+    private static final long VERTEX_SEED = 0x9E3779B97F4A7C15L;
+
+    private GraphFingerprint() {
+    }
+
+    static long vertex(Object vertex) {
+        return mix(VERTEX_SEED ^ (Objects.hashCode(vertex) & 0xFFFFFFFFL));
+    }
+
+    // Хеши концов занимают разные половины слова, так что ребро a -> b отличается от b -> a.
+    static long edge(Object from, Object to) {
+        return edge(Objects.hashCode(from), Objects.hashCode(to));
+    }
+
+    static long edge(int fromHash, int toHash) {
+        return mix(((long) fromHash << 32) | (toHash & 0xFFFFFFFFL));
+    }
+
+    static <T> long of(Graph<T> graph) {
+        long[] sum = new long[1];
+        for (T vertex : graph.getVerticesView()) {
+            sum[0] += vertex(vertex);
+        }
+        graph.forEachEdge((from, to) -> sum[0] += edge(from, to));
+        return sum[0];
+    }
+
+    // Финальное перемешивание SplitMix64: биекция, меняющая в среднем половину бит на каждый бит входа.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
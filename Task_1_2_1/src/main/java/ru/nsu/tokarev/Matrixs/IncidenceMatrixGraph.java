@@ -1,181 +1,179 @@
 package ru.nsu.tokarev.Matrixs;
 
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.Objects;
-import java.util.HashSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+// Матрица инцидентности хранится разреженно: у каждой вершины множества исходящих и входящих рёбер.
+// Ребро задаётся парой концов, так что множества исходящих рёбер служат и хеш-множеством ключей рёбер.
+// Полная матрица V x E строится только по запросу в toIncidenceMatrix().
 public class IncidenceMatrixGraph<T> implements Graph<T> {
-    private final List<T> vertices = new ArrayList<>();
-    private final List<T> edgesFrom = new ArrayList<>();  // исходные вершины рёбер
-    private final List<T> edgesTo = new ArrayList<>();    // конечные вершины рёбер
-    private final List<List<Integer>> incidenceMatrix = new ArrayList<>();
-    private final Map<T, Integer> vertexIndices = new HashMap<>();
-
-    private void rebuildIncidenceMatrix() {
-        incidenceMatrix.clear();
-
-        for (int i = 0; i < vertices.size(); i++) {
-            incidenceMatrix.add(new ArrayList<>());
-            for (int j = 0; j < edgesFrom.size(); j++) {
-                incidenceMatrix.get(i).add(0);
-            }
-        }
-
-        for (int edgeIndex = 0; edgeIndex < edgesFrom.size(); edgeIndex++) {
-            T from = edgesFrom.get(edgeIndex);
-            T to = edgesTo.get(edgeIndex);
-            Integer fromIndex = vertexIndices.get(from);
-            Integer toIndex = vertexIndices.get(to);
-
-            if (fromIndex != null && toIndex != null) {
-                incidenceMatrix.get(fromIndex).set(edgeIndex, 1);
-                incidenceMatrix.get(toIndex).set(edgeIndex, -1);
-            }
-        }
+    private static class Incidence<T> {
+        final Set<T> outgoing = new LinkedHashSet<>();  // концы исходящих рёбер, в порядке добавления
+        final Set<T> incoming = new HashSet<>();        // начала входящих рёбер
     }
 
+    private final Map<T, Incidence<T>> incidences = new LinkedHashMap<>();
+    private int edgeCount;
+    private long fingerprint;
+
     @Override
     public void addVertex(T vertex) {
-        if (vertexIndices.containsKey(vertex)) {
-            return;
-        }
-
-        vertices.add(vertex);
-        vertexIndices.put(vertex, vertices.size() - 1);
-
-        incidenceMatrix.add(new ArrayList<>());
-
-        for (List<Integer> row : incidenceMatrix) {
-            while (row.size() < edgesFrom.size()) {
-                row.add(0);
-            }
+        if (incidences.putIfAbsent(vertex, new Incidence<>()) == null) {
+            fingerprint += GraphFingerprint.vertex(vertex);
         }
     }
 
     @Override
     public void addEdge(T from, T to) {
-        if (!vertexIndices.containsKey(from)) addVertex(from);
-        if (!vertexIndices.containsKey(to)) addVertex(to);
-
-        for (int i = 0; i < edgesFrom.size(); i++) {
-            if (edgesFrom.get(i).equals(from) && edgesTo.get(i).equals(to)) {
-                return;
-            }
-        }
+        addVertex(from);
+        addVertex(to);
 
-        edgesFrom.add(from);
-        edgesTo.add(to);
-
-        for (int i = 0; i < vertices.size(); i++) {
-            incidenceMatrix.get(i).add(0);
+        if (incidences.get(from).outgoing.add(to)) {
+            incidences.get(to).incoming.add(from);
+            edgeCount++;
+            fingerprint += GraphFingerprint.edge(from, to);
         }
-        
-        int edgeIndex = edgesFrom.size() - 1;
-        int fromIndex = vertexIndices.get(from);
-        int toIndex = vertexIndices.get(to);
-
-        incidenceMatrix.get(fromIndex).set(edgeIndex, 1);  // исходящее ребро
-        incidenceMatrix.get(toIndex).set(edgeIndex, -1);   // входящее ребро
     }
 
     @Override
     public void removeVertex(T vertex) {
-        if (!vertexIndices.containsKey(vertex)) {
+        Incidence<T> removed = incidences.remove(vertex);
+        if (removed == null) {
             return;
         }
 
-        int vertexIndex = vertexIndices.get(vertex);
-
-        for (int i = edgesFrom.size() - 1; i >= 0; i--) {
-            if (edgesFrom.get(i).equals(vertex) || edgesTo.get(i).equals(vertex)) {
-                edgesFrom.remove(i);
-                edgesTo.remove(i);
+        fingerprint -= GraphFingerprint.vertex(vertex);
+        for (T to : removed.outgoing) {
+            fingerprint -= GraphFingerprint.edge(vertex, to);
+            if (!Objects.equals(to, vertex)) {
+                incidences.get(to).incoming.remove(vertex);
             }
         }
-
-        rebuildIncidenceMatrix();
-
-        vertices.remove(vertexIndex);
-
-        vertexIndices.clear();
-        for (int i = 0; i < vertices.size(); i++) {
-            vertexIndices.put(vertices.get(i), i);
+        for (T from : removed.incoming) {
+            if (!Objects.equals(from, vertex)) {
+                fingerprint -= GraphFingerprint.edge(from, vertex);
+                incidences.get(from).outgoing.remove(vertex);
+            }
         }
+
+        // Петля лежит в обоих множествах, но это одно ребро.
+        edgeCount -= removed.outgoing.size() + removed.incoming.size()
+                - (removed.outgoing.contains(vertex) ? 1 : 0);
     }
 
     @Override
     public void removeEdge(T from, T to) {
-        int edgeIndex = -1;
-        for (int i = 0; i < edgesFrom.size(); i++) {
-            if (edgesFrom.get(i).equals(from) && edgesTo.get(i).equals(to)) {
-                edgeIndex = i;
-                break;
-            }
-        }
-
-        if (edgeIndex == -1) {
+        Incidence<T> fromIncidence = incidences.get(from);
+        if (fromIncidence == null || !fromIncidence.outgoing.remove(to)) {
             return;
         }
-        
-        edgesFrom.remove(edgeIndex);
-        edgesTo.remove(edgeIndex);
-
-        for (List<Integer> row : incidenceMatrix) {
-            row.remove(edgeIndex);
-        }
+        incidences.get(to).incoming.remove(from);
+        edgeCount--;
+        fingerprint -= GraphFingerprint.edge(from, to);
     }
 
     @Override
     public List<T> getNeighbors(T vertex) {
-        if (!vertexIndices.containsKey(vertex)) {
+        Incidence<T> incidence = incidences.get(vertex);
+        if (incidence == null) {
             return new ArrayList<>();
         }
-        
-        List<T> neighbors = new ArrayList<>();
-        for (int i = 0; i < edgesFrom.size(); i++) {
-            if (edgesFrom.get(i).equals(vertex)) {
-                neighbors.add(edgesTo.get(i));
-            }
-        }
-        
-        return neighbors;
+        return new ArrayList<>(incidence.outgoing);
     }
 
     @Override
     public Set<T> getAllVertices() {
-        return new HashSet<>(vertices);
+        return new HashSet<>(incidences.keySet());
+    }
+
+    @Override
+    public Collection<T> getNeighborsView(T vertex) {
+        Incidence<T> incidence = incidences.get(vertex);
+        return (incidence == null) ? Collections.emptySet() : Collections.unmodifiableSet(incidence.outgoing);
+    }
+
+    @Override
+    public Set<T> getVerticesView() {
+        return Collections.unmodifiableSet(incidences.keySet());
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, Consumer<? super T> action) {
+        Incidence<T> incidence = incidences.get(vertex);
+        if (incidence != null) {
+            incidence.outgoing.forEach(action);
+        }
+    }
+
+    @Override
+    public int outDegree(T vertex) {
+        Incidence<T> incidence = incidences.get(vertex);
+        return (incidence == null) ? 0 : incidence.outgoing.size();
+    }
+
+    @Override
+    public int vertexCount() {
+        return incidences.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
     }
 
     @Override
     public boolean hasVertex(T vertex) {
-        return vertexIndices.containsKey(vertex);
+        return incidences.containsKey(vertex);
     }
 
     @Override
     public boolean hasEdge(T from, T to) {
-        for (int i = 0; i < edgesFrom.size(); i++) {
-            if (edgesFrom.get(i).equals(from) && edgesTo.get(i).equals(to)) {
-                return true;
+        Incidence<T> incidence = incidences.get(from);
+        return incidence != null && incidence.outgoing.contains(to);
+    }
+
+    // Строки - вершины в порядке добавления, столбцы - рёбра, сгруппированные по начальной вершине
+    // в том же порядке, что и в toString(). 1 - начало ребра, -1 - конец (у петли остаётся -1).
+    public int[][] toIncidenceMatrix() {
+        Map<T, Integer> rowIndices = new LinkedHashMap<>();
+        for (T vertex : incidences.keySet()) {
+            rowIndices.put(vertex, rowIndices.size());
+        }
+
+        int[][] matrix = new int[incidences.size()][edgeCount];
+        int edgeIndex = 0;
+        for (Map.Entry<T, Incidence<T>> entry : incidences.entrySet()) {
+            int fromIndex = rowIndices.get(entry.getKey());
+            for (T to : entry.getValue().outgoing) {
+                matrix[fromIndex][edgeIndex] = 1;
+                matrix[rowIndices.get(to)][edgeIndex] = -1;
+                edgeIndex++;
             }
         }
-        return false;
+        return matrix;
     }
 
     @Override
     public String toString() {
-        if (vertices.isEmpty()) {
+        if (incidences.isEmpty()) {
             return "Incidence Matrix: (empty graph)";
         }
-        
+
         StringBuilder sb = new StringBuilder("Incidence Matrix:\n");
 
-        for (T vertex : vertices) {
-            sb.append(vertex).append(" -> ");
-            List<T> neighbors = getNeighbors(vertex);
+        for (Map.Entry<T, Incidence<T>> entry : incidences.entrySet()) {
+            sb.append(entry.getKey()).append(" -> ");
+            Set<T> neighbors = entry.getValue().outgoing;
             if (neighbors.isEmpty()) {
                 sb.append("[]");
             } else {
@@ -183,23 +181,27 @@ public class IncidenceMatrixGraph<T> implements Graph<T> {
             }
             sb.append("\n");
         }
-        
+
         return sb.toString();
     }
 
     @Override
-    public int hashCode() {
-        int result = getAllVertices().hashCode();
-
-        for (T vertex1 : getAllVertices()) {
-            for (T vertex2 : getAllVertices()) {
-                if (hasEdge(vertex1, vertex2)) {
-                    result = 31 * result + Objects.hash(vertex1, vertex2);
-                }
+    public void forEachEdge(BiConsumer<? super T, ? super T> action) {
+        for (Map.Entry<T, Incidence<T>> entry : incidences.entrySet()) {
+            for (T to : entry.getValue().outgoing) {
+                action.accept(entry.getKey(), to);
             }
         }
+    }
+
+    @Override
+    public long fingerprint() {
+        return fingerprint;
+    }
 
-        return result;
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint);
     }
 
     @Override
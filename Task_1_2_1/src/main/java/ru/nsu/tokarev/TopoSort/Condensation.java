@@ -0,0 +1,124 @@
+package ru.nsu.tokarev.TopoSort;
+
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+// Разбиение графа на сильно связные компоненты и граф компонент (конденсация).
+// Компоненты пронумерованы в топологическом порядке: рёбра конденсации идут от меньшего номера к большему.
+// Компоненты хранятся одним массивом вершин, отсортированным по номеру компоненты, и отдаются представлениями.
+public class Condensation<T> {
+    private final IndexedGraph<T> graph;
+    private final int[] componentIds;
+    private final int[] members;
+    private final int[] offsets;
+    private CsrGraph<Integer> dag;
+
+    private class Component extends AbstractList<T> {
+        private final int start;
+        private final int end;
+
+        Component(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public T get(int index) {
+            Objects.checkIndex(index, end - start);
+            return graph.vertices.get(members[start + index]);
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+
+    Condensation(IndexedGraph<T> graph) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+
+        TarjanScc tarjan = new TarjanScc(graph);
+        int count = tarjan.run();
+
+        // Тарджан выдаёт компоненты начиная со стоков, поэтому номера переворачиваются.
+        componentIds = new int[n];
+        offsets = new int[count + 1];
+        for (int vertex = 0; vertex < n; vertex++) {
+            componentIds[vertex] = count - 1 - tarjan.componentOf(vertex);
+            offsets[componentIds[vertex] + 1]++;
+        }
+        for (int i = 0; i < count; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        members = new int[n];
+        int[] position = new int[count];
+        System.arraycopy(offsets, 0, position, 0, count);
+        for (int vertex = 0; vertex < n; vertex++) {
+            members[position[componentIds[vertex]]++] = vertex;
+        }
+    }
+
+    public int getComponentCount() {
+        return offsets.length - 1;
+    }
+
+    public List<List<T>> getComponents() {
+        return new AbstractList<List<T>>() {
+            @Override
+            public List<T> get(int index) {
+                Objects.checkIndex(index, getComponentCount());
+                return new Component(offsets[index], offsets[index + 1]);
+            }
+
+            @Override
+            public int size() {
+                return getComponentCount();
+            }
+        };
+    }
+
+    // Номер компоненты вершины или -1, если вершины нет в графе.
+    public int componentOf(T vertex) {
+        int index = graph.indexOf(vertex);
+        return (index < 0) ? -1 : componentIds[index];
+    }
+
+    // Граф компонент: вершина i - компонента i из getComponents(). Строится при первом обращении.
+    public CsrGraph<Integer> getGraph() {
+        if (dag == null) {
+            CsrGraph.Builder<Integer> builder = CsrGraph.builder();
+            for (int component = 0; component < getComponentCount(); component++) {
+                builder.addVertex(component);
+            }
+            for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+                for (int e = graph.offsets[vertex]; e < graph.offsets[vertex + 1]; e++) {
+                    int from = componentIds[vertex];
+                    int to = componentIds[graph.targets[e]];
+                    if (from != to) {
+                        builder.addEdge(from, to);
+                    }
+                }
+            }
+            dag = builder.build();
+        }
+        return dag;
+    }
+
+    public boolean isAcyclic() {
+        if (getComponentCount() != graph.vertexCount()) {
+            return false;
+        }
+        for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+            for (int e = graph.offsets[vertex]; e < graph.offsets[vertex + 1]; e++) {
+                if (graph.targets[e] == vertex) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
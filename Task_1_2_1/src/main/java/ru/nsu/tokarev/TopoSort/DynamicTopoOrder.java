@@ -0,0 +1,279 @@
+package ru.nsu.tokarev.TopoSort;
+
+import ru.nsu.tokarev.Matrixs.AdjacencyListGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Топологический порядок, который поддерживается при изменении графа (алгоритм Пирса - Келли).
+// Ребро from -> to, идущее против порядка, переупорядочивает только вершины между позициями to и from:
+// достижимые из to и те, из которых достижима from. Граф нужно менять только через эту обёртку.
+public class DynamicTopoOrder<T> implements Graph<T> {
+    private final Graph<T> graph;
+    private final Map<T, Integer> positions = new HashMap<>();
+    private final List<T> order = new ArrayList<>();  // по позициям, null - место удалённой вершины
+    private final Map<T, Set<T>> predecessors = new HashMap<>();
+    private int holes;
+
+    public DynamicTopoOrder() {
+        this(new AdjacencyListGraph<>());
+    }
+
+    public DynamicTopoOrder(Graph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must not be null.");
+        }
+        this.graph = graph;
+
+        for (T vertex : TopoSort.sort(graph)) {
+            append(vertex);
+        }
+        for (T from : order) {
+            for (T to : graph.getNeighborsView(from)) {
+                predecessors.get(to).add(from);
+            }
+        }
+    }
+
+    public List<T> getOrder() {
+        List<T> result = new ArrayList<>(order.size() - holes);
+        for (T vertex : order) {
+            if (vertex != null) {
+                result.add(vertex);
+            }
+        }
+        return result;
+    }
+
+    // true, если first стоит в порядке раньше second.
+    public boolean precedes(T first, T second) {
+        Integer firstPosition = positions.get(first);
+        Integer secondPosition = positions.get(second);
+        if (firstPosition == null || secondPosition == null) {
+            throw new IllegalArgumentException("Both vertices must belong to the graph.");
+        }
+        return firstPosition < secondPosition;
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        if (!positions.containsKey(vertex)) {
+            graph.addVertex(vertex);
+            append(vertex);
+        }
+    }
+
+    // Ребро, замыкающее цикл, отклоняется, и граф при этом не меняется.
+    @Override
+    public void addEdge(T from, T to) {
+        if (Objects.equals(from, to)) {
+            throw new IllegalArgumentException("Edge " + from + " -> " + to + " creates a cycle");
+        }
+        addVertex(from);
+        addVertex(to);
+        if (graph.hasEdge(from, to)) {
+            return;
+        }
+
+        int lower = positions.get(to);
+        int upper = positions.get(from);
+        if (lower < upper) {
+            reorder(from, to, lower, upper);
+        }
+
+        graph.addEdge(from, to);
+        predecessors.get(to).add(from);
+    }
+
+    private void reorder(T from, T to, int lower, int upper) {
+        List<T> forward = new ArrayList<>();
+        Set<T> visited = new HashSet<>();
+        Deque<T> stack = new ArrayDeque<>();
+        visited.add(to);
+        stack.push(to);
+        while (!stack.isEmpty()) {
+            T vertex = stack.pop();
+            forward.add(vertex);
+            for (T next : graph.getNeighborsView(vertex)) {
+                int position = positions.get(next);
+                if (position == upper) {
+                    throw new IllegalArgumentException("Edge " + from + " -> " + to + " creates a cycle");
+                }
+                if (position < upper && visited.add(next)) {
+                    stack.push(next);
+                }
+            }
+        }
+
+        List<T> backward = new ArrayList<>();
+        visited.add(from);
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            T vertex = stack.pop();
+            backward.add(vertex);
+            for (T previous : predecessors.get(vertex)) {
+                if (positions.get(previous) > lower && visited.add(previous)) {
+                    stack.push(previous);
+                }
+            }
+        }
+
+        // Обе области занимают те же позиции, что и раньше: сначала ведущие в from, затем достижимые из to.
+        Comparator<T> byPosition = Comparator.comparingInt(positions::get);
+        backward.sort(byPosition);
+        forward.sort(byPosition);
+        List<Integer> slots = new ArrayList<>(backward.size() + forward.size());
+        for (T vertex : backward) {
+            slots.add(positions.get(vertex));
+        }
+        for (T vertex : forward) {
+            slots.add(positions.get(vertex));
+        }
+        slots.sort(null);
+
+        int slot = 0;
+        for (T vertex : backward) {
+            place(vertex, slots.get(slot++));
+        }
+        for (T vertex : forward) {
+            place(vertex, slots.get(slot++));
+        }
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        Integer position = positions.remove(vertex);
+        if (position == null) {
+            return;
+        }
+
+        for (T next : graph.getNeighborsView(vertex)) {
+            predecessors.get(next).remove(vertex);
+        }
+        graph.removeVertex(vertex);
+        predecessors.remove(vertex);
+
+        // Порядок остальных вершин не меняется, освободившиеся позиции убираются, когда их становится много.
+        order.set(position, null);
+        holes++;
+        if (holes > order.size() / 2) {
+            compact();
+        }
+    }
+
+    @Override
+    public void removeEdge(T from, T to) {
+        if (graph.hasEdge(from, to)) {
+            graph.removeEdge(from, to);
+            predecessors.get(to).remove(from);
+        }
+    }
+
+    @Override
+    public List<T> getNeighbors(T vertex) {
+        return graph.getNeighbors(vertex);
+    }
+
+    @Override
+    public Set<T> getAllVertices() {
+        return graph.getAllVertices();
+    }
+
+    @Override
+    public Collection<T> getNeighborsView(T vertex) {
+        return graph.getNeighborsView(vertex);
+    }
+
+    @Override
+    public Set<T> getVerticesView() {
+        return graph.getVerticesView();
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, Consumer<? super T> action) {
+        graph.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public int outDegree(T vertex) {
+        return graph.outDegree(vertex);
+    }
+
+    @Override
+    public int vertexCount() {
+        return positions.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return graph.edgeCount();
+    }
+
+    @Override
+    public boolean hasVertex(T vertex) {
+        return positions.containsKey(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(T from, T to) {
+        return graph.hasEdge(from, to);
+    }
+
+    private void append(T vertex) {
+        positions.put(vertex, order.size());
+        order.add(vertex);
+        predecessors.put(vertex, new HashSet<>());
+    }
+
+    private void place(T vertex, int position) {
+        positions.put(vertex, position);
+        order.set(position, vertex);
+    }
+
+    private void compact() {
+        List<T> vertices = getOrder();
+        order.clear();
+        holes = 0;
+        for (T vertex : vertices) {
+            positions.put(vertex, order.size());
+            order.add(vertex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return TopoSort.formatResult(getOrder());
+    }
+
+    @Override
+    public void forEachEdge(BiConsumer<? super T, ? super T> action) {
+        graph.forEachEdge(action);
+    }
+
+    @Override
+    public long fingerprint() {
+        return graph.fingerprint();
+    }
+
+    @Override
+    public int hashCode() {
+        return graph.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return graphEquals(obj);
+    }
+}
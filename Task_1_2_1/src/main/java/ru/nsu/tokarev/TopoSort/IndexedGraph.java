@@ -0,0 +1,80 @@
+package ru.nsu.tokarev.TopoSort;
+
+import ru.nsu.tokarev.Matrixs.ConcurrentGraph;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
+import ru.nsu.tokarev.Matrixs.Graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Граф с вершинами, пронумерованными подряд: рёбра вершины i - targets[offsets[i]..offsets[i + 1]).
+// Снимок для алгоритмов этого пакета, которые работают с номерами вместо объектов.
+final class IndexedGraph<T> {
+    final List<T> vertices;
+    final int[] offsets;
+    final int[] targets;
+    private final Map<T, Integer> ids;
+    private final CsrGraph<T> csr;
+
+    private IndexedGraph(List<T> vertices, int[] offsets, int[] targets, Map<T, Integer> ids, CsrGraph<T> csr) {
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.ids = ids;
+        this.csr = csr;
+    }
+
+    static <T> IndexedGraph<T> of(Graph<T> graph) {
+        // Живой ConcurrentGraph может меняться во время обхода представлений, поэтому сначала снимок.
+        if (graph instanceof ConcurrentGraph) {
+            graph = CsrGraph.copyOf(graph);
+        }
+        if (graph instanceof CsrGraph) {
+            CsrGraph<T> csr = (CsrGraph<T>) graph;
+            int n = csr.vertexCount();
+            List<T> vertices = new ArrayList<>(n);
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[csr.edgeCount()];
+            for (int i = 0; i < n; i++) {
+                vertices.add(csr.vertexAt(i));
+                offsets[i + 1] = offsets[i] + csr.degree(i);
+                for (int j = 0; j < csr.degree(i); j++) {
+                    targets[offsets[i] + j] = csr.neighborAt(i, j);
+                }
+            }
+            return new IndexedGraph<>(vertices, offsets, targets, null, csr);
+        }
+
+        List<T> vertices = new ArrayList<>(graph.getVerticesView());
+        Map<T, Integer> ids = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            ids.put(vertices.get(i), i);
+        }
+
+        int[] offsets = new int[vertices.size() + 1];
+        int[] targets = new int[graph.edgeCount()];
+        int edgeCount = 0;
+        for (int i = 0; i < vertices.size(); i++) {
+            for (T neighbor : graph.getNeighborsView(vertices.get(i))) {
+                targets[edgeCount++] = ids.get(neighbor);
+            }
+            offsets[i + 1] = edgeCount;
+        }
+        return new IndexedGraph<>(vertices, offsets, targets, ids, null);
+    }
+
+    int vertexCount() {
+        return vertices.size();
+    }
+
+    // -1, если вершины нет.
+    int indexOf(T vertex) {
+        if (csr != null) {
+            return csr.indexOf(vertex);
+        }
+        Integer id = ids.get(vertex);
+        return (id == null) ? -1 : id;
+    }
+}
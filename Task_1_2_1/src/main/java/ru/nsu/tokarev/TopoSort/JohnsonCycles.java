@@ -0,0 +1,179 @@
+package ru.nsu.tokarev.TopoSort;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+// Алгоритм Джонсона перечисления элементарных циклов, без рекурсии.
+// Поиск ведётся внутри одной сильно связной компоненты от её первой вершины, затем эта вершина
+// выбрасывается, а остаток компоненты снова раскладывается на компоненты. Останавливается на limit циклах.
+final class JohnsonCycles {
+    private final IndexedGraph<?> graph;
+    private final int limit;
+    private final TarjanScc tarjan;
+    private final List<int[]> cycles = new ArrayList<>();
+
+    private final int[] member;
+    private int stamp;
+    private final boolean[] blocked;
+    // blockedBy[w] - вершины без повторов, которые разблокируются вместе с w.
+    private final int[][] blockedBy;
+    private final int[] blockedBySize;
+
+    private final int[] path;
+    private final int[] edgePosition;
+    private final boolean[] closed;
+
+    JohnsonCycles(IndexedGraph<?> graph, int limit) {
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.limit = limit;
+        this.tarjan = new TarjanScc(graph);
+        this.member = new int[n];
+        this.blocked = new boolean[n];
+        this.blockedBy = new int[n][];
+        this.blockedBySize = new int[n];
+        this.path = new int[n];
+        this.edgePosition = new int[n];
+        this.closed = new boolean[n];
+    }
+
+    List<int[]> find() {
+        Deque<int[]> pending = new ArrayDeque<>();
+        int n = graph.vertexCount();
+        int[] all = new int[n];
+        for (int i = 0; i < n; i++) {
+            all[i] = i;
+        }
+        pushComponents(pending, all, tarjan.run());
+
+        while (!pending.isEmpty() && cycles.size() < limit) {
+            int[] component = pending.pop();
+            stamp++;
+            for (int vertex : component) {
+                member[vertex] = stamp;
+                blocked[vertex] = false;
+                blockedBySize[vertex] = 0;
+            }
+
+            circuit(component[0]);
+
+            member[component[0]] = 0;
+            int[] rest = Arrays.copyOfRange(component, 1, component.length);
+            pushComponents(pending, rest, tarjan.run(rest, member, stamp));
+        }
+        return cycles;
+    }
+
+    // Раскладывает вершины по компонентам и оставляет только те, в которых есть цикл.
+    private void pushComponents(Deque<int[]> pending, int[] vertices, int count) {
+        int[] sizes = new int[count];
+        for (int vertex : vertices) {
+            sizes[tarjan.componentOf(vertex)]++;
+        }
+        int[][] components = new int[count][];
+        for (int i = 0; i < count; i++) {
+            components[i] = new int[sizes[i]];
+            sizes[i] = 0;
+        }
+        for (int vertex : vertices) {
+            int id = tarjan.componentOf(vertex);
+            components[id][sizes[id]++] = vertex;
+        }
+        for (int[] component : components) {
+            if (component.length > 1 || hasSelfLoop(component[0])) {
+                pending.push(component);
+            }
+        }
+    }
+
+    private boolean hasSelfLoop(int vertex) {
+        for (int e = graph.offsets[vertex]; e < graph.offsets[vertex + 1]; e++) {
+            if (graph.targets[e] == vertex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void circuit(int start) {
+        int depth = 0;
+        path[0] = start;
+        edgePosition[0] = graph.offsets[start];
+        closed[0] = false;
+        blocked[start] = true;
+
+        while (depth >= 0) {
+            int vertex = path[depth];
+            if (edgePosition[depth] < graph.offsets[vertex + 1]) {
+                int next = graph.targets[edgePosition[depth]++];
+                if (member[next] != stamp) {
+                    continue;
+                }
+                if (next == start) {
+                    cycles.add(Arrays.copyOf(path, depth + 1));
+                    closed[depth] = true;
+                    if (cycles.size() == limit) {
+                        return;
+                    }
+                } else if (!blocked[next]) {
+                    depth++;
+                    path[depth] = next;
+                    edgePosition[depth] = graph.offsets[next];
+                    closed[depth] = false;
+                    blocked[next] = true;
+                }
+                continue;
+            }
+
+            if (closed[depth]) {
+                unblock(vertex);
+            } else {
+                for (int e = graph.offsets[vertex]; e < graph.offsets[vertex + 1]; e++) {
+                    int next = graph.targets[e];
+                    if (member[next] == stamp) {
+                        addBlockedBy(next, vertex);
+                    }
+                }
+            }
+            depth--;
+            if (depth >= 0 && closed[depth + 1]) {
+                closed[depth] = true;
+            }
+        }
+    }
+
+    private void addBlockedBy(int vertex, int dependent) {
+        int[] list = blockedBy[vertex];
+        int size = blockedBySize[vertex];
+        for (int i = 0; i < size; i++) {
+            if (list[i] == dependent) {
+                return;
+            }
+        }
+        if (list == null || size == list.length) {
+            list = (list == null) ? new int[4] : Arrays.copyOf(list, size * 2);
+            blockedBy[vertex] = list;
+        }
+        list[size] = dependent;
+        blockedBySize[vertex] = size + 1;
+    }
+
+    private void unblock(int vertex) {
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(vertex);
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            if (!blocked[current]) {
+                continue;
+            }
+            blocked[current] = false;
+            for (int i = 0; i < blockedBySize[current]; i++) {
+                stack.push(blockedBy[current][i]);
+            }
+            blockedBySize[current] = 0;
+        }
+    }
+}
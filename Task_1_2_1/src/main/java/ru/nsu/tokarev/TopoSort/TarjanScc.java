@@ -0,0 +1,109 @@
+package ru.nsu.tokarev.TopoSort;
+
+// Итеративный алгоритм Тарджана: стек вызовов заменён массивом, поэтому глубина графа не ограничена.
+// Массивы выделяются один раз и переиспользуются, когда компоненты ищутся в подграфе (как в JohnsonCycles).
+final class TarjanScc {
+    private final IndexedGraph<?> graph;
+    private final int[] index;
+    private final int[] low;
+    private final int[] edgePosition;
+    private final int[] callStack;
+    private final int[] sccStack;
+    private final boolean[] onStack;
+    private final int[] component;
+    private int[] member;
+    private int stamp;
+    private int counter;
+    private int sccTop;
+    private int componentCount;
+
+    TarjanScc(IndexedGraph<?> graph) {
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.index = new int[n];
+        this.low = new int[n];
+        this.edgePosition = new int[n];
+        this.callStack = new int[n];
+        this.sccStack = new int[n];
+        this.onStack = new boolean[n];
+        this.component = new int[n];
+    }
+
+    // Компоненты всего графа. Номера выдаются в обратном топологическом порядке: стоки первыми.
+    int run() {
+        int n = graph.vertexCount();
+        int[] all = new int[n];
+        for (int i = 0; i < n; i++) {
+            all[i] = i;
+        }
+        return run(all, null, 0);
+    }
+
+    // Компоненты подграфа на вершинах subset; рёбра в вершины с member[w] != stamp не учитываются.
+    int run(int[] subset, int[] member, int stamp) {
+        this.member = member;
+        this.stamp = stamp;
+        for (int vertex : subset) {
+            index[vertex] = 0;
+        }
+        counter = 0;
+        sccTop = 0;
+        componentCount = 0;
+        for (int vertex : subset) {
+            if (index[vertex] == 0) {
+                visit(vertex);
+            }
+        }
+        return componentCount;
+    }
+
+    int componentOf(int vertex) {
+        return component[vertex];
+    }
+
+    private void visit(int root) {
+        int depth = 0;
+        enter(root);
+        callStack[depth++] = root;
+
+        while (depth > 0) {
+            int vertex = callStack[depth - 1];
+            if (edgePosition[vertex] < graph.offsets[vertex + 1]) {
+                int next = graph.targets[edgePosition[vertex]++];
+                if (member != null && member[next] != stamp) {
+                    continue;
+                }
+                if (index[next] == 0) {
+                    enter(next);
+                    callStack[depth++] = next;
+                } else if (onStack[next]) {
+                    low[vertex] = Math.min(low[vertex], index[next]);
+                }
+                continue;
+            }
+
+            depth--;
+            if (depth > 0) {
+                int parent = callStack[depth - 1];
+                low[parent] = Math.min(low[parent], low[vertex]);
+            }
+            if (low[vertex] == index[vertex]) {
+                int popped;
+                do {
+                    popped = sccStack[--sccTop];
+                    onStack[popped] = false;
+                    component[popped] = componentCount;
+                } while (popped != vertex);
+                componentCount++;
+            }
+        }
+    }
+
+    private void enter(int vertex) {
+        index[vertex] = ++counter;
+        low[vertex] = counter;
+        edgePosition[vertex] = graph.offsets[vertex];
+        sccStack[sccTop++] = vertex;
+        onStack[vertex] = true;
+    }
+}
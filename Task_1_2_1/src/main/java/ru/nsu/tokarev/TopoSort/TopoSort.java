@@ -1,46 +1,170 @@
 package ru.nsu.tokarev.TopoSort;
 
+import ru.nsu.tokarev.Matrixs.ConcurrentGraph;
+import ru.nsu.tokarev.Matrixs.CsrGraph;
 import ru.nsu.tokarev.Matrixs.Graph;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
 
 
 public class TopoSort {
-    public static <T> List<T> sort(Graph<T> graph) {
-        Set<T> vertices = new HashSet<>(graph.getAllVertices());
-        Map<T, Integer> inDegree = new HashMap<>();
-        Map<T, Set<T>> adjacencyMap = new HashMap<>();
+    // Фронт меньше этого порога обрабатывается в текущем потоке, без задач ForkJoin.
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    // Обрабатывает часть фронта: вершины, у которых входящая степень упала до нуля,
+    // дописываются в order за текущим уровнем через общий атомарный курсор.
+    private static final class FrontierTask extends RecursiveAction {
+        private final IndexedGraph<?> graph;
+        private final AtomicIntegerArray inDegree;
+        private final int[] order;
+        private final AtomicInteger cursor;
+        private final int from;
+        private final int to;
+
+        FrontierTask(IndexedGraph<?> graph, AtomicIntegerArray inDegree, int[] order, AtomicInteger cursor,
+                     int from, int to) {
+            this.graph = graph;
+            this.inDegree = inDegree;
+            this.order = order;
+            this.cursor = cursor;
+            this.from = from;
+            this.to = to;
+        }
 
-        for (T vertex : vertices) {
-            inDegree.put(vertex, 0);
-            adjacencyMap.put(vertex, new HashSet<>());
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                processRange(graph, inDegree, order, cursor, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FrontierTask(graph, inDegree, order, cursor, from, middle),
+                    new FrontierTask(graph, inDegree, order, cursor, middle, to));
         }
+    }
+
+    private static void processRange(IndexedGraph<?> graph, AtomicIntegerArray inDegree, int[] order,
+                                     AtomicInteger cursor, int from, int to) {
+        // Готовые вершины копятся локально, чтобы курсор трогался один раз на диапазон.
+        int[] ready = new int[16];
+        int readyCount = 0;
+        for (int i = from; i < to; i++) {
+            int vertex = order[i];
+            for (int e = graph.offsets[vertex]; e < graph.offsets[vertex + 1]; e++) {
+                int target = graph.targets[e];
+                if (inDegree.decrementAndGet(target) == 0) {
+                    if (readyCount == ready.length) {
+                        ready = Arrays.copyOf(ready, readyCount * 2);
+                    }
+                    ready[readyCount++] = target;
+                }
+            }
+        }
+        if (readyCount > 0) {
+            System.arraycopy(ready, 0, order, cursor.getAndAdd(readyCount), readyCount);
+        }
+    }
+
+    public static <T> List<T> parallelSort(Graph<T> graph) {
+        return parallelSort(graph, ForkJoinPool.commonPool());
+    }
+
+    public static <T> List<T> parallelSort(Graph<T> graph, ForkJoinPool pool) {
+        List<T> result = new ArrayList<>();
+        for (List<T> level : parallelLevels(graph, pool)) {
+            result.addAll(level);
+        }
+        return result;
+    }
+
+    public static <T> List<List<T>> parallelLevels(Graph<T> graph) {
+        return parallelLevels(graph, ForkJoinPool.commonPool());
+    }
+
+    // Разбиение на уровни: в уровне k вершины, самый длинный путь до которых из истоков имеет длину k.
+    // Вершины одного уровня независимы друг от друга, и их можно выполнять параллельно.
+    // Внутри уровня вершины упорядочены так же, как в getVerticesView(), поэтому результат детерминирован.
+    public static <T> List<List<T>> parallelLevels(Graph<T> graph, ForkJoinPool pool) {
+        IndexedGraph<T> indexed = IndexedGraph.of(graph);
+        int n = indexed.vertices.size();
+
+        int[] degrees = new int[n];
+        for (int target : indexed.targets) {
+            degrees[target]++;
+        }
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(degrees);
+
+        // order - одновременно результат и очередь: уровень занимает order[levelStart..levelEnd).
+        int[] order = new int[n];
+        int levelEnd = 0;
+        for (int i = 0; i < n; i++) {
+            if (degrees[i] == 0) {
+                order[levelEnd++] = i;
+            }
+        }
+
+        List<List<T>> levels = new ArrayList<>();
+        int levelStart = 0;
+        AtomicInteger cursor = new AtomicInteger(levelEnd);
+        while (levelStart < levelEnd) {
+            Arrays.sort(order, levelStart, levelEnd);
+            List<T> level = new ArrayList<>(levelEnd - levelStart);
+            for (int i = levelStart; i < levelEnd; i++) {
+                level.add(indexed.vertices.get(order[i]));
+            }
+            levels.add(level);
 
-        for (T from : vertices) {
-            for (T to : graph.getNeighbors(from)) {
-                adjacencyMap.get(from).add(to);
-                inDegree.put(to, inDegree.get(to) + 1);
+            if (levelEnd - levelStart <= PARALLEL_THRESHOLD) {
+                processRange(indexed, inDegree, order, cursor, levelStart, levelEnd);
+            } else {
+                pool.invoke(new FrontierTask(indexed, inDegree, order, cursor, levelStart, levelEnd));
             }
+            levelStart = levelEnd;
+            levelEnd = cursor.get();
         }
 
-        Queue<T> queue = new LinkedList<>();
+        if (levelEnd != n) {
+            throw new IllegalArgumentException("Graph contains cycles");
+        }
+
+        return levels;
+    }
+
+    // Алгоритм Кана прямо по представлениям графа: списки соседей не копируются, хранятся только входящие степени.
+    // ConcurrentGraph сортируется по согласованному снимку.
+    public static <T> List<T> sort(Graph<T> graph) {
+        if (graph instanceof ConcurrentGraph) {
+            graph = CsrGraph.copyOf(graph);
+        }
+        Set<T> vertices = graph.getVerticesView();
+        Map<T, Integer> inDegree = new HashMap<>();
+        for (T vertex : vertices) {
+            inDegree.put(vertex, 0);
+        }
+        graph.forEachEdge((from, to) -> inDegree.merge(to, 1, Integer::sum));
+
+        Queue<T> queue = new ArrayDeque<>();
         for (T vertex : vertices) {
             if (inDegree.get(vertex) == 0) {
                 queue.offer(vertex);
             }
         }
 
-        List<T> result = new ArrayList<>();
+        List<T> result = new ArrayList<>(vertices.size());
+        Consumer<T> release = neighbor -> {
+            if (inDegree.merge(neighbor, -1, Integer::sum) == 0) {
+                queue.offer(neighbor);
+            }
+        };
 
         while (!queue.isEmpty()) {
             T current = queue.poll();
             result.add(current);
-
-            for (T neighbor : adjacencyMap.get(current)) {
-                inDegree.put(neighbor, inDegree.get(neighbor) - 1);
-                if (inDegree.get(neighbor) == 0) {
-                    queue.offer(neighbor);
-                }
-            }
+            graph.forEachNeighbor(current, release);
         }
 
         if (result.size() != vertices.size()) {
@@ -50,60 +174,68 @@ public class TopoSort {
         return result;
     }
 
-    private static <T> boolean dfsVisit(Graph<T> graph, T vertex, Set<T> visited,
-                                       Set<T> recursionStack, Stack<T> stack) {
-        visited.add(vertex);
-        recursionStack.add(vertex);
-
-        for (T neighbor : graph.getNeighbors(vertex)) {
-            if (recursionStack.contains(neighbor)) {
-                return true; // Цикл обнаружен
+    // Итеративный поиск в глубину с тремя цветами: выход на первом обратном ребре, без полной сортировки.
+    public static <T> boolean isDAG(Graph<T> graph) {
+        IndexedGraph<T> indexed = IndexedGraph.of(graph);
+        int n = indexed.vertexCount();
+        byte[] state = new byte[n];  // 0 - не посещена, 1 - на текущем пути, 2 - обработана
+        int[] stack = new int[n];
+        int[] edgePosition = new int[n];
+
+        for (int root = 0; root < n; root++) {
+            if (state[root] != 0) {
+                continue;
             }
-            if (!visited.contains(neighbor)) {
-                if (dfsVisit(graph, neighbor, visited, recursionStack, stack)) {
-                    return true;
+            int depth = 0;
+            stack[depth++] = root;
+            state[root] = 1;
+            edgePosition[root] = indexed.offsets[root];
+            while (depth > 0) {
+                int vertex = stack[depth - 1];
+                if (edgePosition[vertex] == indexed.offsets[vertex + 1]) {
+                    state[vertex] = 2;
+                    depth--;
+                    continue;
+                }
+                int next = indexed.targets[edgePosition[vertex]++];
+                if (state[next] == 1) {
+                    return false;
+                }
+                if (state[next] == 0) {
+                    state[next] = 1;
+                    edgePosition[next] = indexed.offsets[next];
+                    stack[depth++] = next;
                 }
             }
         }
+        return true;
+    }
 
-        recursionStack.remove(vertex);
-        stack.push(vertex);
-        return false;
+    // Сильно связные компоненты в топологическом порядке графа компонент.
+    public static <T> List<List<T>> stronglyConnectedComponents(Graph<T> graph) {
+        return condensation(graph).getComponents();
     }
 
-    public static <T> boolean isDAG(Graph<T> graph) {
-        try {
-            sort(graph);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+    public static <T> Condensation<T> condensation(Graph<T> graph) {
+        return new Condensation<>(IndexedGraph.of(graph));
     }
 
-    private static <T> void findCyclesDFS(Graph<T> graph, T vertex, Set<T> visited,
-                                         Set<T> recursionStack, Map<T, T> parent,
-                                         List<List<T>> cycles) {
-        visited.add(vertex);
-        recursionStack.add(vertex);
-
-        for (T neighbor : graph.getNeighbors(vertex)) {
-            if (recursionStack.contains(neighbor)) {
-                List<T> cycle = new ArrayList<>();
-                T current = vertex;
-                cycle.add(neighbor);
-                while (!current.equals(neighbor)) {
-                    cycle.add(current);
-                    current = parent.get(current);
-                }
-                Collections.reverse(cycle);
-                cycles.add(cycle);
-            } else if (!visited.contains(neighbor)) {
-                parent.put(neighbor, vertex);
-                findCyclesDFS(graph, neighbor, visited, recursionStack, parent, cycles);
-            }
+    // Элементарные циклы (алгоритм Джонсона), не больше limit штук. Цикл записан без повтора первой вершины.
+    public static <T> List<List<T>> findCycles(Graph<T> graph, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than zero.");
         }
 
-        recursionStack.remove(vertex);
+        IndexedGraph<T> indexed = IndexedGraph.of(graph);
+        List<List<T>> cycles = new ArrayList<>();
+        for (int[] cycle : new JohnsonCycles(indexed, limit).find()) {
+            List<T> vertices = new ArrayList<>(cycle.length);
+            for (int vertex : cycle) {
+                vertices.add(indexed.vertices.get(vertex));
+            }
+            cycles.add(vertices);
+        }
+        return cycles;
     }
 
     public static <T> String formatResult(List<T> vertices) {
@@ -0,0 +1,53 @@
+package ru.nsu.tokarev.Algorithms;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.Matrixs.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ComponentsTest {
+
+    private CsrGraph.Builder<String> builder;
+
+    @BeforeEach
+    void setUp() {
+        builder = CsrGraph.builder();
+    }
+
+    @Test
+    void testEdgeDirectionIsIgnored() {
+        builder.addEdge("A", "B");
+        builder.addEdge("C", "B");
+        builder.addEdge("D", "E");
+        builder.addVertex("F");
+
+        List<List<String>> components = Components.weaklyConnected(builder.build());
+
+        assertEquals(Arrays.asList(
+                Arrays.asList("A", "B", "C"),
+                Arrays.asList("D", "E"),
+                Arrays.asList("F")), components);
+    }
+
+    @Test
+    void testCountMatchesComponents() {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < 1000; i++) {
+            graph.addEdge(i, (i + 7) % 1000 < i ? i : (i + 7) % 1000);
+        }
+
+        assertEquals(Components.weaklyConnected(graph).size(), Components.count(graph));
+        assertEquals(7, Components.count(graph));
+    }
+
+    @Test
+    void testEmptyGraph() {
+        assertEquals(0, Components.count(builder.build()));
+        assertTrue(Components.weaklyConnected(builder.build()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> Components.count(null));
+    }
+}
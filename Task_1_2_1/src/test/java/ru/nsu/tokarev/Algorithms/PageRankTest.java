@@ -0,0 +1,84 @@
+package ru.nsu.tokarev.Algorithms;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.Matrixs.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class PageRankTest {
+
+    private AdjacencyListGraph<String> graph;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyListGraph<>();
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testRingHasUniformRanks() {
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "A");
+
+        Map<String, Double> ranks = PageRank.rank(graph);
+
+        assertEquals(3, ranks.size());
+        for (double rank : ranks.values()) {
+            assertEquals(1.0 / 3, rank, 1e-9);
+        }
+    }
+
+    @Test
+    void testStarAndDanglingVertex() {
+        graph.addEdge("A", "Hub");
+        graph.addEdge("B", "Hub");
+        graph.addEdge("C", "Hub");
+
+        Map<String, Double> ranks = PageRank.rank(graph);
+
+        assertEquals(1.0, ranks.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-9);
+        assertTrue(ranks.get("Hub") > ranks.get("A"));
+        assertEquals(ranks.get("A"), ranks.get("B"), 1e-12);
+        // Точное решение: a = (0.15 + 0.85 h) / 4, h = a + 0.85 * 3a.
+        double a = 0.15 / 4 / (1 - 0.85 * 3.55 / 4);
+        assertEquals(a, ranks.get("A"), 1e-8);
+        assertEquals(3.55 * a, ranks.get("Hub"), 1e-8);
+    }
+
+    @Test
+    void testParallelRankMatchesSequentialExactly() {
+        AdjacencyListGraph<Integer> random = new AdjacencyListGraph<>();
+        Random generator = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            random.addEdge(generator.nextInt(20000), generator.nextInt(20000));
+        }
+        CsrGraph<Integer> csr = CsrGraph.copyOf(random);
+
+        assertEquals(PageRank.rank(csr), PageRank.parallelRank(csr, pool));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        graph.addEdge("A", "B");
+
+        assertThrows(IllegalArgumentException.class, () -> PageRank.rank(null));
+        assertThrows(IllegalArgumentException.class, () -> PageRank.rank(graph, 1.0, 1e-9, 10));
+        assertThrows(IllegalArgumentException.class, () -> PageRank.rank(graph, 0.85, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> PageRank.rank(graph, 0.85, 1e-9, 0));
+        assertThrows(IllegalArgumentException.class, () -> PageRank.parallelRank(graph, null));
+        assertTrue(PageRank.rank(new AdjacencyListGraph<String>()).isEmpty());
+    }
+}
@@ -0,0 +1,104 @@
+package ru.nsu.tokarev.Algorithms;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.Matrixs.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ShortestPathsTest {
+
+    private AdjacencyListGraph<String> graph;
+    private Map<String, Double> weights;
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyListGraph<>();
+        weights = new HashMap<>();
+        addEdge("A", "B", 4);
+        addEdge("A", "C", 1);
+        addEdge("C", "B", 2);
+        addEdge("B", "D", 1);
+        addEdge("C", "D", 5);
+        addEdge("D", "E", 3);
+        graph.addVertex("F");
+    }
+
+    private void addEdge(String from, String to, double weight) {
+        graph.addEdge(from, to);
+        weights.put(from + to, weight);
+    }
+
+    private double weight(String from, String to) {
+        return weights.get(from + to);
+    }
+
+    @Test
+    void testDijkstraDistancesAndPaths() {
+        PathTree<String> tree = ShortestPaths.dijkstra(graph, "A", this::weight);
+
+        assertEquals(3, tree.distanceTo("B"));
+        assertEquals(4, tree.distanceTo("D"));
+        assertEquals(7, tree.distanceTo("E"));
+        assertEquals(Arrays.asList("A", "C", "B", "D", "E"), tree.pathTo("E"));
+        assertFalse(tree.isReachable("F"));
+        // Вершины достигаются в порядке неубывания расстояния.
+        assertEquals(Arrays.asList("A", "C", "B", "D", "E"), tree.getReachedVertices());
+    }
+
+    @Test
+    void testAStarMatchesDijkstra() {
+        CsrGraph.Builder<Integer> builder = CsrGraph.builder();
+        Random random = new Random(3);
+        int side = 60;
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int vertex = row * side + column;
+                if (column + 1 < side && random.nextInt(10) > 0) {
+                    builder.addEdge(vertex, vertex + 1);
+                    builder.addEdge(vertex + 1, vertex);
+                }
+                if (row + 1 < side && random.nextInt(10) > 0) {
+                    builder.addEdge(vertex, vertex + side);
+                    builder.addEdge(vertex + side, vertex);
+                }
+            }
+        }
+        CsrGraph<Integer> grid = builder.build();
+        int target = side * side - 1;
+
+        PathTree<Integer> tree = ShortestPaths.dijkstra(grid, 0, (from, to) -> 1);
+        // Манхэттенское расстояние не завышает длину пути по решётке.
+        List<Integer> path = ShortestPaths.aStar(grid, 0, target, (from, to) -> 1,
+                vertex -> (side - 1 - vertex / side) + (side - 1 - vertex % side));
+
+        assertEquals(tree.distanceTo(target), path.size() - 1);
+        assertEquals(0, path.get(0));
+        assertEquals(target, path.get(path.size() - 1));
+    }
+
+    @Test
+    void testAStarUnreachableTarget() {
+        assertEquals(Collections.emptyList(), ShortestPaths.aStar(graph, "A", "F", this::weight, vertex -> 0));
+        assertEquals(Arrays.asList("A"), ShortestPaths.aStar(graph, "A", "A", this::weight, vertex -> 0));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ShortestPaths.dijkstra(graph, "A", null));
+        assertThrows(IllegalArgumentException.class, () -> ShortestPaths.dijkstra(graph, "A", (from, to) -> -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShortestPaths.dijkstra(graph, "A", (from, to) -> Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> ShortestPaths.dijkstra(graph, "Missing", this::weight));
+        assertThrows(IllegalArgumentException.class, () -> ShortestPaths.aStar(graph, "A", "E", this::weight, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShortestPaths.aStar(graph, "A", "Missing", this::weight, vertex -> 0));
+    }
+}
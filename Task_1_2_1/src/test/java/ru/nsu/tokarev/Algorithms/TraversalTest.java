@@ -0,0 +1,125 @@
+package ru.nsu.tokarev.Algorithms;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.Matrixs.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TraversalTest {
+
+    private AdjacencyListGraph<String> graph;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyListGraph<>();
+        graph.addEdge("A", "B");
+        graph.addEdge("A", "C");
+        graph.addEdge("B", "D");
+        graph.addEdge("C", "D");
+        graph.addEdge("D", "E");
+        graph.addVertex("F");
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testBreadthFirstDistancesAndPaths() {
+        PathTree<String> tree = Traversal.breadthFirst(graph, "A");
+
+        assertEquals("A", tree.getSource());
+        assertEquals(0, tree.distanceTo("A"));
+        assertEquals(1, tree.distanceTo("C"));
+        assertEquals(3, tree.distanceTo("E"));
+        assertEquals(4, tree.pathTo("E").size());
+        assertEquals("A", tree.pathTo("E").get(0));
+        assertEquals(5, tree.getReachedVertices().size());
+    }
+
+    @Test
+    void testUnreachableVertices() {
+        PathTree<String> tree = Traversal.breadthFirst(graph, "B");
+
+        assertFalse(tree.isReachable("A"));
+        assertFalse(tree.isReachable("F"));
+        assertFalse(tree.isReachable("Missing"));
+        assertEquals(Double.POSITIVE_INFINITY, tree.distanceTo("A"));
+        assertEquals(Collections.emptyList(), tree.pathTo("F"));
+        assertEquals(Arrays.asList("B", "D", "E"), tree.getReachedVertices());
+    }
+
+    @Test
+    void testParallelBreadthFirstMatchesSequential() {
+        // Плотный случайный граф: обход переключается снизу вверх уже на втором уровне.
+        AdjacencyListGraph<Integer> random = new AdjacencyListGraph<>();
+        Random generator = new Random(17);
+        for (int i = 0; i < 20000; i++) {
+            random.addVertex(i);
+        }
+        for (int i = 0; i < 200000; i++) {
+            random.addEdge(generator.nextInt(20000), generator.nextInt(20000));
+        }
+        CsrGraph<Integer> csr = CsrGraph.copyOf(random);
+
+        PathTree<Integer> expected = Traversal.breadthFirst(csr, 0);
+        PathTree<Integer> actual = Traversal.parallelBreadthFirst(csr, 0, pool);
+
+        assertEquals(expected.getReachedVertices().size(), actual.getReachedVertices().size());
+        for (int vertex = 0; vertex < 20000; vertex++) {
+            assertEquals(expected.distanceTo(vertex), actual.distanceTo(vertex));
+            List<Integer> path = actual.pathTo(vertex);
+            for (int i = 0; i + 1 < path.size(); i++) {
+                assertTrue(csr.hasEdge(path.get(i), path.get(i + 1)));
+            }
+            if (actual.isReachable(vertex)) {
+                assertEquals(actual.distanceTo(vertex), path.size() - 1);
+            }
+        }
+    }
+
+    @Test
+    void testParallelBreadthFirstOnPath() {
+        CsrGraph.Builder<Integer> builder = CsrGraph.builder();
+        for (int i = 0; i + 1 < 5000; i++) {
+            builder.addEdge(i, i + 1);
+        }
+        PathTree<Integer> tree = Traversal.parallelBreadthFirst(builder.build(), 0, pool);
+
+        assertEquals(4999, tree.distanceTo(4999));
+        assertEquals(5000, tree.pathTo(4999).size());
+    }
+
+    @Test
+    void testDepthFirstOrder() {
+        CsrGraph<String> csr = CsrGraph.<String>builder()
+                .addEdge("A", "B")
+                .addEdge("A", "C")
+                .addEdge("B", "D")
+                .addEdge("C", "D")
+                .addEdge("D", "E")
+                .build();
+
+        assertEquals(Arrays.asList("A", "B", "D", "E", "C"), Traversal.depthFirstOrder(csr, "A"));
+        assertEquals(Arrays.asList("C", "D", "E"), Traversal.depthFirstOrder(csr, "C"));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Traversal.breadthFirst(null, "A"));
+        assertThrows(IllegalArgumentException.class, () -> Traversal.breadthFirst(graph, "Missing"));
+        assertThrows(IllegalArgumentException.class, () -> Traversal.parallelBreadthFirst(graph, "A", null));
+        assertThrows(IllegalArgumentException.class, () -> Traversal.depthFirstOrder(graph, "Missing"));
+    }
+}
@@ -4,7 +4,9 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
@@ -268,4 +270,79 @@ public class AdjacencyListGraphTest {
         assertTrue(actualVertices.contains("A"));
         assertFalse(actualVertices.contains("B"));
     }
+
+    @Test
+    void testForEachEdge() {
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "A");
+        graph.addEdge("C", "C");
+        graph.addVertex("D");
+
+        Set<List<String>> edges = new HashSet<>();
+        graph.forEachEdge((from, to) -> assertTrue(edges.add(Arrays.asList(from, to))));
+
+        assertEquals(Set.of(Arrays.asList("A", "B"), Arrays.asList("B", "A"), Arrays.asList("C", "C")), edges);
+    }
+
+    @Test
+    void testEqualsAndHashCodeAcrossImplementations() {
+        List<Graph<String>> graphs = Arrays.asList(graph, new AdjacencyMatrixGraph<>(),
+                new IncidenceMatrixGraph<>());
+        for (Graph<String> g : graphs) {
+            g.addEdge("A", "B");
+            g.addEdge("B", "C");
+            g.addEdge("C", "C");
+            g.addEdge("C", "X");
+            g.addEdge("X", "A");
+            g.removeVertex("X");
+            g.addEdge("A", "B");
+            g.removeEdge("B", "C");
+            g.addEdge("C", "B");
+        }
+        CsrGraph<String> csr = CsrGraph.copyOf(graph);
+
+        for (Graph<String> g : graphs) {
+            assertEquals(GraphFingerprint.of(g), g.fingerprint());
+            assertEquals(csr.fingerprint(), g.fingerprint());
+            assertEquals(csr.hashCode(), g.hashCode());
+            assertEquals(csr, g);
+            assertEquals(g, csr);
+        }
+
+        graph.removeEdge("C", "C");
+        assertNotEquals(csr.fingerprint(), graph.fingerprint());
+        assertNotEquals(csr, graph);
+    }
+
+    @Test
+    void testViewsAndCountsAcrossImplementations() {
+        List<Graph<String>> graphs = Arrays.asList(graph, new AdjacencyMatrixGraph<>(),
+                new IncidenceMatrixGraph<>());
+        for (Graph<String> g : graphs) {
+            g.addEdge("A", "B");
+            g.addEdge("A", "C");
+            g.addEdge("C", "C");
+            g.addVertex("D");
+            g.addEdge("D", "A");
+            g.removeEdge("D", "A");
+        }
+        List<Graph<String>> all = new ArrayList<>(graphs);
+        all.add(CsrGraph.copyOf(graph));
+
+        for (Graph<String> g : all) {
+            assertEquals(4, g.vertexCount());
+            assertEquals(3, g.edgeCount());
+            assertEquals(2, g.outDegree("A"));
+            assertEquals(0, g.outDegree("Missing"));
+            assertEquals(Set.of("A", "B", "C", "D"), g.getVerticesView());
+            assertEquals(Set.of("B", "C"), new HashSet<>(g.getNeighborsView("A")));
+            assertTrue(g.getNeighborsView("Missing").isEmpty());
+
+            List<String> visited = new ArrayList<>();
+            g.forEachNeighbor("A", visited::add);
+            assertEquals(new HashSet<>(visited), new HashSet<>(g.getNeighbors("A")));
+            assertThrows(UnsupportedOperationException.class, () -> g.getNeighborsView("A").clear());
+            assertThrows(UnsupportedOperationException.class, () -> g.getVerticesView().remove("A"));
+        }
+    }
 }
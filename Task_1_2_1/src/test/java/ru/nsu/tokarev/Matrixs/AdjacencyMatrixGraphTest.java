@@ -1,5 +1,6 @@
 package ru.nsu.tokarev.Matrixs;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -183,4 +184,136 @@ public class AdjacencyMatrixGraphTest {
         assertTrue(graph.hasEdge("A", "D"));
         assertTrue(graph.hasEdge("C", "A"));
     }
+
+    @Test
+    void testRemoveVertexAcrossWordBoundary() {
+        AdjacencyMatrixGraph<Integer> intGraph = new AdjacencyMatrixGraph<>();
+        for (int i = 0; i < 200; i++) {
+            intGraph.addEdge(i, (i + 1) % 200);
+            intGraph.addEdge(i, (i * 7) % 200);
+        }
+
+        intGraph.removeVertex(5);
+
+        // Столбцы за удалённым сдвигаются, в том числе через границу 64-битных слов.
+        for (int i = 0; i < 200; i++) {
+            if (i == 5) {
+                continue;
+            }
+            for (int j = 0; j < 200; j++) {
+                boolean expected = j != 5 && (j == (i + 1) % 200 || j == (i * 7) % 200);
+                assertEquals(expected, intGraph.hasEdge(i, j), i + " -> " + j);
+            }
+        }
+        assertEquals(199, intGraph.getAllVertices().size());
+    }
+
+    @Test
+    void testUnion() {
+        graph.addEdge("A", "B");
+        AdjacencyMatrixGraph<String> other = new AdjacencyMatrixGraph<>();
+        other.addEdge("C", "A");
+        other.addEdge("A", "B");
+
+        AdjacencyMatrixGraph<String> union = graph.union(other);
+
+        assertEquals(3, union.getAllVertices().size());
+        assertTrue(union.hasEdge("A", "B"));
+        assertTrue(union.hasEdge("C", "A"));
+        assertFalse(graph.hasVertex("C"));
+    }
+
+    @Test
+    void testIntersection() {
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "D");
+        AdjacencyMatrixGraph<String> other = new AdjacencyMatrixGraph<>();
+        other.addEdge("C", "B");
+        other.addEdge("B", "C");
+        other.addEdge("A", "B");
+
+        AdjacencyMatrixGraph<String> intersection = graph.intersection(other);
+
+        assertEquals(3, intersection.getAllVertices().size());
+        assertTrue(intersection.hasEdge("A", "B"));
+        assertTrue(intersection.hasEdge("B", "C"));
+        assertFalse(intersection.hasEdge("C", "B"));
+        assertFalse(intersection.hasVertex("D"));
+
+        assertEquals(graph, graph.intersection(graph));
+    }
+
+    @Test
+    void testTransitiveClosure() {
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "D");
+        graph.addVertex("E");
+
+        AdjacencyMatrixGraph<String> closure = graph.transitiveClosure();
+
+        assertTrue(closure.hasEdge("A", "D"));
+        assertTrue(closure.hasEdge("B", "D"));
+        assertFalse(closure.hasEdge("D", "A"));
+        assertFalse(closure.hasEdge("A", "A"));
+        assertFalse(closure.hasEdge("A", "E"));
+        assertFalse(graph.hasEdge("A", "D"));
+
+        graph.addEdge("D", "A");
+        assertTrue(graph.transitiveClosure().hasEdge("A", "A"));
+    }
+
+    @Test
+    void testHashCodeDoesNotDependOnCapacity() {
+        AdjacencyMatrixGraph<Integer> grown = new AdjacencyMatrixGraph<>();
+        AdjacencyMatrixGraph<Integer> small = new AdjacencyMatrixGraph<>();
+        for (int i = 0; i < 100; i++) {
+            grown.addVertex(i);
+        }
+        for (int i = 99; i >= 2; i--) {
+            grown.removeVertex(i);
+        }
+        grown.addEdge(0, 1);
+        small.addEdge(0, 1);
+
+        assertEquals(small, grown);
+        assertEquals(small.hashCode(), grown.hashCode());
+    }
+
+    @Test
+    void testFingerprintAfterBulkOperations() {
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "C");
+        AdjacencyMatrixGraph<String> other = new AdjacencyMatrixGraph<>();
+        other.addEdge("C", "A");
+        other.addEdge("B", "C");
+
+        assertEquals(GraphFingerprint.of(graph.union(other)), graph.union(other).fingerprint());
+        assertEquals(GraphFingerprint.of(graph.intersection(other)), graph.intersection(other).fingerprint());
+        assertEquals(GraphFingerprint.of(graph.transitiveClosure()), graph.transitiveClosure().fingerprint());
+
+        graph.removeVertex("C");
+        assertEquals(GraphFingerprint.of(graph), graph.fingerprint());
+    }
+
+    @Test
+    void testNeighborsViewAcrossWords() {
+        AdjacencyMatrixGraph<Integer> wide = new AdjacencyMatrixGraph<>();
+        for (int i = 0; i < 200; i += 3) {
+            wide.addEdge(0, i);
+        }
+
+        assertEquals(wide.getNeighbors(0), new ArrayList<>(wide.getNeighborsView(0)));
+        assertEquals(67, wide.getNeighborsView(0).size());
+        assertTrue(wide.getNeighborsView(0).contains(198));
+        assertFalse(wide.getNeighborsView(0).contains(199));
+        assertEquals(67, wide.outDegree(0));
+        assertEquals(67, wide.edgeCount());
+
+        wide.removeVertex(99);
+        assertEquals(66, wide.edgeCount());
+        assertEquals(66, wide.getNeighborsView(0).size());
+    }
 }
@@ -0,0 +1,187 @@
+package ru.nsu.tokarev.Matrixs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.TopoSort.TopoSort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ConcurrentGraphTest {
+
+    private ConcurrentGraph<String> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new ConcurrentGraph<>();
+    }
+
+    @Test
+    void testBasicOperations() {
+        graph.addEdge("A", "B");
+        graph.addEdge("A", "C");
+        graph.addEdge("A", "B");
+        graph.addVertex("D");
+
+        assertEquals(4, graph.vertexCount());
+        assertEquals(2, graph.edgeCount());
+        assertEquals(Arrays.asList("B", "C"), graph.getNeighbors("A"));
+        assertTrue(graph.hasEdge("A", "C"));
+        assertFalse(graph.hasEdge("C", "A"));
+
+        graph.removeEdge("A", "B");
+        graph.removeEdge("A", "Missing");
+        assertFalse(graph.hasEdge("A", "B"));
+        assertEquals(1, graph.edgeCount());
+    }
+
+    @Test
+    void testRemoveVertexWithLoop() {
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "A");
+
+        graph.removeVertex("B");
+
+        AdjacencyListGraph<String> expected = new AdjacencyListGraph<>();
+        expected.addEdge("C", "A");
+        assertEquals(expected, graph);
+        assertEquals(expected.hashCode(), graph.hashCode());
+        assertEquals(GraphFingerprint.of(graph), graph.fingerprint());
+        assertEquals(1, graph.edgeCount());
+        assertTrue(graph.getNeighbors("A").isEmpty());
+    }
+
+    @Test
+    void testNeighborsViewIsStableSnapshot() {
+        graph.addEdge("A", "B");
+        Collection<String> view = graph.getNeighborsView("A");
+
+        graph.addEdge("A", "C");
+
+        assertEquals(Arrays.asList("B"), new ArrayList<>(view));
+        assertEquals(2, graph.outDegree("A"));
+        assertThrows(UnsupportedOperationException.class, () -> view.add("D"));
+    }
+
+    @Test
+    void testSnapshotForTopoSort() {
+        graph.addEdge("Planning", "Design");
+        graph.addEdge("Design", "Development");
+        graph.addEdge("Planning", "Research");
+        graph.addEdge("Research", "Development");
+
+        CsrGraph<String> snapshot = graph.snapshot();
+        graph.addEdge("Development", "Planning");
+
+        assertEquals(4, snapshot.edgeCount());
+        assertEquals("Planning", TopoSort.sort(snapshot).get(0));
+        assertFalse(TopoSort.isDAG(graph.snapshot()));
+    }
+
+    @Test
+    void testConcurrentWritersKeepGraphConsistent() throws Exception {
+        ConcurrentGraph<Integer> shared = new ConcurrentGraph<>(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            long seed = thread;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 20000; i++) {
+                    int from = random.nextInt(200);
+                    int to = random.nextInt(200);
+                    int operation = random.nextInt(20);
+                    if (operation == 0) {
+                        shared.removeVertex(from);
+                    } else if (operation < 6) {
+                        shared.removeEdge(from, to);
+                    } else if (operation == 6) {
+                        CsrGraph<Integer> snapshot = shared.snapshot();
+                        assertEquals(snapshot.edgeCount(), countEdges(snapshot));
+                        snapshot.forEachEdge((source, target) -> assertTrue(snapshot.hasVertex(target)));
+                    } else {
+                        shared.addEdge(from, to);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        CsrGraph<Integer> snapshot = shared.snapshot();
+        assertEquals(snapshot, shared);
+        assertEquals(snapshot.hashCode(), shared.hashCode());
+        assertEquals(countEdges(shared), shared.edgeCount());
+        shared.forEachEdge((from, to) -> assertTrue(shared.hasVertex(to)));
+
+        // Входящие рёбра согласованы с исходящими: после удаления всех вершин не остаётся ни одного ребра.
+        for (Integer vertex : snapshot.getAllVertices()) {
+            shared.removeVertex(vertex);
+        }
+        assertEquals(0, shared.vertexCount());
+        assertEquals(0, shared.edgeCount());
+        assertEquals(0, shared.fingerprint());
+    }
+
+    @Test
+    void testTopoSortDuringWrites() throws Exception {
+        ConcurrentGraph<Integer> shared = new ConcurrentGraph<>();
+        for (int i = 0; i < 199; i++) {
+            shared.addEdge(i, i + 1);
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        // Писатель добавляет и удаляет вершины и рёбра только от меньшего номера к большему: граф остаётся ациклическим.
+        Thread writer = new Thread(() -> {
+            Random random = new Random(7);
+            while (!stop.get()) {
+                int from = random.nextInt(400);
+                int to = from + 1 + random.nextInt(50);
+                if (random.nextInt(4) == 0) {
+                    shared.removeVertex(to);
+                } else {
+                    shared.addEdge(from, to);
+                }
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                assertFalse(TopoSort.sort(shared).isEmpty());
+                assertTrue(TopoSort.isDAG(shared));
+                assertFalse(TopoSort.parallelLevels(shared).isEmpty());
+                for (List<Integer> component : TopoSort.stronglyConnectedComponents(shared)) {
+                    assertEquals(1, component.size());
+                }
+            }
+        } finally {
+            stop.set(true);
+            writer.join();
+        }
+    }
+
+    @Test
+    void testInvalidStripes() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentGraph<String>(0));
+    }
+
+    private static int countEdges(Graph<Integer> graph) {
+        int[] count = new int[1];
+        graph.forEachEdge((from, to) -> count[0]++);
+        return count[0];
+    }
+}
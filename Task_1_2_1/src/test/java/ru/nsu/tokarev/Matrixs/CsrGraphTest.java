@@ -0,0 +1,133 @@
+package ru.nsu.tokarev.Matrixs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class CsrGraphTest {
+
+    private AdjacencyListGraph<String> source;
+
+    @BeforeEach
+    void setUp() {
+        source = new AdjacencyListGraph<>();
+        source.addEdge("A", "B");
+        source.addEdge("A", "C");
+        source.addEdge("B", "C");
+        source.addEdge("C", "D");
+        source.addVertex("E");
+    }
+
+    @Test
+    void testCopyOf() {
+        CsrGraph<String> graph = CsrGraph.copyOf(source);
+
+        assertEquals(5, graph.vertexCount());
+        assertEquals(4, graph.edgeCount());
+        assertEquals(source.getAllVertices(), graph.getAllVertices());
+        assertTrue(graph.hasEdge("A", "B"));
+        assertTrue(graph.hasEdge("C", "D"));
+        assertFalse(graph.hasEdge("B", "A"));
+        assertFalse(graph.hasEdge("A", "X"));
+        assertTrue(graph.hasVertex("E"));
+        assertFalse(graph.hasVertex("X"));
+    }
+
+    @Test
+    void testEqualsOtherImplementations() {
+        CsrGraph<String> graph = CsrGraph.copyOf(source);
+
+        assertTrue(graph.equals(source));
+        assertTrue(source.equals(graph));
+
+        AdjacencyMatrixGraph<String> matrix = new AdjacencyMatrixGraph<>();
+        matrix.addEdge("A", "B");
+        assertFalse(graph.equals(matrix));
+    }
+
+    @Test
+    void testGetNeighbors() {
+        CsrGraph<String> graph = CsrGraph.copyOf(source);
+
+        List<String> neighbors = graph.getNeighbors("A");
+        assertEquals(2, neighbors.size());
+        assertTrue(neighbors.containsAll(Arrays.asList("B", "C")));
+        assertTrue(neighbors.contains("C"));
+        assertFalse(neighbors.contains("D"));
+        assertTrue(graph.getNeighbors("E").isEmpty());
+        assertTrue(graph.getNeighbors("X").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> neighbors.add("D"));
+    }
+
+    @Test
+    void testBuilderRemovesDuplicateEdges() {
+        CsrGraph<Integer> graph = CsrGraph.<Integer>builder()
+                .addEdge(1, 2)
+                .addEdge(1, 2)
+                .addEdge(2, 1)
+                .addEdge(1, 3)
+                .addEdge(1, 2)
+                .addVertex(4)
+                .build();
+
+        assertEquals(4, graph.vertexCount());
+        assertEquals(3, graph.edgeCount());
+        assertEquals(2, graph.getNeighbors(1).size());
+        assertEquals(Set.of(1, 2, 3, 4), graph.getAllVertices());
+    }
+
+    @Test
+    void testIndexAccess() {
+        CsrGraph<String> graph = CsrGraph.copyOf(source);
+
+        int a = graph.indexOf("A");
+        assertEquals("A", graph.vertexAt(a));
+        assertEquals(2, graph.degree(a));
+        for (int i = 0; i < graph.degree(a); i++) {
+            String neighbor = graph.vertexAt(graph.neighborAt(a, i));
+            assertTrue(source.hasEdge("A", neighbor));
+        }
+        assertEquals(-1, graph.indexOf("X"));
+    }
+
+    @Test
+    void testImmutable() {
+        CsrGraph<String> graph = CsrGraph.copyOf(source);
+
+        assertThrows(UnsupportedOperationException.class, () -> graph.addVertex("X"));
+        assertThrows(UnsupportedOperationException.class, () -> graph.addEdge("A", "D"));
+        assertThrows(UnsupportedOperationException.class, () -> graph.removeVertex("A"));
+        assertThrows(UnsupportedOperationException.class, () -> graph.removeEdge("A", "B"));
+        assertSame(graph, CsrGraph.copyOf(graph));
+    }
+
+    @Test
+    void testHashCodeDoesNotDependOnOrder() {
+        CsrGraph<String> first = CsrGraph.<String>builder().addEdge("A", "B").addEdge("C", "D").build();
+        CsrGraph<String> second = CsrGraph.<String>builder().addEdge("C", "D").addEdge("A", "B").build();
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void testEmptyGraph() {
+        CsrGraph<String> graph = CsrGraph.<String>builder().build();
+
+        assertEquals(0, graph.vertexCount());
+        assertTrue(graph.getAllVertices().isEmpty());
+        assertFalse(graph.hasVertex("A"));
+        assertEquals("CSR Graph: (empty graph)", graph.toString());
+    }
+
+    @Test
+    void testToString() {
+        CsrGraph<String> graph = CsrGraph.<String>builder().addEdge("A", "B").build();
+
+        assertEquals("CSR Graph:\nA -> [B]\nB -> []\n", graph.toString());
+    }
+}
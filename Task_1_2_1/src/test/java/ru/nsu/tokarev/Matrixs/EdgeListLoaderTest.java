@@ -0,0 +1,131 @@
+package ru.nsu.tokarev.Matrixs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class EdgeListLoaderTest {
+
+    private Path file;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("edges", ".txt");
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testLoadTextMatchesReadFromFile() throws IOException {
+        Files.write(file, ("A B\n"
+                + "SingleVertex\n"
+                + "A B C D\n"
+                + "\n"
+                + "  C\tD  \r\n"
+                + "Vertex A\n"
+                + "B A").getBytes(StandardCharsets.UTF_8));
+
+        AdjacencyListGraph<String> expected = new AdjacencyListGraph<>();
+        expected.readFromFile(file.toString());
+        CsrGraph<String> loaded = EdgeListLoader.loadText(file, pool);
+
+        assertEquals(expected, loaded);
+        assertEquals(4, loaded.edgeCount());
+        assertTrue(loaded.hasEdge("Vertex", "A"));
+        assertFalse(loaded.hasVertex("SingleVertex"));
+    }
+
+    @Test
+    void testLoadTextAcrossChunks() throws IOException {
+        StringBuilder text = new StringBuilder();
+        AdjacencyListGraph<String> expected = new AdjacencyListGraph<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 5000; i++) {
+            String from = "v" + random.nextInt(300);
+            String to = "v" + random.nextInt(300);
+            text.append(from).append(' ').append(to).append('\n');
+            expected.addEdge(from, to);
+        }
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+
+        // Диапазоны по 100 байт: границы почти всегда попадают в середину строки.
+        assertEquals(expected, EdgeListLoader.loadText(file, pool, 100));
+        assertEquals(expected, EdgeListLoader.loadText(file));
+    }
+
+    @Test
+    void testLoadEmptyText() throws IOException {
+        CsrGraph<String> loaded = EdgeListLoader.loadText(file, pool);
+
+        assertEquals(0, loaded.vertexCount());
+        assertEquals(0, loaded.edgeCount());
+    }
+
+    @Test
+    void testBinaryRoundTrip() throws IOException {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        Random random = new Random(9);
+        for (int i = 0; i < 3000; i++) {
+            graph.addEdge(random.nextInt(500) - 250, random.nextInt(500) * 1000);
+        }
+
+        EdgeListLoader.writeBinary(graph, file);
+        assertEquals(8L * edgeCount(graph), Files.size(file));
+
+        assertEquals(graph, EdgeListLoader.loadBinary(file, pool, 64));
+        assertEquals(graph, EdgeListLoader.loadBinary(file));
+    }
+
+    @Test
+    void testBinaryRoundTripDenseIds() throws IOException {
+        AdjacencyListGraph<Integer> ring = new AdjacencyListGraph<>();
+        for (int i = 0; i < 1000; i++) {
+            ring.addEdge(i - 500, (i + 1) % 1000 - 500);
+        }
+
+        EdgeListLoader.writeBinary(ring, file);
+        CsrGraph<Integer> loaded = EdgeListLoader.loadBinary(file, pool, 800);
+
+        assertEquals(ring, loaded);
+        assertEquals(-500, loaded.vertexAt(0));
+        assertEquals(1000, loaded.edgeCount());
+    }
+
+    @Test
+    void testLoadBinaryRejectsTruncatedFile() throws IOException {
+        Files.write(file, new byte[] {1, 0, 0, 0, 2, 0, 0});
+
+        assertThrows(IllegalArgumentException.class, () -> EdgeListLoader.loadBinary(file));
+        assertThrows(IllegalArgumentException.class, () -> EdgeListLoader.loadBinary(file, pool, 12));
+    }
+
+    @Test
+    void testNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> EdgeListLoader.loadText(null));
+        assertThrows(IllegalArgumentException.class, () -> EdgeListLoader.loadText(file, null));
+        assertThrows(IllegalArgumentException.class, () -> EdgeListLoader.loadBinary(null));
+        assertThrows(IllegalArgumentException.class, () -> EdgeListLoader.writeBinary(null, file));
+    }
+
+    private static long edgeCount(Graph<Integer> graph) {
+        long edges = 0;
+        for (Integer vertex : graph.getAllVertices()) {
+            edges += graph.getNeighbors(vertex).size();
+        }
+        return edges;
+    }
+}
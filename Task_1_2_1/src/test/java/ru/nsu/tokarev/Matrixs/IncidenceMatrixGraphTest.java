@@ -1,5 +1,6 @@
 package ru.nsu.tokarev.Matrixs;
 
+import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -240,4 +241,64 @@ public class IncidenceMatrixGraphTest {
 
         assertTrue(graph.hasEdge("A", "B"));
     }
+
+    @Test
+    void testEdgeCount() {
+        graph.addEdge("A", "B");
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "C");
+        assertEquals(3, graph.edgeCount());
+
+        graph.removeEdge("A", "B");
+        graph.removeEdge("A", "B");
+        assertEquals(2, graph.edgeCount());
+
+        // Петля считается одним ребром.
+        graph.removeVertex("C");
+        assertEquals(0, graph.edgeCount());
+        assertFalse(graph.hasEdge("B", "C"));
+        assertTrue(graph.getNeighbors("B").isEmpty());
+    }
+
+    @Test
+    void testToIncidenceMatrix() {
+        graph.addEdge("A", "B");
+        graph.addEdge("A", "C");
+        graph.addEdge("B", "C");
+
+        int[][] matrix = graph.toIncidenceMatrix();
+
+        assertEquals(3, matrix.length);
+        assertArrayEquals(new int[] {1, 1, 0}, matrix[0]);
+        assertArrayEquals(new int[] {-1, 0, 1}, matrix[1]);
+        assertArrayEquals(new int[] {0, -1, -1}, matrix[2]);
+    }
+
+    @Test
+    void testNeighborsKeepInsertionOrder() {
+        graph.addEdge("A", "D");
+        graph.addEdge("A", "B");
+        graph.addEdge("A", "C");
+        graph.removeEdge("A", "B");
+        graph.addEdge("A", "B");
+
+        assertEquals(Arrays.asList("D", "C", "B"), graph.getNeighbors("A"));
+    }
+
+    @Test
+    void testFingerprintAfterRemovingVertexWithLoop() {
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "A");
+        graph.removeVertex("B");
+
+        IncidenceMatrixGraph<String> expected = new IncidenceMatrixGraph<>();
+        expected.addEdge("C", "A");
+
+        assertEquals(GraphFingerprint.of(graph), graph.fingerprint());
+        assertEquals(expected.fingerprint(), graph.fingerprint());
+        assertEquals(expected, graph);
+    }
 }
@@ -0,0 +1,151 @@
+package ru.nsu.tokarev.TopoSort;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.Matrixs.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class DynamicTopoOrderTest {
+
+    private DynamicTopoOrder<String> order;
+
+    @BeforeEach
+    void setUp() {
+        order = new DynamicTopoOrder<>();
+    }
+
+    @Test
+    void testEdgesInOrderKeepInsertionOrder() {
+        order.addEdge("A", "B");
+        order.addEdge("B", "C");
+
+        assertEquals(Arrays.asList("A", "B", "C"), order.getOrder());
+    }
+
+    @Test
+    void testBackwardEdgeReordersAffectedRegion() {
+        order.addVertex("A");
+        order.addVertex("B");
+        order.addVertex("C");
+        order.addVertex("D");
+
+        order.addEdge("D", "A");
+
+        assertTrue(order.precedes("D", "A"));
+        assertEquals(4, order.getOrder().size());
+        assertValidOrder(order);
+    }
+
+    @Test
+    void testCycleIsRejectedAndGraphUnchanged() {
+        order.addEdge("A", "B");
+        order.addEdge("B", "C");
+
+        assertThrows(IllegalArgumentException.class, () -> order.addEdge("C", "A"));
+        assertFalse(order.hasEdge("C", "A"));
+        assertEquals(Arrays.asList("A", "B", "C"), order.getOrder());
+    }
+
+    @Test
+    void testSelfLoopIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> order.addEdge("A", "A"));
+        assertFalse(order.hasVertex("A"));
+    }
+
+    @Test
+    void testRemoveEdgeAllowsFormerCycle() {
+        order.addEdge("A", "B");
+        order.addEdge("B", "C");
+        order.removeEdge("B", "C");
+
+        order.addEdge("C", "A");
+
+        assertTrue(order.precedes("C", "A"));
+        assertValidOrder(order);
+    }
+
+    @Test
+    void testRemoveVertex() {
+        order.addEdge("A", "B");
+        order.addEdge("B", "C");
+        order.removeVertex("B");
+
+        assertFalse(order.hasVertex("B"));
+        assertEquals(Arrays.asList("A", "C"), order.getOrder());
+
+        order.addEdge("C", "A");
+        assertTrue(order.precedes("C", "A"));
+    }
+
+    @Test
+    void testWrapsExistingGraph() {
+        AdjacencyMatrixGraph<String> graph = new AdjacencyMatrixGraph<>();
+        graph.addEdge("B", "C");
+        graph.addEdge("A", "B");
+
+        DynamicTopoOrder<String> wrapped = new DynamicTopoOrder<>(graph);
+        wrapped.addEdge("C", "D");
+
+        assertEquals(Arrays.asList("A", "B", "C", "D"), wrapped.getOrder());
+        assertTrue(graph.hasEdge("C", "D"));
+        assertEquals(graph, wrapped);
+    }
+
+    @Test
+    void testRejectsCyclicGraph() {
+        AdjacencyListGraph<String> graph = new AdjacencyListGraph<>();
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "A");
+
+        assertThrows(IllegalArgumentException.class, () -> new DynamicTopoOrder<>(graph));
+        assertThrows(IllegalArgumentException.class, () -> new DynamicTopoOrder<String>(null));
+    }
+
+    @Test
+    void testRandomInsertionsKeepValidOrder() {
+        // Рёбра согласованы со скрытой перестановкой, поэтому все они допустимы,
+        // но большая часть идёт против порядка добавления вершин.
+        Random random = new Random(3);
+        int size = 300;
+        Integer[] hidden = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            hidden[i] = i;
+        }
+        Collections.shuffle(Arrays.asList(hidden), random);
+
+        DynamicTopoOrder<Integer> dynamic = new DynamicTopoOrder<>();
+        for (int i = 0; i < size; i++) {
+            dynamic.addVertex(i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            int a = random.nextInt(size);
+            int b = random.nextInt(size);
+            if (a == b) {
+                continue;
+            }
+            dynamic.addEdge(hidden[Math.min(a, b)], hidden[Math.max(a, b)]);
+            if (i % 200 == 0) {
+                dynamic.removeVertex(hidden[random.nextInt(size)]);
+            }
+        }
+
+        assertValidOrder(dynamic);
+        assertTrue(TopoSort.isDAG(dynamic));
+    }
+
+    private static <T> void assertValidOrder(DynamicTopoOrder<T> order) {
+        List<T> vertices = order.getOrder();
+        assertEquals(order.getAllVertices().size(), vertices.size());
+        for (T from : vertices) {
+            for (T to : order.getNeighbors(from)) {
+                assertTrue(vertices.indexOf(from) < vertices.indexOf(to));
+            }
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package ru.nsu.tokarev.TopoSort;
 
 import java.util.List;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ru.nsu.tokarev.Matrixs.*;
@@ -261,4 +266,242 @@ public class TopoSortTest {
         assertTrue(developmentIdx < testingIdx);
         assertTrue(testingIdx < deploymentIdx);
     }
+
+    @Test
+    void testParallelLevelsDiamond() {
+        dag.addEdge("A", "B");
+        dag.addEdge("A", "C");
+        dag.addEdge("B", "D");
+        dag.addEdge("C", "D");
+        dag.addEdge("A", "D");
+
+        List<List<String>> levels = TopoSort.parallelLevels(dag);
+
+        assertEquals(3, levels.size());
+        assertEquals(List.of("A"), levels.get(0));
+        assertEquals(2, levels.get(1).size());
+        assertTrue(levels.get(1).containsAll(Arrays.asList("B", "C")));
+        assertEquals(List.of("D"), levels.get(2));
+    }
+
+    @Test
+    void testParallelLevelsEmptyGraph() {
+        assertTrue(TopoSort.parallelLevels(dag).isEmpty());
+        assertTrue(TopoSort.parallelSort(dag).isEmpty());
+    }
+
+    @Test
+    void testParallelSortThrowsOnCycle() {
+        cyclicGraph.addEdge("A", "B");
+        cyclicGraph.addEdge("B", "C");
+        cyclicGraph.addEdge("C", "A");
+        cyclicGraph.addEdge("X", "A");
+
+        assertThrows(IllegalArgumentException.class, () -> TopoSort.parallelSort(cyclicGraph));
+        assertThrows(IllegalArgumentException.class, () -> TopoSort.parallelLevels(cyclicGraph));
+    }
+
+    @Test
+    void testParallelSortThrowsOnSelfLoop() {
+        cyclicGraph.addEdge("A", "A");
+
+        assertThrows(IllegalArgumentException.class, () -> TopoSort.parallelSort(cyclicGraph));
+    }
+
+    @Test
+    void testParallelLevelsOnLargeRandomDAG() {
+        // Широкий граф, чтобы фронт превысил порог и обрабатывался задачами ForkJoin.
+        AdjacencyListGraph<Integer> graph = randomDag(20000, 60000, 42);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<List<Integer>> levels = TopoSort.parallelLevels(graph, pool);
+
+            int[] levelOf = new int[20000];
+            int total = 0;
+            for (int level = 0; level < levels.size(); level++) {
+                for (Integer vertex : levels.get(level)) {
+                    levelOf[vertex] = level;
+                    total++;
+                }
+            }
+            assertEquals(20000, total);
+
+            // Каждое ребро ведёт на более поздний уровень, и у каждой вершины не первого уровня
+            // есть предшественник ровно на предыдущем уровне.
+            boolean[] hasParentOnPreviousLevel = new boolean[20000];
+            for (Integer from : graph.getAllVertices()) {
+                for (Integer to : graph.getNeighbors(from)) {
+                    assertTrue(levelOf[from] < levelOf[to]);
+                    if (levelOf[from] == levelOf[to] - 1) {
+                        hasParentOnPreviousLevel[to] = true;
+                    }
+                }
+            }
+            for (int vertex = 0; vertex < 20000; vertex++) {
+                assertTrue(levelOf[vertex] == 0 || hasParentOnPreviousLevel[vertex]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelSortIsDeterministic() {
+        AdjacencyListGraph<Integer> graph = randomDag(5000, 15000, 7);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(TopoSort.parallelSort(graph, pool), TopoSort.parallelSort(graph, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelSortOnCsrGraph() {
+        CsrGraph<String> graph = CsrGraph.<String>builder()
+                .addEdge("Planning", "Design")
+                .addEdge("Design", "Development")
+                .addEdge("Development", "Testing")
+                .addVertex("Standalone")
+                .build();
+
+        List<String> result = TopoSort.parallelSort(graph);
+
+        assertEquals(5, result.size());
+        assertTrue(result.indexOf("Planning") < result.indexOf("Design"));
+        assertTrue(result.indexOf("Design") < result.indexOf("Development"));
+        assertTrue(result.indexOf("Development") < result.indexOf("Testing"));
+    }
+
+    @Test
+    void testStronglyConnectedComponentsInTopologicalOrder() {
+        cyclicGraph.addEdge("A", "B");
+        cyclicGraph.addEdge("B", "C");
+        cyclicGraph.addEdge("C", "A");
+        cyclicGraph.addEdge("C", "D");
+        cyclicGraph.addEdge("D", "E");
+        cyclicGraph.addEdge("E", "D");
+        cyclicGraph.addEdge("E", "F");
+
+        List<List<String>> components = TopoSort.stronglyConnectedComponents(cyclicGraph);
+
+        assertEquals(3, components.size());
+        assertEquals(Set.of("A", "B", "C"), new HashSet<>(components.get(0)));
+        assertEquals(Set.of("D", "E"), new HashSet<>(components.get(1)));
+        assertEquals(List.of("F"), components.get(2));
+    }
+
+    @Test
+    void testCondensation() {
+        cyclicGraph.addEdge("A", "B");
+        cyclicGraph.addEdge("B", "A");
+        cyclicGraph.addEdge("B", "C");
+        cyclicGraph.addEdge("A", "C");
+        cyclicGraph.addVertex("D");
+
+        Condensation<String> condensation = TopoSort.condensation(cyclicGraph);
+        CsrGraph<Integer> dag = condensation.getGraph();
+
+        assertEquals(3, condensation.getComponentCount());
+        assertEquals(condensation.componentOf("A"), condensation.componentOf("B"));
+        assertEquals(-1, condensation.componentOf("X"));
+        assertEquals(1, dag.edgeCount());
+        assertTrue(dag.hasEdge(condensation.componentOf("A"), condensation.componentOf("C")));
+        assertTrue(TopoSort.isDAG(dag));
+        assertFalse(condensation.isAcyclic());
+        assertTrue(TopoSort.condensation(dag).isAcyclic());
+    }
+
+    @Test
+    void testSelfLoopIsNotDAG() {
+        dag.addEdge("A", "B");
+        dag.addEdge("B", "B");
+
+        assertFalse(TopoSort.isDAG(dag));
+        assertFalse(TopoSort.condensation(dag).isAcyclic());
+        assertEquals(List.of(List.of("B")), TopoSort.findCycles(dag, 10));
+    }
+
+    @Test
+    void testDeepGraphsDoNotOverflowStack() {
+        int size = 200000;
+        CsrGraph.Builder<Integer> chain = CsrGraph.builder();
+        for (int i = 0; i + 1 < size; i++) {
+            chain.addEdge(i, i + 1);
+        }
+        CsrGraph<Integer> path = chain.build();
+
+        assertTrue(TopoSort.isDAG(path));
+        assertEquals(size, TopoSort.condensation(path).getComponentCount());
+
+        CsrGraph<Integer> ring = chain.addEdge(size - 1, 0).build();
+        assertFalse(TopoSort.isDAG(ring));
+        assertEquals(1, TopoSort.condensation(ring).getComponentCount());
+        assertEquals(1, TopoSort.findCycles(ring, 10).size());
+        assertEquals(size, TopoSort.findCycles(ring, 10).get(0).size());
+    }
+
+    @Test
+    void testFindCyclesInCompleteDigraph() {
+        AdjacencyListGraph<Integer> complete = new AdjacencyListGraph<>();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                if (i != j) {
+                    complete.addEdge(i, j);
+                }
+            }
+        }
+
+        // 6 циклов длины 2, 8 длины 3 и 6 длины 4.
+        List<List<Integer>> cycles = TopoSort.findCycles(complete, 100);
+        assertEquals(20, cycles.size());
+
+        Set<Set<List<Integer>>> distinct = new HashSet<>();
+        for (List<Integer> cycle : cycles) {
+            assertEquals(cycle.size(), new HashSet<>(cycle).size());
+            Set<List<Integer>> rotations = new HashSet<>();
+            for (int shift = 0; shift < cycle.size(); shift++) {
+                int from = cycle.get(shift);
+                int to = cycle.get((shift + 1) % cycle.size());
+                assertTrue(complete.hasEdge(from, to));
+                List<Integer> rotation = new ArrayList<>(cycle.subList(shift, cycle.size()));
+                rotation.addAll(cycle.subList(0, shift));
+                rotations.add(rotation);
+            }
+            assertTrue(distinct.add(rotations));
+        }
+    }
+
+    @Test
+    void testFindCyclesRespectsLimit() {
+        AdjacencyListGraph<Integer> complete = new AdjacencyListGraph<>();
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 6; j++) {
+                if (i != j) {
+                    complete.addEdge(i, j);
+                }
+            }
+        }
+
+        assertEquals(5, TopoSort.findCycles(complete, 5).size());
+        assertTrue(TopoSort.findCycles(dag, 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> TopoSort.findCycles(complete, 0));
+    }
+
+    // Рёбра идут только от меньшего номера к большему, поэтому циклов нет.
+    private static AdjacencyListGraph<Integer> randomDag(int vertices, int edges, long seed) {
+        Random random = new Random(seed);
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < vertices; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < edges; i++) {
+            int a = random.nextInt(vertices);
+            int b = random.nextInt(vertices);
+            if (a != b) {
+                graph.addEdge(Math.min(a, b), Math.max(a, b));
+            }
+        }
+        return graph;
+    }
 }
@@ -0,0 +1,32 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import java.util.function.LongSupplier;
+
+final class BenchmarkRunner {
+    static final int WARMUP_ROUNDS = 3;
+    static final int MEASURED_ROUNDS = 5;
+
+    // Результат возвращается наружу, чтобы JIT не выбросил измеряемый код.
+    static volatile long sink;
+
+    private BenchmarkRunner() {
+    }
+
+    static double measure(String name, int operations, LongSupplier body) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += body.getAsLong();
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += body.getAsLong();
+            long end = System.nanoTime();
+            best = Math.min(best, end - start);
+        }
+
+        double nsPerOp = (double) best / operations;
+        System.out.printf("%-48s %10.2f ms %10.2f ns/op%n", name, best / 1_000_000.0, nsPerOp);
+        return nsPerOp;
+    }
+}
@@ -0,0 +1,93 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.HashTable;
+
+import java.util.Random;
+
+public class BulkOperationsBenchmark {
+    private static final int COUNT = 1 << 20;
+    private static final int WORDS = 1 << 21;
+
+    public static void main(String[] args) {
+        Integer[] keys = new Integer[COUNT];
+        Random random = new Random(42);
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = random.nextInt();
+        }
+        HashTable<Integer, Integer> source = new HashTable<>();
+        for (Integer key : keys) {
+            source.put(key, key);
+        }
+        int distinct = source.size();
+
+        System.out.println("Copy " + distinct + " entries");
+        BenchmarkRunner.measure("put loop", distinct, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            return table.size();
+        });
+        BenchmarkRunner.measure("putAll (presized, reuses hashes)", distinct, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            table.putAll(source);
+            return table.size();
+        });
+
+        System.out.println();
+        System.out.println("Lookup " + COUNT + " keys");
+        Integer[] values = new Integer[COUNT];
+        BenchmarkRunner.measure("get loop", COUNT, () -> {
+            long sum = 0;
+            for (Integer key : keys) {
+                sum += source.get(key);
+            }
+            return sum;
+        });
+        BenchmarkRunner.measure("getAll", COUNT, () -> source.getAll(keys, values));
+
+        System.out.println();
+        System.out.println("Remove every other entry");
+        BenchmarkRunner.measure("remove loop", distinct, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            table.putAll(source);
+            for (Integer key : keys) {
+                if ((key & 1) == 0) {
+                    table.remove(key);
+                }
+            }
+            return table.size();
+        });
+        BenchmarkRunner.measure("removeIf", distinct, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            table.putAll(source);
+            table.removeIf((key, value) -> (key & 1) == 0);
+            return table.size();
+        });
+
+        System.out.println();
+        Integer[] words = new Integer[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = random.nextInt(1 << 16);
+        }
+        System.out.println("Count " + WORDS + " occurrences of 65536 words");
+        BenchmarkRunner.measure("containsKey + get + put", WORDS, () -> {
+            HashTable<Integer, Integer> counts = new HashTable<>();
+            for (Integer word : words) {
+                if (counts.containsKey(word)) {
+                    counts.put(word, counts.get(word) + 1);
+                } else {
+                    counts.put(word, 1);
+                }
+            }
+            return counts.size();
+        });
+        BenchmarkRunner.measure("merge", WORDS, () -> {
+            HashTable<Integer, Integer> counts = new HashTable<>();
+            for (Integer word : words) {
+                counts.merge(word, 1, Integer::sum);
+            }
+            return counts.size();
+        });
+    }
+}
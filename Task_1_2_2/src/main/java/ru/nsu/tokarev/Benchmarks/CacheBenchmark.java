@@ -0,0 +1,86 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.BoundedHashTable;
+import ru.nsu.tokarev.HashTable.EvictionPolicy;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class CacheBenchmark {
+    private static final int ITEMS = 1 << 20;
+    private static final int TRACE_LENGTH = 1 << 21;
+    private static final double SKEW = 0.99;
+    private static final int[] CACHE_SIZES = {1 << 10, 1 << 13, 1 << 16};
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Integer[] zipf = zipfTrace(random);
+        Integer[] mixed = withScans(zipf, random);
+
+        replayAll("Zipf(" + SKEW + ") over " + ITEMS + " items", zipf);
+        replayAll("Zipf with one-off scans mixed in", mixed);
+    }
+
+    private static void replayAll(String name, Integer[] trace) {
+        System.out.println(name + ", " + trace.length + " requests");
+        for (int cacheSize : CACHE_SIZES) {
+            for (EvictionPolicy policy : EvictionPolicy.values()) {
+                double[] hitRate = new double[1];
+                BenchmarkRunner.measure("size " + cacheSize + " " + policy, trace.length, () -> {
+                    BoundedHashTable<Integer, Integer> cache = new BoundedHashTable<>(cacheSize, policy);
+                    for (Integer key : trace) {
+                        // Типичное использование кэша мемоизации: промах вычисляет и кладёт значение.
+                        if (cache.get(key) == null) {
+                            cache.put(key, key);
+                        }
+                    }
+                    hitRate[0] = cache.hitRate();
+                    return cache.size();
+                });
+                System.out.printf("%-48s %10.2f %% hits%n", "", hitRate[0] * 100);
+            }
+        }
+        System.out.println();
+    }
+
+    private static Integer[] zipfTrace(Random random) {
+        double[] cumulative = new double[ITEMS];
+        double sum = 0;
+        for (int i = 0; i < ITEMS; i++) {
+            sum += 1.0 / Math.pow(i + 1, SKEW);
+            cumulative[i] = sum;
+        }
+
+        // Ранги перемешиваются, чтобы популярность ключа не совпадала с порядком его хеша.
+        int[] permutation = new int[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            permutation[i] = i;
+        }
+        for (int i = ITEMS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+
+        Integer[] trace = new Integer[TRACE_LENGTH];
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            rank = (rank < 0) ? -rank - 1 : rank;
+            trace[i] = permutation[Math.min(rank, ITEMS - 1)];
+        }
+        return trace;
+    }
+
+    private static Integer[] withScans(Integer[] trace, Random random) {
+        Integer[] mixed = trace.clone();
+        int nextScanKey = ITEMS;
+        for (int start = 0; start < mixed.length; start += 1 << 16) {
+            int length = 1 << 13;
+            for (int i = start; i < Math.min(start + length, mixed.length); i++) {
+                mixed[i] = nextScanKey++;
+            }
+        }
+        return mixed;
+    }
+}
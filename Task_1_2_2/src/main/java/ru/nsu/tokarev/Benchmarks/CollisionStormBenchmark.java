@@ -0,0 +1,93 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.HashTable;
+
+import java.util.HashMap;
+
+public class CollisionStormBenchmark {
+    private static final int[] COUNTS = {1 << 8, 1 << 11, 1 << 14};
+
+    // Все ключи попадают в одну корзину, как при атаке подобранными строками.
+    private static final class StormKey implements Comparable<StormKey> {
+        private final int id;
+
+        StormKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object ob) {
+            return ob instanceof StormKey && ((StormKey) ob).id == id;
+        }
+
+        @Override
+        public int compareTo(StormKey other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    public static void main(String[] args) {
+        for (int count : COUNTS) {
+            run(count);
+        }
+    }
+
+    private static void run(int count) {
+        StormKey[] keys = new StormKey[count];
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = new StormKey(i);
+            strings[i] = collidingString(i, Integer.numberOfTrailingZeros(count));
+        }
+
+        System.out.println("Colliding keys: " + count);
+        BenchmarkRunner.measure("HashTable Comparable keys put+get", count * 2, () -> {
+            HashTable<StormKey, Integer> table = new HashTable<>();
+            for (StormKey key : keys) {
+                table.put(key, key.id);
+            }
+            long sum = 0;
+            for (StormKey key : keys) {
+                sum += table.get(key);
+            }
+            return sum;
+        });
+        BenchmarkRunner.measure("HashTable \"Aa\"/\"BB\" strings put+get", count * 2, () -> {
+            HashTable<String, Integer> table = new HashTable<>();
+            for (int i = 0; i < strings.length; i++) {
+                table.put(strings[i], i);
+            }
+            long sum = 0;
+            for (String key : strings) {
+                sum += table.get(key);
+            }
+            return sum;
+        });
+        BenchmarkRunner.measure("java.util.HashMap Comparable keys put+get (reference)", count * 2, () -> {
+            HashMap<StormKey, Integer> map = new HashMap<>();
+            for (StormKey key : keys) {
+                map.put(key, key.id);
+            }
+            long sum = 0;
+            for (StormKey key : keys) {
+                sum += map.get(key);
+            }
+            return sum;
+        });
+        System.out.println();
+    }
+
+    // Строки из блоков "Aa" и "BB" одной длины имеют одинаковый hashCode.
+    private static String collidingString(int index, int blocks) {
+        StringBuilder sb = new StringBuilder();
+        for (int bit = 0; bit < blocks; bit++) {
+            sb.append((index & (1 << bit)) == 0 ? "Aa" : "BB");
+        }
+        return sb.toString();
+    }
+}
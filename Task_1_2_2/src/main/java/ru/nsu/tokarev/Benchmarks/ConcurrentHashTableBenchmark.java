@@ -0,0 +1,101 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.ConcurrentHashTable;
+import ru.nsu.tokarev.HashTable.HashTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ConcurrentHashTableBenchmark {
+    private static final int KEY_RANGE = 1 << 20;
+    private static final int OPERATIONS_PER_THREAD = 1_000_000;
+    private static final int WRITE_PERCENT = 20;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+
+    private interface Table {
+        Integer get(Integer key);
+
+        void put(Integer key, Integer value);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Mixed workload: " + WRITE_PERCENT + "% put, " + (100 - WRITE_PERCENT)
+                + "% get over " + KEY_RANGE + " keys, " + OPERATIONS_PER_THREAD + " ops per thread");
+        System.out.printf("%8s %28s %28s%n", "threads", "synchronized HashTable", "ConcurrentHashTable");
+
+        for (int threads : THREAD_COUNTS) {
+            double locked = run(threads, lockedTable());
+            double striped = run(threads, stripedTable());
+            System.out.printf("%8d %22.2f Mop/s %22.2f Mop/s%n", threads, locked, striped);
+        }
+    }
+
+    private static Table lockedTable() {
+        HashTable<Integer, Integer> table = new HashTable<>();
+        return new Table() {
+            public synchronized Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public synchronized void put(Integer key, Integer value) {
+                table.put(key, value);
+            }
+        };
+    }
+
+    private static Table stripedTable() {
+        ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>(16, 64);
+        return new Table() {
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public void put(Integer key, Integer value) {
+                table.put(key, value);
+            }
+        };
+    }
+
+    private static double run(int threads, Table table) throws InterruptedException {
+        for (int i = 0; i < KEY_RANGE; i += 2) {
+            table.put(i, i);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long hits = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    int key = random.nextInt(KEY_RANGE);
+                    if (random.nextInt(100) < WRITE_PERCENT) {
+                        table.put(key, i);
+                    } else if (table.get(key) != null) {
+                        hits++;
+                    }
+                }
+                BenchmarkRunner.sink += hits;
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        return (double) threads * OPERATIONS_PER_THREAD / elapsed * 1000;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.HashTable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+public class EqualsBenchmark {
+    private static final int COUNT = 1 << 21;
+
+    public static void main(String[] args) {
+        HashTable<Integer, Integer> first = new HashTable<>();
+        HashTable<Integer, Integer> equal = new HashTable<>();
+        HashTable<Integer, Integer> otherKeys = new HashTable<>();
+        for (int i = 0; i < COUNT; i++) {
+            first.put(i, i);
+            equal.put(i, i);
+            otherKeys.put((i == COUNT - 1) ? -1 : i, i);
+        }
+
+        System.out.println("Tables with " + COUNT + " entries");
+        BenchmarkRunner.measure("equals, equal tables", COUNT, () -> first.equals(equal) ? 1 : 0);
+        BenchmarkRunner.measure("equals, one key differs", COUNT, () -> first.equals(otherKeys) ? 1 : 0);
+        BenchmarkRunner.measure("hashCode", COUNT, first::hashCode);
+        BenchmarkRunner.measure("toString", COUNT, () -> first.toString().length());
+        BenchmarkRunner.measure("writeTo(Writer)", COUNT, () -> {
+            CountingStream counter = new CountingStream();
+            try (Writer writer = new OutputStreamWriter(counter, StandardCharsets.UTF_8)) {
+                first.writeTo(writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return counter.count;
+        });
+    }
+
+    // Приёмник без хранения данных, чтобы измерять только обход и форматирование.
+    private static final class CountingStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.HashStrategy;
+import ru.nsu.tokarev.HashTable.HashTable;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class HashStrategyBenchmark {
+    private static final int COUNT = 1 << 20;
+
+    private static final HashStrategy<Integer> INTEGER_STRATEGY = new HashStrategy<>() {
+        @Override
+        public int hash(Integer key) {
+            return key;
+        }
+
+        @Override
+        public boolean equals(Integer first, Integer second) {
+            return first.intValue() == second.intValue();
+        }
+    };
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Integer[] sequential = new Integer[COUNT];
+        Integer[] randomKeys = new Integer[COUNT];
+        Integer[] adversarial = new Integer[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            sequential[i] = i;
+            randomKeys[i] = random.nextInt();
+            // Различаются только старшие биты: без перемешивания все они попадают в одну корзину.
+            adversarial[i] = i << 12;
+        }
+
+        run("sequential", sequential);
+        run("random", randomKeys);
+        run("adversarial (i << 12)", adversarial);
+    }
+
+    private static void run(String distribution, Integer[] keys) {
+        System.out.println("Distribution: " + distribution + ", " + keys.length + " keys");
+
+        BenchmarkRunner.measure("HashTable default strategy put+get", keys.length * 2, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            return putAndGet(table, keys);
+        });
+        BenchmarkRunner.measure("HashTable Integer strategy put+get", keys.length * 2, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>(16, INTEGER_STRATEGY);
+            return putAndGet(table, keys);
+        });
+        BenchmarkRunner.measure("java.util.HashMap put+get (reference)", keys.length * 2, () -> {
+            HashMap<Integer, Integer> map = new HashMap<>();
+            for (Integer key : keys) {
+                map.put(key, key);
+            }
+            long sum = 0;
+            for (Integer key : keys) {
+                sum += map.get(key);
+            }
+            return sum;
+        });
+        System.out.println();
+    }
+
+    private static long putAndGet(HashTable<Integer, Integer> table, Integer[] keys) {
+        for (Integer key : keys) {
+            table.put(key, key);
+        }
+        long sum = 0;
+        for (Integer key : keys) {
+            sum += table.get(key);
+        }
+        return sum;
+    }
+}
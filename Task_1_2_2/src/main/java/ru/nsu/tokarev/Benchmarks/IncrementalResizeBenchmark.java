@@ -0,0 +1,69 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.HashTable;
+
+import java.util.Arrays;
+
+public class IncrementalResizeBenchmark {
+    private static final int COUNT = 4_000_000;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99, 100};
+
+    public static void main(String[] args) {
+        Integer[] keys = new Integer[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = i * 31 + 7;
+        }
+
+        // Прогрев JIT на обоих режимах.
+        for (int round = 0; round < 3; round++) {
+            record(keys, false);
+            record(keys, true);
+        }
+
+        long[] stopTheWorld = record(keys, false);
+        long[] incremental = record(keys, true);
+
+        System.out.println("put() latency over " + COUNT + " inserts from capacity 16, ns");
+        System.out.printf("%10s %16s %16s%n", "percentile", "full resize", "incremental");
+        for (double percentile : PERCENTILES) {
+            System.out.printf("%10s %16d %16d%n", "p" + percentile,
+                    percentile(stopTheWorld, percentile), percentile(incremental, percentile));
+        }
+
+        System.out.println();
+        System.out.println("Histogram (power-of-two buckets, ns): full resize | incremental");
+        long[] fullHistogram = histogram(stopTheWorld);
+        long[] incrementalHistogram = histogram(incremental);
+        for (int i = 0; i < fullHistogram.length; i++) {
+            if (fullHistogram[i] != 0 || incrementalHistogram[i] != 0) {
+                System.out.printf("< %12d %12d | %12d%n", 1L << (i + 1), fullHistogram[i], incrementalHistogram[i]);
+            }
+        }
+    }
+
+    private static long[] record(Integer[] keys, boolean incrementalResize) {
+        HashTable<Integer, Integer> table = new HashTable<>(16, incrementalResize);
+        long[] latencies = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            long start = System.nanoTime();
+            table.put(keys[i], keys[i]);
+            latencies[i] = System.nanoTime() - start;
+        }
+        BenchmarkRunner.sink += table.size();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static long[] histogram(long[] latencies) {
+        long[] histogram = new long[64];
+        for (long latency : latencies) {
+            histogram[63 - Long.numberOfLeadingZeros(Math.max(1, latency))]++;
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,81 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.Codecs;
+import ru.nsu.tokarev.HashTable.HashTable;
+import ru.nsu.tokarev.HashTable.OffHeapHashTable;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+public class OffHeapBenchmark {
+    private static final int COUNT = 1 << 22;
+
+    public static void main(String[] args) {
+        System.out.println("Long -> Long, " + COUNT + " entries");
+
+        run("HashTable put+get", () -> {
+            HashTable<Long, Long> table = new HashTable<>();
+            for (long i = 0; i < COUNT; i++) {
+                table.put(i, i);
+            }
+            long sum = 0;
+            for (long i = 0; i < COUNT; i++) {
+                sum += table.get(i);
+            }
+            return sum;
+        });
+        run("OffHeapHashTable put+get", () -> {
+            try (OffHeapHashTable<Long, Long> table = new OffHeapHashTable<>(Codecs.LONG, Codecs.LONG)) {
+                for (long i = 0; i < COUNT; i++) {
+                    table.put(i, i);
+                }
+                long sum = 0;
+                for (long i = 0; i < COUNT; i++) {
+                    sum += table.get(i);
+                }
+                return sum;
+            }
+        });
+
+        System.out.println();
+        System.out.println("Retained footprint of a filled table:");
+        HashTable<Long, Long> onHeap = new HashTable<>();
+        long before = usedHeap();
+        for (long i = 0; i < COUNT; i++) {
+            onHeap.put(i, i);
+        }
+        System.out.printf("%-48s %10.1f MB heap%n", "HashTable", (usedHeap() - before) / 1e6);
+        BenchmarkRunner.sink += onHeap.size();
+        onHeap = null;
+
+        try (OffHeapHashTable<Long, Long> offHeap = new OffHeapHashTable<>(Codecs.LONG, Codecs.LONG)) {
+            before = usedHeap();
+            for (long i = 0; i < COUNT; i++) {
+                offHeap.put(i, i);
+            }
+            System.out.printf("%-48s %10.1f MB heap %10.1f MB off-heap%n", "OffHeapHashTable",
+                    (usedHeap() - before) / 1e6, offHeap.offHeapBytes() / 1e6);
+        }
+    }
+
+    private static void run(String name, LongSupplier body) {
+        long gcBefore = gcMillis();
+        BenchmarkRunner.measure(name, COUNT * 2, body);
+        System.out.printf("%-48s %10d ms in GC over all rounds%n", "", gcMillis() - gcBefore);
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
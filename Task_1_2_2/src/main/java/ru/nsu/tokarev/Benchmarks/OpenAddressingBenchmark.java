@@ -0,0 +1,95 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.HashTable;
+import ru.nsu.tokarev.HashTable.OpenAddressingHashTable;
+
+import java.util.Random;
+
+public class OpenAddressingBenchmark {
+    private static final int COUNT = 1_000_000;
+
+    public static void main(String[] args) {
+        Integer[] keys = new Integer[COUNT];
+        Integer[] missingKeys = new Integer[COUNT];
+        Random random = new Random(42);
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = random.nextInt();
+            missingKeys[i] = random.nextInt();
+        }
+
+        System.out.println("Chained HashTable vs OpenAddressingHashTable, " + COUNT + " Integer keys");
+
+        BenchmarkRunner.measure("chained put", COUNT, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            return table.size();
+        });
+        BenchmarkRunner.measure("open addressing put", COUNT, () -> {
+            OpenAddressingHashTable<Integer, Integer> table = new OpenAddressingHashTable<>();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            return table.size();
+        });
+
+        HashTable<Integer, Integer> chained = new HashTable<>();
+        OpenAddressingHashTable<Integer, Integer> open = new OpenAddressingHashTable<>();
+        for (Integer key : keys) {
+            chained.put(key, key);
+            open.put(key, key);
+        }
+
+        BenchmarkRunner.measure("chained get (hit)", COUNT, () -> {
+            long sum = 0;
+            for (Integer key : keys) {
+                sum += chained.get(key);
+            }
+            return sum;
+        });
+        BenchmarkRunner.measure("open addressing get (hit)", COUNT, () -> {
+            long sum = 0;
+            for (Integer key : keys) {
+                sum += open.get(key);
+            }
+            return sum;
+        });
+
+        BenchmarkRunner.measure("chained containsKey (miss)", COUNT, () -> {
+            long found = 0;
+            for (Integer key : missingKeys) {
+                found += chained.containsKey(key) ? 1 : 0;
+            }
+            return found;
+        });
+        BenchmarkRunner.measure("open addressing containsKey (miss)", COUNT, () -> {
+            long found = 0;
+            for (Integer key : missingKeys) {
+                found += open.containsKey(key) ? 1 : 0;
+            }
+            return found;
+        });
+
+        BenchmarkRunner.measure("chained put + remove", COUNT, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            for (Integer key : keys) {
+                table.remove(key);
+            }
+            return table.size();
+        });
+        BenchmarkRunner.measure("open addressing put + remove", COUNT, () -> {
+            OpenAddressingHashTable<Integer, Integer> table = new OpenAddressingHashTable<>();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            for (Integer key : keys) {
+                table.remove(key);
+            }
+            return table.size();
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.Entry;
+import ru.nsu.tokarev.HashTable.HashTable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelStreamBenchmark {
+    private static final int COUNT = 1 << 22;
+    private static final int[] PARALLELISM = {1, 2, 4, 8};
+
+    public static void main(String[] args) {
+        HashTable<Integer, Long> table = new HashTable<>();
+        for (int i = 0; i < COUNT; i++) {
+            table.put(i, (long) i);
+        }
+        System.out.println(COUNT + " entries, " + Runtime.getRuntime().availableProcessors() + " available processors");
+
+        BenchmarkRunner.measure("iterator loop", COUNT, () -> {
+            long sum = 0;
+            for (Entry<Integer, Long> entry : table) {
+                sum += entry.getValue();
+            }
+            return sum;
+        });
+        BenchmarkRunner.measure("forEach(BiConsumer)", COUNT, () -> {
+            long[] sum = {0};
+            table.forEach((key, value) -> sum[0] += value);
+            return sum[0];
+        });
+        BenchmarkRunner.measure("stream().mapToLong().sum()", COUNT,
+                () -> table.stream().mapToLong(Entry::getValue).sum());
+
+        for (int parallelism : PARALLELISM) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                BenchmarkRunner.measure("parallelStream sum, " + parallelism + " threads", COUNT, () -> {
+                    try {
+                        return pool.submit(() -> table.parallelStream()
+                                .filter(entry -> entry.getKey() % 3 != 0)
+                                .mapToLong(Entry::getValue)
+                                .sum()).get();
+                    } catch (InterruptedException | ExecutionException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.HashTable;
+import ru.nsu.tokarev.HashTable.PersistentHashTable;
+
+import java.util.Random;
+
+public class PersistentSnapshotBenchmark {
+    private static final int COUNT = 1 << 20;
+    private static final int WRITES = 1 << 16;
+    private static final int COPIES = 4;
+
+    public static void main(String[] args) {
+        Integer[] keys = new Integer[COUNT];
+        HashTable<Integer, Integer> source = new HashTable<>();
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = i;
+            source.put(keys[i], i);
+        }
+        PersistentHashTable<Integer, Integer> persistent = PersistentHashTable.copyOf(source);
+
+        int[] updates = new int[WRITES];
+        Random random = new Random(42);
+        for (int i = 0; i < WRITES; i++) {
+            updates[i] = random.nextInt(COUNT);
+        }
+
+        // Каждая запись публикует новый снимок для читателей.
+        System.out.println("Snapshot after every write, " + COUNT + " entries");
+        BenchmarkRunner.measure("HashTable full copy per snapshot", COPIES, () -> {
+            HashTable<Integer, Integer> current = source;
+            for (int i = 0; i < COPIES; i++) {
+                HashTable<Integer, Integer> copy = new HashTable<>();
+                copy.putAll(current);
+                copy.put(keys[updates[i]], -i);
+                current = copy;
+            }
+            return current.size();
+        });
+        BenchmarkRunner.measure("PersistentHashTable.with per snapshot", WRITES, () -> {
+            PersistentHashTable<Integer, Integer> current = persistent;
+            for (int i = 0; i < WRITES; i++) {
+                current = current.with(keys[updates[i]], -i);
+            }
+            return current.size();
+        });
+
+        System.out.println("Bulk construction, " + COUNT + " entries");
+        BenchmarkRunner.measure("HashTable.put", COUNT, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            for (int i = 0; i < COUNT; i++) {
+                table.put(keys[i], i);
+            }
+            return table.size();
+        });
+        BenchmarkRunner.measure("PersistentHashTable.with", COUNT, () -> {
+            PersistentHashTable<Integer, Integer> table = PersistentHashTable.empty();
+            for (int i = 0; i < COUNT; i++) {
+                table = table.with(keys[i], i);
+            }
+            return table.size();
+        });
+        BenchmarkRunner.measure("PersistentHashTable.Builder", COUNT, () -> {
+            PersistentHashTable.Builder<Integer, Integer> builder = PersistentHashTable.builder();
+            for (int i = 0; i < COUNT; i++) {
+                builder.put(keys[i], i);
+            }
+            return builder.build().size();
+        });
+        BenchmarkRunner.measure("PersistentHashTable.copyOf", COUNT, () -> PersistentHashTable.copyOf(source).size());
+
+        System.out.println("Random lookups, " + COUNT + " entries");
+        BenchmarkRunner.measure("HashTable.get", WRITES, () -> {
+            long sum = 0;
+            for (int update : updates) {
+                sum += source.get(keys[update]);
+            }
+            return sum;
+        });
+        BenchmarkRunner.measure("PersistentHashTable.get", WRITES, () -> {
+            long sum = 0;
+            for (int update : updates) {
+                sum += persistent.get(keys[update]);
+            }
+            return sum;
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.Codecs;
+import ru.nsu.tokarev.HashTable.HashTable;
+import ru.nsu.tokarev.HashTable.MappedHashTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class SnapshotBenchmark {
+    private static final int COUNT = 1 << 21;
+    private static final int LOOKUPS = 1000;
+
+    public static void main(String[] args) throws IOException {
+        String[] keys = new String[COUNT];
+        HashTable<String, Long> source = new HashTable<>();
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = "user:" + i;
+            source.put(keys[i], (long) i);
+        }
+
+        Path snapshot = Files.createTempFile("hashtable", ".bin");
+        try {
+            long start = System.nanoTime();
+            source.saveTo(snapshot, Codecs.STRING, Codecs.LONG);
+            System.out.printf("saveTo: %.1f ms, %.1f MB on disk%n",
+                    (System.nanoTime() - start) / 1e6, Files.size(snapshot) / 1e6);
+            // Файл уже в page cache, поэтому это время тёплого перезапуска.
+            System.out.println("Startup with " + COUNT + " entries, then " + LOOKUPS + " random lookups");
+
+            int[] probes = new int[LOOKUPS];
+            Random random = new Random(42);
+            for (int i = 0; i < LOOKUPS; i++) {
+                probes[i] = random.nextInt(COUNT);
+            }
+
+            BenchmarkRunner.measure("rebuild with put", COUNT, () -> {
+                HashTable<String, Long> table = new HashTable<>();
+                for (int i = 0; i < COUNT; i++) {
+                    table.put(keys[i], (long) i);
+                }
+                long sum = 0;
+                for (int probe : probes) {
+                    sum += table.get(keys[probe]);
+                }
+                return sum;
+            });
+            BenchmarkRunner.measure("HashTable.loadFrom (eager)", COUNT, () -> {
+                try {
+                    HashTable<String, Long> table = HashTable.loadFrom(snapshot, Codecs.STRING, Codecs.LONG);
+                    long sum = 0;
+                    for (int probe : probes) {
+                        sum += table.get(keys[probe]);
+                    }
+                    return sum;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            BenchmarkRunner.measure("MappedHashTable.loadFrom (lazy)", COUNT, () -> {
+                try (MappedHashTable<String, Long> table = MappedHashTable.loadFrom(snapshot, Codecs.STRING, Codecs.LONG)) {
+                    long sum = 0;
+                    for (int probe : probes) {
+                        sum += table.get(keys[probe]);
+                    }
+                    return sum;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+}
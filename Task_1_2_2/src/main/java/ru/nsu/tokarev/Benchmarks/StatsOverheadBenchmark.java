@@ -0,0 +1,39 @@
+package ru.nsu.tokarev.Benchmarks;
+
+import ru.nsu.tokarev.HashTable.HashTable;
+
+public class StatsOverheadBenchmark {
+    private static final int COUNT = 1 << 20;
+
+    public static void main(String[] args) {
+        Integer[] keys = new Integer[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = i;
+        }
+
+        System.out.println("put + get + remove of " + COUNT + " keys");
+        run("stats disabled", keys, 0);
+        run("stats enabled, every 64th operation sampled", keys, 64);
+        run("stats enabled, every operation sampled", keys, 1);
+    }
+
+    private static void run(String name, Integer[] keys, int samplingInterval) {
+        BenchmarkRunner.measure(name, 3 * COUNT, () -> {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            if (samplingInterval > 0) {
+                table.enableStats(samplingInterval);
+            }
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            long sum = 0;
+            for (Integer key : keys) {
+                sum += table.get(key);
+            }
+            for (Integer key : keys) {
+                table.remove(key);
+            }
+            return sum;
+        });
+    }
+}
@@ -0,0 +1,321 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// HashTable с ограничением на число элементов. Очереди вытеснения проходят прямо через элементы
+// корзин (CacheEntry), поэтому отдельной структуры на каждый ключ не нужно.
+// Просроченные по TTL элементы удаляются при обращении к ним, вытеснении или вызове cleanUp().
+public class BoundedHashTable<K, V> extends HashTable<K, V> {
+    private static final long NO_EXPIRY = -1;
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final int maximumSize;
+    private final EvictionPolicy policy;
+    private final long timeToLiveNanos;
+    private final LongSupplier ticker;
+
+    // Для LRU используется только очередь окна, она упорядочена по времени обращения.
+    private final CacheEntry<K, V> window = sentinel();
+    private final CacheEntry<K, V> probation = sentinel();
+    private final CacheEntry<K, V> protectedQueue = sentinel();
+    private final int maximumWindow;
+    private final int maximumProtected;
+    private final FrequencySketch sketch;
+    private int windowSize;
+    private int protectedSize;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public BoundedHashTable(int maximumSize) {
+        this(maximumSize, EvictionPolicy.LRU);
+    }
+
+    public BoundedHashTable(int maximumSize, EvictionPolicy policy) {
+        this(maximumSize, policy, null);
+    }
+
+    public BoundedHashTable(int maximumSize, EvictionPolicy policy, Duration timeToLive) {
+        this(maximumSize, policy, timeToLive, System::nanoTime);
+    }
+
+    public BoundedHashTable(int maximumSize, EvictionPolicy policy, Duration timeToLive, LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than zero.");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Eviction policy must not be null.");
+        }
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("Time to live must be positive.");
+        }
+        if (ticker == null) {
+            throw new IllegalArgumentException("Ticker must not be null.");
+        }
+
+        this.maximumSize = maximumSize;
+        this.policy = policy;
+        this.timeToLiveNanos = (timeToLive == null) ? NO_EXPIRY : saturatedNanos(timeToLive);
+        this.ticker = ticker;
+
+        if (policy == EvictionPolicy.W_TINY_LFU) {
+            this.maximumWindow = Math.max(1, (int) ((long) maximumSize * WINDOW_PERCENT / 100));
+            this.maximumProtected = (int) ((long) (maximumSize - maximumWindow) * PROTECTED_PERCENT / 100);
+            this.sketch = new FrequencySketch(maximumSize);
+        } else {
+            this.maximumWindow = maximumSize;
+            this.maximumProtected = 0;
+            this.sketch = null;
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        CacheEntry<K, V> entry = liveEntry(key);
+        if (sketch != null) {
+            sketch.increment((entry == null) ? hash(key) : entry.getHash());
+        }
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        onAccess(entry);
+        return entry.getValue();
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return liveEntry(key) != null;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        liveEntry(key);
+        return super.compute(key, remapping);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+        liveEntry(key);
+        return super.computeIfAbsent(key, mapping);
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        liveEntry(key);
+        return super.computeIfPresent(key, remapping);
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+        liveEntry(key);
+        return super.merge(key, value, remapping);
+    }
+
+    // Удаляет все просроченные элементы за один проход.
+    public void cleanUp() {
+        if (timeToLiveNanos != NO_EXPIRY) {
+            long now = ticker.getAsLong();
+            for (CacheEntry<K, V> queue : queues()) {
+                CacheEntry<K, V> entry = queue.after;
+                while (entry != queue) {
+                    CacheEntry<K, V> next = entry.after;
+                    if (isExpired(entry, now)) {
+                        remove(entry.getKey());
+                    }
+                    entry = next;
+                }
+            }
+        }
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public EvictionPolicy policy() {
+        return policy;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return (requests == 0) ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    Entry<K, V> newEntry(K key, V value, int hash) {
+        CacheEntry<K, V> entry = new CacheEntry<>(key, value, hash);
+        if (timeToLiveNanos != NO_EXPIRY) {
+            entry.writeTime = ticker.getAsLong();
+        }
+        return entry;
+    }
+
+    @Override
+    void afterEntryInsertion(Entry<K, V> inserted) {
+        CacheEntry<K, V> entry = (CacheEntry<K, V>) inserted;
+        if (sketch != null) {
+            sketch.increment(entry.getHash());
+        }
+        entry.queue = CacheEntry.WINDOW;
+        linkLast(window, entry);
+        windowSize++;
+        evict();
+    }
+
+    @Override
+    void afterEntryUpdate(Entry<K, V> updated) {
+        CacheEntry<K, V> entry = (CacheEntry<K, V>) updated;
+        if (timeToLiveNanos != NO_EXPIRY) {
+            entry.writeTime = ticker.getAsLong();
+        }
+        onAccess(entry);
+    }
+
+    @Override
+    void afterEntryRemoval(Entry<K, V> removed) {
+        CacheEntry<K, V> entry = (CacheEntry<K, V>) removed;
+        unlink(entry);
+        if (entry.queue == CacheEntry.WINDOW) {
+            windowSize--;
+        } else if (entry.queue == CacheEntry.PROTECTED) {
+            protectedSize--;
+        }
+    }
+
+    private CacheEntry<K, V> liveEntry(K key) {
+        CacheEntry<K, V> entry = (CacheEntry<K, V>) getEntry(key);
+        if (entry != null && timeToLiveNanos != NO_EXPIRY && isExpired(entry, ticker.getAsLong())) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isExpired(CacheEntry<K, V> entry, long now) {
+        return now - entry.writeTime >= timeToLiveNanos;
+    }
+
+    private void onAccess(CacheEntry<K, V> entry) {
+        if (entry.queue == CacheEntry.WINDOW) {
+            moveToLast(window, entry);
+        } else if (entry.queue == CacheEntry.PROBATION) {
+            // Повторное обращение из испытательной очереди переводит элемент в защищённую.
+            unlink(entry);
+            entry.queue = CacheEntry.PROTECTED;
+            linkLast(protectedQueue, entry);
+            protectedSize++;
+            while (protectedSize > maximumProtected) {
+                CacheEntry<K, V> demoted = protectedQueue.after;
+                unlink(demoted);
+                protectedSize--;
+                demoted.queue = CacheEntry.PROBATION;
+                linkLast(probation, demoted);
+            }
+        } else {
+            moveToLast(protectedQueue, entry);
+        }
+    }
+
+    private void evict() {
+        if (policy == EvictionPolicy.LRU) {
+            while (size() > maximumSize) {
+                evictEntry(window.after);
+            }
+            return;
+        }
+
+        // Лишние элементы окна становятся кандидатами и сравниваются по частоте с жертвой из основной части.
+        while (windowSize > maximumWindow) {
+            CacheEntry<K, V> candidate = window.after;
+            unlink(candidate);
+            windowSize--;
+            candidate.queue = CacheEntry.PROBATION;
+            linkLast(probation, candidate);
+
+            if (size() > maximumSize) {
+                CacheEntry<K, V> victim = probation.after;
+                if (victim == candidate) {
+                    victim = (protectedQueue.after != protectedQueue) ? protectedQueue.after : candidate;
+                }
+                evictEntry(admit(candidate, victim) ? victim : candidate);
+            }
+        }
+        while (size() > maximumSize) {
+            CacheEntry<K, V> victim = (probation.after != probation) ? probation.after
+                    : (protectedQueue.after != protectedQueue) ? protectedQueue.after : window.after;
+            evictEntry(victim);
+        }
+    }
+
+    private boolean admit(CacheEntry<K, V> candidate, CacheEntry<K, V> victim) {
+        if (candidate == victim) {
+            return false;
+        }
+        return sketch.frequency(candidate.getHash()) > sketch.frequency(victim.getHash());
+    }
+
+    private void evictEntry(CacheEntry<K, V> entry) {
+        remove(entry.getKey());
+        evictionCount++;
+    }
+
+    private CacheEntry<K, V>[] queues() {
+        return new CacheEntry[] {window, probation, protectedQueue};
+    }
+
+    private static <K, V> CacheEntry<K, V> sentinel() {
+        CacheEntry<K, V> sentinel = new CacheEntry<>(null, null, 0);
+        sentinel.before = sentinel;
+        sentinel.after = sentinel;
+        return sentinel;
+    }
+
+    private static <K, V> void linkLast(CacheEntry<K, V> queue, CacheEntry<K, V> entry) {
+        entry.before = queue.before;
+        entry.after = queue;
+        queue.before.after = entry;
+        queue.before = entry;
+    }
+
+    private static <K, V> void unlink(CacheEntry<K, V> entry) {
+        entry.before.after = entry.after;
+        entry.after.before = entry.before;
+        entry.before = null;
+        entry.after = null;
+    }
+
+    private static <K, V> void moveToLast(CacheEntry<K, V> queue, CacheEntry<K, V> entry) {
+        if (queue.before != entry) {
+            unlink(entry);
+            linkLast(queue, entry);
+        }
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
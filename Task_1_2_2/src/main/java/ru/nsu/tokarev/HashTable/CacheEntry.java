@@ -0,0 +1,17 @@
+package ru.nsu.tokarev.HashTable;
+
+// Элемент BoundedHashTable: помимо цепочки корзины входит в одну из очередей вытеснения.
+class CacheEntry<K, V> extends Entry<K, V> {
+    static final byte WINDOW = 0;
+    static final byte PROBATION = 1;
+    static final byte PROTECTED = 2;
+
+    CacheEntry<K, V> before;
+    CacheEntry<K, V> after;
+    byte queue;
+    long writeTime;
+
+    CacheEntry(K key, V value, int hash) {
+        super(key, value, hash, null);
+    }
+}
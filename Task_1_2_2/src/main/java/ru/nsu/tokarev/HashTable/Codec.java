@@ -0,0 +1,20 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.nio.ByteBuffer;
+
+// Сериализация ключей и значений для таблиц вне кучи и снимков. Запись занимает sizeOf(value) байт.
+// Кодеки переменной длины возвращают из size() VARIABLE_SIZE и сами хранят длину внутри записи.
+// Таблица вне кучи сравнивает ключи в сериализованном виде, поэтому равные объекты должны давать одинаковые байты.
+public interface Codec<T> {
+    int VARIABLE_SIZE = -1;
+
+    int size();
+
+    default int sizeOf(T value) {
+        return size();
+    }
+
+    void write(ByteBuffer buffer, int offset, T value);
+
+    T read(ByteBuffer buffer, int offset);
+}
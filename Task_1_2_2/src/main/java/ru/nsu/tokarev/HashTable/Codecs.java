@@ -0,0 +1,132 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class Codecs {
+    public static final Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public int size() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer value) {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    public static final Codec<Long> LONG = new Codec<>() {
+        @Override
+        public int size() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long value) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    // doubleToLongBits сводит все NaN к одному значению, как и Double.equals.
+    public static final Codec<Double> DOUBLE = new Codec<>() {
+        @Override
+        public int size() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double value) {
+            buffer.putLong(offset, Double.doubleToLongBits(value));
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset) {
+            return Double.longBitsToDouble(buffer.getLong(offset));
+        }
+    };
+
+    // Строка в UTF-8 с четырёхбайтовой длиной впереди.
+    public static final Codec<String> STRING = new Codec<>() {
+        @Override
+        public int size() {
+            return VARIABLE_SIZE;
+        }
+
+        @Override
+        public int sizeOf(String value) {
+            return Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(offset, bytes.length);
+            ByteBuffer target = buffer.duplicate();
+            target.position(offset + Integer.BYTES);
+            target.put(bytes);
+        }
+
+        @Override
+        public String read(ByteBuffer buffer, int offset) {
+            byte[] bytes = new byte[buffer.getInt(offset)];
+            ByteBuffer source = buffer.duplicate();
+            source.position(offset + Integer.BYTES);
+            source.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    private static final int MAXIMUM_STRING_BYTES = 0xFFFF;
+
+    private Codecs() {
+    }
+
+    // Строка в UTF-8 с двухбайтовой длиной, остаток поля заполняется нулями.
+    public static Codec<String> fixedString(int maxBytes) {
+        if (maxBytes <= 0 || maxBytes > MAXIMUM_STRING_BYTES) {
+            throw new IllegalArgumentException("String size must be between 1 and " + MAXIMUM_STRING_BYTES + " bytes.");
+        }
+
+        return new Codec<>() {
+            @Override
+            public int size() {
+                return Short.BYTES + maxBytes;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, String value) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes) {
+                    throw new IllegalArgumentException("String is longer than " + maxBytes + " bytes in UTF-8.");
+                }
+
+                buffer.putShort(offset, (short) bytes.length);
+                int position = offset + Short.BYTES;
+                for (int i = 0; i < maxBytes; i++) {
+                    buffer.put(position + i, i < bytes.length ? bytes[i] : 0);
+                }
+            }
+
+            @Override
+            public String read(ByteBuffer buffer, int offset) {
+                byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+                int position = offset + Short.BYTES;
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = buffer.get(position + i);
+                }
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
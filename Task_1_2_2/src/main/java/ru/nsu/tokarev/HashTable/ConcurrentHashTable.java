@@ -0,0 +1,412 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentHashTable<K, V> implements Iterable<Entry<K, V>> {
+    private static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    // Ставится в перенесённую корзину старой таблицы и указывает, где искать дальше.
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+        final AtomicReferenceArray<Node<K, V>> nextTable;
+
+        ForwardingNode(AtomicReferenceArray<Node<K, V>> nextTable) {
+            super(0, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    // Счётчик элементов лежит прямо в объекте блокировки, его меняют только под ней.
+    private static final class Stripe extends ReentrantLock {
+        int count;
+    }
+
+    private final class Resize {
+        final AtomicReferenceArray<Node<K, V>> oldTable;
+        final AtomicReferenceArray<Node<K, V>> newTable;
+        final AtomicInteger nextBucket = new AtomicInteger();
+        final AtomicInteger transferredBuckets = new AtomicInteger();
+
+        Resize(AtomicReferenceArray<Node<K, V>> oldTable) {
+            this.oldTable = oldTable;
+            this.newTable = new AtomicReferenceArray<>(oldTable.length() * 2);
+        }
+
+        void help() {
+            int oldLength = oldTable.length();
+            int start = nextBucket.getAndAdd(TRANSFER_STRIDE);
+            if (start >= oldLength) {
+                return;
+            }
+
+            int end = Math.min(start + TRANSFER_STRIDE, oldLength);
+            for (int i = start; i < end; i++) {
+                transferBucket(i);
+            }
+
+            if (transferredBuckets.addAndGet(end - start) == oldLength) {
+                table = newTable;
+                resize = null;
+            }
+        }
+
+        private void transferBucket(int index) {
+            int oldLength = oldTable.length();
+            Stripe stripe = stripes[index & (stripes.length - 1)];
+            stripe.lock();
+            try {
+                Node<K, V> lo = null;
+                Node<K, V> hi = null;
+                // Узлы копируются, а не перевешиваются: читатели без блокировок могут всё ещё идти по старой цепочке.
+                for (Node<K, V> node = oldTable.get(index); node != null; node = node.next) {
+                    if ((node.hash & oldLength) == 0) {
+                        lo = new Node<>(node.hash, node.key, node.value, lo);
+                    } else {
+                        hi = new Node<>(node.hash, node.key, node.value, hi);
+                    }
+                }
+                newTable.set(index, lo);
+                newTable.set(index + oldLength, hi);
+                oldTable.set(index, new ForwardingNode<>(newTable));
+            } finally {
+                stripe.unlock();
+            }
+        }
+    }
+
+    private class ConcurrentHashTableIterator implements Iterator<Entry<K, V>> {
+        private final AtomicReferenceArray<Node<K, V>> baseTable;
+        private final List<Node<K, V>> bucketNodes = new ArrayList<>();
+        private int bucket;
+        private int position;
+
+        ConcurrentHashTableIterator() {
+            this.baseTable = table;
+            this.bucket = 0;
+            advance();
+        }
+
+        public boolean hasNext() {
+            return position < bucketNodes.size();
+        }
+
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Node<K, V> node = bucketNodes.get(position++);
+            if (position == bucketNodes.size()) {
+                advance();
+            }
+            return new Entry<>(node.key, node.value, node.hash, null);
+        }
+
+        private void advance() {
+            bucketNodes.clear();
+            position = 0;
+            while (bucketNodes.isEmpty() && bucket < baseTable.length()) {
+                collect(baseTable, bucket++, bucketNodes);
+            }
+        }
+
+        private void collect(AtomicReferenceArray<Node<K, V>> tab, int index, List<Node<K, V>> out) {
+            Node<K, V> head = tab.get(index);
+            if (head instanceof ForwardingNode) {
+                AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) head).nextTable;
+                collect(next, index, out);
+                collect(next, index + tab.length(), out);
+                return;
+            }
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                out.add(node);
+            }
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int TRANSFER_STRIDE = 16;
+
+    private final Stripe[] stripes;
+    private final LongAdder size = new LongAdder();
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    private volatile Resize resize;
+
+    public ConcurrentHashTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public ConcurrentHashTable(int initialCapacity) {
+        this(initialCapacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public ConcurrentHashTable(int initialCapacity, int concurrencyLevel) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be greater than zero.");
+        }
+
+        int stripeCount = tableSizeFor(concurrencyLevel);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        // Корзина всегда попадает в одну и ту же полосу, пока таблица не меньше числа полос.
+        this.table = new AtomicReferenceArray<>(Math.max(tableSizeFor(initialCapacity), stripeCount));
+    }
+
+    public V put(K key, V value) {
+        int hash = hash(key);
+        Stripe stripe = stripes[hash & (stripes.length - 1)];
+        V oldValue = null;
+        int stripeCount = -1;
+
+        stripe.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> tab = lockedTable(hash);
+            int index = hash & (tab.length() - 1);
+            Node<K, V> head = tab.get(index);
+
+            Node<K, V> node = findInChain(head, hash, key);
+            if (node != null) {
+                oldValue = node.value;
+                node.value = value;
+            } else {
+                tab.set(index, new Node<>(hash, key, value, head));
+                stripeCount = ++stripe.count;
+            }
+        } finally {
+            stripe.unlock();
+        }
+
+        if (stripeCount >= 0) {
+            size.increment();
+            // Дешёвая проверка по своей полосе, точная сумма LongAdder считается только при её срабатывании.
+            if (stripeCount > threshold() / stripes.length && size.sum() >= threshold()) {
+                startResize();
+            }
+        }
+        helpResize();
+        return oldValue;
+    }
+
+    public V get(K key) {
+        Node<K, V> node = findNode(key);
+        return node == null ? null : node.value;
+    }
+
+    public V remove(K key) {
+        int hash = hash(key);
+        Stripe stripe = stripes[hash & (stripes.length - 1)];
+        V oldValue = null;
+        boolean removed = false;
+
+        stripe.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> tab = lockedTable(hash);
+            int index = hash & (tab.length() - 1);
+
+            Node<K, V> previous = null;
+            for (Node<K, V> node = tab.get(index); node != null; node = node.next) {
+                if (node.hash == hash && Objects.equals(node.key, key)) {
+                    if (previous == null) {
+                        tab.set(index, node.next);
+                    } else {
+                        previous.next = node.next;
+                    }
+                    oldValue = node.value;
+                    stripe.count--;
+                    removed = true;
+                    break;
+                }
+                previous = node;
+            }
+        } finally {
+            stripe.unlock();
+        }
+
+        if (removed) {
+            size.decrement();
+        }
+        helpResize();
+        return oldValue;
+    }
+
+    public V update(K key, V value) {
+        return put(key, value);
+    }
+
+    public boolean containsKey(K key) {
+        return findNode(key) != null;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int size() {
+        long sum = size.sum();
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) Math.max(sum, 0);
+    }
+
+    public int capacity() {
+        return table.length();
+    }
+
+    private Node<K, V> findNode(K key) {
+        int hash = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+
+        while (true) {
+            Node<K, V> head = tab.get(hash & (tab.length() - 1));
+            if (head instanceof ForwardingNode) {
+                tab = ((ForwardingNode<K, V>) head).nextTable;
+                continue;
+            }
+            return findInChain(head, hash, key);
+        }
+    }
+
+    private Node<K, V> findInChain(Node<K, V> head, int hash, K key) {
+        for (Node<K, V> node = head; node != null; node = node.next) {
+            if (node.hash == hash && Objects.equals(node.key, key)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    // Вызывается под блокировкой полосы ключа: переносы этой полосы сейчас невозможны.
+    private AtomicReferenceArray<Node<K, V>> lockedTable(int hash) {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        Node<K, V> head = tab.get(hash & (tab.length() - 1));
+        while (head instanceof ForwardingNode) {
+            tab = ((ForwardingNode<K, V>) head).nextTable;
+            head = tab.get(hash & (tab.length() - 1));
+        }
+        return tab;
+    }
+
+    private void startResize() {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        if (resize != null || tab.length() >= MAXIMUM_CAPACITY) {
+            return;
+        }
+        synchronized (stripes) {
+            if (resize == null && table == tab) {
+                resize = new Resize(tab);
+            }
+        }
+    }
+
+    private void helpResize() {
+        Resize current = resize;
+        if (current != null) {
+            current.help();
+        }
+    }
+
+    private int threshold() {
+        return (int) (table.length() * LOAD_FACTOR);
+    }
+
+    private static int hash(Object key) {
+        int h = (key == null) ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(1, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new ConcurrentHashTableIterator();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        Iterator<Entry<K, V>> it = iterator();
+        while (it.hasNext()) {
+            Entry<K, V> entry = it.next();
+
+            sb.append(entry.getKey() == this ? "(this Map)" : entry.getKey());
+            sb.append("=");
+            sb.append(entry.getValue() == this ? "(this Map)" : entry.getValue());
+
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (this == ob) {
+            return true;
+        }
+
+        if (!(ob instanceof ConcurrentHashTable)) {
+            return false;
+        }
+
+        ConcurrentHashTable<K, V> other = (ConcurrentHashTable<K, V>) ob;
+
+        if (this.size() != other.size()) {
+            return false;
+        }
+
+        for (Entry<K, V> entry : this) {
+            Node<K, V> otherNode = other.findNode(entry.getKey());
+            if (otherNode == null || !Objects.equals(entry.getValue(), otherNode.value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (Entry<K, V> entry : this) {
+            result += Objects.hashCode(entry.getKey()) ^ Objects.hashCode(entry.getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.nsu.tokarev.HashTable;
+
+public enum EvictionPolicy {
+    // Вытесняется элемент, к которому дольше всего не обращались.
+    LRU,
+    // Новые элементы проходят через маленькое LRU-окно и попадают в основную часть,
+    // только если по оценке частоты обращений они полезнее вытесняемого кандидата.
+    W_TINY_LFU
+}
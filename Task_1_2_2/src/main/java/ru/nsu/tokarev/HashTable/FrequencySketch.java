@@ -0,0 +1,70 @@
+package ru.nsu.tokarev.HashTable;
+
+// Count-min sketch из 4-битных счётчиков, по 16 в одном long. Когда число увеличений доходит
+// до sampleSize, все счётчики делятся пополам, и старая популярность постепенно забывается.
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAXIMUM_COUNT = 15;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int length = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 26)) - 1) << 1;
+        this.table = new long[length];
+        this.mask = length - 1;
+        this.sampleSize = 10 * Math.max(16, maximumSize);
+    }
+
+    int frequency(int hash) {
+        int frequency = MAXIMUM_COUNT;
+        for (int depth = 0; depth < SEEDS.length; depth++) {
+            long h = mix(hash, depth);
+            int shift = counterShift(h);
+            frequency = Math.min(frequency, (int) ((table[index(h)] >>> shift) & MAXIMUM_COUNT));
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        boolean added = false;
+        for (int depth = 0; depth < SEEDS.length; depth++) {
+            long h = mix(hash, depth);
+            int index = index(h);
+            int shift = counterShift(h);
+            if (((table[index] >>> shift) & MAXIMUM_COUNT) < MAXIMUM_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private static long mix(int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        return h ^ (h >>> 32);
+    }
+
+    private int index(long h) {
+        return (int) h & mask;
+    }
+
+    private static int counterShift(long h) {
+        return (int) ((h >>> 40) & 15) << 2;
+    }
+}
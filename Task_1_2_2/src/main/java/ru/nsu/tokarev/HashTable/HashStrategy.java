@@ -0,0 +1,32 @@
+package ru.nsu.tokarev.HashTable;
+
+public interface HashStrategy<K> {
+    HashStrategy<Object> DEFAULT = new HashStrategy<>() {
+        @Override
+        public int hash(Object key) {
+            return key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object first, Object second) {
+            return first.equals(second);
+        }
+    };
+
+    HashStrategy<Object> IDENTITY = new HashStrategy<>() {
+        @Override
+        public int hash(Object key) {
+            return System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object first, Object second) {
+            return first == second;
+        }
+    };
+
+    // Таблица сама обрабатывает null, поэтому стратегия получает только ненулевые ключи.
+    int hash(K key);
+
+    boolean equals(K first, K second);
+}
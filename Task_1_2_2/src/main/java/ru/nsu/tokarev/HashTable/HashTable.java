@@ -1,27 +1,44 @@
 package ru.nsu.tokarev.HashTable;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class HashTable<K, V> implements Iterable<Entry<K, V>> {
     private class HashTableIterator implements Iterator<Entry<K, V>> {
+        private final Entry<K, V>[] oldTable;
+        private final Entry<K, V>[] newTable;
         private int expectedModCount;
         private int currentBucket;
         private Entry<K, V> nextEntry;
+        private Entry<K, V>[] binEntries;
+        private int binPosition;
 
         HashTableIterator() {
             this.expectedModCount = modCount;
+            this.oldTable = (oldBuckets == null) ? new Entry[0] : oldBuckets;
+            this.newTable = buckets;
             this.currentBucket = 0;
             this.nextEntry = null;
 
-            while (currentBucket < buckets.length) {
-                if (buckets[currentBucket] != null) {
-                    nextEntry = buckets[currentBucket];
-                    break;
-                }
-                currentBucket++;
-            }
+            advanceToBucket();
         }
 
         public boolean hasNext() {
@@ -38,106 +55,610 @@ public class HashTable<K, V> implements Iterable<Entry<K, V>> {
 
             Entry<K, V> entryToReturn = nextEntry;
 
-            if (nextEntry.getNext() != null) {
+            if (binEntries != null && binPosition < binEntries.length) {
+                nextEntry = binEntries[binPosition++];
+            } else if (binEntries == null && nextEntry.getNext() != null) {
                 nextEntry = nextEntry.getNext();
             } else {
                 currentBucket++;
-                nextEntry = null;
-                while (currentBucket < buckets.length) {
-                    if (buckets[currentBucket] != null) {
-                        nextEntry = buckets[currentBucket];
-                        break;
-                    }
-                    currentBucket++;
-                }
+                advanceToBucket();
             }
 
             return entryToReturn;
         }
+
+        // Во время постепенного переноса сначала обходим ещё не перенесённые корзины старой таблицы.
+        private void advanceToBucket() {
+            nextEntry = null;
+            binEntries = null;
+            int total = oldTable.length + newTable.length;
+            while (currentBucket < total) {
+                Entry<K, V> head = (currentBucket < oldTable.length)
+                        ? oldTable[currentBucket]
+                        : newTable[currentBucket - oldTable.length];
+                if (head instanceof TreeBin) {
+                    binEntries = ((TreeBin<K, V>) head).entries();
+                    nextEntry = binEntries[0];
+                    binPosition = 1;
+                    break;
+                }
+                if (head != null) {
+                    nextEntry = head;
+                    break;
+                }
+                currentBucket++;
+            }
+        }
+    }
+
+    // Делит виртуальный массив корзин (старая таблица, затем новая) пополам по индексам.
+    // Точный размер известен только для всей таблицы: сколько элементов в половине, без обхода не узнать.
+    private class HashTableSpliterator implements Spliterator<Entry<K, V>> {
+        private final Entry<K, V>[] oldTable;
+        private final Entry<K, V>[] newTable;
+        private final int expectedModCount;
+        private int currentBucket;
+        private final int fence;
+        private long estimate;
+        private boolean exactSize;
+        private Entry<K, V> nextEntry;
+        private Entry<K, V>[] binEntries;
+        private int binPosition;
+
+        HashTableSpliterator() {
+            this((oldBuckets == null) ? new Entry[0] : oldBuckets, buckets, modCount,
+                    0, ((oldBuckets == null) ? 0 : oldBuckets.length) + buckets.length, size, true);
+        }
+
+        private HashTableSpliterator(Entry<K, V>[] oldTable, Entry<K, V>[] newTable, int expectedModCount,
+                                     int origin, int fence, long estimate, boolean exactSize) {
+            this.oldTable = oldTable;
+            this.newTable = newTable;
+            this.expectedModCount = expectedModCount;
+            this.currentBucket = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exactSize = exactSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+            Entry<K, V> entry = nextInRange();
+            if (entry == null) {
+                return false;
+            }
+            action.accept(entry);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+            Entry<K, V> entry;
+            while ((entry = nextInRange()) != null) {
+                action.accept(entry);
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> trySplit() {
+            int middle = (currentBucket + fence) >>> 1;
+            if (currentBucket >= middle || nextEntry != null || binEntries != null) {
+                return null;
+            }
+
+            estimate >>>= 1;
+            exactSize = false;
+            HashTableSpliterator prefix = new HashTableSpliterator(oldTable, newTable, expectedModCount,
+                    currentBucket, middle, estimate, false);
+            currentBucket = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exactSize ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+
+        private Entry<K, V> nextInRange() {
+            if (binEntries != null) {
+                if (binPosition < binEntries.length) {
+                    return binEntries[binPosition++];
+                }
+                binEntries = null;
+            }
+            if (nextEntry != null) {
+                Entry<K, V> entry = nextEntry;
+                nextEntry = entry.getNext();
+                return entry;
+            }
+
+            while (currentBucket < fence) {
+                Entry<K, V> head = (currentBucket < oldTable.length)
+                        ? oldTable[currentBucket]
+                        : newTable[currentBucket - oldTable.length];
+                currentBucket++;
+                if (head instanceof TreeBin) {
+                    binEntries = ((TreeBin<K, V>) head).entries();
+                    binPosition = 1;
+                    return binEntries[0];
+                }
+                if (head != null) {
+                    nextEntry = head.getNext();
+                    return head;
+                }
+            }
+            return null;
+        }
     }
 
     private Entry<K, V>[] buckets;
     private int size;
     private int capacity;
     private int modCount;
+    // Сумма хешей всех ключей. Значения в неё не входят: их можно поменять через Entry.setValue в обход таблицы.
+    private int keyHashSum;
+
+    private final HashStrategy<? super K> strategy;
+    private final boolean incrementalResize;
+    private Entry<K, V>[] oldBuckets;
+    private int migrationIndex;
+    // null, пока статистика выключена: горячий путь платит только за эту проверку.
+    private StatsRecorder recorder;
+    // Последний снимок статистики для MBean. Его строит только владелец таблицы, другие потоки лишь читают ссылку.
+    private volatile HashTableStats publishedStats;
 
     private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
     private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIGRATION_BUCKETS_PER_STEP = 4;
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    private static final int MIN_TREEIFY_CAPACITY = 64;
+    private static final int MIGRATION_EMPTY_VISITS_PER_STEP = 40;
+    private static final int DEFAULT_SAMPLING_INTERVAL = 64;
 
     public HashTable() {
         this(DEFAULT_CAPACITY);
     }
 
     public HashTable(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    public HashTable(int initialCapacity, boolean incrementalResize) {
+        this(initialCapacity, incrementalResize, HashStrategy.DEFAULT);
+    }
+
+    public HashTable(int initialCapacity, HashStrategy<? super K> strategy) {
+        this(initialCapacity, false, strategy);
+    }
+
+    public HashTable(int initialCapacity, boolean incrementalResize, HashStrategy<? super K> strategy) {
         if (initialCapacity <= 0) {
             throw new IllegalArgumentException("Initial capacity must be greater than zero.");
         }
-        this.buckets = new Entry[initialCapacity];
-        this.capacity = initialCapacity;
+        if (strategy == null) {
+            throw new IllegalArgumentException("Hash strategy must not be null.");
+        }
+        this.capacity = tableSizeFor(initialCapacity);
+        this.buckets = new Entry[capacity];
         this.size = 0;
         this.modCount = 0;
+        this.strategy = strategy;
+        this.incrementalResize = incrementalResize;
     }
 
     public V put(K key, V value) {
-        int hash = (key == null) ? 0 : key.hashCode();
-        int bucketIndex = Math.abs(hash) % capacity;
+        if (recorder != null && recorder.shouldSample()) {
+            int hash = hash(key);
+            int probeLength = probeLength(key, hash);
+            long start = System.nanoTime();
+            V oldValue = put(key, value, hash);
+            recordOperation(HashTableStats.Operation.PUT, start, probeLength);
+            return oldValue;
+        }
+        return put(key, value, hash(key));
+    }
 
-        Entry<K, V> current = buckets[bucketIndex];
-        while(current != null) {
-            if (current.getHash() == hash && (current.getKey() == key || (key != null
-                    && key.equals(current.getKey())))) {
-                V oldValue = current.getValue();
-                current.setValue(value);
-                return oldValue;
-            }
-            current = current.getNext();
+    private V put(K key, V value, int hash) {
+        Entry<K, V> existing = findEntry(key, hash);
+        if (existing != null) {
+            V oldValue = existing.getValue();
+            updateEntry(existing, value);
+            return oldValue;
         }
 
-        Entry<K, V> newEntry = new Entry<>(key, value, hash, buckets[bucketIndex]);
-        buckets[bucketIndex] = newEntry;
+        insertEntry(key, value, hash);
+        return null;
+    }
+
+    private void insertEntry(K key, V value, int hash) {
+        migrateStep();
+
+        Entry<K, V> entry = newEntry(key, value, hash);
+        placeEntry(entry);
         size++;
+        keyHashSum += hash;
         modCount++;
 
         if ((float)size / capacity >= LOAD_FACTOR) {
             resize();
         }
+        afterEntryInsertion(entry);
+    }
 
-        return null;
+    private void updateEntry(Entry<K, V> entry, V value) {
+        entry.setValue(value);
+        afterEntryUpdate(entry);
+    }
+
+    // Точки расширения для BoundedHashTable, сама таблица их не использует.
+    Entry<K, V> newEntry(K key, V value, int hash) {
+        return new Entry<>(key, value, hash, null);
+    }
+
+    void afterEntryInsertion(Entry<K, V> entry) {
+    }
+
+    void afterEntryUpdate(Entry<K, V> entry) {
+    }
+
+    void afterEntryRemoval(Entry<K, V> entry) {
+    }
+
+    Entry<K, V> getEntry(K key) {
+        return findEntry(key, hash(key));
     }
 
     public V get(K key) {
-        int hash = (key == null) ? 0 : key.hashCode();
-        int bucketIndex = Math.abs(hash) % capacity;
+        int hash = hash(key);
+        if (recorder != null && recorder.shouldSample()) {
+            int probeLength = probeLength(key, hash);
+            long start = System.nanoTime();
+            Entry<K, V> entry = findEntry(key, hash);
+            recordOperation(HashTableStats.Operation.GET, start, probeLength);
+            return (entry == null) ? null : entry.getValue();
+        }
+        Entry<K, V> entry = findEntry(key, hash);
+        return (entry == null) ? null : entry.getValue();
+    }
 
-        Entry<K, V> current = buckets[bucketIndex];
+    public V remove(K key) {
+        int hash = hash(key);
+        if (recorder != null && recorder.shouldSample()) {
+            int probeLength = probeLength(key, hash);
+            long start = System.nanoTime();
+            Entry<K, V> removed = removeEntry(key, hash);
+            recordOperation(HashTableStats.Operation.REMOVE, start, probeLength);
+            return (removed == null) ? null : removed.getValue();
+        }
+        Entry<K, V> removed = removeEntry(key, hash);
+        return (removed == null) ? null : removed.getValue();
+    }
+
+    private Entry<K, V> removeEntry(K key, int hash) {
+        if (oldBuckets != null) {
+            int oldIndex = hash & (oldBuckets.length - 1);
+            if (oldIndex >= migrationIndex) {
+                Entry<K, V> removed = removeFromChain(oldBuckets, oldIndex, key, hash);
+                if (removed != null) {
+                    migrateStep();
+                    return removed;
+                }
+            }
+        }
+
+        Entry<K, V> removed = removeFromChain(buckets, hash & (capacity - 1), key, hash);
+        if (removed != null) {
+            migrateStep();
+        }
+        return removed;
+    }
+
+    public V update(K key, V value) {
+        return put(key, value);
+    }
+
+    public boolean containsKey(K key) {
+        int hash = hash(key);
+        return findEntry(key, hash) != null;
+    }
+
+    // Заранее расширяет таблицу, чтобы последующие вставки не вызывали resize по пути.
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize <= 0) {
+            return;
+        }
+        int required = tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, (long) (expectedSize / LOAD_FACTOR) + 1));
+        if (required > capacity) {
+            resize(required);
+        }
+    }
+
+    public void putAll(HashTable<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+        ensureCapacity(size + other.size());
+        // При той же стратегии хеш уже посчитан и хранится в элементе.
+        boolean sameStrategy = other.strategy == strategy;
+        for (Entry<? extends K, ? extends V> entry : other) {
+            K key = entry.getKey();
+            put(key, entry.getValue(), sameStrategy ? entry.getHash() : hash(key));
+        }
+    }
+
+    public void putAll(Map<? extends K, ? extends V> map) {
+        ensureCapacity(size + map.size());
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // Значения кладутся в values по тем же индексам, отсутствующим ключам соответствует null.
+    public int getAll(K[] keys, V[] values) {
+        if (values.length < keys.length) {
+            throw new IllegalArgumentException("Values array is shorter than keys array.");
+        }
+        int found = 0;
+        for (int i = 0; i < keys.length; i++) {
+            Entry<K, V> entry = findEntry(keys[i], hash(keys[i]));
+            if (entry != null) {
+                values[i] = entry.getValue();
+                found++;
+            } else {
+                values[i] = null;
+            }
+        }
+        return found;
+    }
+
+    public boolean removeIf(BiPredicate<? super K, ? super V> filter) {
+        int sizeBefore = size;
+        try {
+            if (oldBuckets != null) {
+                for (int i = migrationIndex; i < oldBuckets.length; i++) {
+                    removeFromBucket(oldBuckets, i, filter);
+                }
+            }
+            for (int i = 0; i < buckets.length; i++) {
+                removeFromBucket(buckets, i, filter);
+            }
+        } finally {
+            if (size != sizeBefore) {
+                modCount++;
+            }
+        }
+        return size != sizeBefore;
+    }
+
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        int hash = hash(key);
+        Entry<K, V> entry = findEntry(key, hash);
+        V oldValue = (entry == null) ? null : entry.getValue();
+
+        V newValue = callChecked(() -> remapping.apply(key, oldValue));
+        return storeComputed(key, hash, entry, newValue);
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+        int hash = hash(key);
+        Entry<K, V> entry = findEntry(key, hash);
+        if (entry != null && entry.getValue() != null) {
+            return entry.getValue();
+        }
+
+        V newValue = callChecked(() -> mapping.apply(key));
+        if (newValue == null) {
+            return null;
+        }
+        if (entry != null) {
+            updateEntry(entry, newValue);
+        } else {
+            insertEntry(key, newValue, hash);
+        }
+        return newValue;
+    }
+
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        int hash = hash(key);
+        Entry<K, V> entry = findEntry(key, hash);
+        if (entry == null || entry.getValue() == null) {
+            return null;
+        }
+
+        V oldValue = entry.getValue();
+        V newValue = callChecked(() -> remapping.apply(key, oldValue));
+        return storeComputed(key, hash, entry, newValue);
+    }
+
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+        if (value == null) {
+            throw new IllegalArgumentException("Merged value must not be null.");
+        }
+
+        int hash = hash(key);
+        Entry<K, V> entry = findEntry(key, hash);
+        if (entry == null || entry.getValue() == null) {
+            if (entry != null) {
+                updateEntry(entry, value);
+            } else {
+                insertEntry(key, value, hash);
+            }
+            return value;
+        }
+
+        V oldValue = entry.getValue();
+        V newValue = callChecked(() -> remapping.apply(oldValue, value));
+        return storeComputed(key, hash, entry, newValue);
+    }
+
+    public boolean isResizing() {
+        return oldBuckets != null;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void enableStats() {
+        enableStats(DEFAULT_SAMPLING_INTERVAL);
+    }
+
+    // Задержка и длина пробы замеряются у каждой samplingInterval-й операции (округляется до степени двойки).
+    public void enableStats(int samplingInterval) {
+        if (samplingInterval <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be greater than zero.");
+        }
+        int interval = StatsRecorder.roundSamplingInterval(samplingInterval);
+        if (recorder == null || recorder.samplingInterval() != interval) {
+            recorder = new StatsRecorder(interval);
+            publishStats();
+        }
+    }
+
+    public void disableStats() {
+        recorder = null;
+    }
+
+    public boolean isStatsEnabled() {
+        return recorder != null;
+    }
+
+    // Строит свежий снимок и заодно публикует его для MBean. Вызывать только из потока, владеющего таблицей.
+    public HashTableStats stats() {
+        if (recorder == null) {
+            throw new IllegalStateException("Statistics are disabled.");
+        }
+        publishStats();
+        return publishedStats;
+    }
+
+    // Снимок, опубликованный владельцем; безопасно читать из любого потока. После disableStats остаётся последний.
+    HashTableStats publishedStats() {
+        return publishedStats;
+    }
+
+    private void recordOperation(HashTableStats.Operation operation, long start, int probeLength) {
+        recorder.recordOperation(operation, start, probeLength, size, capacity);
+        // Обход корзин стоит O(capacity), поэтому снимок обновляется раз в несколько capacity операций.
+        if (recorder.publishDue(capacity)) {
+            publishStats();
+        }
+    }
+
+    private void publishStats() {
+        publishedStats = recorder.snapshot(size, capacity, chainLengthHistogram());
+    }
+
+    // Включает статистику и публикует её в платформенном MBeanServer.
+    // MBean держит ссылку на таблицу, поэтому его нужно снять по возвращённому имени, когда таблица больше не нужна.
+    public ObjectName registerStatsMBean(String name) throws JMException {
+        if (name == null) {
+            throw new IllegalArgumentException("MBean name must not be null.");
+        }
+        if (recorder == null) {
+            enableStats();
+        } else {
+            publishStats();
+        }
+        ObjectName objectName = new ObjectName("ru.nsu.tokarev.HashTable:type=HashTable,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new HashTableStatsMBean(this), objectName);
+        return objectName;
+    }
+
+    int hash(K key) {
+        return spread((key == null) ? 0 : strategy.hash(key));
+    }
+
+    // Финализатор murmur3: маска берёт только младшие биты, поэтому каждый бит ключа должен влиять на них.
+    static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private boolean keysEqual(K key, K other) {
+        return key == other || (key != null && other != null && strategy.equals(key, other));
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(Math.max(1, capacity - 1) << 1);
+    }
+
+    private Entry<K, V> findEntry(K key, int hash) {
+        if (oldBuckets != null) {
+            int oldIndex = hash & (oldBuckets.length - 1);
+            if (oldIndex >= migrationIndex) {
+                Entry<K, V> entry = findInChain(oldBuckets[oldIndex], key, hash);
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        }
+        return findInChain(buckets[hash & (capacity - 1)], key, hash);
+    }
+
+    private Entry<K, V> findInChain(Entry<K, V> current, K key, int hash) {
+        if (current instanceof TreeBin) {
+            return ((TreeBin<K, V>) current).find(key, hash);
+        }
         while(current != null) {
-            if (current.getHash() == hash && (current.getKey() == key || (key != null
-                    && key.equals(current.getKey())))) {
-                return current.getValue();
+            if (current.getHash() == hash && keysEqual(key, current.getKey())) {
+                return current;
             }
             current = current.getNext();
         }
-
         return null;
     }
 
-    public V remove(K key) {
-        int hash = (key == null) ? 0 : key.hashCode();
-        int bucketIndex = Math.abs(hash) % capacity;
-
-        Entry<K, V> current = buckets[bucketIndex];
+    private Entry<K, V> removeFromChain(Entry<K, V>[] table, int bucketIndex, K key, int hash) {
+        Entry<K, V> current = table[bucketIndex];
         Entry<K, V> previous = null;
 
+        if (current instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>) current;
+            Entry<K, V> removed = bin.remove(key, hash);
+            if (removed != null) {
+                if (bin.count() <= UNTREEIFY_THRESHOLD) {
+                    table[bucketIndex] = bin.toChain();
+                }
+                size--;
+                keyHashSum -= removed.getHash();
+                modCount++;
+                afterEntryRemoval(removed);
+            }
+            return removed;
+        }
+
         while(current != null) {
-            if (current.getHash() == hash && (current.getKey() == key || (key != null && key.equals(current.getKey())))) {
+            if (current.getHash() == hash && keysEqual(key, current.getKey())) {
                 if (previous == null) {
-                    buckets[bucketIndex] = current.getNext();
+                    table[bucketIndex] = current.getNext();
                 } else {
                     previous.setNext(current.getNext());
                 }
                 size--;
+                keyHashSum -= current.getHash();
                 modCount++;
-                return current.getValue();
+                afterEntryRemoval(current);
+                return current;
             }
             previous = current;
             current = current.getNext();
@@ -146,81 +667,330 @@ public class HashTable<K, V> implements Iterable<Entry<K, V>> {
         return null;
     }
 
-    public V update(K key, V value) {
-        return put(key, value);
+    // Как и в java.util.Map, null в результате функции означает удаление ключа.
+    private V storeComputed(K key, int hash, Entry<K, V> entry, V newValue) {
+        if (newValue == null) {
+            if (entry != null) {
+                removeEntry(key, hash);
+            }
+        } else if (entry != null) {
+            updateEntry(entry, newValue);
+        } else {
+            insertEntry(key, newValue, hash);
+        }
+        return newValue;
     }
 
-    public boolean containsKey(K key) {
-        int hash = (key == null) ? 0 : key.hashCode();
-        int bucketIndex = Math.abs(hash) % capacity;
+    // Найденный элемент остаётся действительным, только если функция не меняла таблицу.
+    private <T> T callChecked(Supplier<T> function) {
+        int expectedModCount = modCount;
+        T result = function.get();
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return result;
+    }
 
-        Entry<K, V> current = buckets[bucketIndex];
-        while(current != null) {
-            if (current.getHash() == hash && (current.getKey() == key || (key != null
-                    && key.equals(current.getKey())))) {
-                return true;
+    private void removeFromBucket(Entry<K, V>[] table, int bucketIndex, BiPredicate<? super K, ? super V> filter) {
+        Entry<K, V> head = table[bucketIndex];
+
+        if (head instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>) head;
+            for (Entry<K, V> entry : bin.entries()) {
+                if (filter.test(entry.getKey(), entry.getValue())) {
+                    bin.remove(entry.getKey(), entry.getHash());
+                    size--;
+                    keyHashSum -= entry.getHash();
+                    afterEntryRemoval(entry);
+                }
             }
-            current = current.getNext();
+            if (bin.count() <= UNTREEIFY_THRESHOLD) {
+                table[bucketIndex] = bin.toChain();
+            }
+            return;
         }
 
-        return false;
+        Entry<K, V> previous = null;
+        Entry<K, V> current = head;
+        while (current != null) {
+            Entry<K, V> next = current.getNext();
+            if (filter.test(current.getKey(), current.getValue())) {
+                if (previous == null) {
+                    table[bucketIndex] = next;
+                } else {
+                    previous.setNext(next);
+                }
+                size--;
+                keyHashSum -= current.getHash();
+                afterEntryRemoval(current);
+            } else {
+                previous = current;
+            }
+            current = next;
+        }
     }
 
-    public boolean isEmpty() {
-        return size == 0;
+    private void resize() {
+        resize(capacity * 2);
     }
 
-    private void resize() {
-        Entry<K, V>[] oldBuckets = buckets;
+    private void resize(int newCapacity) {
+        long start = (recorder == null) ? 0 : System.nanoTime();
+        if (oldBuckets != null) {
+            // Предыдущий перенос ещё не закончен: доводим его до конца, прежде чем начинать новый.
+            while (oldBuckets != null) {
+                migrateBucket();
+            }
+        }
+
+        if (capacity == MAXIMUM_CAPACITY) {
+            return;
+        }
+
+        Entry<K, V>[] previousBuckets = buckets;
 
-        int newCapacity = capacity * 2;
         buckets = new Entry[newCapacity];
         capacity = newCapacity;
-        size = 0;
 
         modCount++;
 
-        for (Entry<K, V> entry : oldBuckets) {
-            while (entry != null) {
-                Entry<K, V> next = entry.getNext();
-                int newIndex = Math.abs(entry.getHash()) % newCapacity;
-                entry.setNext(buckets[newIndex]);
+        if (incrementalResize) {
+            oldBuckets = previousBuckets;
+            migrationIndex = 0;
+        } else {
+            for (Entry<K, V> entry : previousBuckets) {
+                moveChain(entry);
+            }
+        }
+
+        if (recorder != null) {
+            recorder.recordResize(start, size, capacity);
+        }
+    }
+
+    // Переносит ограниченное число корзин, чтобы отдельная операция не платила за весь rehash.
+    private void migrateStep() {
+        int moved = 0;
+        int visited = 0;
+        while (oldBuckets != null && moved < MIGRATION_BUCKETS_PER_STEP
+                && visited < MIGRATION_EMPTY_VISITS_PER_STEP) {
+            if (migrateBucket()) {
+                moved++;
+            }
+            visited++;
+        }
+    }
+
+    private boolean migrateBucket() {
+        Entry<K, V> head = oldBuckets[migrationIndex];
+        oldBuckets[migrationIndex] = null;
+        moveChain(head);
+
+        migrationIndex++;
+        if (migrationIndex == oldBuckets.length) {
+            oldBuckets = null;
+            migrationIndex = 0;
+        }
+        return head != null;
+    }
+
+    private void moveChain(Entry<K, V> entry) {
+        if (entry instanceof TreeBin) {
+            for (Entry<K, V> binEntry : ((TreeBin<K, V>) entry).entries()) {
+                placeEntry(binEntry);
+            }
+            return;
+        }
+        while (entry != null) {
+            Entry<K, V> next = entry.getNext();
+            placeEntry(entry);
+            entry = next;
+        }
+    }
+
+    private void placeEntry(Entry<K, V> entry) {
+        int bucketIndex = entry.getHash() & (capacity - 1);
+        Entry<K, V> head = buckets[bucketIndex];
+
+        if (head instanceof TreeBin) {
+            ((TreeBin<K, V>) head).insert(entry);
+            return;
+        }
+
+        entry.setNext(head);
+        buckets[bucketIndex] = entry;
+
+        if (capacity >= MIN_TREEIFY_CAPACITY && chainLengthAtLeast(entry, TREEIFY_THRESHOLD)) {
+            treeify(bucketIndex);
+        }
+    }
+
+    // Сколько элементов просмотрит поиск ключа: для дерева берётся его высота как верхняя оценка.
+    private int probeLength(K key, int hash) {
+        int length = 0;
+        if (oldBuckets != null) {
+            int oldIndex = hash & (oldBuckets.length - 1);
+            if (oldIndex >= migrationIndex) {
+                length += probeLengthInChain(oldBuckets[oldIndex], key, hash);
+            }
+        }
+        return length + probeLengthInChain(buckets[hash & (capacity - 1)], key, hash);
+    }
+
+    private int probeLengthInChain(Entry<K, V> current, K key, int hash) {
+        if (current instanceof TreeBin) {
+            return Integer.SIZE - Integer.numberOfLeadingZeros(((TreeBin<K, V>) current).count());
+        }
+        int length = 0;
+        while (current != null) {
+            length++;
+            if (current.getHash() == hash && keysEqual(key, current.getKey())) {
+                break;
+            }
+            current = current.getNext();
+        }
+        return length;
+    }
+
+    // Корзины старой таблицы при постепенном переносе тоже учитываются: поиск может их просматривать.
+    private long[] chainLengthHistogram() {
+        long[] histogram = new long[StatsRecorder.HISTOGRAM_LENGTH];
+        addChainLengths(histogram, buckets, 0);
+        if (oldBuckets != null) {
+            addChainLengths(histogram, oldBuckets, migrationIndex);
+        }
+        return histogram;
+    }
 
-                buckets[newIndex] = entry;
-                size++;
-                entry = next;
+    private static <K, V> void addChainLengths(long[] histogram, Entry<K, V>[] table, int from) {
+        for (int i = from; i < table.length; i++) {
+            Entry<K, V> head = table[i];
+            int length = 0;
+            if (head instanceof TreeBin) {
+                length = ((TreeBin<K, V>) head).count();
+            } else {
+                for (Entry<K, V> current = head; current != null; current = current.getNext()) {
+                    length++;
+                }
             }
+            histogram[Math.min(length, histogram.length - 1)]++;
         }
     }
 
+    private boolean chainLengthAtLeast(Entry<K, V> head, int length) {
+        int count = 0;
+        for (Entry<K, V> current = head; current != null; current = current.getNext()) {
+            if (++count >= length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Длинная цепочка превращается в дерево, чтобы поиск при коллизиях оставался O(log n).
+    private void treeify(int bucketIndex) {
+        TreeBin<K, V> bin = new TreeBin<>(strategy);
+        Entry<K, V> current = buckets[bucketIndex];
+        while (current != null) {
+            Entry<K, V> next = current.getNext();
+            bin.insert(current);
+            current = next;
+        }
+        buckets[bucketIndex] = bin;
+    }
+
     public int size() {
         return this.size;
     }
 
+    public void saveTo(Path path, Codec<? super K> keyCodec, Codec<? super V> valueCodec) throws IOException {
+        if (keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Codec must not be null.");
+        }
+        SnapshotFormat.write(path, this, size, keyCodec, valueCodec);
+    }
+
+    // Читает снимок целиком в кучу. Для ленивого доступа без десериализации есть MappedHashTable.loadFrom.
+    public static <K, V> HashTable<K, V> loadFrom(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        try (MappedHashTable<K, V> snapshot = MappedHashTable.loadFrom(path, keyCodec, valueCodec)) {
+            return snapshot.toHashTable();
+        }
+    }
+
     @Override
     public Iterator<Entry<K, V>> iterator() {
         return new HashTableIterator();
     }
 
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        
+    public Spliterator<Entry<K, V>> spliterator() {
+        return new HashTableSpliterator();
+    }
+
+    public Stream<Entry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // Обход корзин напрямую, без итератора.
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        if (oldBuckets != null) {
+            for (int i = migrationIndex; i < oldBuckets.length; i++) {
+                forEachInBucket(oldBuckets[i], action);
+            }
+        }
+        for (Entry<K, V> head : buckets) {
+            forEachInBucket(head, action);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    private void forEachInBucket(Entry<K, V> head, BiConsumer<? super K, ? super V> action) {
+        if (head instanceof TreeBin) {
+            for (Entry<K, V> entry : ((TreeBin<K, V>) head).entries()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        for (Entry<K, V> entry = head; entry != null; entry = entry.getNext()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // Пишет содержимое в out по мере обхода, не собирая всю строку в памяти.
+    public void writeTo(Appendable out) throws IOException {
+        out.append('{');
+
         Iterator<Entry<K, V>> it = iterator();
         while (it.hasNext()) {
             Entry<K, V> entry = it.next();
-            
-            sb.append(entry.getKey() == this ? "(this Map)" : entry.getKey());
-            sb.append("=");
-            sb.append(entry.getValue() == this ? "(this Map)" : entry.getValue());
-            
+
+            out.append(entry.getKey() == this ? "(this Map)" : String.valueOf(entry.getKey()));
+            out.append('=');
+            out.append(entry.getValue() == this ? "(this Map)" : String.valueOf(entry.getValue()));
+
             if (it.hasNext()) {
-                sb.append(", ");
+                out.append(", ");
             }
         }
 
-        sb.append("}");
+        out.append('}');
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return sb.toString();
     }
     
@@ -240,21 +1010,19 @@ public class HashTable<K, V> implements Iterable<Entry<K, V>> {
             return false;
         }
 
+        // Таблицы с разными стратегиями не равны: иначе равенство ключей решала бы стратегия второй таблицы,
+        // и equals потерял бы симметричность. При одной стратегии хеши ключей совпадают,
+        // и разные наборы ключей обычно видны сразу по сумме.
+        if (this.strategy != other.strategy || this.keyHashSum != other.keyHashSum) {
+            return false;
+        }
+
         try {
             for (Entry<K, V> entry : this) {
-                K key = entry.getKey();
-                V value = entry.getValue();
-
-                Object otherValue = other.get(key);
+                Entry<K, V> otherEntry = other.findEntry(entry.getKey(), entry.getHash());
 
-                if (value == null) {
-                    if (otherValue != null || !other.containsKey(key)) {
-                        return false;
-                    }
-                } else {
-                    if (!value.equals(otherValue)) {
-                        return false;
-                    }
+                if (otherEntry == null || !Objects.equals(entry.getValue(), otherEntry.getValue())) {
+                    return false;
                 }
             }
         } catch (ClassCastException | NullPointerException e) {
@@ -263,4 +1031,14 @@ public class HashTable<K, V> implements Iterable<Entry<K, V>> {
 
         return true;
     }
-}
\ No newline at end of file
+
+    // Хеш ключа берётся из стратегии, как и в equals: ключи, равные для стратегии, дают одинаковый вклад.
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (Entry<K, V> entry : this) {
+            result += entry.getHash() ^ Objects.hashCode(entry.getValue());
+        }
+        return result;
+    }
+}
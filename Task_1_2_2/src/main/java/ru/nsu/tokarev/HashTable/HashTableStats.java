@@ -0,0 +1,166 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.util.Arrays;
+
+// Неизменяемый снимок статистики HashTable на момент вызова stats().
+// Гистограммы: индекс - длина (цепочки или пробы), последний элемент собирает всё, что не меньше него.
+// Задержки операций и длины проб берутся из выборки: замеряется каждая samplingInterval-я операция.
+public final class HashTableStats {
+    public enum Operation {
+        GET, PUT, REMOVE
+    }
+
+    private final int size;
+    private final int capacity;
+    private final long[] chainLengthHistogram;
+    private final long[] probeLengthHistogram;
+    private final long resizeCount;
+    private final long totalResizeNanos;
+    private final long maxResizeNanos;
+    private final long[] loadFactorTimes;
+    private final double[] loadFactors;
+    private final int samplingInterval;
+    private final long[] sampledOperations;
+    private final long[] totalLatencyNanos;
+    private final long[] maxLatencyNanos;
+    private final long[][] latencyHistograms;
+
+    HashTableStats(int size, int capacity, long[] chainLengthHistogram, long[] probeLengthHistogram,
+                   long resizeCount, long totalResizeNanos, long maxResizeNanos,
+                   long[] loadFactorTimes, double[] loadFactors, int samplingInterval,
+                   long[] sampledOperations, long[] totalLatencyNanos, long[] maxLatencyNanos,
+                   long[][] latencyHistograms) {
+        this.size = size;
+        this.capacity = capacity;
+        this.chainLengthHistogram = chainLengthHistogram;
+        this.probeLengthHistogram = probeLengthHistogram;
+        this.resizeCount = resizeCount;
+        this.totalResizeNanos = totalResizeNanos;
+        this.maxResizeNanos = maxResizeNanos;
+        this.loadFactorTimes = loadFactorTimes;
+        this.loadFactors = loadFactors;
+        this.samplingInterval = samplingInterval;
+        this.sampledOperations = sampledOperations;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+        this.latencyHistograms = latencyHistograms;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public double loadFactor() {
+        return (double) size / capacity;
+    }
+
+    // Число корзин с цепочкой данной длины, включая пустые (длина 0).
+    public long[] chainLengthHistogram() {
+        return chainLengthHistogram.clone();
+    }
+
+    public int maxChainLength() {
+        return lastNonZero(chainLengthHistogram);
+    }
+
+    // Сколько элементов просмотрено замеренными операциями до нахождения ключа (или до конца цепочки).
+    public long[] probeLengthHistogram() {
+        return probeLengthHistogram.clone();
+    }
+
+    public double meanProbeLength() {
+        long count = 0;
+        long total = 0;
+        for (int length = 0; length < probeLengthHistogram.length; length++) {
+            count += probeLengthHistogram[length];
+            total += length * probeLengthHistogram[length];
+        }
+        return (count == 0) ? 0.0 : (double) total / count;
+    }
+
+    public long resizeCount() {
+        return resizeCount;
+    }
+
+    public long totalResizeNanos() {
+        return totalResizeNanos;
+    }
+
+    public long maxResizeNanos() {
+        return maxResizeNanos;
+    }
+
+    // Моменты замеров заполненности в наносекундах от включения статистики, по возрастанию.
+    public long[] loadFactorTimes() {
+        return loadFactorTimes.clone();
+    }
+
+    public double[] loadFactors() {
+        return loadFactors.clone();
+    }
+
+    public int samplingInterval() {
+        return samplingInterval;
+    }
+
+    public long sampledOperations(Operation operation) {
+        return sampledOperations[operation.ordinal()];
+    }
+
+    public double meanLatencyNanos(Operation operation) {
+        long count = sampledOperations[operation.ordinal()];
+        return (count == 0) ? 0.0 : (double) totalLatencyNanos[operation.ordinal()] / count;
+    }
+
+    public long maxLatencyNanos(Operation operation) {
+        return maxLatencyNanos[operation.ordinal()];
+    }
+
+    // Задержки собраны в корзины по степеням двойки, поэтому это верхняя граница корзины, в которую попал перцентиль.
+    public long latencyPercentileNanos(Operation operation, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long count = sampledOperations[operation.ordinal()];
+        if (count == 0) {
+            return 0;
+        }
+
+        long[] histogram = latencyHistograms[operation.ordinal()];
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= rank) {
+                return Math.min(maxLatencyNanos[operation.ordinal()], (bucket == 0) ? 0 : (1L << bucket) - 1);
+            }
+        }
+        return maxLatencyNanos[operation.ordinal()];
+    }
+
+    private static int lastNonZero(long[] histogram) {
+        for (int i = histogram.length - 1; i > 0; i--) {
+            if (histogram[i] != 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "HashTableStats{size=" + size
+                + ", capacity=" + capacity
+                + ", loadFactor=" + String.format("%.3f", loadFactor())
+                + ", maxChainLength=" + maxChainLength()
+                + ", chainLengths=" + Arrays.toString(chainLengthHistogram)
+                + ", meanProbeLength=" + String.format("%.3f", meanProbeLength())
+                + ", resizes=" + resizeCount
+                + ", resizeNanos=" + totalResizeNanos
+                + "}";
+    }
+}
@@ -0,0 +1,95 @@
+package ru.nsu.tokarev.HashTable;
+
+// Таблица не потокобезопасна, поэтому MBean не обходит её сам, а отдаёт последний снимок,
+// который опубликовал поток-владелец (раз в несколько capacity операций и при вызове stats()).
+final class HashTableStatsMBean implements HashTableStatsMXBean {
+    private final HashTable<?, ?> table;
+
+    HashTableStatsMBean(HashTable<?, ?> table) {
+        this.table = table;
+    }
+
+    private HashTableStats stats() {
+        return table.publishedStats();
+    }
+
+    @Override
+    public int getSize() {
+        return stats().size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return stats().capacity();
+    }
+
+    @Override
+    public double getLoadFactor() {
+        return stats().loadFactor();
+    }
+
+    @Override
+    public int getMaxChainLength() {
+        return stats().maxChainLength();
+    }
+
+    @Override
+    public long[] getChainLengthHistogram() {
+        return stats().chainLengthHistogram();
+    }
+
+    @Override
+    public long[] getProbeLengthHistogram() {
+        return stats().probeLengthHistogram();
+    }
+
+    @Override
+    public double getMeanProbeLength() {
+        return stats().meanProbeLength();
+    }
+
+    @Override
+    public long getResizeCount() {
+        return stats().resizeCount();
+    }
+
+    @Override
+    public long getTotalResizeNanos() {
+        return stats().totalResizeNanos();
+    }
+
+    @Override
+    public long getMaxResizeNanos() {
+        return stats().maxResizeNanos();
+    }
+
+    @Override
+    public double getMeanGetLatencyNanos() {
+        return stats().meanLatencyNanos(HashTableStats.Operation.GET);
+    }
+
+    @Override
+    public double getMeanPutLatencyNanos() {
+        return stats().meanLatencyNanos(HashTableStats.Operation.PUT);
+    }
+
+    @Override
+    public double getMeanRemoveLatencyNanos() {
+        return stats().meanLatencyNanos(HashTableStats.Operation.REMOVE);
+    }
+
+    @Override
+    public long getP99GetLatencyNanos() {
+        return stats().latencyPercentileNanos(HashTableStats.Operation.GET, 99);
+    }
+
+    @Override
+    public long getP99PutLatencyNanos() {
+        return stats().latencyPercentileNanos(HashTableStats.Operation.PUT, 99);
+    }
+
+    @Override
+    public long getP99RemoveLatencyNanos() {
+        return stats().latencyPercentileNanos(HashTableStats.Operation.REMOVE, 99);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.nsu.tokarev.HashTable;
+
+// Атрибуты статистики HashTable для JMX, регистрируется через HashTable.registerStatsMBean.
+public interface HashTableStatsMXBean {
+    int getSize();
+
+    int getCapacity();
+
+    double getLoadFactor();
+
+    int getMaxChainLength();
+
+    long[] getChainLengthHistogram();
+
+    long[] getProbeLengthHistogram();
+
+    double getMeanProbeLength();
+
+    long getResizeCount();
+
+    long getTotalResizeNanos();
+
+    long getMaxResizeNanos();
+
+    double getMeanGetLatencyNanos();
+
+    double getMeanPutLatencyNanos();
+
+    double getMeanRemoveLatencyNanos();
+
+    long getP99GetLatencyNanos();
+
+    long getP99PutLatencyNanos();
+
+    long getP99RemoveLatencyNanos();
+}
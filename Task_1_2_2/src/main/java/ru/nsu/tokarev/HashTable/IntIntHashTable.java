@@ -0,0 +1,312 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+public class IntIntHashTable {
+    public class Cursor {
+        private final int expectedModCount;
+        private int slot;
+        private boolean zeroKeyPending;
+        private int key;
+        private int value;
+
+        Cursor() {
+            this.expectedModCount = modCount;
+            this.slot = -1;
+            this.zeroKeyPending = hasZeroKey;
+        }
+
+        public boolean advance() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (zeroKeyPending) {
+                zeroKeyPending = false;
+                key = FREE_KEY;
+                value = zeroValue;
+                return true;
+            }
+            slot++;
+            while (slot < keys.length) {
+                if (keys[slot] != FREE_KEY) {
+                    key = keys[slot];
+                    value = values[slot];
+                    return true;
+                }
+                slot++;
+            }
+            return false;
+        }
+
+        public int key() {
+            checkPosition();
+            return key;
+        }
+
+        public int value() {
+            checkPosition();
+            return value;
+        }
+
+        public void setValue(int value) {
+            checkPosition();
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            this.value = value;
+            if (slot < 0) {
+                zeroValue = value;
+            } else {
+                values[slot] = value;
+            }
+        }
+
+        private void checkPosition() {
+            if (zeroKeyPending || (slot < 0 && !hasZeroKey) || slot >= keys.length) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    // Пустой слот - ключ 0, поэтому отдельный массив флагов не нужен. Настоящий ключ 0
+    // лежит вне массива, в hasZeroKey и zeroValue.
+    private static final int FREE_KEY = 0;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int threshold;
+    private boolean hasZeroKey;
+    private int zeroValue;
+    private int size;
+    private int modCount;
+
+    public IntIntHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntIntHashTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+        }
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    public int put(int key, int value) {
+        if (key == FREE_KEY) {
+            int oldValue = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+                modCount++;
+                return 0;
+            }
+            return oldValue;
+        }
+
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                int oldValue = values[slot];
+                values[slot] = value;
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        modCount++;
+
+        if (size > threshold) {
+            resize();
+        }
+        return 0;
+    }
+
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = find(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    public int remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                return 0;
+            }
+            int oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            modCount++;
+            return oldValue;
+        }
+
+        int slot = find(key);
+        if (slot < 0) {
+            return 0;
+        }
+
+        int oldValue = values[slot];
+        shiftKeys(slot);
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    public int update(int key, int value) {
+        return put(key, value);
+    }
+
+    public boolean containsKey(int key) {
+        return key == FREE_KEY ? hasZeroKey : find(key) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private int find(int key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftKeys(int slot) {
+        // Удаление без tombstone: элемент кластера, чей домашний слот не лежит между освобождённым
+        // слотом и его текущим местом, переезжает в дыру. Иначе поиск остановился бы на пустом слоте раньше него.
+        int last = slot;
+        int current = (slot + 1) & mask;
+        while (keys[current] != FREE_KEY) {
+            int home = hash(keys[current]) & mask;
+            if (last <= current ? (home <= last || home > current) : (home <= last && home > current)) {
+                keys[last] = keys[current];
+                values[last] = values[current];
+                last = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[last] = FREE_KEY;
+        values[last] = 0;
+    }
+
+    private void resize() {
+        if (keys.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Hash table is full.");
+        }
+
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        modCount++;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != FREE_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        Cursor cursor = cursor();
+        boolean first = true;
+        while (cursor.advance()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            sb.append(cursor.key()).append("=").append(cursor.value());
+            first = false;
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (this == ob) {
+            return true;
+        }
+
+        if (!(ob instanceof IntIntHashTable)) {
+            return false;
+        }
+
+        IntIntHashTable other = (IntIntHashTable) ob;
+        if (this.size != other.size) {
+            return false;
+        }
+
+        Cursor cursor = cursor();
+        while (cursor.advance()) {
+            if (!other.containsKey(cursor.key()) || other.get(cursor.key()) != cursor.value()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        Cursor cursor = cursor();
+        while (cursor.advance()) {
+            result += cursor.key() ^ cursor.value();
+        }
+        return result;
+    }
+}
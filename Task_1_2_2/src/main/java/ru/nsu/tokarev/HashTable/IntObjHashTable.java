@@ -0,0 +1,307 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+public class IntObjHashTable<V> {
+    public class Cursor {
+        private final int expectedModCount;
+        private int slot;
+        private boolean zeroKeyPending;
+        private int key;
+        private V value;
+
+        Cursor() {
+            this.expectedModCount = modCount;
+            this.slot = -1;
+            this.zeroKeyPending = hasZeroKey;
+        }
+
+        public boolean advance() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (zeroKeyPending) {
+                zeroKeyPending = false;
+                key = FREE_KEY;
+                value = zeroValue;
+                return true;
+            }
+            slot++;
+            while (slot < keys.length) {
+                if (keys[slot] != FREE_KEY) {
+                    key = keys[slot];
+                    value = (V) values[slot];
+                    return true;
+                }
+                slot++;
+            }
+            return false;
+        }
+
+        public int key() {
+            checkPosition();
+            return key;
+        }
+
+        public V value() {
+            checkPosition();
+            return value;
+        }
+
+        public void setValue(V value) {
+            checkPosition();
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            this.value = value;
+            if (slot < 0) {
+                zeroValue = value;
+            } else {
+                values[slot] = value;
+            }
+        }
+
+        private void checkPosition() {
+            if (zeroKeyPending || (slot < 0 && !hasZeroKey) || slot >= keys.length) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    // Пустой слот и ключ 0 - как в IntIntHashTable.
+    private static final int FREE_KEY = 0;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+    private boolean hasZeroKey;
+    private V zeroValue;
+    private int size;
+    private int modCount;
+
+    public IntObjHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntObjHashTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+        }
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    public V put(int key, V value) {
+        if (key == FREE_KEY) {
+            V oldValue = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+                modCount++;
+                return null;
+            }
+            return oldValue;
+        }
+
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                V oldValue = (V) values[slot];
+                values[slot] = value;
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        modCount++;
+
+        if (size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    public V get(int key) {
+        if (key == FREE_KEY) {
+            return zeroValue;
+        }
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public V remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            modCount++;
+            return oldValue;
+        }
+
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+
+        V oldValue = (V) values[slot];
+        shiftKeys(slot);
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    public V update(int key, V value) {
+        return put(key, value);
+    }
+
+    public boolean containsKey(int key) {
+        return key == FREE_KEY ? hasZeroKey : find(key) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private int find(int key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftKeys(int slot) {
+        // Обратный сдвиг как в IntIntHashTable; освободившаяся ссылка на значение обнуляется для GC.
+        int last = slot;
+        int current = (slot + 1) & mask;
+        while (keys[current] != FREE_KEY) {
+            int home = hash(keys[current]) & mask;
+            if (last <= current ? (home <= last || home > current) : (home <= last && home > current)) {
+                keys[last] = keys[current];
+                values[last] = values[current];
+                last = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[last] = FREE_KEY;
+        values[last] = null;
+    }
+
+    private void resize() {
+        if (keys.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Hash table is full.");
+        }
+
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        modCount++;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != FREE_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        Cursor cursor = cursor();
+        boolean first = true;
+        while (cursor.advance()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            sb.append(cursor.key()).append("=").append(cursor.value() == this ? "(this Map)" : cursor.value());
+            first = false;
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (this == ob) {
+            return true;
+        }
+
+        if (!(ob instanceof IntObjHashTable)) {
+            return false;
+        }
+
+        IntObjHashTable<V> other = (IntObjHashTable<V>) ob;
+        if (this.size != other.size) {
+            return false;
+        }
+
+        Cursor cursor = cursor();
+        while (cursor.advance()) {
+            if (!other.containsKey(cursor.key()) || !Objects.equals(other.get(cursor.key()), cursor.value())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        Cursor cursor = cursor();
+        while (cursor.advance()) {
+            result += cursor.key() ^ Objects.hashCode(cursor.value());
+        }
+        return result;
+    }
+}
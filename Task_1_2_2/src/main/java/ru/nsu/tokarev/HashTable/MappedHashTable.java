@@ -0,0 +1,298 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// Снимок HashTable, отображённый в память только для чтения. Записи декодируются при обращении,
+// поэтому открытие не зависит от размера таблицы, а страницы подгружает ОС.
+public class MappedHashTable<K, V> implements Iterable<Entry<K, V>>, AutoCloseable {
+    private class ReadOnlyEntry extends Entry<K, V> {
+        ReadOnlyEntry(K key, V value, int hash) {
+            super(key, value, hash, null);
+        }
+
+        @Override
+        public void setValue(V value) {
+            throw new UnsupportedOperationException("Snapshot is read-only.");
+        }
+    }
+
+    private class MappedIterator implements Iterator<Entry<K, V>> {
+        private int nextSlot;
+
+        MappedIterator() {
+            this.nextSlot = findOccupied(0);
+        }
+
+        public boolean hasNext() {
+            return nextSlot < slotCount;
+        }
+
+        public Entry<K, V> next() {
+            checkOpen();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            long record = recordOffset(nextSlot);
+            K key = readKey(record);
+            Entry<K, V> entryToReturn = new ReadOnlyEntry(key,
+                    readValue(record, (key == null) ? 0 : keyCodec.sizeOf(key)), slotHash(nextSlot));
+            nextSlot = findOccupied(nextSlot + 1);
+            return entryToReturn;
+        }
+
+        private int findOccupied(int from) {
+            int slot = from;
+            while (slot < slotCount && slotHash(slot) == SnapshotFormat.EMPTY) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final HashStrategy<? super K> strategy;
+    private final int size;
+    private final int slotCount;
+    private ByteBuffer[] chunks;
+
+    private MappedHashTable(ByteBuffer[] chunks, Codec<K> keyCodec, Codec<V> valueCodec, HashStrategy<? super K> strategy) {
+        this.chunks = chunks;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.strategy = strategy;
+        this.size = chunks[0].getInt(8);
+        this.slotCount = chunks[0].getInt(12);
+    }
+
+    public static <K, V> MappedHashTable<K, V> loadFrom(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        return loadFrom(path, keyCodec, valueCodec, HashStrategy.DEFAULT);
+    }
+
+    // Стратегия должна совпадать с той, что была у сохранённой таблицы: хеши в индексе посчитаны ею.
+    public static <K, V> MappedHashTable<K, V> loadFrom(Path path, Codec<K> keyCodec, Codec<V> valueCodec,
+                                                        HashStrategy<? super K> strategy) throws IOException {
+        if (keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Codec must not be null.");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Hash strategy must not be null.");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileLength = channel.size();
+            if (fileLength < SnapshotFormat.HEADER_SIZE) {
+                throw new IOException("Not a hash table snapshot: " + path);
+            }
+
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((fileLength + SnapshotFormat.CHUNK_SIZE - 1) >>> SnapshotFormat.CHUNK_SHIFT)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = (long) i << SnapshotFormat.CHUNK_SHIFT;
+                long length = Math.min(SnapshotFormat.CHUNK_SIZE, fileLength - start);
+                // Отображение остаётся действительным и после закрытия канала.
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                chunks[i] = chunk.order(SnapshotFormat.ORDER);
+            }
+
+            ByteBuffer header = chunks[0];
+            int slotCount = header.getInt(12);
+            boolean valid = header.getInt(0) == SnapshotFormat.MAGIC
+                    && header.getInt(4) == SnapshotFormat.VERSION
+                    && header.getInt(8) >= 0
+                    && slotCount > 0 && Integer.bitCount(slotCount) == 1
+                    && header.getLong(16) == SnapshotFormat.HEADER_SIZE + (long) slotCount * SnapshotFormat.SLOT_SIZE
+                    && header.getLong(24) == fileLength;
+            if (!valid) {
+                for (ByteBuffer chunk : chunks) {
+                    DirectBuffers.free(chunk);
+                }
+                throw new IOException("Not a hash table snapshot: " + path);
+            }
+            return new MappedHashTable<>(chunks, keyCodec, valueCodec, strategy);
+        }
+    }
+
+    public V get(K key) {
+        long record = find(key);
+        return record < 0 ? null : readValue(record);
+    }
+
+    public boolean containsKey(K key) {
+        return find(key) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Полная загрузка в кучу, когда нужна изменяемая таблица.
+    public HashTable<K, V> toHashTable() {
+        HashTable<K, V> table = new HashTable<>((int) Math.min(Integer.MAX_VALUE, (long) (size / 0.75f) + 1), strategy);
+        for (Entry<K, V> entry : this) {
+            table.put(entry.getKey(), entry.getValue());
+        }
+        return table;
+    }
+
+    @Override
+    public void close() {
+        if (chunks == null) {
+            return;
+        }
+        ByteBuffer[] mapped = chunks;
+        chunks = null;
+        for (ByteBuffer chunk : mapped) {
+            DirectBuffers.free(chunk);
+        }
+    }
+
+    private long find(K key) {
+        checkOpen();
+        int hash = SnapshotFormat.slotHash(HashTable.spread((key == null) ? 0 : strategy.hash(key)));
+        int mask = slotCount - 1;
+        int slot = hash & mask;
+        int currentHash;
+        while ((currentHash = slotHash(slot)) != SnapshotFormat.EMPTY) {
+            if (currentHash == hash) {
+                long record = recordOffset(slot);
+                K candidate = readKey(record);
+                if (candidate == key || (candidate != null && key != null && strategy.equals(candidate, key))) {
+                    return record;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotHash(int slot) {
+        long position = SnapshotFormat.HEADER_SIZE + (long) slot * SnapshotFormat.SLOT_SIZE;
+        return chunk(position).getInt(local(position));
+    }
+
+    private long recordOffset(int slot) {
+        long position = SnapshotFormat.HEADER_SIZE + (long) slot * SnapshotFormat.SLOT_SIZE + 8;
+        return chunk(position).getLong(local(position));
+    }
+
+    private K readKey(long record) {
+        ByteBuffer chunk = chunk(record);
+        int offset = local(record);
+        if ((chunk.get(offset) & SnapshotFormat.NULL_KEY) != 0) {
+            return null;
+        }
+        return keyCodec.read(chunk, offset + 1);
+    }
+
+    // Длина ключа берётся из записи: равный по стратегии ключ запроса может сериализоваться иначе.
+    private V readValue(long record) {
+        if (keyCodec.size() != Codec.VARIABLE_SIZE) {
+            return readValue(record, keyCodec.size());
+        }
+        K key = readKey(record);
+        return readValue(record, (key == null) ? 0 : keyCodec.sizeOf(key));
+    }
+
+    private V readValue(long record, int keyLength) {
+        ByteBuffer chunk = chunk(record);
+        int offset = local(record);
+        if ((chunk.get(offset) & SnapshotFormat.NULL_VALUE) != 0) {
+            return null;
+        }
+        return valueCodec.read(chunk, offset + 1 + keyLength);
+    }
+
+    private ByteBuffer chunk(long position) {
+        return chunks[(int) (position >>> SnapshotFormat.CHUNK_SHIFT)];
+    }
+
+    private static int local(long position) {
+        return (int) (position & (SnapshotFormat.CHUNK_SIZE - 1));
+    }
+
+    private void checkOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException("Snapshot is closed.");
+        }
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        checkOpen();
+        return new MappedIterator();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        Iterator<Entry<K, V>> it = iterator();
+        while (it.hasNext()) {
+            Entry<K, V> entry = it.next();
+
+            sb.append(entry.getKey());
+            sb.append("=");
+            sb.append(entry.getValue());
+
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (this == ob) {
+            return true;
+        }
+
+        if (!(ob instanceof MappedHashTable)) {
+            return false;
+        }
+
+        MappedHashTable<K, V> other = (MappedHashTable<K, V>) ob;
+
+        if (this.size != other.size()) {
+            return false;
+        }
+
+        try {
+            for (Entry<K, V> entry : this) {
+                long record = other.find(entry.getKey());
+                if (record < 0 || !Objects.equals(entry.getValue(), other.readValue(record))) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (Entry<K, V> entry : this) {
+            result += Objects.hashCode(entry.getKey()) ^ Objects.hashCode(entry.getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,462 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.nio.ByteBuffer;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// Открытая адресация в direct-буферах: слот = хеш, ключ и значение в сериализованном виде.
+// В куче остаются только массив сегментов и служебные поля, сколько бы элементов ни было.
+public class OffHeapHashTable<K, V> implements Iterable<Entry<K, V>>, AutoCloseable {
+    private class SlotEntry extends Entry<K, V> {
+        private final int slot;
+        private final int expectedModCount;
+
+        SlotEntry(int slot) {
+            super(readKey(slot), readValue(slot), hashAt(slot), null);
+            this.slot = slot;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public void setValue(V value) {
+            checkOpen();
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            checkValue(value);
+            super.setValue(value);
+            writeValue(slot, value);
+        }
+    }
+
+    private class OffHeapIterator implements Iterator<Entry<K, V>> {
+        private final int expectedModCount;
+        private int nextSlot;
+
+        OffHeapIterator() {
+            this.expectedModCount = modCount;
+            this.nextSlot = findOccupied(0);
+        }
+
+        public boolean hasNext() {
+            return nextSlot < capacity;
+        }
+
+        public Entry<K, V> next() {
+            checkOpen();
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Entry<K, V> entryToReturn = new SlotEntry(nextSlot);
+            nextSlot = findOccupied(nextSlot + 1);
+            return entryToReturn;
+        }
+
+        private int findOccupied(int from) {
+            int slot = from;
+            while (slot < capacity && hashAt(slot) == EMPTY) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+    // Хеш 0 зарезервирован под пустой слот, поэтому хранимые хеши всегда ненулевые.
+    private static final int EMPTY = 0;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    // Один ByteBuffer адресуется int-ом, поэтому большая таблица режется на сегменты.
+    private static final int MAXIMUM_SEGMENT_BYTES = 1 << 30;
+    private static final int HASH_BYTES = Integer.BYTES;
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final int keySize;
+    private final int slotSize;
+    private final ByteBuffer keyScratch;
+
+    private ByteBuffer[] segments;
+    private int segmentShift;
+    private int segmentMask;
+    private int capacity;
+    private int mask;
+    private int threshold;
+    private int size;
+    private int modCount;
+    private boolean closed;
+
+    public OffHeapHashTable(Codec<K> keyCodec, Codec<V> valueCodec) {
+        this(keyCodec, valueCodec, DEFAULT_CAPACITY);
+    }
+
+    public OffHeapHashTable(Codec<K> keyCodec, Codec<V> valueCodec, int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+        }
+        if (keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Codec must not be null.");
+        }
+        if (keyCodec.size() <= 0 || valueCodec.size() <= 0) {
+            throw new IllegalArgumentException("Codec size must be greater than zero.");
+        }
+
+        long slotBytes = (long) HASH_BYTES + keyCodec.size() + valueCodec.size();
+        if (slotBytes > MAXIMUM_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Entry does not fit into a memory segment.");
+        }
+
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.keySize = keyCodec.size();
+        this.slotSize = (int) slotBytes;
+        this.keyScratch = DirectBuffers.allocate(keySize);
+        this.segments = allocate(tableSizeFor(initialCapacity));
+    }
+
+    public V put(K key, V value) {
+        checkOpen();
+        checkKey(key);
+        checkValue(value);
+
+        int hash = hash(key);
+        encodeKey(key);
+        int slot = findEncoded(hash);
+        if (slot >= 0) {
+            V oldValue = readValue(slot);
+            writeValue(slot, value);
+            return oldValue;
+        }
+
+        if (size + 1 > threshold) {
+            resize();
+        }
+
+        slot = hash & mask;
+        while (hashAt(slot) != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        // Хеш пишется последним: если кодек значения бросит исключение, слот останется пустым.
+        ByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        writeValue(slot, value);
+        copyBytes(keyScratch, 0, segment, offset + HASH_BYTES, keySize);
+        segment.putInt(offset, hash);
+
+        size++;
+        modCount++;
+        return null;
+    }
+
+    public V get(K key) {
+        int slot = find(key);
+        return slot < 0 ? null : readValue(slot);
+    }
+
+    public V remove(K key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+
+        V oldValue = readValue(slot);
+        shiftSlots(slot);
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    public V update(K key, V value) {
+        return put(key, value);
+    }
+
+    public boolean containsKey(K key) {
+        return find(key) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long offHeapBytes() {
+        if (closed) {
+            return 0;
+        }
+        return (long) capacity * slotSize + keySize;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer segment : segments) {
+            DirectBuffers.free(segment);
+        }
+        DirectBuffers.free(keyScratch);
+        segments = new ByteBuffer[0];
+        capacity = 0;
+        size = 0;
+        modCount++;
+    }
+
+    private int find(K key) {
+        checkOpen();
+        if (key == null) {
+            return -1;
+        }
+        int hash = hash(key);
+        encodeKey(key);
+        return findEncoded(hash);
+    }
+
+    // Ищет ключ, уже записанный в keyScratch.
+    private int findEncoded(int hash) {
+        int slot = hash & mask;
+        int slotHash;
+        while ((slotHash = hashAt(slot)) != EMPTY) {
+            if (slotHash == hash && keyMatches(slot)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean keyMatches(int slot) {
+        ByteBuffer segment = segment(slot);
+        int offset = offset(slot) + HASH_BYTES;
+        int i = 0;
+        for (; i + Long.BYTES <= keySize; i += Long.BYTES) {
+            if (segment.getLong(offset + i) != keyScratch.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < keySize; i++) {
+            if (segment.get(offset + i) != keyScratch.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void shiftSlots(int slot) {
+        // Сдвиг без tombstone. Домашний слот берётся из хеша, сохранённого в слоте, так что ключ
+        // не перечитывается, а слот копируется целиком.
+        int last = slot;
+        int current = (slot + 1) & mask;
+        int currentHash;
+        while ((currentHash = hashAt(current)) != EMPTY) {
+            int home = currentHash & mask;
+            if (last <= current ? (home <= last || home > current) : (home <= last && home > current)) {
+                copyBytes(segment(current), offset(current), segment(last), offset(last), slotSize);
+                last = current;
+            }
+            current = (current + 1) & mask;
+        }
+        segment(last).putInt(offset(last), EMPTY);
+    }
+
+    private void resize() {
+        if (capacity == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Hash table is full.");
+        }
+
+        ByteBuffer[] oldSegments = segments;
+        int oldCapacity = capacity;
+        int oldShift = segmentShift;
+        int oldMask = segmentMask;
+
+        segments = allocate(oldCapacity * 2);
+        modCount++;
+
+        // Элементы переносятся байтами, без обратной десериализации.
+        for (int i = 0; i < oldCapacity; i++) {
+            ByteBuffer oldSegment = oldSegments[i >>> oldShift];
+            int oldOffset = (i & oldMask) * slotSize;
+            int hash = oldSegment.getInt(oldOffset);
+            if (hash == EMPTY) {
+                continue;
+            }
+            int slot = hash & mask;
+            while (hashAt(slot) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            copyBytes(oldSegment, oldOffset, segment(slot), offset(slot), slotSize);
+        }
+
+        for (ByteBuffer oldSegment : oldSegments) {
+            DirectBuffers.free(oldSegment);
+        }
+    }
+
+    private ByteBuffer[] allocate(int newCapacity) {
+        int slotsPerSegment = Math.min(newCapacity, Integer.highestOneBit(MAXIMUM_SEGMENT_BYTES / slotSize));
+        ByteBuffer[] newSegments = new ByteBuffer[newCapacity / slotsPerSegment];
+        for (int i = 0; i < newSegments.length; i++) {
+            // allocateDirect обнуляет память, то есть все слоты сразу пустые.
+            newSegments[i] = DirectBuffers.allocate(slotsPerSegment * slotSize);
+        }
+
+        this.capacity = newCapacity;
+        this.mask = newCapacity - 1;
+        this.threshold = (int) (newCapacity * LOAD_FACTOR);
+        this.segmentShift = Integer.numberOfTrailingZeros(slotsPerSegment);
+        this.segmentMask = slotsPerSegment - 1;
+        return newSegments;
+    }
+
+    private ByteBuffer segment(int slot) {
+        return segments[slot >>> segmentShift];
+    }
+
+    private int offset(int slot) {
+        return (slot & segmentMask) * slotSize;
+    }
+
+    private int hashAt(int slot) {
+        return segment(slot).getInt(offset(slot));
+    }
+
+    private K readKey(int slot) {
+        return keyCodec.read(segment(slot), offset(slot) + HASH_BYTES);
+    }
+
+    private V readValue(int slot) {
+        return valueCodec.read(segment(slot), offset(slot) + HASH_BYTES + keySize);
+    }
+
+    private void writeValue(int slot, V value) {
+        valueCodec.write(segment(slot), offset(slot) + HASH_BYTES + keySize, value);
+    }
+
+    private void encodeKey(K key) {
+        keyCodec.write(keyScratch, 0, key);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Hash table is closed.");
+        }
+    }
+
+    private static void checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Off-heap hash table does not store null keys.");
+        }
+    }
+
+    private static void checkValue(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Off-heap hash table does not store null values.");
+        }
+    }
+
+    private static void copyBytes(ByteBuffer from, int fromOffset, ByteBuffer to, int toOffset, int length) {
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            to.putLong(toOffset + i, from.getLong(fromOffset + i));
+        }
+        for (; i < length; i++) {
+            to.put(toOffset + i, from.get(fromOffset + i));
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return (h == EMPTY) ? 1 : h;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        checkOpen();
+        return new OffHeapIterator();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        Iterator<Entry<K, V>> it = iterator();
+        while (it.hasNext()) {
+            Entry<K, V> entry = it.next();
+
+            sb.append(entry.getKey());
+            sb.append("=");
+            sb.append(entry.getValue());
+
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (this == ob) {
+            return true;
+        }
+
+        if (!(ob instanceof OffHeapHashTable)) {
+            return false;
+        }
+
+        OffHeapHashTable<K, V> other = (OffHeapHashTable<K, V>) ob;
+
+        if (this.size != other.size()) {
+            return false;
+        }
+
+        try {
+            for (Entry<K, V> entry : this) {
+                if (!Objects.equals(entry.getValue(), other.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (Entry<K, V> entry : this) {
+            result += Objects.hashCode(entry.getKey()) ^ Objects.hashCode(entry.getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,336 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+public class OpenAddressingHashTable<K, V> implements Iterable<Entry<K, V>> {
+    private class SlotEntry extends Entry<K, V> {
+        private final int slot;
+        private final int expectedModCount;
+
+        SlotEntry(int slot) {
+            super((K) keys[slot], (V) values[slot], hashes[slot], null);
+            this.slot = slot;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public void setValue(V value) {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            super.setValue(value);
+            values[slot] = value;
+        }
+    }
+
+    private class OpenAddressingIterator implements Iterator<Entry<K, V>> {
+        private final int expectedModCount;
+        private int nextSlot;
+
+        OpenAddressingIterator() {
+            this.expectedModCount = modCount;
+            this.nextSlot = findOccupied(0);
+        }
+
+        public boolean hasNext() {
+            return nextSlot < hashes.length;
+        }
+
+        public Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Entry<K, V> entryToReturn = new SlotEntry(nextSlot);
+            nextSlot = findOccupied(nextSlot + 1);
+            return entryToReturn;
+        }
+
+        private int findOccupied(int from) {
+            int slot = from;
+            while (slot < hashes.length && hashes[slot] == EMPTY) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+    // Хеш 0 зарезервирован под пустой слот, поэтому хранимые хеши всегда ненулевые.
+    private static final int EMPTY = 0;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int mask;
+    private int threshold;
+    private int size;
+    private int modCount;
+
+    public OpenAddressingHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OpenAddressingHashTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+        }
+        allocate(tableSizeFor(initialCapacity));
+        this.size = 0;
+        this.modCount = 0;
+    }
+
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int slot = hash & mask;
+        int distance = 0;
+
+        while (hashes[slot] != EMPTY) {
+            int slotHash = hashes[slot];
+            if (slotHash == hash && Objects.equals(keys[slot], key)) {
+                V oldValue = (V) values[slot];
+                values[slot] = value;
+                return oldValue;
+            }
+            if (probeDistance(slotHash, slot) < distance) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+
+        if (size + 1 > threshold) {
+            resize();
+            slot = hash & mask;
+            distance = 0;
+        }
+
+        insert(slot, distance, hash, key, value);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    public V get(K key) {
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public V remove(K key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+
+        V oldValue = (V) values[slot];
+
+        // Обратный сдвиг: подтягиваем хвост кластера вместо установки tombstone.
+        int next = (slot + 1) & mask;
+        while (hashes[next] != EMPTY && probeDistance(hashes[next], next) != 0) {
+            hashes[slot] = hashes[next];
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        hashes[slot] = EMPTY;
+        keys[slot] = null;
+        values[slot] = null;
+
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    public V update(K key, V value) {
+        return put(key, value);
+    }
+
+    public boolean containsKey(K key) {
+        return find(key) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int capacity() {
+        return hashes.length;
+    }
+
+    private int find(K key) {
+        int hash = hash(key);
+        int slot = hash & mask;
+        int distance = 0;
+
+        while (hashes[slot] != EMPTY) {
+            int slotHash = hashes[slot];
+            if (slotHash == hash && Objects.equals(keys[slot], key)) {
+                return slot;
+            }
+            // Robin Hood: если чужой элемент ближе к своему месту, чем мы, ключа в таблице нет.
+            if (probeDistance(slotHash, slot) < distance) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+
+        return -1;
+    }
+
+    private void insert(int slot, int distance, int hash, Object key, Object value) {
+        while (hashes[slot] != EMPTY) {
+            int slotDistance = probeDistance(hashes[slot], slot);
+            if (slotDistance < distance) {
+                int displacedHash = hashes[slot];
+                Object displacedKey = keys[slot];
+                Object displacedValue = values[slot];
+
+                hashes[slot] = hash;
+                keys[slot] = key;
+                values[slot] = value;
+
+                hash = displacedHash;
+                key = displacedKey;
+                value = displacedValue;
+                distance = slotDistance;
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+
+        hashes[slot] = hash;
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    private void resize() {
+        if (hashes.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Hash table is full.");
+        }
+
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        allocate(oldHashes.length * 2);
+        modCount++;
+
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                insert(oldHashes[i] & mask, 0, oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.hashes = new int[capacity];
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int probeDistance(int hash, int slot) {
+        return (slot - (hash & mask)) & mask;
+    }
+
+    private static int hash(Object key) {
+        int h = (key == null) ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x9E3779B9;
+        h ^= (h >>> 16);
+        return (h == EMPTY) ? 1 : h;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new OpenAddressingIterator();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        Iterator<Entry<K, V>> it = iterator();
+        while (it.hasNext()) {
+            Entry<K, V> entry = it.next();
+
+            sb.append(entry.getKey() == this ? "(this Map)" : entry.getKey());
+            sb.append("=");
+            sb.append(entry.getValue() == this ? "(this Map)" : entry.getValue());
+
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (this == ob) {
+            return true;
+        }
+
+        if (!(ob instanceof OpenAddressingHashTable)) {
+            return false;
+        }
+
+        OpenAddressingHashTable<K, V> other = (OpenAddressingHashTable<K, V>) ob;
+
+        if (this.size != other.size()) {
+            return false;
+        }
+
+        try {
+            for (int i = 0; i < hashes.length; i++) {
+                if (hashes[i] == EMPTY) {
+                    continue;
+                }
+                int otherSlot = other.find((K) keys[i]);
+                if (otherSlot < 0 || !Objects.equals(values[i], other.values[otherSlot])) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException | NullPointerException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != EMPTY) {
+                result += Objects.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,599 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// Неизменяемая хеш-таблица на префиксном дереве (HAMT в раскладке CHAMP). with/without копируют
+// только путь от корня до изменённого узла (не глубже 7 уровней), остальные узлы общие с прежней версией,
+// поэтому любая версия годится как согласованный снимок для читателей.
+public final class PersistentHashTable<K, V> implements Iterable<Entry<K, V>> {
+    private static final class ImmutableEntry<K, V> extends Entry<K, V> {
+        ImmutableEntry(K key, V value, int hash) {
+            super(key, value, hash, null);
+        }
+
+        @Override
+        public void setValue(V value) {
+            throw new UnsupportedOperationException("Persistent hash table is immutable.");
+        }
+    }
+
+    // Сообщает вызывающему, изменилось ли число элементов.
+    private static final class Change {
+        boolean sizeChanged;
+    }
+
+    private abstract static class Node<K, V> {
+        abstract Object find(K key, int hash, int shift);
+
+        abstract Node<K, V> put(Object edit, K key, V value, int hash, int shift, Change change);
+
+        abstract Node<K, V> remove(Object edit, K key, int hash, int shift, Change change);
+
+        abstract int payloadArity();
+
+        abstract K keyAt(int index);
+
+        abstract V valueAt(int index);
+
+        abstract int nodeArity();
+
+        abstract Node<K, V> nodeAt(int index);
+    }
+
+    // Элементы хранятся парами ключ-значение в начале content, дочерние узлы - в конце в обратном порядке.
+    // dataMap и nodeMap отмечают, какие из 32 фрагментов хеша заняты элементом, а какие поддеревом.
+    private static final class BitmapNode<K, V> extends Node<K, V> {
+        private final Object edit;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+
+        BitmapNode(Object edit, int dataMap, int nodeMap, Object[] content) {
+            this.edit = edit;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        Object find(K key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = 2 * dataIndex(bit);
+                return Objects.equals(key, content[index]) ? content[index + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return nodeFor(bit).find(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node<K, V> put(Object edit, K key, V value, int hash, int shift, Change change) {
+            int bit = bit(hash, shift);
+
+            if ((dataMap & bit) != 0) {
+                int index = 2 * dataIndex(bit);
+                K existingKey = (K) content[index];
+                if (Objects.equals(existingKey, key)) {
+                    if (content[index + 1] == value) {
+                        return this;
+                    }
+                    BitmapNode<K, V> node = editable(edit);
+                    node.content[index + 1] = value;
+                    return node;
+                }
+
+                Node<K, V> subNode = mergeTwo(edit, existingKey, (V) content[index + 1], hashOf(existingKey),
+                        key, value, hash, shift + BITS);
+                change.sizeChanged = true;
+                return migrateInlineToNode(edit, bit, subNode);
+            }
+
+            if ((nodeMap & bit) != 0) {
+                Node<K, V> subNode = nodeFor(bit);
+                Node<K, V> newSubNode = subNode.put(edit, key, value, hash, shift + BITS, change);
+                return (newSubNode == subNode) ? this : setNode(edit, bit, newSubNode);
+            }
+
+            change.sizeChanged = true;
+            return insertValue(edit, bit, key, value);
+        }
+
+        @Override
+        Node<K, V> remove(Object edit, K key, int hash, int shift, Change change) {
+            int bit = bit(hash, shift);
+
+            if ((dataMap & bit) != 0) {
+                int index = 2 * dataIndex(bit);
+                if (!Objects.equals(content[index], key)) {
+                    return this;
+                }
+                change.sizeChanged = true;
+                return removeValue(edit, bit);
+            }
+
+            if ((nodeMap & bit) != 0) {
+                Node<K, V> subNode = nodeFor(bit);
+                Node<K, V> newSubNode = subNode.remove(edit, key, hash, shift + BITS, change);
+                if (newSubNode == subNode) {
+                    return this;
+                }
+                // Поддерево из одного элемента поднимается в родителя, чтобы форма дерева не зависела от истории.
+                if (newSubNode.nodeArity() == 0 && newSubNode.payloadArity() == 1) {
+                    return migrateNodeToInline(edit, bit, newSubNode.keyAt(0), newSubNode.valueAt(0));
+                }
+                return setNode(edit, bit, newSubNode);
+            }
+
+            return this;
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        K keyAt(int index) {
+            return (K) content[2 * index];
+        }
+
+        @Override
+        V valueAt(int index) {
+            return (V) content[2 * index + 1];
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Node<K, V> nodeAt(int index) {
+            return (Node<K, V>) content[content.length - 1 - index];
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        private Node<K, V> nodeFor(int bit) {
+            return nodeAt(nodeIndex(bit));
+        }
+
+        // Узел, созданный тем же builder-ом, меняется на месте, остальные копируются.
+        private BitmapNode<K, V> editable(Object edit) {
+            if (edit != null && this.edit == edit) {
+                return this;
+            }
+            return new BitmapNode<>(edit, dataMap, nodeMap, content.clone());
+        }
+
+        private BitmapNode<K, V> withContent(Object edit, int newDataMap, int newNodeMap, Object[] newContent) {
+            if (edit != null && this.edit == edit) {
+                dataMap = newDataMap;
+                nodeMap = newNodeMap;
+                content = newContent;
+                return this;
+            }
+            return new BitmapNode<>(edit, newDataMap, newNodeMap, newContent);
+        }
+
+        private BitmapNode<K, V> setNode(Object edit, int bit, Node<K, V> node) {
+            BitmapNode<K, V> editable = editable(edit);
+            editable.content[content.length - 1 - nodeIndex(bit)] = node;
+            return editable;
+        }
+
+        private BitmapNode<K, V> insertValue(Object edit, int bit, K key, V value) {
+            int index = 2 * dataIndex(bit);
+            Object[] newContent = new Object[content.length + 2];
+            System.arraycopy(content, 0, newContent, 0, index);
+            newContent[index] = key;
+            newContent[index + 1] = value;
+            System.arraycopy(content, index, newContent, index + 2, content.length - index);
+            return withContent(edit, dataMap | bit, nodeMap, newContent);
+        }
+
+        private BitmapNode<K, V> removeValue(Object edit, int bit) {
+            int index = 2 * dataIndex(bit);
+            Object[] newContent = new Object[content.length - 2];
+            System.arraycopy(content, 0, newContent, 0, index);
+            System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+            return withContent(edit, dataMap ^ bit, nodeMap, newContent);
+        }
+
+        private BitmapNode<K, V> migrateInlineToNode(Object edit, int bit, Node<K, V> node) {
+            int oldIndex = 2 * dataIndex(bit);
+            int newIndex = content.length - 2 - nodeIndex(bit);
+            Object[] newContent = new Object[content.length - 1];
+            System.arraycopy(content, 0, newContent, 0, oldIndex);
+            System.arraycopy(content, oldIndex + 2, newContent, oldIndex, newIndex - oldIndex);
+            newContent[newIndex] = node;
+            System.arraycopy(content, newIndex + 2, newContent, newIndex + 1, content.length - newIndex - 2);
+            return withContent(edit, dataMap ^ bit, nodeMap | bit, newContent);
+        }
+
+        private BitmapNode<K, V> migrateNodeToInline(Object edit, int bit, K key, V value) {
+            int oldIndex = content.length - 1 - nodeIndex(bit);
+            int newIndex = 2 * dataIndex(bit);
+            Object[] newContent = new Object[content.length + 1];
+            System.arraycopy(content, 0, newContent, 0, newIndex);
+            newContent[newIndex] = key;
+            newContent[newIndex + 1] = value;
+            System.arraycopy(content, newIndex, newContent, newIndex + 2, oldIndex - newIndex);
+            System.arraycopy(content, oldIndex + 1, newContent, oldIndex + 2, content.length - oldIndex - 1);
+            return withContent(edit, dataMap | bit, nodeMap ^ bit, newContent);
+        }
+    }
+
+    // Полное совпадение 32-битных хешей: дальше делить нечего, ключи лежат списком.
+    private static final class CollisionNode<K, V> extends Node<K, V> {
+        private final int hash;
+        private final K[] keys;
+        private final V[] values;
+
+        CollisionNode(int hash, K[] keys, V[] values) {
+            this.hash = hash;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        Object find(K key, int hash, int shift) {
+            int index = indexOf(key);
+            return (index < 0) ? NOT_FOUND : values[index];
+        }
+
+        @Override
+        Node<K, V> put(Object edit, K key, V value, int hash, int shift, Change change) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (values[index] == value) {
+                    return this;
+                }
+                V[] newValues = values.clone();
+                newValues[index] = value;
+                return new CollisionNode<>(hash, keys, newValues);
+            }
+
+            K[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+            V[] newValues = Arrays.copyOf(values, values.length + 1);
+            newKeys[keys.length] = key;
+            newValues[values.length] = value;
+            change.sizeChanged = true;
+            return new CollisionNode<>(hash, newKeys, newValues);
+        }
+
+        @Override
+        Node<K, V> remove(Object edit, K key, int hash, int shift, Change change) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+
+            K[] newKeys = Arrays.copyOf(keys, keys.length - 1);
+            V[] newValues = Arrays.copyOf(values, values.length - 1);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+            change.sizeChanged = true;
+            return new CollisionNode<>(hash, newKeys, newValues);
+        }
+
+        @Override
+        int payloadArity() {
+            return keys.length;
+        }
+
+        @Override
+        K keyAt(int index) {
+            return keys[index];
+        }
+
+        @Override
+        V valueAt(int index) {
+            return values[index];
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        Node<K, V> nodeAt(int index) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        private int indexOf(K key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (Objects.equals(keys[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    // Обход в глубину: сначала элементы узла, затем его поддеревья.
+    private static final class NodeIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Node<K, V>[] nodes = new Node[MAXIMUM_DEPTH];
+        private final int[] nodeCursors = new int[MAXIMUM_DEPTH];
+        private int depth;
+        private Node<K, V> payloadNode;
+        private int payloadCursor;
+
+        NodeIterator(Node<K, V> root) {
+            nodes[0] = root;
+            payloadNode = root;
+            findNextPayload();
+        }
+
+        public boolean hasNext() {
+            return payloadNode != null;
+        }
+
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            K key = payloadNode.keyAt(payloadCursor);
+            Entry<K, V> entryToReturn = new ImmutableEntry<>(key, payloadNode.valueAt(payloadCursor), hashOf(key));
+            payloadCursor++;
+            findNextPayload();
+            return entryToReturn;
+        }
+
+        private void findNextPayload() {
+            while (payloadNode != null && payloadCursor >= payloadNode.payloadArity()) {
+                payloadNode = null;
+                while (depth >= 0) {
+                    Node<K, V> node = nodes[depth];
+                    if (nodeCursors[depth] < node.nodeArity()) {
+                        Node<K, V> child = node.nodeAt(nodeCursors[depth]++);
+                        depth++;
+                        nodes[depth] = child;
+                        nodeCursors[depth] = 0;
+                        payloadNode = child;
+                        payloadCursor = 0;
+                        break;
+                    }
+                    depth--;
+                }
+            }
+        }
+    }
+
+    // Изменяемая сборка: узлы, созданные этим builder-ом, правятся на месте без копирования.
+    public static final class Builder<K, V> {
+        private Object edit = new Object();
+        private Node<K, V> root;
+        private int size;
+
+        private Builder(PersistentHashTable<K, V> source) {
+            this.root = source.root;
+            this.size = source.size;
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            Change change = new Change();
+            root = root.put(edit, key, value, hashOf(key), 0, change);
+            if (change.sizeChanged) {
+                size++;
+            }
+            return this;
+        }
+
+        public Builder<K, V> remove(K key) {
+            Change change = new Change();
+            root = root.remove(edit, key, hashOf(key), 0, change);
+            if (change.sizeChanged) {
+                size--;
+            }
+            return this;
+        }
+
+        public V get(K key) {
+            Object value = root.find(key, hashOf(key), 0);
+            return (value == NOT_FOUND) ? null : (V) value;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Готовая таблица больше не связана с builder-ом: дальнейшие правки снова копируют узлы.
+        public PersistentHashTable<K, V> build() {
+            edit = new Object();
+            return new PersistentHashTable<>(root, size);
+        }
+    }
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAXIMUM_DEPTH = 8;
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentHashTable<?, ?> EMPTY =
+            new PersistentHashTable<>(new BitmapNode<>(null, 0, 0, new Object[0]), 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentHashTable(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <K, V> PersistentHashTable<K, V> empty() {
+        return (PersistentHashTable<K, V>) EMPTY;
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>(empty());
+    }
+
+    public static <K, V> PersistentHashTable<K, V> copyOf(HashTable<? extends K, ? extends V> table) {
+        Builder<K, V> builder = builder();
+        for (Entry<? extends K, ? extends V> entry : table) {
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    public PersistentHashTable<K, V> with(K key, V value) {
+        Change change = new Change();
+        Node<K, V> newRoot = root.put(null, key, value, hashOf(key), 0, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashTable<>(newRoot, change.sizeChanged ? size + 1 : size);
+    }
+
+    public PersistentHashTable<K, V> without(K key) {
+        Change change = new Change();
+        Node<K, V> newRoot = root.remove(null, key, hashOf(key), 0, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashTable<>(newRoot, size - 1);
+    }
+
+    public V get(K key) {
+        Object value = root.find(key, hashOf(key), 0);
+        return (value == NOT_FOUND) ? null : (V) value;
+    }
+
+    public boolean containsKey(K key) {
+        return root.find(key, hashOf(key), 0) != NOT_FOUND;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public HashTable<K, V> toHashTable() {
+        HashTable<K, V> table = new HashTable<>();
+        table.ensureCapacity(size);
+        for (Entry<K, V> entry : this) {
+            table.put(entry.getKey(), entry.getValue());
+        }
+        return table;
+    }
+
+    private static <K, V> Node<K, V> mergeTwo(Object edit, K firstKey, V firstValue, int firstHash,
+                                              K secondKey, V secondValue, int secondHash, int shift) {
+        if (shift >= Integer.SIZE) {
+            K[] keys = (K[]) new Object[] {firstKey, secondKey};
+            V[] values = (V[]) new Object[] {firstValue, secondValue};
+            return new CollisionNode<>(firstHash, keys, values);
+        }
+
+        int firstFragment = fragment(firstHash, shift);
+        int secondFragment = fragment(secondHash, shift);
+        if (firstFragment != secondFragment) {
+            int dataMap = (1 << firstFragment) | (1 << secondFragment);
+            Object[] content = (firstFragment < secondFragment)
+                    ? new Object[] {firstKey, firstValue, secondKey, secondValue}
+                    : new Object[] {secondKey, secondValue, firstKey, firstValue};
+            return new BitmapNode<>(edit, dataMap, 0, content);
+        }
+
+        Node<K, V> subNode = mergeTwo(edit, firstKey, firstValue, firstHash, secondKey, secondValue, secondHash, shift + BITS);
+        return new BitmapNode<>(edit, 0, 1 << firstFragment, new Object[] {subNode});
+    }
+
+    private static int hashOf(Object key) {
+        return HashTable.spread(Objects.hashCode(key));
+    }
+
+    private static int fragment(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << fragment(hash, shift);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new NodeIterator<>(root);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        Iterator<Entry<K, V>> it = iterator();
+        while (it.hasNext()) {
+            Entry<K, V> entry = it.next();
+
+            sb.append(entry.getKey() == this ? "(this Map)" : entry.getKey());
+            sb.append("=");
+            sb.append(entry.getValue() == this ? "(this Map)" : entry.getValue());
+
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (this == ob) {
+            return true;
+        }
+
+        if (!(ob instanceof PersistentHashTable)) {
+            return false;
+        }
+
+        PersistentHashTable<K, V> other = (PersistentHashTable<K, V>) ob;
+
+        if (this.size != other.size) {
+            return false;
+        }
+        // Версии, у которых общий корень, равны без обхода.
+        if (this.root == other.root) {
+            return true;
+        }
+
+        for (Entry<K, V> entry : this) {
+            Object otherValue = other.root.find(entry.getKey(), entry.getHash(), 0);
+            if (otherValue == NOT_FOUND || !Objects.equals(entry.getValue(), otherValue)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (Entry<K, V> entry : this) {
+            result += Objects.hashCode(entry.getKey()) ^ Objects.hashCode(entry.getValue());
+        }
+        return result;
+    }
+}
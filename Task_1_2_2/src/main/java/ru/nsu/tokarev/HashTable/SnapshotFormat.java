@@ -0,0 +1,177 @@
+package ru.nsu.tokarev.HashTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Формат снимка HashTable:
+//   заголовок  [magic, version, size, slotCount: int] [dataStart, fileLength: long]
+//   индекс     slotCount слотов по 16 байт: [hash: int, 0: int, offset записи: long], hash 0 - пустой слот
+//   данные     записи [flags: byte, ключ, значение]; null-ключ и null-значение отмечаются во flags
+// Открытая адресация с линейным пробированием, как в OpenAddressingHashTable, но без перестановок.
+// Ни слот индекса, ни запись не пересекают границу CHUNK_SIZE, поэтому файл можно отображать кусками.
+final class SnapshotFormat {
+    static final int MAGIC = 0x48544231;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int SLOT_SIZE = 16;
+    static final int CHUNK_SHIFT = 30;
+    static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    static final int EMPTY = 0;
+    static final byte NULL_KEY = 1;
+    static final byte NULL_VALUE = 2;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAXIMUM_SLOTS = 1 << 30;
+
+    private SnapshotFormat() {
+    }
+
+    static int slotHash(int hash) {
+        return (hash == EMPTY) ? 1 : hash;
+    }
+
+    static int slotCountFor(int size) {
+        long slots = Math.max(2, (long) Math.ceil(size / 0.75) + 1);
+        if (slots > MAXIMUM_SLOTS) {
+            throw new IllegalArgumentException("Hash table is too large for a snapshot.");
+        }
+        return Integer.highestOneBit((int) slots - 1) << 1;
+    }
+
+    static <K, V> void write(Path path, Iterable<Entry<K, V>> entries, int size,
+                             Codec<? super K> keyCodec, Codec<? super V> valueCodec) throws IOException {
+        int slotCount = slotCountFor(size);
+        int mask = slotCount - 1;
+        int[] hashes = new int[slotCount];
+        long[] offsets = new long[slotCount];
+        int[] lengths = new int[size];
+        long dataStart = HEADER_SIZE + (long) slotCount * SLOT_SIZE;
+
+        // Первый проход раскладывает записи по файлу и заполняет индекс, второй пишет их в том же порядке.
+        long position = dataStart;
+        int written = 0;
+        for (Entry<K, V> entry : entries) {
+            if (written == size) {
+                throw new IllegalStateException("Hash table was modified while saving.");
+            }
+            int length = recordSize(entry, keyCodec, valueCodec);
+            lengths[written] = length;
+            position = alignRecord(position, length);
+
+            int hash = slotHash(entry.getHash());
+            int slot = hash & mask;
+            while (hashes[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            offsets[slot] = position;
+            position += length;
+            written++;
+        }
+        if (written != size) {
+            throw new IllegalStateException("Hash table was modified while saving.");
+        }
+        long fileLength = position;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ORDER);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(slotCount);
+            buffer.putLong(dataStart).putLong(fileLength);
+
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (buffer.remaining() < SLOT_SIZE) {
+                    flush(channel, buffer);
+                }
+                buffer.putInt(hashes[slot]).putInt(0).putLong(offsets[slot]);
+            }
+
+            position = dataStart;
+            int record = 0;
+            for (Entry<K, V> entry : entries) {
+                int length = lengths[record++];
+                long aligned = alignRecord(position, length);
+                for (; position < aligned; position++) {
+                    if (!buffer.hasRemaining()) {
+                        flush(channel, buffer);
+                    }
+                    buffer.put((byte) 0);
+                }
+
+                if (buffer.remaining() < length) {
+                    flush(channel, buffer);
+                }
+                ByteBuffer target = (length <= buffer.capacity()) ? buffer : ByteBuffer.allocate(length).order(ORDER);
+                writeRecord(target, entry, length, keyCodec, valueCodec);
+                if (target != buffer) {
+                    target.flip();
+                    writeFully(channel, target);
+                }
+                position += length;
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static <K, V> int recordSize(Entry<K, V> entry, Codec<? super K> keyCodec, Codec<? super V> valueCodec) {
+        long length = 1;
+        if (entry.getKey() != null) {
+            length += keyCodec.sizeOf(entry.getKey());
+        }
+        if (entry.getValue() != null) {
+            length += valueCodec.sizeOf(entry.getValue());
+        }
+        if (length > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Entry does not fit into a memory segment.");
+        }
+        return (int) length;
+    }
+
+    private static long alignRecord(long position, int length) {
+        long chunkEnd = (position & ~(CHUNK_SIZE - 1)) + CHUNK_SIZE;
+        return (position + length > chunkEnd) ? chunkEnd : position;
+    }
+
+    private static <K, V> void writeRecord(ByteBuffer buffer, Entry<K, V> entry, int length,
+                                           Codec<? super K> keyCodec, Codec<? super V> valueCodec) {
+        K key = entry.getKey();
+        V value = entry.getValue();
+        int position = buffer.position();
+        int end = position + length;
+
+        byte flags = 0;
+        if (key == null) {
+            flags |= NULL_KEY;
+        }
+        if (value == null) {
+            flags |= NULL_VALUE;
+        }
+        buffer.put(position++, flags);
+
+        // Значение лежит в конце записи, так что длину ключа второй раз считать не нужно.
+        if (key != null) {
+            keyCodec.write(buffer, position, key);
+        }
+        if (value != null) {
+            valueCodec.write(buffer, end - valueCodec.sizeOf(value), value);
+        }
+        buffer.position(end);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.nsu.tokarev.HashTable;
+
+// Счётчики статистики одной HashTable. Пишет и читает их только поток, работающий с таблицей;
+// другим потокам достаются неизменяемые снимки через HashTable.publishedStats.
+final class StatsRecorder {
+    static final int HISTOGRAM_LENGTH = 17;
+    private static final int LATENCY_BUCKETS = 64;
+    private static final int LOAD_SAMPLES = 1024;
+    private static final long LOAD_SAMPLE_PERIOD_NANOS = 1_000_000;
+    private static final long MIN_PUBLISH_INTERVAL = 4096;
+    private static final int PUBLISH_CAPACITY_FACTOR = 8;
+
+    private final long startTime = System.nanoTime();
+    private final int sampleMask;
+    private long operations;
+    private long lastPublishOperations;
+
+    private final long[] probeLengthHistogram = new long[HISTOGRAM_LENGTH];
+    private long resizeCount;
+    private long totalResizeNanos;
+    private long maxResizeNanos;
+
+    // Кольцевой буфер последних LOAD_SAMPLES замеров заполненности.
+    private final long[] loadFactorTimes = new long[LOAD_SAMPLES];
+    private final double[] loadFactors = new double[LOAD_SAMPLES];
+    private long loadSampleCount;
+    private long lastLoadSampleTime = Long.MIN_VALUE;
+
+    private final int operationCount = HashTableStats.Operation.values().length;
+    private final long[] sampledOperations = new long[operationCount];
+    private final long[] totalLatencyNanos = new long[operationCount];
+    private final long[] maxLatencyNanos = new long[operationCount];
+    private final long[][] latencyHistograms = new long[operationCount][LATENCY_BUCKETS];
+
+    StatsRecorder(int samplingInterval) {
+        this.sampleMask = samplingInterval - 1;
+    }
+
+    static int roundSamplingInterval(int interval) {
+        return (interval >= 1 << 30) ? 1 << 30 : Integer.highestOneBit(interval * 2 - 1);
+    }
+
+    int samplingInterval() {
+        return sampleMask + 1;
+    }
+
+    boolean shouldSample() {
+        return (operations++ & sampleMask) == 0;
+    }
+
+    // true не чаще, чем раз в max(PUBLISH_CAPACITY_FACTOR * capacity, MIN_PUBLISH_INTERVAL) операций:
+    // тогда обход корзин при публикации снимка в среднем добавляет к операции O(1).
+    boolean publishDue(int capacity) {
+        if (operations - lastPublishOperations < Math.max((long) PUBLISH_CAPACITY_FACTOR * capacity,
+                MIN_PUBLISH_INTERVAL)) {
+            return false;
+        }
+        lastPublishOperations = operations;
+        return true;
+    }
+
+    void recordOperation(HashTableStats.Operation operation, long startNanos, int probeLength, int size, int capacity) {
+        long now = System.nanoTime();
+        long latency = now - startNanos;
+        int index = operation.ordinal();
+        sampledOperations[index]++;
+        totalLatencyNanos[index] += latency;
+        maxLatencyNanos[index] = Math.max(maxLatencyNanos[index], latency);
+        latencyHistograms[index][Long.SIZE - Long.numberOfLeadingZeros(latency)]++;
+        probeLengthHistogram[Math.min(probeLength, HISTOGRAM_LENGTH - 1)]++;
+
+        if (now - lastLoadSampleTime >= LOAD_SAMPLE_PERIOD_NANOS) {
+            recordLoad(now, size, capacity);
+        }
+    }
+
+    void recordResize(long startNanos, int size, int capacity) {
+        long now = System.nanoTime();
+        long elapsed = now - startNanos;
+        resizeCount++;
+        totalResizeNanos += elapsed;
+        maxResizeNanos = Math.max(maxResizeNanos, elapsed);
+        recordLoad(now, size, capacity);
+    }
+
+    private void recordLoad(long now, int size, int capacity) {
+        int slot = (int) (loadSampleCount++ % LOAD_SAMPLES);
+        loadFactorTimes[slot] = now - startTime;
+        loadFactors[slot] = (double) size / capacity;
+        lastLoadSampleTime = now;
+    }
+
+    HashTableStats snapshot(int size, int capacity, long[] chainLengthHistogram) {
+        int loadSamples = (int) Math.min(loadSampleCount, LOAD_SAMPLES);
+        int first = (int) ((loadSampleCount - loadSamples) % LOAD_SAMPLES);
+        long[] times = new long[loadSamples];
+        double[] loads = new double[loadSamples];
+        for (int i = 0; i < loadSamples; i++) {
+            times[i] = loadFactorTimes[(first + i) % LOAD_SAMPLES];
+            loads[i] = loadFactors[(first + i) % LOAD_SAMPLES];
+        }
+
+        long[][] histograms = new long[operationCount][];
+        for (int i = 0; i < operationCount; i++) {
+            histograms[i] = latencyHistograms[i].clone();
+        }
+
+        return new HashTableStats(size, capacity, chainLengthHistogram, probeLengthHistogram.clone(),
+                resizeCount, totalResizeNanos, maxResizeNanos, times, loads, samplingInterval(),
+                sampledOperations.clone(), totalLatencyNanos.clone(), maxLatencyNanos.clone(), histograms);
+    }
+}
@@ -0,0 +1,241 @@
+package ru.nsu.tokarev.HashTable;
+
+// Корзина HashTable, превращённая в AVL-дерево. Сама служит маркером в массиве корзин,
+// её ключ и значение не используются.
+class TreeBin<K, V> extends Entry<K, V> {
+    private static final class TreeNode<K, V> {
+        final Entry<K, V> entry;
+        final int order;
+        TreeNode<K, V> left;
+        TreeNode<K, V> right;
+        int height = 1;
+
+        TreeNode(Entry<K, V> entry, int order) {
+            this.entry = entry;
+            this.order = order;
+        }
+    }
+
+    private final HashStrategy<? super K> strategy;
+    private TreeNode<K, V> root;
+    private int count;
+    private int nextOrder;
+
+    TreeBin(HashStrategy<? super K> strategy) {
+        super(null, null, 0, null);
+        this.strategy = strategy;
+    }
+
+    int count() {
+        return count;
+    }
+
+    Entry<K, V> find(K key, int hash) {
+        TreeNode<K, V> node = findNode(root, key, hash);
+        return (node == null) ? null : node.entry;
+    }
+
+    void insert(Entry<K, V> entry) {
+        entry.setNext(null);
+        root = insert(root, new TreeNode<>(entry, nextOrder++));
+        count++;
+    }
+
+    Entry<K, V> remove(K key, int hash) {
+        TreeNode<K, V> node = findNode(root, key, hash);
+        if (node == null) {
+            return null;
+        }
+        root = delete(root, node);
+        count--;
+        return node.entry;
+    }
+
+    Entry<K, V>[] entries() {
+        Entry<K, V>[] result = new Entry[count];
+        collect(root, result, 0);
+        return result;
+    }
+
+    // Обратно в обычную цепочку, когда корзина снова стала короткой.
+    Entry<K, V> toChain() {
+        Entry<K, V> head = null;
+        Entry<K, V>[] all = entries();
+        for (int i = all.length - 1; i >= 0; i--) {
+            all[i].setNext(head);
+            head = all[i];
+        }
+        return head;
+    }
+
+    private TreeNode<K, V> findNode(TreeNode<K, V> node, K key, int hash) {
+        while (node != null) {
+            int nodeHash = node.entry.getHash();
+            if (hash != nodeHash) {
+                node = (hash < nodeHash) ? node.left : node.right;
+                continue;
+            }
+
+            K nodeKey = node.entry.getKey();
+            if (keysEqual(key, nodeKey)) {
+                return node;
+            }
+
+            int cmp = compareComparable(key, nodeKey);
+            if (cmp != 0) {
+                node = (cmp < 0) ? node.left : node.right;
+                continue;
+            }
+
+            // Одинаковый хеш и несравнимые ключи: искомый узел может оказаться в любом поддереве.
+            TreeNode<K, V> found = findNode(node.left, key, hash);
+            if (found != null) {
+                return found;
+            }
+            node = node.right;
+        }
+        return null;
+    }
+
+    private TreeNode<K, V> insert(TreeNode<K, V> node, TreeNode<K, V> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compareNodes(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return balance(node);
+    }
+
+    private TreeNode<K, V> delete(TreeNode<K, V> node, TreeNode<K, V> target) {
+        if (node == target) {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            TreeNode<K, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            return balance(successor);
+        }
+
+        if (compareNodes(target, node) < 0) {
+            node.left = delete(node.left, target);
+        } else {
+            node.right = delete(node.right, target);
+        }
+        return balance(node);
+    }
+
+    private TreeNode<K, V> deleteMin(TreeNode<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private TreeNode<K, V> balance(TreeNode<K, V> node) {
+        updateHeight(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private TreeNode<K, V> rotateLeft(TreeNode<K, V> node) {
+        TreeNode<K, V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    private TreeNode<K, V> rotateRight(TreeNode<K, V> node) {
+        TreeNode<K, V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    private static int height(TreeNode<?, ?> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    private static void updateHeight(TreeNode<?, ?> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    private int collect(TreeNode<K, V> node, Entry<K, V>[] out, int position) {
+        if (node == null) {
+            return position;
+        }
+        position = collect(node.left, out, position);
+        out[position++] = node.entry;
+        return collect(node.right, out, position);
+    }
+
+    // Полный порядок узлов: хеш, затем compareTo для ключей одного Comparable-класса,
+    // затем имя класса и, наконец, порядок вставки.
+    private int compareNodes(TreeNode<K, V> first, TreeNode<K, V> second) {
+        int firstHash = first.entry.getHash();
+        int secondHash = second.entry.getHash();
+        if (firstHash != secondHash) {
+            return (firstHash < secondHash) ? -1 : 1;
+        }
+
+        K firstKey = first.entry.getKey();
+        K secondKey = second.entry.getKey();
+        int cmp = compareComparable(firstKey, secondKey);
+        if (cmp != 0) {
+            return cmp;
+        }
+
+        cmp = className(firstKey).compareTo(className(secondKey));
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Integer.compare(first.order, second.order);
+    }
+
+    private int compareComparable(K first, K second) {
+        // Своя стратегия может считать равными ключи, которые compareTo различает.
+        if (strategy != HashStrategy.DEFAULT || first == null || second == null
+                || first.getClass() != second.getClass() || !(first instanceof Comparable)) {
+            return 0;
+        }
+        try {
+            return ((Comparable<Object>) first).compareTo(second);
+        } catch (ClassCastException e) {
+            return 0;
+        }
+    }
+
+    private boolean keysEqual(K key, K other) {
+        return key == other || (key != null && other != null && strategy.equals(key, other));
+    }
+
+    private static String className(Object key) {
+        return (key == null) ? "" : key.getClass().getName();
+    }
+}
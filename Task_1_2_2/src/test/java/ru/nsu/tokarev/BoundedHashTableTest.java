@@ -0,0 +1,175 @@
+package ru.nsu.tokarev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.HashTable.BoundedHashTable;
+import ru.nsu.tokarev.HashTable.Entry;
+import ru.nsu.tokarev.HashTable.EvictionPolicy;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedHashTableTest {
+
+    private long now;
+    private BoundedHashTable<String, Integer> lru;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        lru = new BoundedHashTable<>(3);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedHashTable<String, String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedHashTable<String, String>(10, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoundedHashTable<String, String>(10, EvictionPolicy.LRU, Duration.ZERO));
+    }
+
+    @Test
+    void testLruEvictsLeastRecentlyUsed() {
+        lru.put("a", 1);
+        lru.put("b", 2);
+        lru.put("c", 3);
+        assertEquals(1, lru.get("a"));
+
+        lru.put("d", 4);
+
+        assertEquals(3, lru.size());
+        assertFalse(lru.containsKey("b"));
+        assertTrue(lru.containsKey("a"));
+        assertTrue(lru.containsKey("c"));
+        assertTrue(lru.containsKey("d"));
+        assertEquals(1, lru.evictionCount());
+    }
+
+    @Test
+    void testUpdateCountsAsAccess() {
+        lru.put("a", 1);
+        lru.put("b", 2);
+        lru.put("c", 3);
+        lru.put("a", 10);
+        lru.merge("b", 5, Integer::sum);
+
+        lru.put("d", 4);
+        assertFalse(lru.containsKey("c"));
+        assertEquals(10, lru.get("a"));
+        assertEquals(7, lru.get("b"));
+    }
+
+    @Test
+    void testHitMissCounters() {
+        lru.put("a", 1);
+        lru.get("a");
+        lru.get("a");
+        lru.get("missing");
+
+        assertEquals(2, lru.hitCount());
+        assertEquals(1, lru.missCount());
+        assertEquals(2.0 / 3, lru.hitRate(), 1e-9);
+    }
+
+    @Test
+    void testRemoveAndRemoveIfKeepQueuesConsistent() {
+        BoundedHashTable<Integer, Integer> table = new BoundedHashTable<>(100);
+        for (int i = 0; i < 100; i++) {
+            table.put(i, i);
+        }
+        table.remove(0);
+        table.removeIf((key, value) -> key % 2 == 1);
+        assertEquals(49, table.size());
+
+        for (int i = 100; i < 200; i++) {
+            table.put(i, i);
+        }
+        assertEquals(100, table.size());
+        // Самые старые оставшиеся ключи 2..98 вытеснены первыми.
+        assertFalse(table.containsKey(2));
+        assertTrue(table.containsKey(199));
+    }
+
+    @Test
+    void testTimeToLive() {
+        BoundedHashTable<String, Integer> table =
+                new BoundedHashTable<>(10, EvictionPolicy.LRU, Duration.ofSeconds(10), () -> now);
+        table.put("a", 1);
+        now = Duration.ofSeconds(5).toNanos();
+        table.put("b", 2);
+
+        now = Duration.ofSeconds(11).toNanos();
+        assertNull(table.get("a"));
+        assertFalse(table.containsKey("a"));
+        assertEquals(2, table.get("b"));
+        assertEquals(1, table.size());
+
+        table.put("b", 3);
+        now = Duration.ofSeconds(20).toNanos();
+        assertEquals(3, table.get("b"));
+        assertEquals(1, table.computeIfAbsent("a", key -> 1));
+
+        now = Duration.ofSeconds(40).toNanos();
+        table.cleanUp();
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    void testTinyLfuKeepsFrequentKeysUnderScan() {
+        BoundedHashTable<Integer, Integer> table = new BoundedHashTable<>(100, EvictionPolicy.W_TINY_LFU);
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 50; key++) {
+                if (table.get(key) == null) {
+                    table.put(key, key);
+                }
+            }
+        }
+
+        // Однократный проход по множеству новых ключей не должен вытеснить горячие.
+        for (int key = 1000; key < 11000; key++) {
+            if (table.get(key) == null) {
+                table.put(key, key);
+            }
+        }
+
+        int hot = 0;
+        for (int key = 0; key < 50; key++) {
+            if (table.containsKey(key)) {
+                hot++;
+            }
+        }
+        assertTrue(hot >= 45, "hot keys kept: " + hot);
+        assertTrue(table.size() <= 100);
+    }
+
+    @Test
+    void testRandomOperationsStayWithinBound() {
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            BoundedHashTable<Integer, Integer> table = new BoundedHashTable<>(64, policy);
+            Random random = new Random(3);
+            for (int i = 0; i < 50000; i++) {
+                int key = random.nextInt(500);
+                int operation = random.nextInt(10);
+                if (operation < 5) {
+                    Integer value = table.get(key);
+                    assertTrue(value == null || value == key);
+                } else if (operation < 9) {
+                    table.put(key, key);
+                } else {
+                    table.remove(key);
+                }
+                assertTrue(table.size() <= 64);
+            }
+
+            int count = 0;
+            for (Entry<Integer, Integer> entry : table) {
+                assertEquals(entry.getKey(), entry.getValue());
+                count++;
+            }
+            assertEquals(table.size(), count);
+            assertTrue(table.evictionCount() > 0);
+        }
+    }
+}
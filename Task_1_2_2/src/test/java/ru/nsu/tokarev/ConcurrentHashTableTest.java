@@ -0,0 +1,190 @@
+package ru.nsu.tokarev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.HashTable.ConcurrentHashTable;
+import ru.nsu.tokarev.HashTable.Entry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentHashTableTest {
+
+    private ConcurrentHashTable<String, Integer> hashTable;
+
+    @BeforeEach
+    void setUp() {
+        hashTable = new ConcurrentHashTable<>();
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentHashTable<String, String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentHashTable<String, String>(16, 0));
+    }
+
+    @Test
+    void testBasicOperations() {
+        assertTrue(hashTable.isEmpty());
+        assertNull(hashTable.put("key1", 1));
+        assertEquals(1, hashTable.put("key1", 10));
+        assertNull(hashTable.update("key2", 2));
+
+        assertEquals(2, hashTable.size());
+        assertEquals(10, hashTable.get("key1"));
+        assertTrue(hashTable.containsKey("key2"));
+        assertNull(hashTable.get("missing"));
+
+        assertEquals(2, hashTable.remove("key2"));
+        assertNull(hashTable.remove("key2"));
+        assertFalse(hashTable.containsKey("key2"));
+        assertEquals(1, hashTable.size());
+    }
+
+    @Test
+    void testNullKeysAndValues() {
+        hashTable.put(null, 1);
+        hashTable.put("key", null);
+
+        assertEquals(1, hashTable.get(null));
+        assertTrue(hashTable.containsKey("key"));
+        assertNull(hashTable.get("key"));
+        assertEquals(1, hashTable.remove(null));
+    }
+
+    @Test
+    void testResizeKeepsAllEntries() {
+        ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>(1, 4);
+
+        for (int i = 0; i < 10000; i++) {
+            table.put(i, i);
+        }
+
+        assertEquals(10000, table.size());
+        assertTrue(table.capacity() > 1024);
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, table.get(i));
+        }
+    }
+
+    @Test
+    void testIterationDuringResize() {
+        ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>(1, 1);
+        Set<Integer> seen = new HashSet<>();
+
+        for (int i = 0; i < 1000; i++) {
+            table.put(i, i);
+        }
+        // Итератор слабо согласован и не бросает ConcurrentModificationException
+        for (Entry<Integer, Integer> entry : table) {
+            seen.add(entry.getKey());
+            if (entry.getKey() < 100000) {
+                table.put(entry.getKey() + 100000, 0);
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(seen.contains(i));
+        }
+        assertEquals(2000, table.size());
+    }
+
+    @Test
+    void testConcurrentWriters() throws InterruptedException {
+        ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>(2, 8);
+        int threads = 8;
+        int perThread = 20000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    table.put(offset + i, offset + i);
+                }
+                for (int i = 0; i < perThread; i += 2) {
+                    table.remove(offset + i);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread / 2, table.size());
+        for (int i = 0; i < threads * perThread; i++) {
+            if (i % 2 == 0) {
+                assertFalse(table.containsKey(i));
+            } else {
+                assertEquals(i, table.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testReadersSeeStableKeysWhileWritersResize() throws InterruptedException {
+        ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>(1, 4);
+        for (int i = 0; i < 100; i++) {
+            table.put(-i - 1, i);
+        }
+
+        AtomicBoolean failed = new AtomicBoolean(false);
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                for (int i = 0; i < 100; i++) {
+                    Integer value = table.get(-i - 1);
+                    if (value == null || value != i) {
+                        failed.set(true);
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 100000; i++) {
+            table.put(i, i);
+        }
+        done.set(true);
+        reader.join();
+
+        assertFalse(failed.get());
+        assertEquals(100100, table.size());
+    }
+
+    @Test
+    void testEqualsHashCodeAndToString() {
+        ConcurrentHashTable<String, Integer> other = new ConcurrentHashTable<>();
+        hashTable.put("key1", 1);
+        hashTable.put("key2", 2);
+        other.put("key2", 2);
+        other.put("key1", 1);
+
+        assertTrue(hashTable.equals(other));
+        assertEquals(hashTable.hashCode(), other.hashCode());
+        assertTrue(hashTable.toString().contains("key1=1"));
+        assertTrue(hashTable.toString().contains("key2=2"));
+
+        other.put("key1", 5);
+        assertFalse(hashTable.equals(other));
+        assertFalse(hashTable.equals("string"));
+        assertEquals("{}", new ConcurrentHashTable<String, String>().toString());
+    }
+}
@@ -0,0 +1,127 @@
+package ru.nsu.tokarev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.HashTable.HashTable;
+import ru.nsu.tokarev.HashTable.HashTableStats;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashTableStatsTest {
+
+    private HashTable<Integer, Integer> hashTable;
+
+    @BeforeEach
+    void setUp() {
+        hashTable = new HashTable<>();
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        assertFalse(hashTable.isStatsEnabled());
+        assertThrows(IllegalStateException.class, () -> hashTable.stats());
+        assertThrows(IllegalArgumentException.class, () -> hashTable.enableStats(0));
+    }
+
+    @Test
+    void testResizesAreCounted() {
+        hashTable.enableStats();
+        for (int i = 0; i < 1000; i++) {
+            hashTable.put(i, i);
+        }
+
+        HashTableStats stats = hashTable.stats();
+        // 16 -> 2048: семь удвоений.
+        assertEquals(7, stats.resizeCount());
+        assertEquals(1000, stats.size());
+        assertEquals(2048, stats.capacity());
+        assertTrue(stats.totalResizeNanos() >= stats.maxResizeNanos());
+        assertTrue(stats.loadFactors().length >= 7);
+        assertEquals(stats.loadFactors().length, stats.loadFactorTimes().length);
+    }
+
+    @Test
+    void testChainLengthHistogramCoversAllBuckets() {
+        for (int i = 0; i < 100; i++) {
+            hashTable.put(i, i);
+        }
+        hashTable.enableStats();
+
+        long[] histogram = hashTable.stats().chainLengthHistogram();
+        long buckets = 0;
+        long entries = 0;
+        for (int length = 0; length < histogram.length; length++) {
+            buckets += histogram[length];
+            entries += length * histogram[length];
+        }
+        assertEquals(hashTable.stats().capacity(), buckets);
+        assertEquals(100, entries);
+    }
+
+    @Test
+    void testEveryOperationSampled() {
+        hashTable.enableStats(1);
+        for (int i = 0; i < 10; i++) {
+            hashTable.put(i, i);
+        }
+        for (int i = 0; i < 20; i++) {
+            hashTable.get(i);
+        }
+        hashTable.remove(0);
+
+        HashTableStats stats = hashTable.stats();
+        assertEquals(10, stats.sampledOperations(HashTableStats.Operation.PUT));
+        assertEquals(20, stats.sampledOperations(HashTableStats.Operation.GET));
+        assertEquals(1, stats.sampledOperations(HashTableStats.Operation.REMOVE));
+        assertTrue(stats.meanProbeLength() >= 0);
+        assertTrue(stats.latencyPercentileNanos(HashTableStats.Operation.GET, 99)
+                <= stats.maxLatencyNanos(HashTableStats.Operation.GET));
+    }
+
+    @Test
+    void testSamplingInterval() {
+        hashTable.enableStats(5);
+        assertEquals(8, hashTable.stats().samplingInterval());
+
+        for (int i = 0; i < 64; i++) {
+            hashTable.get(i);
+        }
+        assertEquals(8, hashTable.stats().sampledOperations(HashTableStats.Operation.GET));
+    }
+
+    @Test
+    void testDisableStats() {
+        hashTable.enableStats();
+        hashTable.disableStats();
+        hashTable.put(1, 1);
+        assertFalse(hashTable.isStatsEnabled());
+        assertEquals(1, hashTable.get(1));
+    }
+
+    @Test
+    void testMBean() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            hashTable.put(i, i);
+        }
+
+        ObjectName name = hashTable.registerStatsMBean("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertTrue(hashTable.isStatsEnabled());
+            assertEquals(100, server.getAttribute(name, "Size"));
+            assertEquals(256, server.getAttribute(name, "Capacity"));
+
+            // MBean видит снимок, опубликованный владельцем таблицы, а не живую таблицу.
+            hashTable.put(100, 100);
+            assertEquals(100, server.getAttribute(name, "Size"));
+            hashTable.stats();
+            assertEquals(101, server.getAttribute(name, "Size"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -3,17 +3,37 @@ package ru.nsu.tokarev;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import ru.nsu.tokarev.HashTable.HashStrategy;
 import ru.nsu.tokarev.HashTable.HashTable;
 import ru.nsu.tokarev.HashTable.Entry;
 
+import java.util.ArrayDeque;
 import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class HashTableTest {
 
+    private static final HashStrategy<String> CASE_INSENSITIVE = new HashStrategy<>() {
+        @Override
+        public int hash(String key) {
+            return key.toLowerCase().hashCode();
+        }
+
+        @Override
+        public boolean equals(String first, String second) {
+            return first.equalsIgnoreCase(second);
+        }
+    };
+
     private HashTable<String, Integer> hashTable;
     private HashTable<Integer, String> integerKeyTable;
 
@@ -289,6 +309,93 @@ class HashTableTest {
         assertTrue(result.contains("key=null"));
     }
 
+    @Test
+    void testEqualsAfterRemovals() {
+        HashTable<String, Integer> table1 = new HashTable<>();
+        HashTable<String, Integer> table2 = new HashTable<>();
+        for (int i = 0; i < 100; i++) {
+            table1.put("key" + i, i);
+        }
+        for (int i = 0; i < 50; i++) {
+            table2.put("key" + i, i);
+        }
+
+        // Сумма хешей ключей должна сойтись после удалений через remove и removeIf.
+        table1.removeIf((key, value) -> value >= 60);
+        for (int i = 50; i < 60; i++) {
+            table1.remove("key" + i);
+        }
+        assertTrue(table1.equals(table2));
+        assertEquals(table1.hashCode(), table2.hashCode());
+
+        table2.remove("key0");
+        table2.put("other", 0);
+        assertFalse(table1.equals(table2));
+    }
+
+    @Test
+    void testEqualsWithDifferentStrategies() {
+        HashTable<String, Integer> identity = new HashTable<>(16, HashStrategy.IDENTITY);
+        HashTable<String, Integer> byDefault = new HashTable<>();
+        String key = "key";
+        identity.put(key, 1);
+        byDefault.put(key, 1);
+
+        // Даже когда ключи совпадают для обеих стратегий, таблицы с разными стратегиями не равны.
+        assertFalse(identity.equals(byDefault));
+        assertFalse(byDefault.equals(identity));
+
+        HashTable<String, Integer> caseInsensitive = new HashTable<>(16, CASE_INSENSITIVE);
+        HashTable<String, Integer> upper = new HashTable<>();
+        caseInsensitive.put("a", 1);
+        upper.put("A", 1);
+        assertFalse(caseInsensitive.equals(upper));
+        assertFalse(upper.equals(caseInsensitive));
+    }
+
+    @Test
+    void testHashCodeWithCustomStrategy() {
+        HashTable<String, Integer> table1 = new HashTable<>(16, CASE_INSENSITIVE);
+        HashTable<String, Integer> table2 = new HashTable<>(16, CASE_INSENSITIVE);
+        table1.put("A", 1);
+        table2.put("a", 1);
+
+        // "A" и "a" равны для стратегии, но String.hashCode у них разный.
+        assertNotEquals("A".hashCode(), "a".hashCode());
+        assertTrue(table1.equals(table2));
+        assertTrue(table2.equals(table1));
+        assertEquals(table1.hashCode(), table2.hashCode());
+    }
+
+    @Test
+    void testHashCode() {
+        HashTable<String, Integer> table1 = new HashTable<>();
+        HashTable<String, Integer> table2 = new HashTable<>(1024);
+        for (int i = 0; i < 100; i++) {
+            table1.put("key" + i, i);
+            table2.put("key" + (99 - i), 99 - i);
+        }
+        assertEquals(table1.hashCode(), table2.hashCode());
+        assertEquals(0, new HashTable<String, Integer>().hashCode());
+
+        // Значение меняется в обход таблицы, но equals и hashCode это видят.
+        table1.iterator().next().setValue(-1);
+        assertFalse(table1.equals(table2));
+        assertNotEquals(table1.hashCode(), table2.hashCode());
+    }
+
+    @Test
+    void testWriteTo() throws Exception {
+        hashTable.put("key1", 1);
+        hashTable.put("key2", null);
+
+        StringBuilder out = new StringBuilder("table: ");
+        hashTable.writeTo(out);
+
+        assertEquals("table: " + hashTable.toString(), out.toString());
+        assertTrue(out.toString().contains("key2=null"));
+    }
+
     @Test
     void testCollisions() {
         HashTable<String, Integer> smallTable = new HashTable<>(2);
@@ -345,4 +452,574 @@ class HashTableTest {
             }
         }
     }
+
+    @Test
+    void testIncrementalResizeKeepsEntries() {
+        HashTable<Integer, String> table = new HashTable<>(4, true);
+        boolean sawResize = false;
+
+        for (int i = 0; i < 1000; i++) {
+            table.put(i, "value" + i);
+            sawResize |= table.isResizing();
+            // Во время переноса элемент может лежать в любой из двух таблиц
+            assertEquals("value" + (i / 2), table.get(i / 2));
+        }
+
+        assertTrue(sawResize);
+        assertEquals(1000, table.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value" + i, table.get(i));
+        }
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals("value" + i, table.remove(i));
+        }
+        assertEquals(500, table.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, table.containsKey(i));
+        }
+    }
+
+    @Test
+    void testIncrementalResizeUpdateAndRemoveInOldTable() {
+        HashTable<Integer, Integer> table = new HashTable<>(8, true);
+        int key = 0;
+        while (!table.isResizing()) {
+            table.put(key, key);
+            key++;
+        }
+
+        // Ключи ещё не перенесены: обновление и удаление должны найти их в старой таблице
+        for (int i = 0; i < key; i++) {
+            assertEquals(i, table.put(i, -i));
+        }
+        assertEquals(key, table.size());
+        for (int i = 0; i < key; i++) {
+            assertEquals(-i, table.remove(i));
+        }
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    void testIterationDuringIncrementalResize() {
+        HashTable<Integer, Integer> table = new HashTable<>(16, true);
+        int count = 0;
+        while (!table.isResizing()) {
+            table.put(count, count);
+            count++;
+        }
+        table.put(count, count);
+        count++;
+        assertTrue(table.isResizing());
+
+        Set<Integer> seen = new HashSet<>();
+        for (Entry<Integer, Integer> entry : table) {
+            assertTrue(seen.add(entry.getKey()));
+        }
+        assertEquals(count, seen.size());
+
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (Entry<Integer, Integer> entry : table) {
+                table.put(-1 - entry.getKey(), 0);
+            }
+        });
+    }
+
+    @Test
+    void testMinValueHashCode() {
+        // Раньше Math.abs(Integer.MIN_VALUE) % capacity давал отрицательный индекс
+        HashTable<Integer, String> table = new HashTable<>(3);
+        table.put(Integer.MIN_VALUE, "min");
+        table.put(Integer.MAX_VALUE, "max");
+
+        assertEquals("min", table.get(Integer.MIN_VALUE));
+        assertEquals("max", table.get(Integer.MAX_VALUE));
+        assertEquals("min", table.remove(Integer.MIN_VALUE));
+    }
+
+    @Test
+    void testKeysWithWeakLowBits() {
+        HashTable<Integer, Integer> table = new HashTable<>(1);
+        for (int i = 0; i < 5000; i++) {
+            table.put(i << 16, i);
+        }
+
+        assertEquals(5000, table.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i, table.get(i << 16));
+        }
+    }
+
+    @Test
+    void testCustomHashStrategy() {
+        HashTable<String, Integer> table = new HashTable<>(16, CASE_INSENSITIVE);
+
+        table.put("Key", 1);
+        assertEquals(1, table.put("KEY", 2));
+        assertEquals(1, table.size());
+        assertEquals(2, table.get("key"));
+        assertTrue(table.containsKey("kEy"));
+
+        table.put(null, 3);
+        assertEquals(3, table.get(null));
+        assertEquals(2, table.remove("KeY"));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testIdentityHashStrategy() {
+        HashTable<String, Integer> table = new HashTable<>(16, true, HashStrategy.IDENTITY);
+        String first = new String("key");
+        String second = new String("key");
+
+        table.put(first, 1);
+        table.put(second, 2);
+
+        assertEquals(2, table.size());
+        assertEquals(1, table.get(first));
+        assertEquals(2, table.get(second));
+        assertNull(table.get("other"));
+    }
+
+    @Test
+    void testNullHashStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> new HashTable<String, String>(16, null));
+    }
+
+    // Ключи с одинаковым hashCode: сравнимые и несравнимые.
+    private static final class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object ob) {
+            return ob instanceof CollidingKey && ((CollidingKey) ob).id == id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    private static final class OpaqueKey {
+        private final int id;
+
+        OpaqueKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public boolean equals(Object ob) {
+            return ob instanceof OpaqueKey && ((OpaqueKey) ob).id == id;
+        }
+    }
+
+    @Test
+    void testComparableCollisionsTreeify() {
+        HashTable<CollidingKey, Integer> table = new HashTable<>(64);
+        for (int i = 0; i < 1000; i++) {
+            assertNull(table.put(new CollidingKey(i), i));
+        }
+
+        assertEquals(1000, table.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, table.get(new CollidingKey(i)));
+        }
+        assertEquals(5, table.put(new CollidingKey(5), 500));
+        assertEquals(1000, table.size());
+        assertNull(table.get(new CollidingKey(1000)));
+        assertFalse(table.containsKey(new CollidingKey(-1)));
+    }
+
+    @Test
+    void testNonComparableCollisionsTreeify() {
+        HashTable<OpaqueKey, Integer> table = new HashTable<>(64);
+        for (int i = 0; i < 200; i++) {
+            table.put(new OpaqueKey(i), i);
+        }
+        table.put(null, -1);
+
+        assertEquals(201, table.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, table.get(new OpaqueKey(i)));
+        }
+        for (int i = 0; i < 200; i += 2) {
+            assertEquals(i, table.remove(new OpaqueKey(i)));
+        }
+        assertEquals(101, table.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), table.get(new OpaqueKey(i)));
+        }
+        assertEquals(-1, table.get(null));
+    }
+
+    @Test
+    void testStringCollisionsTreeify() {
+        // Все комбинации из "Aa" и "BB" одной длины имеют одинаковый hashCode.
+        HashTable<String, Integer> table = new HashTable<>(64);
+        String[] keys = new String[64];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int bit = 0; bit < 6; bit++) {
+                sb.append((i & (1 << bit)) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = sb.toString();
+            table.put(keys[i], i);
+        }
+
+        assertEquals(64, table.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, table.get(keys[i]));
+        }
+    }
+
+    @Test
+    void testTreeBinShrinksBackToChain() {
+        HashTable<CollidingKey, Integer> table = new HashTable<>(64);
+        for (int i = 0; i < 20; i++) {
+            table.put(new CollidingKey(i), i);
+        }
+        for (int i = 0; i < 18; i++) {
+            assertEquals(i, table.remove(new CollidingKey(i)));
+        }
+
+        assertEquals(2, table.size());
+        assertEquals(18, table.get(new CollidingKey(18)));
+        assertEquals(19, table.get(new CollidingKey(19)));
+
+        // После возврата к цепочке корзину снова можно превратить в дерево.
+        for (int i = 0; i < 18; i++) {
+            table.put(new CollidingKey(i), i);
+        }
+        assertEquals(20, table.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, table.get(new CollidingKey(i)));
+        }
+    }
+
+    @Test
+    void testIterationOverTreeBin() {
+        HashTable<CollidingKey, Integer> table = new HashTable<>(64);
+        for (int i = 0; i < 100; i++) {
+            table.put(new CollidingKey(i), i);
+        }
+        table.put(null, 100);
+
+        int count = 0;
+        int sum = 0;
+        for (Entry<CollidingKey, Integer> entry : table) {
+            sum += entry.getValue();
+            count++;
+        }
+        assertEquals(101, count);
+        assertEquals(5050, sum);
+
+        for (Entry<CollidingKey, Integer> entry : table) {
+            entry.setValue(0);
+        }
+        assertEquals(0, table.get(new CollidingKey(50)));
+
+        Iterator<Entry<CollidingKey, Integer>> iterator = table.iterator();
+        iterator.next();
+        table.remove(new CollidingKey(1));
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void testTreeBinSurvivesResize() {
+        for (boolean incremental : new boolean[] {false, true}) {
+            HashTable<Object, Integer> table = new HashTable<>(64, incremental);
+            for (int i = 0; i < 50; i++) {
+                table.put(new CollidingKey(i), i);
+            }
+            // Обычные ключи вызывают несколько расширений таблицы, дерево переносится вместе с ними.
+            for (int i = 0; i < 2000; i++) {
+                table.put(i, i);
+                if (i % 100 == 0) {
+                    table.put(new CollidingKey(i % 50), -i);
+                    table.remove(new CollidingKey(i % 50));
+                    table.put(new CollidingKey(i % 50), i % 50);
+                }
+            }
+
+            assertEquals(2050, table.size());
+            for (int i = 0; i < 50; i++) {
+                assertEquals(i, table.get(new CollidingKey(i)));
+            }
+            for (int i = 0; i < 2000; i++) {
+                assertEquals(i, table.get(i));
+            }
+
+            int count = 0;
+            for (Entry<Object, Integer> entry : table) {
+                count++;
+            }
+            assertEquals(2050, count);
+        }
+    }
+
+    @Test
+    void testPutAllFromHashTable() {
+        HashTable<String, Integer> source = new HashTable<>();
+        for (int i = 0; i < 1000; i++) {
+            source.put("key" + i, i);
+        }
+        hashTable.put("key0", -1);
+        hashTable.put("other", 5);
+
+        hashTable.putAll(source);
+
+        assertEquals(1001, hashTable.size());
+        assertEquals(0, hashTable.get("key0"));
+        assertEquals(999, hashTable.get("key999"));
+        assertEquals(5, hashTable.get("other"));
+
+        hashTable.putAll(hashTable);
+        assertEquals(1001, hashTable.size());
+    }
+
+    @Test
+    void testPutAllWithDifferentStrategy() {
+        HashTable<String, Integer> identity = new HashTable<>(16, HashStrategy.IDENTITY);
+        identity.put("a", 1);
+        identity.put("b", 2);
+
+        hashTable.putAll(identity);
+        assertEquals(1, hashTable.get(new String("a")));
+        assertEquals(2, hashTable.get(new String("b")));
+    }
+
+    @Test
+    void testPutAllFromMap() {
+        Map<String, Integer> map = new HashMap<>();
+        map.put("a", 1);
+        map.put(null, 2);
+
+        hashTable.putAll(map);
+        assertEquals(2, hashTable.size());
+        assertEquals(1, hashTable.get("a"));
+        assertEquals(2, hashTable.get(null));
+    }
+
+    @Test
+    void testEnsureCapacityKeepsEntries() {
+        for (boolean incremental : new boolean[] {false, true}) {
+            HashTable<Integer, Integer> table = new HashTable<>(4, incremental);
+            for (int i = 0; i < 10; i++) {
+                table.put(i, i);
+            }
+            table.ensureCapacity(100000);
+            table.ensureCapacity(-1);
+            for (int i = 10; i < 20000; i++) {
+                table.put(i, i);
+            }
+
+            assertEquals(20000, table.size());
+            for (int i = 0; i < 20000; i++) {
+                assertEquals(i, table.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testGetAll() {
+        hashTable.put("a", 1);
+        hashTable.put("b", null);
+        hashTable.put("c", 3);
+
+        String[] keys = {"a", "b", "missing", "c"};
+        Integer[] values = {0, 0, 0, 0, 42};
+        assertEquals(3, hashTable.getAll(keys, values));
+        assertArrayEquals(new Integer[] {1, null, null, 3, 42}, values);
+
+        assertThrows(IllegalArgumentException.class, () -> hashTable.getAll(keys, new Integer[2]));
+    }
+
+    @Test
+    void testRemoveIf() {
+        for (int i = 0; i < 1000; i++) {
+            integerKeyTable.put(i, "value" + i);
+        }
+        integerKeyTable.put(null, "null");
+
+        assertTrue(integerKeyTable.removeIf((key, value) -> key != null && key % 3 == 0));
+        assertFalse(integerKeyTable.removeIf((key, value) -> false));
+
+        assertEquals(667, integerKeyTable.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 3 != 0, integerKeyTable.containsKey(i));
+        }
+        assertEquals("null", integerKeyTable.get(null));
+
+        int count = 0;
+        for (Entry<Integer, String> entry : integerKeyTable) {
+            count++;
+        }
+        assertEquals(667, count);
+    }
+
+    @Test
+    void testRemoveIfDuringIncrementalResizeAndInTreeBins() {
+        HashTable<Object, Integer> table = new HashTable<>(64, true);
+        for (int i = 0; i < 40; i++) {
+            table.put(new CollidingKey(i), i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            table.put(i, i);
+        }
+
+        Iterator<Entry<Object, Integer>> iterator = table.iterator();
+        assertTrue(table.removeIf((key, value) -> value % 2 == 0));
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        assertEquals(520, table.size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i % 2 != 0, table.containsKey(new CollidingKey(i)));
+        }
+        assertTrue(table.removeIf((key, value) -> key instanceof CollidingKey));
+        assertEquals(500, table.size());
+        assertEquals(999, table.get(999));
+    }
+
+    @Test
+    void testCompute() {
+        assertEquals(1, hashTable.compute("a", (key, value) -> value == null ? 1 : value + 1));
+        assertEquals(2, hashTable.compute("a", (key, value) -> value == null ? 1 : value + 1));
+        assertEquals(2, hashTable.get("a"));
+
+        assertNull(hashTable.compute("a", (key, value) -> null));
+        assertFalse(hashTable.containsKey("a"));
+        assertNull(hashTable.compute("missing", (key, value) -> null));
+        assertEquals(0, hashTable.size());
+    }
+
+    @Test
+    void testComputeIfAbsentAndIfPresent() {
+        assertEquals(3, hashTable.computeIfAbsent("abc", String::length));
+        assertEquals(3, hashTable.computeIfAbsent("abc", key -> 100));
+        assertNull(hashTable.computeIfAbsent("none", key -> null));
+        assertFalse(hashTable.containsKey("none"));
+
+        hashTable.put("nullValue", null);
+        assertEquals(9, hashTable.computeIfAbsent("nullValue", String::length));
+
+        assertEquals(30, hashTable.computeIfPresent("abc", (key, value) -> value * 10));
+        assertNull(hashTable.computeIfPresent("missing", (key, value) -> 1));
+        assertFalse(hashTable.containsKey("missing"));
+        assertNull(hashTable.computeIfPresent("abc", (key, value) -> null));
+        assertFalse(hashTable.containsKey("abc"));
+        assertEquals(1, hashTable.size());
+    }
+
+    @Test
+    void testMerge() {
+        String[] words = {"a", "b", "a", "c", "a", "b"};
+        for (String word : words) {
+            hashTable.merge(word, 1, Integer::sum);
+        }
+
+        assertEquals(3, hashTable.get("a"));
+        assertEquals(2, hashTable.get("b"));
+        assertEquals(1, hashTable.get("c"));
+
+        assertNull(hashTable.merge("c", 1, (oldValue, value) -> null));
+        assertFalse(hashTable.containsKey("c"));
+        assertThrows(IllegalArgumentException.class, () -> hashTable.merge("a", null, Integer::sum));
+    }
+
+    @Test
+    void testComputeDetectsModification() {
+        hashTable.put("a", 1);
+        assertThrows(ConcurrentModificationException.class,
+                () -> hashTable.computeIfAbsent("b", key -> hashTable.put("c", 3)));
+        assertThrows(ConcurrentModificationException.class,
+                () -> hashTable.compute("a", (key, value) -> hashTable.remove("a")));
+    }
+
+    @Test
+    void testStreamAggregations() {
+        for (int i = 0; i < 10000; i++) {
+            integerKeyTable.put(i, "v" + i);
+        }
+
+        assertEquals(10000, integerKeyTable.stream().count());
+        assertEquals(49995000L, integerKeyTable.stream().mapToLong(Entry::getKey).sum());
+        assertEquals(49995000L, integerKeyTable.parallelStream().mapToLong(Entry::getKey).sum());
+        assertEquals(5000, integerKeyTable.parallelStream().filter(entry -> entry.getKey() % 2 == 0).count());
+    }
+
+    @Test
+    void testSpliteratorSplitsCoverEveryEntryOnce() {
+        HashTable<Object, Integer> table = new HashTable<>(64, true);
+        for (int i = 0; i < 20; i++) {
+            table.put(new CollidingKey(i), i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            table.put(i, i);
+        }
+        table.put(null, -1);
+
+        Spliterator<Entry<Object, Integer>> spliterator = table.spliterator();
+        assertEquals(3021, spliterator.estimateSize());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT));
+
+        Set<Object> seen = new HashSet<>();
+        int[] count = {0};
+        Deque<Spliterator<Entry<Object, Integer>>> parts = new ArrayDeque<>();
+        parts.push(spliterator);
+        while (!parts.isEmpty()) {
+            Spliterator<Entry<Object, Integer>> part = parts.pop();
+            Spliterator<Entry<Object, Integer>> prefix = part.trySplit();
+            if (prefix != null) {
+                assertFalse(part.hasCharacteristics(Spliterator.SIZED));
+                parts.push(prefix);
+                parts.push(part);
+                continue;
+            }
+            if (part.tryAdvance(entry -> {
+                seen.add(entry.getKey());
+                count[0]++;
+            })) {
+                part.forEachRemaining(entry -> {
+                    seen.add(entry.getKey());
+                    count[0]++;
+                });
+            }
+        }
+
+        assertEquals(3021, count[0]);
+        assertEquals(3021, seen.size());
+    }
+
+    @Test
+    void testForEachBiConsumer() {
+        for (int i = 0; i < 100; i++) {
+            hashTable.put("key" + i, i);
+        }
+        hashTable.put(null, 1000);
+
+        int[] sum = {0};
+        hashTable.forEach((key, value) -> sum[0] += value);
+        assertEquals(5950, sum[0]);
+
+        assertThrows(ConcurrentModificationException.class,
+                () -> hashTable.stream().forEach(entry -> hashTable.put("new" + entry.getKey(), 0)));
+        assertThrows(ConcurrentModificationException.class,
+                () -> hashTable.forEach((key, value) -> hashTable.remove(key)));
+    }
 }
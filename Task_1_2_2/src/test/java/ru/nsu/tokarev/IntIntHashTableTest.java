@@ -0,0 +1,170 @@
+package ru.nsu.tokarev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.HashTable.IntIntHashTable;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntHashTableTest {
+
+    private IntIntHashTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new IntIntHashTable();
+    }
+
+    @Test
+    void testEmptyTable() {
+        assertTrue(table.isEmpty());
+        assertEquals(0, table.size());
+        assertEquals(0, table.get(5));
+        assertEquals(-1, table.getOrDefault(5, -1));
+        assertFalse(table.containsKey(5));
+        assertFalse(table.cursor().advance());
+    }
+
+    @Test
+    void testInvalidInitialCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IntIntHashTable(0));
+    }
+
+    @Test
+    void testPutGetRemove() {
+        assertEquals(0, table.put(1, 10));
+        assertEquals(10, table.put(1, 11));
+        assertEquals(0, table.update(2, 20));
+        assertEquals(2, table.size());
+
+        assertEquals(11, table.get(1));
+        assertEquals(20, table.getOrDefault(2, -1));
+
+        assertEquals(11, table.remove(1));
+        assertEquals(0, table.remove(1));
+        assertFalse(table.containsKey(1));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testZeroKey() {
+        // 0 - ключ-маркер пустого слота, он хранится отдельно
+        assertFalse(table.containsKey(0));
+        table.put(0, 7);
+        assertTrue(table.containsKey(0));
+        assertEquals(7, table.get(0));
+        assertEquals(1, table.size());
+
+        assertEquals(7, table.remove(0));
+        assertFalse(table.containsKey(0));
+        assertEquals(-1, table.getOrDefault(0, -1));
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    void testNegativeAndExtremeKeys() {
+        table.put(Integer.MIN_VALUE, 1);
+        table.put(Integer.MAX_VALUE, 2);
+        table.put(-1, 3);
+
+        assertEquals(1, table.get(Integer.MIN_VALUE));
+        assertEquals(2, table.get(Integer.MAX_VALUE));
+        assertEquals(3, table.get(-1));
+    }
+
+    @Test
+    void testRandomOperationsAgainstHashMap() {
+        IntIntHashTable small = new IntIntHashTable(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(1000) - 500;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? 0 : removed, small.remove(key));
+            } else {
+                Integer previous = expected.put(key, i);
+                assertEquals(previous == null ? 0 : previous, small.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), small.size());
+        for (int key = -500; key < 500; key++) {
+            assertEquals(expected.containsKey(key), small.containsKey(key));
+            assertEquals(expected.getOrDefault(key, -1), small.getOrDefault(key, -1));
+        }
+    }
+
+    @Test
+    void testCursor() {
+        for (int i = 0; i < 100; i++) {
+            table.put(i, i * 2);
+        }
+
+        IntIntHashTable.Cursor cursor = table.cursor();
+        int count = 0;
+        long keySum = 0;
+        while (cursor.advance()) {
+            assertEquals(cursor.key() * 2, cursor.value());
+            keySum += cursor.key();
+            count++;
+        }
+
+        assertEquals(100, count);
+        assertEquals(4950, keySum);
+        assertThrows(NoSuchElementException.class, cursor::key);
+    }
+
+    @Test
+    void testCursorSetValue() {
+        table.put(0, 1);
+        table.put(5, 1);
+
+        IntIntHashTable.Cursor cursor = table.cursor();
+        assertThrows(NoSuchElementException.class, cursor::value);
+        while (cursor.advance()) {
+            cursor.setValue(cursor.key() + 100);
+        }
+
+        assertEquals(100, table.get(0));
+        assertEquals(105, table.get(5));
+    }
+
+    @Test
+    void testCursorConcurrentModification() {
+        table.put(1, 1);
+        table.put(2, 2);
+
+        IntIntHashTable.Cursor cursor = table.cursor();
+        cursor.advance();
+        table.put(3, 3);
+
+        assertThrows(ConcurrentModificationException.class, cursor::advance);
+    }
+
+    @Test
+    void testEqualsHashCodeAndToString() {
+        IntIntHashTable other = new IntIntHashTable(64);
+        table.put(1, 10);
+        table.put(0, 5);
+        other.put(0, 5);
+        other.put(1, 10);
+
+        assertTrue(table.equals(other));
+        assertEquals(table.hashCode(), other.hashCode());
+        assertTrue(table.toString().contains("1=10"));
+        assertTrue(table.toString().contains("0=5"));
+
+        other.put(1, 11);
+        assertFalse(table.equals(other));
+        assertFalse(table.equals("string"));
+        assertEquals("{}", new IntIntHashTable().toString());
+    }
+}
@@ -0,0 +1,126 @@
+package ru.nsu.tokarev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.HashTable.LongObjHashTable;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjHashTableTest {
+
+    private LongObjHashTable<String> table;
+
+    @BeforeEach
+    void setUp() {
+        table = new LongObjHashTable<>();
+    }
+
+    @Test
+    void testPutGetRemove() {
+        assertNull(table.put(42, "a"));
+        assertEquals("a", table.put(42, "b"));
+        assertNull(table.update(0, "zero"));
+        assertEquals(2, table.size());
+
+        assertEquals("b", table.get(42));
+        assertEquals("zero", table.get(0));
+        assertNull(table.get(7));
+
+        assertEquals("zero", table.remove(0));
+        assertEquals("b", table.remove(42));
+        assertNull(table.remove(42));
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    void testKeysDifferingInHighBits() {
+        table.put(1L, "low");
+        table.put(1L << 32 | 1L, "high");
+        table.put(Long.MIN_VALUE, "min");
+
+        assertEquals("low", table.get(1L));
+        assertEquals("high", table.get(1L << 32 | 1L));
+        assertEquals("min", table.get(Long.MIN_VALUE));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    void testNullValue() {
+        table.put(3, null);
+        assertTrue(table.containsKey(3));
+        assertNull(table.get(3));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testRandomOperationsAgainstHashMap() {
+        LongObjHashTable<Integer> small = new LongObjHashTable<>(1);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(5);
+
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(1000) * 0x100000000L + random.nextInt(2);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), small.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), small.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), small.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), small.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void testCursor() {
+        table.put(0, "zero");
+        table.put(1, "one");
+        table.put(2, "two");
+
+        LongObjHashTable<String>.Cursor cursor = table.cursor();
+        int count = 0;
+        while (cursor.advance()) {
+            assertEquals(table.get(cursor.key()), cursor.value());
+            cursor.setValue(cursor.value().toUpperCase());
+            count++;
+        }
+
+        assertEquals(3, count);
+        assertEquals("ZERO", table.get(0));
+        assertEquals("TWO", table.get(2));
+    }
+
+    @Test
+    void testCursorConcurrentModification() {
+        table.put(1, "one");
+
+        LongObjHashTable<String>.Cursor cursor = table.cursor();
+        table.remove(1);
+
+        assertThrows(ConcurrentModificationException.class, cursor::advance);
+    }
+
+    @Test
+    void testEqualsAndToString() {
+        LongObjHashTable<String> other = new LongObjHashTable<>();
+        table.put(1, "one");
+        table.put(2, null);
+        other.put(2, null);
+        other.put(1, "one");
+
+        assertTrue(table.equals(other));
+        assertEquals(table.hashCode(), other.hashCode());
+        assertTrue(table.toString().contains("1=one"));
+        assertTrue(table.toString().contains("2=null"));
+
+        other.put(2, "two");
+        assertFalse(table.equals(other));
+    }
+}
@@ -0,0 +1,171 @@
+package ru.nsu.tokarev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.nsu.tokarev.HashTable.Codecs;
+import ru.nsu.tokarev.HashTable.Entry;
+import ru.nsu.tokarev.HashTable.HashStrategy;
+import ru.nsu.tokarev.HashTable.HashTable;
+import ru.nsu.tokarev.HashTable.MappedHashTable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedHashTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshot;
+    private HashTable<String, Integer> hashTable;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = tempDir.resolve("table.bin");
+        hashTable = new HashTable<>();
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        for (int i = 0; i < 1000; i++) {
+            hashTable.put("key" + i, i);
+        }
+        hashTable.saveTo(snapshot, Codecs.STRING, Codecs.INTEGER);
+
+        try (MappedHashTable<String, Integer> mapped = MappedHashTable.loadFrom(snapshot, Codecs.STRING, Codecs.INTEGER)) {
+            assertEquals(1000, mapped.size());
+            assertFalse(mapped.isEmpty());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, mapped.get("key" + i));
+            }
+            assertNull(mapped.get("missing"));
+            assertFalse(mapped.containsKey("key1000"));
+
+            int count = 0;
+            for (Entry<String, Integer> entry : mapped) {
+                assertEquals("key" + entry.getValue(), entry.getKey());
+                count++;
+            }
+            assertEquals(1000, count);
+        }
+    }
+
+    @Test
+    void testNullKeysAndValues() throws IOException {
+        hashTable.put(null, 1);
+        hashTable.put("nothing", null);
+        hashTable.put("ключ", 3);
+        hashTable.saveTo(snapshot, Codecs.STRING, Codecs.INTEGER);
+
+        try (MappedHashTable<String, Integer> mapped = MappedHashTable.loadFrom(snapshot, Codecs.STRING, Codecs.INTEGER)) {
+            assertEquals(1, mapped.get(null));
+            assertTrue(mapped.containsKey(null));
+            assertNull(mapped.get("nothing"));
+            assertTrue(mapped.containsKey("nothing"));
+            assertEquals(3, mapped.get("ключ"));
+        }
+    }
+
+    @Test
+    void testEmptyTable() throws IOException {
+        hashTable.saveTo(snapshot, Codecs.STRING, Codecs.INTEGER);
+
+        try (MappedHashTable<String, Integer> mapped = MappedHashTable.loadFrom(snapshot, Codecs.STRING, Codecs.INTEGER)) {
+            assertTrue(mapped.isEmpty());
+            assertNull(mapped.get("key"));
+            assertFalse(mapped.iterator().hasNext());
+            assertEquals("{}", mapped.toString());
+        }
+    }
+
+    @Test
+    void testLoadIntoHashTable() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            hashTable.put("key" + i, i);
+        }
+        hashTable.saveTo(snapshot, Codecs.fixedString(8), Codecs.INTEGER);
+
+        HashTable<String, Integer> loaded = HashTable.loadFrom(snapshot, Codecs.fixedString(8), Codecs.INTEGER);
+        assertTrue(hashTable.equals(loaded));
+
+        loaded.put("key0", -1);
+        assertEquals(-1, loaded.get("key0"));
+    }
+
+    @Test
+    void testCustomStrategy() throws IOException {
+        HashStrategy<String> caseInsensitive = new HashStrategy<>() {
+            @Override
+            public int hash(String key) {
+                return key.toLowerCase().hashCode();
+            }
+
+            @Override
+            public boolean equals(String first, String second) {
+                return first.equalsIgnoreCase(second);
+            }
+        };
+        HashTable<String, Integer> table = new HashTable<>(16, caseInsensitive);
+        table.put("Key", 1);
+        table.put("Другой", 2);
+        table.saveTo(snapshot, Codecs.STRING, Codecs.INTEGER);
+
+        try (MappedHashTable<String, Integer> mapped =
+                     MappedHashTable.loadFrom(snapshot, Codecs.STRING, Codecs.INTEGER, caseInsensitive)) {
+            assertEquals(1, mapped.get("KEY"));
+            assertEquals(2, mapped.get("другой"));
+            assertEquals(1, mapped.toHashTable().get("kEy"));
+        }
+    }
+
+    @Test
+    void testCollidingKeys() throws IOException {
+        // Все комбинации из "Aa" и "BB" одной длины имеют одинаковый hashCode, в HashTable это дерево.
+        for (int i = 0; i < 32; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int bit = 0; bit < 5; bit++) {
+                sb.append((i & (1 << bit)) == 0 ? "Aa" : "BB");
+            }
+            hashTable.put(sb.toString(), i);
+        }
+        hashTable.saveTo(snapshot, Codecs.STRING, Codecs.INTEGER);
+
+        try (MappedHashTable<String, Integer> mapped = MappedHashTable.loadFrom(snapshot, Codecs.STRING, Codecs.INTEGER)) {
+            for (Entry<String, Integer> entry : hashTable) {
+                assertEquals(entry.getValue(), mapped.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    void testReadOnlyAndClose() throws IOException {
+        hashTable.put("key", 1);
+        hashTable.saveTo(snapshot, Codecs.STRING, Codecs.INTEGER);
+
+        MappedHashTable<String, Integer> mapped = MappedHashTable.loadFrom(snapshot, Codecs.STRING, Codecs.INTEGER);
+        Iterator<Entry<String, Integer>> iterator = mapped.iterator();
+        Entry<String, Integer> entry = iterator.next();
+        assertThrows(UnsupportedOperationException.class, () -> entry.setValue(2));
+
+        mapped.close();
+        assertThrows(IllegalStateException.class, () -> mapped.get("key"));
+        assertThrows(IllegalStateException.class, mapped::iterator);
+        assertDoesNotThrow(mapped::close);
+    }
+
+    @Test
+    void testInvalidSnapshot() throws IOException {
+        Files.write(snapshot, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> MappedHashTable.loadFrom(snapshot, Codecs.STRING, Codecs.INTEGER));
+
+        Files.write(snapshot, new byte[64]);
+        assertThrows(IOException.class, () -> MappedHashTable.loadFrom(snapshot, Codecs.STRING, Codecs.INTEGER));
+
+        assertThrows(IllegalArgumentException.class, () -> hashTable.saveTo(snapshot, null, Codecs.INTEGER));
+    }
+}
@@ -0,0 +1,178 @@
+package ru.nsu.tokarev;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.HashTable.Codecs;
+import ru.nsu.tokarev.HashTable.Entry;
+import ru.nsu.tokarev.HashTable.OffHeapHashTable;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapHashTableTest {
+
+    private OffHeapHashTable<String, Integer> hashTable;
+
+    @BeforeEach
+    void setUp() {
+        hashTable = new OffHeapHashTable<>(Codecs.fixedString(16), Codecs.INTEGER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashTable.close();
+    }
+
+    @Test
+    void testEmptyTable() {
+        assertTrue(hashTable.isEmpty());
+        assertEquals(0, hashTable.size());
+        assertNull(hashTable.get("nonexistent"));
+        assertFalse(hashTable.containsKey("key"));
+        assertNull(hashTable.remove("key"));
+        assertEquals("{}", hashTable.toString());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OffHeapHashTable<>(Codecs.INTEGER, Codecs.INTEGER, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OffHeapHashTable<Integer, Integer>(null, Codecs.INTEGER));
+        assertThrows(IllegalArgumentException.class, () -> Codecs.fixedString(0));
+        assertThrows(IllegalArgumentException.class, () -> hashTable.put(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> hashTable.put("key", null));
+        assertThrows(IllegalArgumentException.class, () -> hashTable.put("a string longer than sixteen bytes", 1));
+        assertTrue(hashTable.isEmpty());
+    }
+
+    @Test
+    void testPutGetUpdateRemove() {
+        assertNull(hashTable.put("key1", 1));
+        assertNull(hashTable.put("key2", 2));
+        assertEquals(1, hashTable.put("key1", 10));
+        assertEquals(10, hashTable.update("key1", 100));
+        assertEquals(2, hashTable.size());
+        assertEquals(100, hashTable.get("key1"));
+
+        assertEquals(2, hashTable.remove("key2"));
+        assertNull(hashTable.get("key2"));
+        assertFalse(hashTable.containsKey("key2"));
+        assertEquals(1, hashTable.size());
+        assertNull(hashTable.get(null));
+    }
+
+    @Test
+    void testUnicodeStrings() {
+        hashTable.put("ключ", 1);
+        hashTable.put("", 2);
+
+        assertEquals(1, hashTable.get("ключ"));
+        assertEquals(2, hashTable.get(""));
+        assertTrue(hashTable.toString().contains("ключ=1"));
+    }
+
+    @Test
+    void testRandomOperationsAgainstHashMap() {
+        try (OffHeapHashTable<Long, Double> table = new OffHeapHashTable<>(Codecs.LONG, Codecs.DOUBLE, 4)) {
+            Map<Long, Double> expected = new HashMap<>();
+            Random random = new Random(7);
+
+            for (int i = 0; i < 20000; i++) {
+                long key = random.nextInt(2000) * 0x100000001L;
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), table.remove(key));
+                } else {
+                    assertEquals(expected.put(key, i / 2.0), table.put(key, i / 2.0));
+                }
+            }
+
+            assertEquals(expected.size(), table.size());
+            for (int i = 0; i < 2000; i++) {
+                long key = i * 0x100000001L;
+                assertEquals(expected.get(key), table.get(key));
+            }
+        }
+    }
+
+    @Test
+    void testIterationAndSetValue() {
+        for (int i = 0; i < 100; i++) {
+            hashTable.put("key" + i, i);
+        }
+
+        int count = 0;
+        int sum = 0;
+        for (Entry<String, Integer> entry : hashTable) {
+            assertEquals("key" + entry.getValue(), entry.getKey());
+            sum += entry.getValue();
+            count++;
+            entry.setValue(-entry.getValue());
+        }
+
+        assertEquals(100, count);
+        assertEquals(4950, sum);
+        assertEquals(-42, hashTable.get("key42"));
+    }
+
+    @Test
+    void testIteratorFailFast() {
+        hashTable.put("key1", 1);
+        hashTable.put("key2", 2);
+
+        Iterator<Entry<String, Integer>> iterator = hashTable.iterator();
+        Entry<String, Integer> entry = iterator.next();
+        hashTable.remove("key1");
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, () -> entry.setValue(5));
+
+        Iterator<Entry<String, Integer>> exhausted = hashTable.iterator();
+        exhausted.next();
+        assertThrows(NoSuchElementException.class, exhausted::next);
+    }
+
+    @Test
+    void testOffHeapBytesAndClose() {
+        OffHeapHashTable<Integer, Integer> table = new OffHeapHashTable<>(Codecs.INTEGER, Codecs.INTEGER, 16);
+        // Слот: хеш, ключ и значение по 4 байта.
+        long initial = table.offHeapBytes();
+        assertTrue(initial >= 16 * 12);
+
+        for (int i = 0; i < 1000; i++) {
+            table.put(i, i);
+        }
+        assertTrue(table.offHeapBytes() >= 1000 * 12);
+
+        table.close();
+        assertEquals(0, table.offHeapBytes());
+        assertThrows(IllegalStateException.class, () -> table.get(1));
+        assertThrows(IllegalStateException.class, () -> table.put(1, 1));
+        assertThrows(IllegalStateException.class, table::iterator);
+        assertDoesNotThrow(table::close);
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        try (OffHeapHashTable<String, Integer> other = new OffHeapHashTable<>(Codecs.fixedString(16), Codecs.INTEGER, 64)) {
+            hashTable.put("key1", 1);
+            hashTable.put("key2", 2);
+            other.put("key2", 2);
+            other.put("key1", 1);
+
+            assertTrue(hashTable.equals(other));
+            assertEquals(hashTable.hashCode(), other.hashCode());
+
+            other.put("key1", 3);
+            assertFalse(hashTable.equals(other));
+            assertFalse(hashTable.equals("string"));
+        }
+    }
+}
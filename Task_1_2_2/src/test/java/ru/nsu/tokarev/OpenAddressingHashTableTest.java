@@ -0,0 +1,228 @@
+package ru.nsu.tokarev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.HashTable.Entry;
+import ru.nsu.tokarev.HashTable.OpenAddressingHashTable;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAddressingHashTableTest {
+
+    private OpenAddressingHashTable<String, Integer> hashTable;
+
+    @BeforeEach
+    void setUp() {
+        hashTable = new OpenAddressingHashTable<>();
+    }
+
+    @Test
+    void testEmptyTable() {
+        assertTrue(hashTable.isEmpty());
+        assertEquals(0, hashTable.size());
+        assertNull(hashTable.get("nonexistent"));
+        assertFalse(hashTable.containsKey("key"));
+        assertNull(hashTable.remove("key"));
+    }
+
+    @Test
+    void testInvalidInitialCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressingHashTable<String, String>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressingHashTable<String, String>(0));
+    }
+
+    @Test
+    void testCapacityIsPowerOfTwo() {
+        assertEquals(16, new OpenAddressingHashTable<String, String>(10).capacity());
+        assertEquals(2, new OpenAddressingHashTable<String, String>(1).capacity());
+        assertEquals(64, new OpenAddressingHashTable<String, String>(64).capacity());
+    }
+
+    @Test
+    void testPutGetUpdate() {
+        assertNull(hashTable.put("key1", 1));
+        assertNull(hashTable.put("key2", 2));
+        assertEquals(2, hashTable.size());
+
+        assertEquals(1, hashTable.put("key1", 10));
+        assertEquals(2, hashTable.size());
+        assertEquals(10, hashTable.get("key1"));
+
+        assertEquals(10, hashTable.update("key1", 100));
+        assertNull(hashTable.update("key3", 3));
+        assertEquals(100, hashTable.get("key1"));
+        assertEquals(3, hashTable.size());
+    }
+
+    @Test
+    void testRemove() {
+        hashTable.put("key1", 1);
+        hashTable.put("key2", 2);
+        hashTable.put("key3", 3);
+
+        assertEquals(2, hashTable.remove("key2"));
+        assertEquals(2, hashTable.size());
+        assertNull(hashTable.get("key2"));
+        assertFalse(hashTable.containsKey("key2"));
+        assertEquals(1, hashTable.get("key1"));
+        assertEquals(3, hashTable.get("key3"));
+    }
+
+    @Test
+    void testNullKeysAndValues() {
+        hashTable.put(null, 100);
+        hashTable.put("key1", null);
+
+        assertEquals(100, hashTable.get(null));
+        assertTrue(hashTable.containsKey(null));
+        assertNull(hashTable.get("key1"));
+        assertTrue(hashTable.containsKey("key1"));
+
+        assertEquals(100, hashTable.remove(null));
+        assertFalse(hashTable.containsKey(null));
+        assertEquals(1, hashTable.size());
+    }
+
+    @Test
+    void testCollidingKeys() {
+        // "Aa" и "BB" имеют одинаковый hashCode
+        OpenAddressingHashTable<String, Integer> table = new OpenAddressingHashTable<>(2);
+        table.put("Aa", 1);
+        table.put("BB", 2);
+        table.put("AaAa", 3);
+        table.put("BBBB", 4);
+        table.put("AaBB", 5);
+
+        assertEquals(5, table.size());
+        assertEquals(2, table.remove("BB"));
+        assertEquals(1, table.get("Aa"));
+        assertEquals(3, table.get("AaAa"));
+        assertEquals(4, table.get("BBBB"));
+        assertEquals(5, table.get("AaBB"));
+        assertNull(table.get("BB"));
+    }
+
+    @Test
+    void testRandomOperationsAgainstHashMap() {
+        OpenAddressingHashTable<Integer, Integer> table = new OpenAddressingHashTable<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), table.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), table.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), table.size());
+        for (int key = 0; key < 2000; key++) {
+            assertEquals(expected.get(key), table.get(key));
+            assertEquals(expected.containsKey(key), table.containsKey(key));
+        }
+    }
+
+    @Test
+    void testIteration() {
+        for (int i = 0; i < 100; i++) {
+            hashTable.put("key" + i, i);
+        }
+
+        int count = 0;
+        int sum = 0;
+        for (Entry<String, Integer> entry : hashTable) {
+            assertEquals("key" + entry.getValue(), entry.getKey());
+            sum += entry.getValue();
+            count++;
+        }
+
+        assertEquals(100, count);
+        assertEquals(4950, sum);
+    }
+
+    @Test
+    void testIteratorExhaustion() {
+        hashTable.put("a", 1);
+
+        Iterator<Entry<String, Integer>> iterator = hashTable.iterator();
+        assertTrue(iterator.hasNext());
+        assertNotNull(iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void testEntrySetValueWritesThrough() {
+        hashTable.put("a", 1);
+
+        for (Entry<String, Integer> entry : hashTable) {
+            entry.setValue(42);
+        }
+
+        assertEquals(42, hashTable.get("a"));
+    }
+
+    @Test
+    void testConcurrentModificationException() {
+        hashTable.put("key1", 1);
+        hashTable.put("key2", 2);
+
+        Iterator<Entry<String, Integer>> iterator = hashTable.iterator();
+        Entry<String, Integer> entry = iterator.next();
+        hashTable.remove("key1");
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, () -> entry.setValue(5));
+    }
+
+    @Test
+    void testUpdateDoesNotBreakIteration() {
+        hashTable.put("key1", 1);
+        hashTable.put("key2", 2);
+
+        assertDoesNotThrow(() -> {
+            for (Entry<String, Integer> entry : hashTable) {
+                hashTable.put(entry.getKey(), 0);
+            }
+        });
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        OpenAddressingHashTable<String, Integer> other = new OpenAddressingHashTable<>(64);
+        hashTable.put("key1", 1);
+        hashTable.put("key2", null);
+        other.put("key2", null);
+        other.put("key1", 1);
+
+        assertTrue(hashTable.equals(other));
+        assertEquals(hashTable.hashCode(), other.hashCode());
+
+        other.put("key1", 2);
+        assertFalse(hashTable.equals(other));
+        assertFalse(hashTable.equals(null));
+        assertFalse(hashTable.equals("string"));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("{}", hashTable.toString());
+
+        hashTable.put("key1", 1);
+        hashTable.put("key2", 2);
+        String result = hashTable.toString();
+        assertTrue(result.contains("key1=1"));
+        assertTrue(result.contains("key2=2"));
+        assertTrue(result.startsWith("{"));
+        assertTrue(result.endsWith("}"));
+    }
+}
@@ -0,0 +1,196 @@
+package ru.nsu.tokarev;
+
+import org.junit.jupiter.api.Test;
+import ru.nsu.tokarev.HashTable.Entry;
+import ru.nsu.tokarev.HashTable.HashTable;
+import ru.nsu.tokarev.HashTable.PersistentHashTable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashTableTest {
+
+    // Ключи с одинаковым hashCode попадают в узел коллизий.
+    private static final class CollidingKey {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void testWithAndGet() {
+        PersistentHashTable<String, Integer> empty = PersistentHashTable.empty();
+        PersistentHashTable<String, Integer> table = empty.with("one", 1).with("two", 2);
+
+        assertEquals(2, table.size());
+        assertEquals(1, table.get("one"));
+        assertEquals(2, table.get("two"));
+        assertNull(table.get("three"));
+        assertTrue(empty.isEmpty());
+    }
+
+    @Test
+    void testVersionsAreIndependent() {
+        PersistentHashTable<String, Integer> first = PersistentHashTable.<String, Integer>empty().with("a", 1);
+        PersistentHashTable<String, Integer> second = first.with("a", 2).with("b", 3);
+        PersistentHashTable<String, Integer> third = second.without("a");
+
+        assertEquals(1, first.get("a"));
+        assertFalse(first.containsKey("b"));
+        assertEquals(2, second.get("a"));
+        assertEquals(2, second.size());
+        assertFalse(third.containsKey("a"));
+        assertEquals(1, third.size());
+    }
+
+    @Test
+    void testUnchangedVersionIsReturned() {
+        Integer value = 1000;
+        PersistentHashTable<String, Integer> table = PersistentHashTable.<String, Integer>empty().with("a", value);
+
+        assertSame(table, table.with("a", value));
+        assertSame(table, table.without("missing"));
+    }
+
+    @Test
+    void testNullKeyAndValue() {
+        PersistentHashTable<String, Integer> table = PersistentHashTable.<String, Integer>empty()
+                .with(null, 1).with("a", null);
+
+        assertEquals(1, table.get(null));
+        assertTrue(table.containsKey("a"));
+        assertNull(table.get("a"));
+        assertFalse(table.without(null).containsKey(null));
+    }
+
+    @Test
+    void testCollidingKeys() {
+        PersistentHashTable<CollidingKey, Integer> table = PersistentHashTable.empty();
+        for (int i = 0; i < 10; i++) {
+            table = table.with(new CollidingKey(i), i);
+        }
+
+        assertEquals(10, table.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, table.get(new CollidingKey(i)));
+        }
+
+        for (int i = 0; i < 9; i++) {
+            table = table.without(new CollidingKey(i));
+        }
+        assertEquals(1, table.size());
+        assertEquals(9, table.get(new CollidingKey(9)));
+        assertTrue(table.without(new CollidingKey(9)).isEmpty());
+    }
+
+    @Test
+    void testRandomOperationsMatchHashMap() {
+        Random random = new Random(7);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashTable<Integer, Integer> table = PersistentHashTable.empty();
+
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                table = table.without(key);
+            } else {
+                expected.put(key, i);
+                table = table.with(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), table.size());
+        int iterated = 0;
+        for (Entry<Integer, Integer> entry : table) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            iterated++;
+        }
+        assertEquals(expected.size(), iterated);
+    }
+
+    @Test
+    void testBuilderDoesNotChangeSource() {
+        PersistentHashTable<Integer, Integer> source = PersistentHashTable.<Integer, Integer>empty().with(1, 1);
+
+        PersistentHashTable.Builder<Integer, Integer> builder = source.toBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.put(i, -i);
+        }
+        builder.remove(500);
+        PersistentHashTable<Integer, Integer> built = builder.build();
+
+        assertEquals(1, source.size());
+        assertEquals(1, source.get(1));
+        assertEquals(999, built.size());
+        assertEquals(-1, built.get(1));
+        assertFalse(built.containsKey(500));
+
+        // Изменения builder-а после build() не видны в уже собранной таблице.
+        builder.put(500, 500);
+        builder.remove(1);
+        assertFalse(built.containsKey(500));
+        assertEquals(-1, built.get(1));
+        assertEquals(999, builder.size());
+    }
+
+    @Test
+    void testCopyOfHashTable() {
+        HashTable<String, Integer> hashTable = new HashTable<>();
+        for (int i = 0; i < 100; i++) {
+            hashTable.put("key" + i, i);
+        }
+
+        PersistentHashTable<String, Integer> table = PersistentHashTable.copyOf(hashTable);
+        hashTable.put("key0", -1);
+
+        assertEquals(100, table.size());
+        assertEquals(0, table.get("key0"));
+        assertEquals(table.toHashTable().size(), 100);
+        assertEquals(99, table.toHashTable().get("key99"));
+    }
+
+    @Test
+    void testEntriesAreImmutable() {
+        PersistentHashTable<String, Integer> table = PersistentHashTable.<String, Integer>empty().with("a", 1);
+        Iterator<Entry<String, Integer>> it = table.iterator();
+
+        Entry<String, Integer> entry = it.next();
+        assertThrows(UnsupportedOperationException.class, () -> entry.setValue(2));
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        PersistentHashTable<Integer, String> first = PersistentHashTable.empty();
+        PersistentHashTable.Builder<Integer, String> builder = PersistentHashTable.builder();
+        for (int i = 0; i < 100; i++) {
+            first = first.with(i, "v" + i);
+            builder.put(99 - i, "v" + (99 - i));
+        }
+        PersistentHashTable<Integer, String> second = builder.build();
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, second.with(0, "other"));
+        assertEquals("{1=a}", PersistentHashTable.<Integer, String>empty().with(1, "a").toString());
+    }
+}